@@ -37,4 +37,12 @@ public class ObjectFactory {
         return new TestCaseResult();
     }
 
+    /**
+     * Create an instance of {@link TestDetail }
+     * 
+     */
+    public TestDetail createTestDetail() {
+        return new TestDetail();
+    }
+
 }
@@ -1,6 +1,8 @@
 
 package com.example.unittestcase;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
@@ -21,6 +23,7 @@ import javax.xml.bind.annotation.XmlType;
  *         &lt;element name="errors" type="{http://www.w3.org/2001/XMLSchema}int"/>
  *         &lt;element name="failed" type="{http://www.w3.org/2001/XMLSchema}int"/>
  *         &lt;element name="succeeded" type="{http://www.w3.org/2001/XMLSchema}int"/>
+ *         &lt;element name="tests" type="{http://example.com/unittestcase}TestDetail" maxOccurs="unbounded" minOccurs="0"/>
  *       &lt;/sequence>
  *     &lt;/restriction>
  *   &lt;/complexContent>
@@ -35,7 +38,8 @@ import javax.xml.bind.annotation.XmlType;
     "errorNum",
     "errors",
     "failed",
-    "succeeded"
+    "succeeded",
+    "tests"
 })
 public class TestCaseResult {
 
@@ -44,6 +48,7 @@ public class TestCaseResult {
     protected int errors;
     protected int failed;
     protected int succeeded;
+    protected List<TestDetail> tests;
 
     /**
      * Gets the value of the errorMessage property.
@@ -133,4 +138,33 @@ public class TestCaseResult {
         this.succeeded = value;
     }
 
+    /**
+     * Gets the value of the tests property.
+     * 
+     * <p>
+     * This accessor method returns a reference to the live list,
+     * not a snapshot. Therefore any modification you make to the
+     * returned list will be present inside the JAXB object.
+     * This is why there is not a <CODE>set</CODE> method for the tests property.
+     * 
+     * <p>
+     * For example, to add a new item, do as follows:
+     * <pre>
+     *    getTests().add(newItem);
+     * </pre>
+     * 
+     * 
+     * <p>
+     * Objects of the following type(s) are allowed in the list
+     * {@link TestDetail }
+     * 
+     * 
+     */
+    public List<TestDetail> getTests() {
+        if (tests == null) {
+            tests = new ArrayList<TestDetail>();
+        }
+        return this.tests;
+    }
+
 }
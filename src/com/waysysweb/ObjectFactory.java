@@ -45,4 +45,28 @@ public class ObjectFactory {
         return new RunTestResponse();
     }
 
+    /**
+     * Create an instance of {@link RunTests }
+     * 
+     */
+    public RunTests createRunTests() {
+        return new RunTests();
+    }
+
+    /**
+     * Create an instance of {@link RunTestsResponse }
+     * 
+     */
+    public RunTestsResponse createRunTestsResponse() {
+        return new RunTestsResponse();
+    }
+
+    /**
+     * Create an instance of {@link TestRequest }
+     * 
+     */
+    public TestRequest createTestRequest() {
+        return new TestRequest();
+    }
+
 }
@@ -0,0 +1,46 @@
+
+package com.waysysweb;
+
+import java.util.List;
+import javax.jws.WebMethod;
+import javax.jws.WebParam;
+import javax.jws.WebResult;
+import javax.jws.WebService;
+import javax.xml.bind.annotation.XmlSeeAlso;
+import javax.xml.ws.RequestWrapper;
+import javax.xml.ws.ResponseWrapper;
+import com.example.unittestcase.TestCaseResult;
+
+
+/**
+ * The runTests operation of the RunTest port type, for servers that
+ * implement it. It is kept apart from the generated RunTestPortType, which
+ * JAX-WS checks against the WSDL of every server, so that servers without
+ * runTests can still be used. A port of this type is only created when
+ * suites are sent in batches.
+ * 
+ */
+@WebService(name = "RunTestPortType", targetNamespace = "http://waysysweb.com")
+@XmlSeeAlso({
+    com.example.unittestcase.ObjectFactory.class,
+    com.guidewire.ws.soapheaders.ObjectFactory.class,
+    com.waysysweb.ObjectFactory.class
+})
+public interface RunTestsPortType {
+
+
+    /**
+     * 
+     * @param tests
+     * @return
+     *     returns java.util.List<com.example.unittestcase.TestCaseResult>
+     */
+    @WebMethod
+    @WebResult(targetNamespace = "http://waysysweb.com")
+    @RequestWrapper(localName = "runTests", targetNamespace = "http://waysysweb.com", className = "com.waysysweb.RunTests")
+    @ResponseWrapper(localName = "runTestsResponse", targetNamespace = "http://waysysweb.com", className = "com.waysysweb.RunTestsResponse")
+    public List<TestCaseResult> runTests(
+        @WebParam(name = "tests", targetNamespace = "http://waysysweb.com")
+        List<TestRequest> tests);
+
+}
@@ -0,0 +1,485 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           BatchRunner.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Send suites in batches when the client batches
+//  Waysys    19-Oct-2026   Form report names from a template
+//  Waysys    19-Oct-2026   Record suites that fail in the runner or journal
+//  Waysys    19-Oct-2026   Write the details of each suite to a shard file
+//  Waysys    19-Oct-2026   Record a suite whose dispatch cannot be journaled
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class runs a batch of suites through a client. Suites that already
+ * have a result, for example from the journal of an earlier run, are not run
+ * again. With a concurrency of 1 the suites are run one at a time in order;
+ * otherwise up to that many run at the same time. If the client has a batch
+ * size greater than 1, all suites are submitted to the client, which sends
+ * them in batches on its own threads. Results are recorded in a
+ * result aggregator as each suite completes, and a progress line is printed
+ * periodically from its running totals. The aggregator reports in batch order
+ * whatever the order of completion, so a resumed run produces the same
+ * summary as an uninterrupted one.
+ *
+ * The report name of each suite is formed from a template, with the position
+ * of the suite in the batch as its shard. If a details directory is set, the
+ * per-test details of each suite are written there to one file per shard in
+ * the layout of DetailWriter, so they can be merged after the batch.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class BatchRunner {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** time between progress lines, in milliseconds */
+	static final long PROGRESS_INTERVAL = 30000;
+
+	/** the client used to run suites */
+	private final RunTestClient client;
+
+	/** the report names, or null to form them from the template */
+	private ReportName reports;
+
+	/** the template for the report names */
+	private final String template;
+
+	/** the journal, or null */
+	private final Journal journal;
+
+	/** the directory for the details of each suite, or null */
+	private Path details;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param client
+	 *            the client used to run suites
+	 * @param reportName
+	 *            the file name for the reports, which may be a template; the
+	 *            position of a suite in the batch is its shard
+	 * @param journal
+	 *            the journal, or null
+	 */
+	public BatchRunner(RunTestClient client, String reportName,
+			Journal journal) {
+		this.client = client;
+		this.template = reportName;
+		this.reports = null;
+		this.journal = journal;
+	}
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param client
+	 *            the client used to run suites
+	 * @param reports
+	 *            the template for the report names
+	 * @param journal
+	 *            the journal, or null
+	 */
+	public BatchRunner(RunTestClient client, ReportName reports,
+			Journal journal) {
+		this.client = client;
+		this.template = reports.getTemplate();
+		this.reports = reports;
+		this.journal = journal;
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Set the directory for the per-test details of each suite.
+	 *
+	 * @param directory
+	 *            the directory, or null to keep no details
+	 */
+	public void setDetails(Path directory) {
+		details = directory;
+		return;
+	}
+
+	/**
+	 * Return the file for the details of a suite.
+	 *
+	 * @param directory
+	 *            the details directory
+	 * @param shard
+	 *            the position of the suite in the batch
+	 * @return the details file
+	 */
+	public static Path detailFile(Path directory, int shard) {
+		return directory.resolve("details-" + shard + ".txt");
+	}
+
+	// -------------------------------------------------------------------------
+	// Run
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run the suites that do not yet have a result.
+	 *
+	 * @param suites
+	 *            the suites of the batch in order
+	 * @param completed
+	 *            results already known, by suite name
+	 * @param concurrency
+	 *            the number of suites to run at the same time
+	 * @return the aggregated results of all suites
+	 */
+	public ResultAggregator run(Collection<String> suites,
+			Map<String, TestCaseResult> completed, int concurrency) {
+		ResultAggregator aggregator = new ResultAggregator(suites);
+		if (reports == null)
+			reports = new ReportName(template, client.getUrl(),
+					ReportName.newRunId(), suites);
+		List<String> remaining = new ArrayList<String>();
+		for (String suite : suites) {
+			TestCaseResult result = completed.get(suite);
+			if (result == null)
+				remaining.add(suite);
+			else
+				aggregator.record(suite, result);
+		}
+		if (remaining.size() < suites.size())
+			System.out.println("Skipping " + (suites.size() - remaining.size())
+					+ " completed suites");
+		if (client.getBatchSize() > 1)
+			runBatched(remaining, aggregator);
+		else if (concurrency <= 1)
+			runSequential(remaining, aggregator);
+		else
+			runConcurrent(remaining, aggregator, concurrency);
+		return aggregator;
+	}
+
+	/**
+	 * Run suites one at a time.
+	 *
+	 * @param suites
+	 *            the suites to run
+	 * @param aggregator
+	 *            the aggregator for the results
+	 */
+	private void runSequential(List<String> suites,
+			ResultAggregator aggregator) {
+		long nextProgress = System.currentTimeMillis() + PROGRESS_INTERVAL;
+		for (String suite : suites) {
+			runSuite(suite, aggregator);
+			if (System.currentTimeMillis() >= nextProgress) {
+				System.out.println("Progress       : " + aggregator.snapshot());
+				nextProgress += PROGRESS_INTERVAL;
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Run suites at the same time. Each suite is journaled and aggregated as
+	 * soon as it completes. A suite whose task fails is recorded as an error.
+	 *
+	 * @param suites
+	 *            the suites to run
+	 * @param aggregator
+	 *            the aggregator for the results
+	 * @param concurrency
+	 *            the number of suites to run at the same time
+	 */
+	private void runConcurrent(List<String> suites,
+			final ResultAggregator aggregator, int concurrency) {
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+		try {
+			for (final String suite : suites) {
+				executor.execute(new Runnable() {
+					public void run() {
+						try {
+							runSuite(suite, aggregator);
+						} catch (RuntimeException e) {
+							aggregator.record(suite,
+									RunTestClient.errorResult(e.getMessage()));
+						}
+					}
+				});
+			}
+			executor.shutdown();
+			while (!executor.awaitTermination(PROGRESS_INTERVAL,
+					TimeUnit.MILLISECONDS))
+				System.out.println("Progress       : " + aggregator.snapshot());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Batch run interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+		return;
+	}
+
+	/**
+	 * Submit all suites to the client, which sends them in batches. Each
+	 * suite is journaled and aggregated as soon as its batch completes. The
+	 * duration of a suite is the time from its submission to its result. A
+	 * suite whose dispatch cannot be journaled is not submitted, and it and a
+	 * suite whose details cannot be written are recorded as errors.
+	 *
+	 * @param suites
+	 *            the suites to run
+	 * @param aggregator
+	 *            the aggregator for the results
+	 */
+	private void runBatched(List<String> suites,
+			final ResultAggregator aggregator) {
+		List<CompletableFuture<TestCaseResult>> futures = new ArrayList<CompletableFuture<TestCaseResult>>();
+		for (final String suite : suites) {
+			final long start = System.nanoTime();
+			try {
+				dispatched(suite);
+			} catch (RuntimeException e) {
+				record(suite, RunTestClient.errorResult(e.getMessage()), start,
+						aggregator);
+				continue;
+			}
+			futures.add(client.submit(suite,
+					reports.expand(suite)).whenComplete(
+					new BiConsumer<TestCaseResult, Throwable>() {
+						public void accept(TestCaseResult result,
+								Throwable error) {
+							if (error != null)
+								result = RunTestClient.errorResult(error
+										.getMessage());
+							else if (details != null)
+								result = writeDetails(suite, result,
+										aggregator);
+							record(suite, result, start, aggregator);
+						}
+					}));
+		}
+		CompletableFuture<Void> all = CompletableFuture.allOf(futures
+				.toArray(new CompletableFuture<?>[futures.size()]));
+		try {
+			while (true) {
+				try {
+					all.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+					break;
+				} catch (TimeoutException e) {
+					System.out.println("Progress       : "
+							+ aggregator.snapshot());
+				}
+			}
+		} catch (ExecutionException e) {
+			// each failure has been recorded as an error result
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Batch run interrupted");
+		}
+		return;
+	}
+
+	/**
+	 * Run one suite, journal it and record its result.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param aggregator
+	 *            the aggregator for the results
+	 */
+	private void runSuite(String suite, ResultAggregator aggregator) {
+		TestCaseResult result;
+		long start = System.nanoTime();
+		try {
+			dispatched(suite);
+			if (details == null)
+				result = client.run(suite, reports.expand(suite));
+			else
+				result = runWithDetails(suite, aggregator);
+		} catch (RuntimeException e) {
+			result = RunTestClient.errorResult(e.getMessage());
+		}
+		record(suite, result, start, aggregator);
+		return;
+	}
+
+	/**
+	 * Run one suite, writing its details to its shard file.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param aggregator
+	 *            the aggregator, which gives the shard of the suite
+	 * @return the test case result
+	 * @throws RuntimeException
+	 *             if the details file cannot be written
+	 */
+	private TestCaseResult runWithDetails(String suite,
+			ResultAggregator aggregator) throws RuntimeException {
+		DetailWriter writer = new DetailWriter(detailFile(details,
+				aggregator.getSuiteId(suite)), 0);
+		try {
+			return client.run(suite, reports.expand(suite), writer);
+		} finally {
+			close(writer);
+		}
+	}
+
+	/**
+	 * Write the details of a suite run in a batch to its shard file and
+	 * remove them from the result.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @param aggregator
+	 *            the aggregator, which gives the shard of the suite
+	 * @return the result, or an error result if the details cannot be written
+	 */
+	private TestCaseResult writeDetails(String suite, TestCaseResult result,
+			ResultAggregator aggregator) {
+		try {
+			DetailWriter writer = new DetailWriter(detailFile(details,
+					aggregator.getSuiteId(suite)), 0);
+			try {
+				for (TestDetail detail : result.getTests())
+					writer.accept(detail);
+			} finally {
+				close(writer);
+			}
+		} catch (RuntimeException e) {
+			return RunTestClient.errorResult("Unable to write details of "
+					+ suite + " - " + e.getMessage());
+		}
+		result.getTests().clear();
+		return result;
+	}
+
+	/**
+	 * Close a details file.
+	 *
+	 * @param writer
+	 *            the writer of the file
+	 * @throws RuntimeException
+	 *             if the file cannot be closed
+	 */
+	private static void close(DetailWriter writer) throws RuntimeException {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot close detail file - "
+					+ e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * Journal the result of a suite and record it. A suite whose result
+	 * cannot be journaled is recorded as an error, so the batch does not
+	 * succeed and a resumed run repeats the suite.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @param start
+	 *            the start of the suite, from System.nanoTime
+	 * @param aggregator
+	 *            the aggregator for the results
+	 */
+	private void record(String suite, TestCaseResult result, long start,
+			ResultAggregator aggregator) {
+		try {
+			completed(suite, result);
+		} catch (RuntimeException e) {
+			result = RunTestClient.errorResult("Unable to journal " + suite
+					+ " - " + e.getMessage());
+		}
+		aggregator.record(suite, result,
+				(System.nanoTime() - start) / 1000000L);
+		return;
+	}
+
+	/**
+	 * Record the dispatch of a suite in the journal.
+	 *
+	 * @param suite
+	 *            the suite name
+	 */
+	private void dispatched(String suite) {
+		if (journal != null)
+			journal.dispatched(suite);
+		return;
+	}
+
+	/**
+	 * Record the result of a suite in the journal.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @return the result
+	 */
+	private TestCaseResult completed(String suite, TestCaseResult result) {
+		if (journal != null)
+			journal.completed(suite, result);
+		return result;
+	}
+}
@@ -0,0 +1,320 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Benchmark.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class measures the duration of a suite by running it repeatedly. The
+ * suite is first run a number of times whose durations are discarded, so
+ * that compilation and caching on the server do not count, and then a number
+ * of measured times. The measured durations are summarized by their mean,
+ * standard deviation and percentiles.
+ *
+ * A benchmark can be compared against a baseline of earlier benchmarks. The
+ * baseline is kept in a text file with one line per suite:
+ *
+ * suite runs meanMillis stdDevMillis p50Millis p95Millis
+ *
+ * The fields are separated by tabs. A suite has regressed when its mean
+ * duration exceeds the mean in the baseline by more than a threshold.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Benchmark {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the suite that was measured */
+	private final String suite;
+
+	/** the measured durations in milliseconds, in ascending order */
+	private final long[] durations;
+
+	/** the number of runs that reported an error or failure */
+	private final int failures;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param suite
+	 *            the suite that was measured
+	 * @param durations
+	 *            the measured durations in milliseconds
+	 * @param failures
+	 *            the number of runs that reported an error or failure
+	 */
+	Benchmark(String suite, long[] durations, int failures) {
+		this.suite = suite;
+		this.durations = durations.clone();
+		Arrays.sort(this.durations);
+		this.failures = failures;
+	}
+
+	/**
+	 * Measure a suite. Failed runs are measured like the others and counted.
+	 *
+	 * @param client
+	 *            the client
+	 * @param suite
+	 *            the suite to measure
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param warmup
+	 *            the number of runs that are discarded
+	 * @param repeat
+	 *            the number of measured runs, at least 1
+	 * @return the benchmark of the suite
+	 */
+	public static Benchmark run(RunTestClient client, String suite,
+			String reportName, int warmup, int repeat) {
+		for (int i = 0; i < warmup; i++)
+			client.run(suite, reportName);
+		long[] durations = new long[Math.max(repeat, 1)];
+		int failures = 0;
+		for (int i = 0; i < durations.length; i++) {
+			long start = System.nanoTime();
+			TestCaseResult result = client.run(suite, reportName);
+			durations[i] = (System.nanoTime() - start) / 1000000L;
+			if (SuiteHistory.isFailure(result))
+				failures++;
+		}
+		return new Benchmark(suite, durations, failures);
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the suite that was measured.
+	 *
+	 * @return the suite name
+	 */
+	public String getSuite() {
+		return suite;
+	}
+
+	/**
+	 * Return the number of measured runs.
+	 *
+	 * @return the count
+	 */
+	public int getCount() {
+		return durations.length;
+	}
+
+	/**
+	 * Return the number of measured runs that reported an error or failure.
+	 *
+	 * @return the count of failures
+	 */
+	public int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Return the mean duration.
+	 *
+	 * @return the mean in milliseconds
+	 */
+	public double getMean() {
+		return Comparison.mean(durations);
+	}
+
+	/**
+	 * Return the standard deviation of the durations.
+	 *
+	 * @return the sample standard deviation in milliseconds, or zero if there
+	 *         was only one run
+	 */
+	public double getStdDev() {
+		if (durations.length < 2)
+			return 0;
+		return Math.sqrt(Comparison.variance(durations));
+	}
+
+	/**
+	 * Return a percentile of the durations by the nearest rank.
+	 *
+	 * @param percent
+	 *            the percentile, from 0 to 100
+	 * @return the duration in milliseconds
+	 */
+	public long getPercentile(double percent) {
+		int rank = (int) Math.ceil(percent / 100 * durations.length);
+		return durations[Math.min(Math.max(rank, 1), durations.length) - 1];
+	}
+
+	/**
+	 * Return true if the suite has regressed from a baseline.
+	 *
+	 * @param baselineMean
+	 *            the mean duration in the baseline in milliseconds
+	 * @param threshold
+	 *            the allowed increase as a fraction of the baseline
+	 * @return true if the mean exceeds the baseline by more than the
+	 *         threshold
+	 */
+	public boolean isRegression(double baselineMean, double threshold) {
+		return getMean() > baselineMean * (1 + threshold);
+	}
+
+	// -------------------------------------------------------------------------
+	// Baseline
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Load the mean durations of a baseline file. A missing file is an empty
+	 * baseline.
+	 *
+	 * @param file
+	 *            the baseline file
+	 * @return the mean duration in milliseconds of each suite
+	 * @throws RuntimeException
+	 *             if the file cannot be read
+	 */
+	public static Map<String, Double> loadBaseline(Path file)
+			throws RuntimeException {
+		Map<String, Double> means = new TreeMap<String, Double>();
+		for (Map.Entry<String, String> line : readLines(file).entrySet()) {
+			String[] fields = line.getValue().split("\t");
+			if (fields.length != 6)
+				continue;
+			try {
+				means.put(line.getKey(), Double.valueOf(fields[2]));
+			} catch (NumberFormatException e) {
+				continue;
+			}
+		}
+		return means;
+	}
+
+	/**
+	 * Save benchmarks in a baseline file, replacing the lines of their suites
+	 * and keeping the other lines. The file is replaced in one step.
+	 *
+	 * @param file
+	 *            the baseline file
+	 * @param benchmarks
+	 *            the benchmarks to save
+	 * @throws RuntimeException
+	 *             if the file cannot be read or written
+	 */
+	public static void saveBaseline(Path file, Collection<Benchmark> benchmarks)
+			throws RuntimeException {
+		Map<String, String> lines = readLines(file);
+		for (Benchmark benchmark : benchmarks)
+			lines.put(benchmark.suite, benchmark.suite + "\t"
+					+ benchmark.getCount() + "\t" + benchmark.getMean() + "\t"
+					+ benchmark.getStdDev() + "\t"
+					+ benchmark.getPercentile(50) + "\t"
+					+ benchmark.getPercentile(95));
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			BufferedWriter out = Files.newBufferedWriter(temp,
+					StandardCharsets.UTF_8);
+			try {
+				for (String line : lines.values()) {
+					out.write(line);
+					out.newLine();
+				}
+			} finally {
+				out.close();
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to write baseline - " + file);
+		}
+		return;
+	}
+
+	/**
+	 * Read the lines of a baseline file by suite.
+	 *
+	 * @param file
+	 *            the baseline file
+	 * @return the lines keyed by their first field, empty if the file is
+	 *         missing
+	 * @throws RuntimeException
+	 *             if the file cannot be read
+	 */
+	private static Map<String, String> readLines(Path file)
+			throws RuntimeException {
+		Map<String, String> lines = new TreeMap<String, String>();
+		if (!Files.exists(file))
+			return lines;
+		try {
+			BufferedReader in = Files.newBufferedReader(file,
+					StandardCharsets.UTF_8);
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					int tab = line.indexOf('\t');
+					if (tab > 0)
+						lines.put(line.substring(0, tab), line);
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read baseline - " + file);
+		}
+		return lines;
+	}
+}
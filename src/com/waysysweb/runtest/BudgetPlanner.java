@@ -0,0 +1,188 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           BudgetPlanner.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class chooses the suites to run within a time budget. The value of a
+ * suite is its estimated failure rate, and its cost is its recorded duration.
+ * Suites are taken in order of value per unit of time, skipping any that no
+ * longer fit, and are run in that order so that likely failures are found
+ * early. A suite without history is assumed to be as likely to fail as not,
+ * and to take the median duration of the suites with history.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class BudgetPlanner {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** duration assumed when there is no history at all, in milliseconds */
+	static final long DEFAULT_DURATION = 60000;
+
+	/** the suite history */
+	private final SuiteHistory history;
+
+	// -------------------------------------------------------------------------
+	// Plan
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A plan of the suites to run and the suites deferred.
+	 */
+	public static final class Plan {
+
+		/** the suites to run, in order */
+		public final List<String> selected;
+
+		/** the suites that do not fit in the budget */
+		public final List<String> deferred;
+
+		/** the estimated duration of the selected suites, in milliseconds */
+		public final long estimatedMillis;
+
+		/**
+		 * Create an instance of this class
+		 */
+		Plan(List<String> selected, List<String> deferred,
+				long estimatedMillis) {
+			this.selected = selected;
+			this.deferred = deferred;
+			this.estimatedMillis = estimatedMillis;
+		}
+	}
+
+	/**
+	 * A suite with its estimated cost and value.
+	 */
+	private static final class Candidate {
+		final String suite;
+		final long duration;
+		final double density;
+
+		Candidate(String suite, long duration, double failureRate) {
+			this.suite = suite;
+			this.duration = duration;
+			this.density = failureRate / Math.max(duration, 1);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param history
+	 *            the suite history
+	 */
+	public BudgetPlanner(SuiteHistory history) {
+		this.history = history;
+	}
+
+	// -------------------------------------------------------------------------
+	// Plan
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Choose the suites to run within a budget.
+	 *
+	 * @param suites
+	 *            the candidate suites
+	 * @param budgetMillis
+	 *            the time budget in milliseconds
+	 * @return the plan
+	 */
+	public Plan plan(Collection<String> suites, long budgetMillis) {
+		long defaultDuration = medianDuration(suites);
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		for (String suite : suites) {
+			SuiteHistory.Entry entry = history.get(suite);
+			if (entry == null)
+				candidates.add(new Candidate(suite, defaultDuration, 0.5));
+			else
+				candidates.add(new Candidate(suite, entry.getDurationMillis(),
+						entry.getFailureRate()));
+		}
+		Collections.sort(candidates, new Comparator<Candidate>() {
+			public int compare(Candidate a, Candidate b) {
+				return Double.compare(b.density, a.density);
+			}
+		});
+		List<String> selected = new ArrayList<String>();
+		List<String> deferred = new ArrayList<String>();
+		long remaining = budgetMillis;
+		for (Candidate candidate : candidates) {
+			if (candidate.duration <= remaining) {
+				selected.add(candidate.suite);
+				remaining -= candidate.duration;
+			} else
+				deferred.add(candidate.suite);
+		}
+		return new Plan(selected, deferred, budgetMillis - remaining);
+	}
+
+	/**
+	 * Return the median recorded duration of the suites with history.
+	 *
+	 * @param suites
+	 *            the candidate suites
+	 * @return the median duration in milliseconds
+	 */
+	private long medianDuration(Collection<String> suites) {
+		List<Long> durations = new ArrayList<Long>();
+		for (String suite : suites) {
+			SuiteHistory.Entry entry = history.get(suite);
+			if (entry != null)
+				durations.add(Long.valueOf(entry.getDurationMillis()));
+		}
+		if (durations.isEmpty())
+			return DEFAULT_DURATION;
+		Collections.sort(durations);
+		return durations.get(durations.size() / 2).longValue();
+	}
+}
@@ -0,0 +1,424 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           CallStats.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Keep the thread and phases of each call
+//  Waysys    19-Oct-2026   Time phases with Phase
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class keeps live statistics of the calls of a client for the status
+ * endpoint: the calls in flight with their start times, the number of suites
+ * queued, the completed counts and a histogram of call latencies. Counts are
+ * kept in striped adders and the histogram in an atomic array, so the calling
+ * threads never wait for each other or for a reader, and a reader sees the
+ * values without locking.
+ *
+ * The histogram has exact buckets below 16 ms and eight buckets for each
+ * power of two above, so a percentile is reported within 12.5% of the true
+ * value. It is reported as the upper bound of its bucket.
+ *
+ * Each call in flight also keeps its thread, its phase in progress and the
+ * phases it has finished, for the watchdog. The phases are those of
+ * Phase, passed to the call started last on the same thread.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class CallStats {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** the number of exact buckets */
+	private static final int EXACT = 16;
+
+	/** the number of buckets for each power of two above the exact buckets */
+	private static final int SUB_BUCKETS = 8;
+
+	/** the number of buckets */
+	private static final int BUCKETS = EXACT + (63 - 4) * SUB_BUCKETS;
+
+	// -------------------------------------------------------------------------
+	// Call
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A call in flight.
+	 */
+	static final class Call {
+		/** the suite */
+		final String suite;
+
+		/** the start on the nanosecond timer */
+		final long startNanos;
+
+		/** the thread making the call */
+		final Thread thread;
+
+		/** the phases finished, with their times and outcomes */
+		final StringBuffer phases = new StringBuffer();
+
+		/** the phase in progress, or null */
+		volatile String phase;
+
+		/** the start of the phase in progress on the nanosecond timer */
+		volatile long phaseNanos;
+
+		Call(String suite) {
+			this.suite = suite;
+			startNanos = System.nanoTime();
+			thread = Thread.currentThread();
+		}
+	}
+
+	/** the call started last on each thread */
+	private static final ThreadLocal<Call> current = new ThreadLocal<Call>();
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the server */
+	private final String server;
+
+	/** the number of threads of the client */
+	private final int concurrency;
+
+	/** the calls in flight */
+	private final Set<Call> inFlight = Collections
+			.newSetFromMap(new ConcurrentHashMap<Call, Boolean>());
+
+	/** the number of suites submitted and not yet sent */
+	private final LongAdder queued = new LongAdder();
+
+	/** the number of calls completed */
+	private final LongAdder completed = new LongAdder();
+
+	/** the number of completed suites with failed tests or test errors */
+	private final LongAdder failed = new LongAdder();
+
+	/** the number of completed calls with an error number */
+	private final LongAdder errors = new LongAdder();
+
+	/** the number of calls in each latency bucket */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/** the longest latency in milliseconds */
+	private final LongAccumulator max = new LongAccumulator(
+			new LongBinaryOperator() {
+				public long applyAsLong(long a, long b) {
+					return Math.max(a, b);
+				}
+			}, 0);
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param server
+	 *            the server of the client
+	 * @param concurrency
+	 *            the number of threads of the client
+	 */
+	CallStats(String server, int concurrency) {
+		this.server = server;
+		this.concurrency = concurrency;
+	}
+
+	// -------------------------------------------------------------------------
+	// Recording
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Count suites that were submitted and wait to be sent.
+	 *
+	 * @param count
+	 *            the number of suites, negative when they are sent
+	 */
+	void queued(int count) {
+		queued.add(count);
+		return;
+	}
+
+	/**
+	 * Record the start of a call.
+	 *
+	 * @param suite
+	 *            the suite
+	 * @return the call
+	 */
+	Call started(String suite) {
+		Call call = new Call(suite);
+		inFlight.add(call);
+		current.set(call);
+		return call;
+	}
+
+	/**
+	 * Record the end of a call.
+	 *
+	 * @param call
+	 *            the call
+	 * @param result
+	 *            the result of the call, or null if the call threw an
+	 *            exception
+	 */
+	void finished(Call call, TestCaseResult result) {
+		inFlight.remove(call);
+		if (current.get() == call)
+			current.remove();
+		long millis = (System.nanoTime() - call.startNanos) / 1000000L;
+		buckets.incrementAndGet(bucket(millis));
+		max.accumulate(millis);
+		completed.increment();
+		if (result == null || result.getErrorNum() != 0)
+			errors.increment();
+		else if (SuiteHistory.isFailure(result))
+			failed.increment();
+		return;
+	}
+
+	/**
+	 * Record the start of a phase of the current call of this thread. A
+	 * phase inside another phase, such as a TLS handshake while waiting for
+	 * a call, is not shown as the phase in progress.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @param startNanos
+	 *            the start of the phase on the nanosecond timer
+	 */
+	static void phaseStarted(String name, long startNanos) {
+		Call call = current.get();
+		if (call != null && call.phase == null) {
+			call.phaseNanos = startNanos;
+			call.phase = name;
+		}
+		return;
+	}
+
+	/**
+	 * Record the end of a phase of the current call of this thread.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @param startNanos
+	 *            the start of the phase on the nanosecond timer
+	 * @param outcome
+	 *            the outcome of the phase
+	 */
+	static void phaseFinished(String name, long startNanos, String outcome) {
+		Call call = current.get();
+		if (call != null) {
+			long now = System.nanoTime();
+			call.phases.append(name).append(' ')
+					.append((startNanos - call.startNanos) / 1000000L)
+					.append(" ms +").append((now - startNanos) / 1000000L)
+					.append(" ms ").append(outcome).append('\n');
+			if (call.phaseNanos == startNanos && name.equals(call.phase))
+				call.phase = null;
+		}
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Reading
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the server.
+	 *
+	 * @return the server URL
+	 */
+	String getServer() {
+		return server;
+	}
+
+	/**
+	 * Return the calls in flight.
+	 *
+	 * @return a copy of the calls
+	 */
+	List<Call> getCalls() {
+		return new ArrayList<Call>(inFlight);
+	}
+
+	/**
+	 * Return the number of suites queued.
+	 *
+	 * @return the count
+	 */
+	long getQueued() {
+		return Math.max(0, queued.sum());
+	}
+
+	/**
+	 * Return the number of calls completed.
+	 *
+	 * @return the count
+	 */
+	long getCompleted() {
+		return completed.sum();
+	}
+
+	/**
+	 * Return the number of calls in flight.
+	 *
+	 * @return the count
+	 */
+	int getInFlight() {
+		return inFlight.size();
+	}
+
+	/**
+	 * Return a percentile of the latencies of the completed calls.
+	 *
+	 * @param percent
+	 *            the percentile, from 0 to 100
+	 * @return the upper bound of the bucket of the percentile in
+	 *         milliseconds, or 0 if no call has completed
+	 */
+	long getPercentile(double percent) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percent / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(upperBound(i), max.get());
+		}
+		return max.get();
+	}
+
+	/**
+	 * Append the statistics as a JSON object.
+	 *
+	 * @param json
+	 *            the JSON text
+	 */
+	void appendJson(StringBuilder json) {
+		long now = System.nanoTime();
+		List<Call> calls = getCalls();
+		Collections.sort(calls, new Comparator<Call>() {
+			public int compare(Call a, Call b) {
+				return Long.compare(a.startNanos, b.startNanos);
+			}
+		});
+		json.append("{\"server\":");
+		SpanExporter.appendString(json, server);
+		json.append(",\"concurrency\":").append(concurrency)
+				.append(",\"inFlight\":").append(calls.size())
+				.append(",\"queued\":").append(getQueued())
+				.append(",\"completed\":").append(completed.sum())
+				.append(",\"failed\":").append(failed.sum())
+				.append(",\"errors\":").append(errors.sum())
+				.append(",\"latencyMillis\":{\"p50\":")
+				.append(getPercentile(50)).append(",\"p90\":")
+				.append(getPercentile(90)).append(",\"p99\":")
+				.append(getPercentile(99)).append(",\"max\":")
+				.append(max.get()).append("},\"calls\":[");
+		for (int i = 0; i < calls.size(); i++) {
+			if (i > 0)
+				json.append(',');
+			json.append("{\"suite\":");
+			SpanExporter.appendString(json, calls.get(i).suite);
+			json.append(",\"elapsedMillis\":")
+					.append((now - calls.get(i).startNanos) / 1000000L)
+					.append('}');
+		}
+		json.append("]}");
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the bucket of a latency.
+	 *
+	 * @param millis
+	 *            the latency in milliseconds
+	 * @return the bucket index
+	 */
+	static int bucket(long millis) {
+		if (millis < EXACT)
+			return (int) Math.max(millis, 0);
+		int exponent = 63 - Long.numberOfLeadingZeros(millis);
+		int sub = (int) (millis >> (exponent - 3)) & (SUB_BUCKETS - 1);
+		return EXACT + (exponent - 4) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Return the largest latency of a bucket.
+	 *
+	 * @param bucket
+	 *            the bucket index
+	 * @return the latency in milliseconds
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < EXACT)
+			return bucket;
+		int exponent = 4 + (bucket - EXACT) / SUB_BUCKETS;
+		int sub = (bucket - EXACT) % SUB_BUCKETS;
+		return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+	}
+}
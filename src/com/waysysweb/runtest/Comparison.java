@@ -0,0 +1,374 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Comparison.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class compares two servers by running the same suites on both. Each
+ * suite is run several rounds on each server, and the runs on the two servers
+ * are interleaved so that a change in load during the comparison affects both
+ * sides alike. The side that runs first alternates from one run to the next.
+ * Suites are run one at a time so that their durations are not disturbed by
+ * each other.
+ *
+ * The duration of a suite on each server is summarized by its mean, and the
+ * difference of the means is given with a 95% confidence interval from
+ * Welch's t-test. A suite is slower on the second server when the whole
+ * interval is above zero. The outcomes of the suites are compared as well.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Comparison {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The 0.975 quantile of Student's t distribution for 1 to 30 degrees of
+	 * freedom
+	 */
+	private static final double[] T_975 = { 12.706, 4.303, 3.182, 2.776,
+			2.571, 2.447, 2.365, 2.306, 2.262, 2.228, 2.201, 2.179, 2.160,
+			2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074,
+			2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+
+	/** the 0.975 quantile of the normal distribution */
+	private static final double Z_975 = 1.960;
+
+	// -------------------------------------------------------------------------
+	// Result
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The comparison of one suite on the two servers.
+	 */
+	public static class Result {
+		/** the suite name */
+		private final String suite;
+
+		/** the durations in milliseconds on the first server */
+		private final long[] durationsA;
+
+		/** the durations in milliseconds on the second server */
+		private final long[] durationsB;
+
+		/** the number of runs that failed on the first server */
+		private final int failuresA;
+
+		/** the number of runs that failed on the second server */
+		private final int failuresB;
+
+		/**
+		 * Create an instance of this class
+		 *
+		 * @param suite
+		 *            the suite name
+		 * @param durationsA
+		 *            the durations on the first server
+		 * @param durationsB
+		 *            the durations on the second server
+		 * @param failuresA
+		 *            the number of runs that failed on the first server
+		 * @param failuresB
+		 *            the number of runs that failed on the second server
+		 */
+		Result(String suite, long[] durationsA, long[] durationsB,
+				int failuresA, int failuresB) {
+			this.suite = suite;
+			this.durationsA = durationsA;
+			this.durationsB = durationsB;
+			this.failuresA = failuresA;
+			this.failuresB = failuresB;
+		}
+
+		/**
+		 * Return the suite name.
+		 *
+		 * @return the suite name
+		 */
+		public String getSuite() {
+			return suite;
+		}
+
+		/**
+		 * Return the mean duration on the first server.
+		 *
+		 * @return the mean in milliseconds
+		 */
+		public double getMeanA() {
+			return mean(durationsA);
+		}
+
+		/**
+		 * Return the mean duration on the second server.
+		 *
+		 * @return the mean in milliseconds
+		 */
+		public double getMeanB() {
+			return mean(durationsB);
+		}
+
+		/**
+		 * Return the difference of the mean durations.
+		 *
+		 * @return the mean on the second server less the mean on the first,
+		 *         in milliseconds
+		 */
+		public double getDifference() {
+			return getMeanB() - getMeanA();
+		}
+
+		/**
+		 * Return the half width of the 95% confidence interval of the
+		 * difference of the means.
+		 *
+		 * @return the half width in milliseconds, or infinity if either
+		 *         server has fewer than two runs
+		 */
+		public double getMargin() {
+			int na = durationsA.length;
+			int nb = durationsB.length;
+			if (na < 2 || nb < 2)
+				return Double.POSITIVE_INFINITY;
+			double va = variance(durationsA) / na;
+			double vb = variance(durationsB) / nb;
+			double se = Math.sqrt(va + vb);
+			if (se == 0)
+				return 0;
+			double df = (va + vb) * (va + vb)
+					/ (va * va / (na - 1) + vb * vb / (nb - 1));
+			return quantile(df) * se;
+		}
+
+		/**
+		 * Return the number of runs that failed on the first server.
+		 *
+		 * @return the number of failed runs
+		 */
+		public int getFailuresA() {
+			return failuresA;
+		}
+
+		/**
+		 * Return the number of runs that failed on the second server.
+		 *
+		 * @return the number of failed runs
+		 */
+		public int getFailuresB() {
+			return failuresB;
+		}
+
+		/**
+		 * Return true if the suite is significantly slower on the second
+		 * server.
+		 *
+		 * @return true if the confidence interval of the difference is above
+		 *         zero
+		 */
+		public boolean isSlower() {
+			return getDifference() - getMargin() > 0;
+		}
+
+		/**
+		 * Return true if the suite is significantly faster on the second
+		 * server.
+		 *
+		 * @return true if the confidence interval of the difference is below
+		 *         zero
+		 */
+		public boolean isFaster() {
+			return getDifference() + getMargin() < 0;
+		}
+
+		/**
+		 * Return true if the outcomes of the suite differ between the
+		 * servers.
+		 *
+		 * @return true if the number of failed runs differs
+		 */
+		public boolean isOutcomeDifferent() {
+			return failuresA != failuresB;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the client for the first server */
+	private final RunTestClient clientA;
+
+	/** the client for the second server */
+	private final RunTestClient clientB;
+
+	/** the report names on the first server */
+	private final ReportName reportsA;
+
+	/** the report names on the second server */
+	private final ReportName reportsB;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param clientA
+	 *            the client for the first server, the baseline
+	 * @param clientB
+	 *            the client for the second server
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param suites
+	 *            the suites to compare
+	 */
+	public Comparison(RunTestClient clientA, RunTestClient clientB,
+			String reportName, Collection<String> suites) {
+		String runId = ReportName.newRunId();
+		this.clientA = clientA;
+		this.clientB = clientB;
+		reportsA = new ReportName(reportName, clientA.getUrl(), runId, suites);
+		reportsB = new ReportName(reportName, clientB.getUrl(), runId, suites);
+	}
+
+	// -------------------------------------------------------------------------
+	// Compare
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run the suites on both servers and compare them.
+	 *
+	 * @param suites
+	 *            the suites to compare
+	 * @param rounds
+	 *            the number of times each suite is run on each server
+	 * @return the comparison of each suite in order
+	 */
+	public List<Result> compare(List<String> suites, int rounds) {
+		int count = suites.size();
+		long[][] durationsA = new long[count][rounds];
+		long[][] durationsB = new long[count][rounds];
+		int[] failuresA = new int[count];
+		int[] failuresB = new int[count];
+		for (int round = 0; round < rounds; round++) {
+			System.out.println("Round " + (round + 1) + " of " + rounds);
+			for (int i = 0; i < count; i++) {
+				String suite = suites.get(i);
+				boolean firstA = (round + i) % 2 == 0;
+				for (int side = 0; side < 2; side++) {
+					boolean onA = (side == 0) == firstA;
+					RunTestClient client = onA ? clientA : clientB;
+					ReportName reports = onA ? reportsA : reportsB;
+					long start = System.nanoTime();
+					TestCaseResult result = client.run(suite,
+							reports.expand(suite));
+					long duration = (System.nanoTime() - start) / 1000000L;
+					boolean failed = SuiteHistory.isFailure(result);
+					if (onA) {
+						durationsA[i][round] = duration;
+						failuresA[i] += failed ? 1 : 0;
+					} else {
+						durationsB[i][round] = duration;
+						failuresB[i] += failed ? 1 : 0;
+					}
+				}
+			}
+		}
+		List<Result> results = new ArrayList<Result>();
+		for (int i = 0; i < count; i++)
+			results.add(new Result(suites.get(i), durationsA[i],
+					durationsB[i], failuresA[i], failuresB[i]));
+		return results;
+	}
+
+	// -------------------------------------------------------------------------
+	// Statistics
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the mean of a sample.
+	 *
+	 * @param values
+	 *            the sample
+	 * @return the mean, or zero for an empty sample
+	 */
+	static double mean(long[] values) {
+		if (values.length == 0)
+			return 0;
+		double sum = 0;
+		for (long value : values)
+			sum += value;
+		return sum / values.length;
+	}
+
+	/**
+	 * Return the variance of a sample.
+	 *
+	 * @param values
+	 *            the sample of at least two values
+	 * @return the unbiased sample variance
+	 */
+	static double variance(long[] values) {
+		double mean = mean(values);
+		double sum = 0;
+		for (long value : values)
+			sum += (value - mean) * (value - mean);
+		return sum / (values.length - 1);
+	}
+
+	/**
+	 * Return the 0.975 quantile of Student's t distribution. Fractional
+	 * degrees of freedom are rounded down, which widens the interval.
+	 *
+	 * @param df
+	 *            the degrees of freedom, at least one
+	 * @return the quantile
+	 */
+	static double quantile(double df) {
+		int n = Math.max(1, (int) Math.floor(df));
+		return n <= T_975.length ? T_975[n - 1] : Z_975;
+	}
+}
@@ -0,0 +1,275 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Coordinator.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Form report names from a template
+//  Waysys    19-Oct-2026   Listen on one address and require a token
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class holds a queue of suites and hands them to workers that connect
+ * over TCP. Each worker connection is served by its own thread. A worker
+ * must first send the token shared with the coordinator, or it is refused.
+ * A worker that closes its connection, or sends nothing for the lease time,
+ * is dead, and its suite is requeued for another worker.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Coordinator implements Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the server socket that accepts workers */
+	private final ServerSocket server;
+
+	/** the queue of suites */
+	private final WorkQueue queue;
+
+	/** the file name for the reports, which may be a template */
+	private final String reportName;
+
+	/** the run id for report names */
+	private final String runId;
+
+	/** the time without a message after which a worker is dead */
+	private final int leaseMillis;
+
+	/** the token a worker must send */
+	private final String token;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param address
+	 *            the address to listen on, or null for all addresses
+	 * @param port
+	 *            the TCP port to listen on, or 0 for any free port
+	 * @param queue
+	 *            the queue of suites
+	 * @param reportName
+	 *            the file name for the reports, which may be a template
+	 *            whose server is filled in by the worker
+	 * @param leaseMillis
+	 *            the time without a message after which a worker is dead, in
+	 *            milliseconds
+	 * @param token
+	 *            the token a worker must send
+	 * @throws RuntimeException
+	 *             if the port cannot be opened
+	 */
+	public Coordinator(InetAddress address, int port, WorkQueue queue,
+			String reportName, int leaseMillis, String token)
+			throws RuntimeException {
+		assert token != null;
+		this.queue = queue;
+		this.reportName = reportName;
+		runId = ReportName.newRunId();
+		this.leaseMillis = leaseMillis;
+		this.token = token;
+		try {
+			server = new ServerSocket(port, 0, address);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to listen on port " + port
+					+ " - " + e.getMessage());
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Coordinate
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the TCP port the coordinator listens on.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Accept workers until every suite has a result.
+	 *
+	 * @return the results of the suites in queue order
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public Map<String, TestCaseResult> run() throws InterruptedException {
+		Thread acceptor = new Thread(new Runnable() {
+			public void run() {
+				accept();
+			}
+		}, "runtest-coordinator");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		try {
+			queue.awaitCompletion();
+		} finally {
+			close();
+		}
+		return queue.getResults();
+	}
+
+	/**
+	 * Stop accepting workers.
+	 */
+	public void close() {
+		try {
+			server.close();
+		} catch (IOException e) {
+			System.out.println("Unable to close coordinator - "
+					+ e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * Accept worker connections until the server socket is closed.
+	 */
+	private void accept() {
+		while (!server.isClosed()) {
+			try {
+				final Socket socket = server.accept();
+				Thread handler = new Thread(new Runnable() {
+					public void run() {
+						serve(socket);
+					}
+				}, "runtest-worker-" + socket.getRemoteSocketAddress());
+				handler.setDaemon(true);
+				handler.start();
+			} catch (SocketException e) {
+				// server socket closed
+			} catch (IOException e) {
+				System.out.println("Unable to accept worker - "
+						+ e.getMessage());
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Serve one worker connection.
+	 *
+	 * @param socket
+	 *            the connection to the worker
+	 */
+	void serve(Socket socket) {
+		String worker = socket.getRemoteSocketAddress().toString();
+		boolean done = false;
+		try {
+			socket.setSoTimeout(leaseMillis);
+			BufferedReader in = new BufferedReader(new InputStreamReader(
+					socket.getInputStream(), StandardCharsets.UTF_8));
+			PrintWriter out = new PrintWriter(new OutputStreamWriter(
+					socket.getOutputStream(), StandardCharsets.UTF_8), true);
+			String line = in.readLine();
+			if (line == null)
+				return;
+			String[] hello = WorkProtocol.parse(line);
+			if (!hello[0].equals(WorkProtocol.HELLO)
+					|| hello.length != 2
+					|| !WorkProtocol.isToken(token, WorkProtocol
+							.unescape(hello[1]))) {
+				out.println(WorkProtocol.DENIED);
+				System.out.println("Worker refused - " + worker
+						+ " - wrong token");
+				return;
+			}
+			while (!done && (line = in.readLine()) != null) {
+				String[] fields = WorkProtocol.parse(line);
+				if (fields[0].equals(WorkProtocol.NEXT)) {
+					String suite = queue.take(socket);
+					if (suite != null) {
+						out.println(WorkProtocol.suite(suite, ReportName
+								.expand(reportName, suite, queue.indexOf(suite),
+										null, runId)));
+					} else if (queue.isComplete()) {
+						out.println(WorkProtocol.DONE);
+						done = true;
+					} else
+						out.println(WorkProtocol.WAIT);
+				} else if (fields[0].equals(WorkProtocol.RESULT)) {
+					String suite = WorkProtocol.unescape(fields[1]);
+					if (queue.complete(suite, WorkProtocol.toResult(fields)))
+						System.out.println("Suite " + suite
+								+ " completed by " + worker);
+				} else if (!fields[0].equals(WorkProtocol.HEARTBEAT))
+					System.out.println("Unknown message from " + worker
+							+ " - " + fields[0]);
+			}
+		} catch (IOException e) {
+			System.out.println("Worker lost - " + worker + " - "
+					+ e.getMessage());
+		} catch (RuntimeException e) {
+			System.out.println("Bad message from " + worker + " - "
+					+ e.getMessage());
+		} finally {
+			List<String> requeued = queue.release(socket);
+			if (!requeued.isEmpty())
+				System.out.println("Requeued from " + worker + ": "
+						+ requeued);
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+		return;
+	}
+}
@@ -0,0 +1,192 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           CredentialPool.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Keep the runTests port of an account
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.waysysweb.RunTestPortType;
+import com.waysysweb.RunTestsPortType;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is a pool of service accounts. Guidewire ties session state and
+ * some locks to the user, so suites run at the same time under one account
+ * can serialize or collide on the server. Each call takes an idle account
+ * from the pool for its duration and returns it afterwards, so no two calls
+ * in flight share an account. Idle accounts are handed out in the order they
+ * were returned, and callers waiting for an account are served in the order
+ * they arrived.
+ *
+ * Each account has its own port, bound to its credentials, which is created
+ * on first use. An account is held by one call at a time, so its port is
+ * never used by two threads at once.
+ *
+ * The accounts are given as user:password pairs separated by commas. The
+ * password is everything after the first colon.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class CredentialPool {
+	// -------------------------------------------------------------------------
+	// Account
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A service account of the pool.
+	 */
+	static final class Account {
+		/** the user name */
+		final String username;
+
+		/** the password */
+		final String password;
+
+		/** the port bound to this account, or null until first use */
+		RunTestPortType port;
+
+		/** the runTests port bound to this account, or null until first use */
+		RunTestsPortType batchPort;
+
+		/** the number of calls made with this account */
+		int calls;
+
+		Account(String username, String password) {
+			this.username = username;
+			this.password = password;
+			port = null;
+			batchPort = null;
+			calls = 0;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** all accounts of the pool */
+	private final List<Account> accounts;
+
+	/** the idle accounts */
+	private final BlockingQueue<Account> idle;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param accounts
+	 *            the accounts of the pool, at least one
+	 */
+	CredentialPool(List<Account> accounts) {
+		assert !accounts.isEmpty();
+		this.accounts = Collections.unmodifiableList(new ArrayList<Account>(
+				accounts));
+		idle = new ArrayBlockingQueue<Account>(accounts.size(), true, accounts);
+	}
+
+	/**
+	 * Create a pool from a list of user:password pairs.
+	 *
+	 * @param value
+	 *            the pairs separated by commas
+	 * @return the pool
+	 * @throws RuntimeException
+	 *             if the list is empty or a pair has no password
+	 */
+	static CredentialPool parse(String value) throws RuntimeException {
+		List<Account> accounts = new ArrayList<Account>();
+		for (String pair : value.split(",")) {
+			pair = pair.trim();
+			if (pair.isEmpty())
+				continue;
+			int colon = pair.indexOf(':');
+			if (colon <= 0)
+				throw new RuntimeException("Bad service account - " + pair);
+			accounts.add(new Account(pair.substring(0, colon), pair
+					.substring(colon + 1)));
+		}
+		if (accounts.isEmpty())
+			throw new RuntimeException("No service accounts in - " + value);
+		return new CredentialPool(accounts);
+	}
+
+	// -------------------------------------------------------------------------
+	// Operations
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Take an idle account, waiting for one if all are in use.
+	 *
+	 * @return the account
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	Account acquire() throws InterruptedException {
+		Account account = idle.take();
+		account.calls++;
+		return account;
+	}
+
+	/**
+	 * Return an account to the pool.
+	 *
+	 * @param account
+	 *            the account
+	 */
+	void release(Account account) {
+		idle.add(account);
+		return;
+	}
+
+	/**
+	 * Return the accounts of the pool.
+	 *
+	 * @return the accounts
+	 */
+	List<Account> getAccounts() {
+		return accounts;
+	}
+}
@@ -0,0 +1,218 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           DetailWriter.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.example.unittestcase.TestDetail;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is a sink that writes the per-test details of a suite to a file,
+ * one tab-separated line per test, as they arrive:
+ *
+ * class method status duration message
+ *
+ * The fields are escaped as in the work protocol. The writer also counts the
+ * tests that did not pass and keeps the slowest tests, so these can be
+ * reported without reading the file again. Only the slowest tests are held in
+ * memory.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class DetailWriter implements DetailSink, Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the status of a test that passed */
+	static final String PASSED = "passed";
+
+	/** orders details by duration */
+	private static final Comparator<TestDetail> BY_DURATION = new Comparator<TestDetail>() {
+		public int compare(TestDetail a, TestDetail b) {
+			return Long.compare(a.getDuration(), b.getDuration());
+		}
+	};
+
+	/** the writer of the file */
+	private final BufferedWriter writer;
+
+	/** the number of slowest tests kept */
+	private final int slowestCount;
+
+	/** the slowest tests, fastest first */
+	private final PriorityQueue<TestDetail> slowest;
+
+	/** the number of tests written */
+	private int count;
+
+	/** the number of tests that did not pass */
+	private int notPassed;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param file
+	 *            the file for the details, which is replaced
+	 * @param slowestCount
+	 *            the number of slowest tests to keep
+	 * @throws RuntimeException
+	 *             if the file cannot be created
+	 */
+	public DetailWriter(Path file, int slowestCount) throws RuntimeException {
+		try {
+			writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot create detail file - " + file);
+		}
+		this.slowestCount = slowestCount;
+		slowest = new PriorityQueue<TestDetail>(slowestCount + 1, BY_DURATION);
+		count = 0;
+		notPassed = 0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Sink
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Write the detail of one test.
+	 *
+	 * @param detail
+	 *            the detail of the test
+	 * @throws RuntimeException
+	 *             if the file cannot be written
+	 */
+	public void accept(TestDetail detail) throws RuntimeException {
+		try {
+			writer.write(WorkProtocol.escape(detail.getClassName()));
+			writer.write(WorkProtocol.SEPARATOR);
+			writer.write(WorkProtocol.escape(detail.getMethod()));
+			writer.write(WorkProtocol.SEPARATOR);
+			writer.write(WorkProtocol.escape(detail.getStatus()));
+			writer.write(WorkProtocol.SEPARATOR);
+			writer.write(Long.toString(detail.getDuration()));
+			writer.write(WorkProtocol.SEPARATOR);
+			writer.write(WorkProtocol.escape(detail.getMessage()));
+			writer.newLine();
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot write detail file - "
+					+ e.getMessage());
+		}
+		count++;
+		if (!isPassed(detail))
+			notPassed++;
+		if (slowestCount > 0) {
+			slowest.add(detail);
+			if (slowest.size() > slowestCount)
+				slowest.poll();
+		}
+		return;
+	}
+
+	/**
+	 * Close the file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be closed
+	 */
+	public void close() throws IOException {
+		writer.close();
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Results
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return true if a test passed.
+	 *
+	 * @param detail
+	 *            the detail of the test
+	 * @return true if its status is passed
+	 */
+	public static boolean isPassed(TestDetail detail) {
+		return PASSED.equalsIgnoreCase(detail.getStatus());
+	}
+
+	/**
+	 * Return the number of tests written.
+	 *
+	 * @return the count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Return the number of tests that did not pass.
+	 *
+	 * @return the count
+	 */
+	public int getNotPassed() {
+		return notPassed;
+	}
+
+	/**
+	 * Return the slowest tests.
+	 *
+	 * @return the slowest tests, slowest first
+	 */
+	public List<TestDetail> getSlowest() {
+		List<TestDetail> list = new ArrayList<TestDetail>(slowest);
+		Collections.sort(list, Collections.reverseOrder(BY_DURATION));
+		return list;
+	}
+}
@@ -0,0 +1,669 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ExchangeRecorder.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Take outcomes from Phase
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPException;
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.handler.MessageContext;
+import javax.xml.ws.handler.soap.SOAPHandler;
+import javax.xml.ws.handler.soap.SOAPMessageContext;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class keeps the recent SOAP exchanges of a client in a fixed-size ring
+ * buffer outside the heap, and writes them to a file when a call fails. The
+ * request and response envelopes and HTTP headers of every call are
+ * recorded, so a vague fault can be examined afterwards without leaving full
+ * message logging on.
+ *
+ * The buffer holds frames of id, kind, length and bytes. A new frame evicts
+ * the oldest frames when the buffer is full. Frames are written under a short
+ * lock by a bulk copy, and writing headers and streamed bodies allocates
+ * nothing. Passwords are redacted before they reach the buffer: the content
+ * of any element whose name ends in password, and the value of the
+ * Authorization header.
+ *
+ * Streamed calls are recorded as they are written and read. For JAX-WS ports
+ * a handler writes each message, which makes JAX-WS build the SAAJ form of
+ * the message, so recording costs more on those ports.
+ *
+ * When a call fails, the whole buffer is written to a file in the dump
+ * directory, grouped by call, with the failed call marked. At most MAX_DUMPS
+ * files are written by a client.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class ExchangeRecorder {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** the kind of the frame that starts a call */
+	static final int START = 0;
+
+	/** the kind of a frame with a request header */
+	static final int REQUEST_HEADER = 1;
+
+	/** the kind of a frame with part of a request body */
+	static final int REQUEST = 2;
+
+	/** the kind of a frame with a response header */
+	static final int RESPONSE_HEADER = 3;
+
+	/** the kind of a frame with part of a response body */
+	static final int RESPONSE = 4;
+
+	/** the labels of the frame kinds */
+	private static final String[] LABELS = { "call", "request headers",
+			"request", "response headers", "response" };
+
+	/** the default size of the buffer in bytes */
+	static final int DEFAULT_CAPACITY = 1 << 20;
+
+	/** the smallest size of the buffer in bytes */
+	static final int MIN_CAPACITY = 4096;
+
+	/** the largest number of dump files */
+	static final int MAX_DUMPS = 10;
+
+	/** the size of a frame header: id, kind and length */
+	private static final int FRAME_HEADER = 9;
+
+	/** the size of the chunks copied from a stream */
+	private static final int CHUNK = 512;
+
+	/** the end of an element name whose content is redacted */
+	private static final byte[] PASSWORD = "password>"
+			.getBytes(StandardCharsets.US_ASCII);
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the ring buffer */
+	private final ByteBuffer ring;
+
+	/** the size of the ring buffer */
+	private final int capacity;
+
+	/** the offset of the next frame */
+	private int head = 0;
+
+	/** the offset of the oldest frame */
+	private int tail = 0;
+
+	/** the number of bytes used */
+	private int used = 0;
+
+	/** the directory of the dump files */
+	private final Path directory;
+
+	/** the last call id */
+	private final AtomicInteger ids = new AtomicInteger();
+
+	/** the number of dump files written */
+	private final AtomicInteger dumps = new AtomicInteger();
+
+	/** the call of each thread, or 0 */
+	private final ThreadLocal<int[]> current = new ThreadLocal<int[]>() {
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param directory
+	 *            the directory of the dump files
+	 * @param capacity
+	 *            the size of the buffer in bytes, at least MIN_CAPACITY
+	 */
+	ExchangeRecorder(Path directory, int capacity) {
+		this.capacity = Math.max(capacity, MIN_CAPACITY);
+		this.directory = directory;
+		ring = ByteBuffer.allocateDirect(this.capacity);
+	}
+
+	// -------------------------------------------------------------------------
+	// Calls
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Start recording a call on this thread.
+	 *
+	 * @param suite
+	 *            the suite of the call
+	 * @param server
+	 *            the server
+	 * @return the id of the call
+	 */
+	int begin(String suite, String server) {
+		int id = ids.incrementAndGet();
+		current.get()[0] = id;
+		writeLine(id, START, suite, server);
+		return id;
+	}
+
+	/**
+	 * Return the call being recorded on this thread.
+	 *
+	 * @return the id of the call, or 0
+	 */
+	int current() {
+		return current.get()[0];
+	}
+
+	/**
+	 * End recording a call, and write the buffer to a file if it failed.
+	 *
+	 * @param id
+	 *            the id of the call
+	 * @param result
+	 *            the result of the call, or null if it threw an exception
+	 */
+	void end(int id, TestCaseResult result) {
+		current.get()[0] = 0;
+		if (result == null)
+			dump(id, Phase.ERROR);
+		else if (result.getErrorNum() != 0)
+			dump(id, result.getErrorMessage());
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Writing
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Record a line of text, such as a header. Characters outside ASCII are
+	 * written as question marks.
+	 *
+	 * @param id
+	 *            the id of the call
+	 * @param kind
+	 *            the kind of the frame
+	 * @param name
+	 *            the name, such as a header name, or null
+	 * @param value
+	 *            the value, or null
+	 */
+	void writeLine(int id, int kind, String name, String value) {
+		if (name != null && name.equalsIgnoreCase("Authorization"))
+			value = "(redacted)";
+		int nameLength = name == null ? 0 : name.length() + 2;
+		int valueLength = value == null ? 0 : value.length();
+		synchronized (this) {
+			int length = Math.min(nameLength + valueLength + 1, capacity / 2
+					- FRAME_HEADER);
+			startFrame(id, kind, length);
+			int written = 0;
+			for (int i = 0; i < nameLength - 2 && written < length - 1; i++, written++)
+				putByte(ascii(name.charAt(i)));
+			if (nameLength > 0)
+				for (int i = 0; i < 2 && written < length - 1; i++, written++)
+					putByte((byte) (i == 0 ? ':' : ' '));
+			for (int i = 0; i < valueLength && written < length - 1; i++, written++)
+				putByte(ascii(value.charAt(i)));
+			putByte((byte) '\n');
+		}
+		return;
+	}
+
+	/**
+	 * Record bytes.
+	 *
+	 * @param id
+	 *            the id of the call
+	 * @param kind
+	 *            the kind of the frame
+	 * @param bytes
+	 *            the bytes
+	 * @param offset
+	 *            the offset of the first byte
+	 * @param length
+	 *            the number of bytes, at most capacity / 2
+	 */
+	synchronized void write(int id, int kind, byte[] bytes, int offset,
+			int length) {
+		startFrame(id, kind, length);
+		int first = Math.min(length, capacity - head);
+		ring.position(head);
+		ring.put(bytes, offset, first);
+		if (first < length) {
+			ring.position(0);
+			ring.put(bytes, offset + first, length - first);
+		}
+		head = (head + length) % capacity;
+		return;
+	}
+
+	/**
+	 * Return a stream that records a body of the current call with its
+	 * passwords redacted.
+	 *
+	 * @param kind
+	 *            REQUEST or RESPONSE
+	 * @return the stream
+	 */
+	OutputStream stream(int kind) {
+		return new RecordingStream(current(), kind);
+	}
+
+	/**
+	 * Return an input stream that records what is read from another stream
+	 * as a body of the current call.
+	 *
+	 * @param in
+	 *            the stream
+	 * @param kind
+	 *            REQUEST or RESPONSE
+	 * @return the recording stream
+	 */
+	InputStream tee(InputStream in, int kind) {
+		final RecordingStream copy = new RecordingStream(current(), kind);
+		return new FilterInputStream(in) {
+			public int read() throws IOException {
+				int b = super.read();
+				if (b >= 0)
+					copy.write(b);
+				return b;
+			}
+
+			public int read(byte[] bytes, int offset, int length)
+					throws IOException {
+				int count = super.read(bytes, offset, length);
+				if (count > 0)
+					copy.write(bytes, offset, count);
+				return count;
+			}
+		};
+	}
+
+	/**
+	 * A stream that redacts passwords and records in chunks.
+	 */
+	private final class RecordingStream extends OutputStream {
+		/** the id of the call */
+		private final int id;
+
+		/** the kind of the frames */
+		private final int kind;
+
+		/** the chunk being filled */
+		private final byte[] chunk = new byte[CHUNK];
+
+		/** the number of bytes in the chunk */
+		private int count = 0;
+
+		/** the number of bytes of PASSWORD matched */
+		private int matched = 0;
+
+		/** true while the content of a password element is written */
+		private boolean redacting = false;
+
+		RecordingStream(int id, int kind) {
+			this.id = id;
+			this.kind = kind;
+		}
+
+		public void write(int b) {
+			if (redacting && b == '<')
+				redacting = false;
+			chunk[count++] = redacting ? (byte) '*' : (byte) b;
+			matched = b == PASSWORD[matched] ? matched + 1
+					: (b == PASSWORD[0] ? 1 : 0);
+			if (matched == PASSWORD.length) {
+				redacting = true;
+				matched = 0;
+			}
+			if (count == CHUNK)
+				flush();
+			return;
+		}
+
+		public void write(byte[] bytes, int offset, int length) {
+			for (int i = 0; i < length; i++)
+				write(bytes[offset + i]);
+			return;
+		}
+
+		public void flush() {
+			if (count > 0 && id != 0)
+				ExchangeRecorder.this.write(id, kind, chunk, 0, count);
+			count = 0;
+			return;
+		}
+
+		public void close() {
+			flush();
+			return;
+		}
+	}
+
+	/**
+	 * Start a frame, evicting the oldest frames to make room.
+	 *
+	 * @param id
+	 *            the id of the call
+	 * @param kind
+	 *            the kind of the frame
+	 * @param length
+	 *            the length of the frame body
+	 */
+	private void startFrame(int id, int kind, int length) {
+		int size = FRAME_HEADER + length;
+		while (capacity - used < size) {
+			int oldest = FRAME_HEADER + getInt((tail + 5) % capacity);
+			tail = (tail + oldest) % capacity;
+			used -= oldest;
+		}
+		used += size;
+		putInt(id);
+		putByte((byte) kind);
+		putInt(length);
+		return;
+	}
+
+	/**
+	 * Put a byte at the head.
+	 *
+	 * @param b
+	 *            the byte
+	 */
+	private void putByte(byte b) {
+		ring.put(head, b);
+		head = head + 1 == capacity ? 0 : head + 1;
+		return;
+	}
+
+	/**
+	 * Put an int at the head.
+	 *
+	 * @param value
+	 *            the int
+	 */
+	private void putInt(int value) {
+		for (int shift = 24; shift >= 0; shift -= 8)
+			putByte((byte) (value >>> shift));
+		return;
+	}
+
+	/**
+	 * Get an int.
+	 *
+	 * @param offset
+	 *            the offset of the int
+	 * @return the int
+	 */
+	private int getInt(int offset) {
+		int value = 0;
+		for (int i = 0; i < 4; i++)
+			value = (value << 8) | (ring.get((offset + i) % capacity) & 0xff);
+		return value;
+	}
+
+	/**
+	 * Return a character as an ASCII byte.
+	 *
+	 * @param c
+	 *            the character
+	 * @return the byte, or a question mark
+	 */
+	private static byte ascii(char c) {
+		return c < 0x80 ? (byte) c : (byte) '?';
+	}
+
+	// -------------------------------------------------------------------------
+	// Dump
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Write the buffer to a file, grouped by call.
+	 *
+	 * @param failed
+	 *            the id of the failed call
+	 * @param reason
+	 *            the reason it failed
+	 * @return the file, or null if it was not written
+	 */
+	Path dump(int failed, String reason) {
+		int dump = dumps.incrementAndGet();
+		if (dump > MAX_DUMPS) {
+			if (dump == MAX_DUMPS + 1)
+				System.out.println("No more exchange dumps after "
+						+ MAX_DUMPS);
+			return null;
+		}
+		byte[] copy = copy();
+		Map<Integer, ByteArrayOutputStream> calls = new LinkedHashMap<Integer, ByteArrayOutputStream>();
+		Map<Integer, Integer> kinds = new LinkedHashMap<Integer, Integer>();
+		int offset = 0;
+		while (offset + FRAME_HEADER <= copy.length) {
+			int id = readInt(copy, offset);
+			int kind = copy[offset + 4];
+			int length = readInt(copy, offset + 5);
+			offset += FRAME_HEADER;
+			ByteArrayOutputStream text = calls.get(id);
+			if (text == null) {
+				text = new ByteArrayOutputStream();
+				calls.put(id, text);
+			}
+			Integer last = kinds.put(id, kind);
+			if (last == null || last.intValue() != kind) {
+				String label = "--- " + LABELS[kind] + " "
+						+ (kind == START ? id : "") + "\n";
+				text.write(label.getBytes(StandardCharsets.US_ASCII), 0,
+						label.length());
+			}
+			text.write(copy, offset, length);
+			offset += length;
+		}
+		String name = "exchanges-"
+				+ new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())
+				+ "-" + failed + ".log";
+		Path file = directory.resolve(name);
+		try {
+			Files.createDirectories(directory);
+			OutputStream out = Files.newOutputStream(file);
+			try {
+				out.write(("=== call " + failed + " failed - " + reason + "\n")
+						.getBytes(StandardCharsets.UTF_8));
+				for (Map.Entry<Integer, ByteArrayOutputStream> call : calls
+						.entrySet()) {
+					out.write(("=== call " + call.getKey()
+							+ (call.getKey().intValue() == failed ? " FAILED"
+									: "") + "\n")
+							.getBytes(StandardCharsets.UTF_8));
+					call.getValue().writeTo(out);
+					out.write('\n');
+				}
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			System.out.println("Unable to write exchanges - " + file);
+			return null;
+		}
+		System.out.println("Exchanges of failed call written to " + file);
+		return file;
+	}
+
+	/**
+	 * Copy the frames in the buffer, oldest first.
+	 *
+	 * @return the frames
+	 */
+	private synchronized byte[] copy() {
+		byte[] copy = new byte[used];
+		int first = Math.min(used, capacity - tail);
+		ring.position(tail);
+		ring.get(copy, 0, first);
+		if (first < used) {
+			ring.position(0);
+			ring.get(copy, first, used - first);
+		}
+		return copy;
+	}
+
+	/**
+	 * Read an int from bytes.
+	 *
+	 * @param bytes
+	 *            the bytes
+	 * @param offset
+	 *            the offset of the int
+	 * @return the int
+	 */
+	private static int readInt(byte[] bytes, int offset) {
+		int value = 0;
+		for (int i = 0; i < 4; i++)
+			value = (value << 8) | (bytes[offset + i] & 0xff);
+		return value;
+	}
+
+	// -------------------------------------------------------------------------
+	// Handler
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add a handler to a port that records its messages.
+	 *
+	 * @param port
+	 *            the port
+	 */
+	@SuppressWarnings("rawtypes")
+	void addHandler(BindingProvider port) {
+		List<javax.xml.ws.handler.Handler> chain = port.getBinding()
+				.getHandlerChain();
+		chain.add(new CaptureHandler());
+		port.getBinding().setHandlerChain(chain);
+		return;
+	}
+
+	/**
+	 * A handler that records the messages of a JAX-WS port. Recording never
+	 * fails a call.
+	 */
+	private final class CaptureHandler implements
+			SOAPHandler<SOAPMessageContext> {
+
+		public Set<QName> getHeaders() {
+			return Collections.emptySet();
+		}
+
+		public boolean handleMessage(SOAPMessageContext context) {
+			record(context);
+			return true;
+		}
+
+		public boolean handleFault(SOAPMessageContext context) {
+			record(context);
+			return true;
+		}
+
+		public void close(MessageContext context) {
+			return;
+		}
+
+		/**
+		 * Record the headers and body of a message.
+		 *
+		 * @param context
+		 *            the message context
+		 */
+		@SuppressWarnings("unchecked")
+		private void record(SOAPMessageContext context) {
+			int id = current();
+			if (id == 0)
+				return;
+			boolean outbound = Boolean.TRUE.equals(context
+					.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY));
+			int headerKind = outbound ? REQUEST_HEADER : RESPONSE_HEADER;
+			if (!outbound && context.get(MessageContext.HTTP_RESPONSE_CODE) != null)
+				writeLine(id, headerKind, "Status",
+						context.get(MessageContext.HTTP_RESPONSE_CODE)
+								.toString());
+			Object headers = context
+					.get(outbound ? MessageContext.HTTP_REQUEST_HEADERS
+							: MessageContext.HTTP_RESPONSE_HEADERS);
+			if (headers instanceof Map)
+				for (Map.Entry<String, List<String>> header : ((Map<String, List<String>>) headers)
+						.entrySet())
+					for (String value : header.getValue())
+						writeLine(id, headerKind, header.getKey(), value);
+			OutputStream out = stream(outbound ? REQUEST : RESPONSE);
+			try {
+				context.getMessage().writeTo(out);
+				out.close();
+			} catch (SOAPException e) {
+				writeLine(id, headerKind, "Not recorded", e.getMessage());
+			} catch (IOException e) {
+				writeLine(id, headerKind, "Not recorded", e.getMessage());
+			}
+			return;
+		}
+	}
+}
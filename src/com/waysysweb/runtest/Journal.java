@@ -0,0 +1,235 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Journal.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is an append-only journal of a batch run. A line is written when
+ * a suite is dispatched and when it completes, and the file is forced to disk
+ * after each line, so a run that dies loses at most the suites in progress.
+ * The lines use the same format as the work protocol:
+ *
+ * DISPATCH suite
+ *
+ * RESULT suite errorNum errors failed succeeded message
+ *
+ * A partial line left by a crash is ignored when the journal is read.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Journal implements Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** suite dispatched */
+	static final String DISPATCH = "DISPATCH";
+
+	/** the file channel of the journal */
+	private final FileChannel channel;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param file
+	 *            the journal file
+	 * @param append
+	 *            true to add to an existing journal, false to start a new one
+	 * @throws RuntimeException
+	 *             if the journal cannot be opened
+	 */
+	public Journal(Path file, boolean append) throws RuntimeException {
+		try {
+			channel = new FileOutputStream(file.toFile(), append).getChannel();
+			if (append)
+				repairTail(file);
+		} catch (FileNotFoundException e) {
+			throw new RuntimeException("Unable to open journal - " + file);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Write
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Record that a suite has been dispatched.
+	 *
+	 * @param suite
+	 *            the suite name
+	 */
+	public void dispatched(String suite) {
+		write(DISPATCH + WorkProtocol.SEPARATOR + WorkProtocol.escape(suite));
+		return;
+	}
+
+	/**
+	 * Record the result of a suite.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 */
+	public void completed(String suite, TestCaseResult result) {
+		write(WorkProtocol.result(suite, result));
+		return;
+	}
+
+	/**
+	 * Close the journal.
+	 */
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			System.out.println("Unable to close journal - " + e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * Append a line and force it to disk.
+	 *
+	 * @param line
+	 *            the line without a line end
+	 * @throws RuntimeException
+	 *             if the line cannot be written
+	 */
+	private synchronized void write(String line) throws RuntimeException {
+		ByteBuffer buffer = ByteBuffer.wrap((line + "\n")
+				.getBytes(StandardCharsets.UTF_8));
+		try {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			channel.force(false);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to write journal - "
+					+ e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * End a partial last line left by a crash, so that the next line starts
+	 * on a line of its own.
+	 *
+	 * @param file
+	 *            the journal file
+	 */
+	private void repairTail(Path file) {
+		try {
+			long size = channel.size();
+			if (size == 0)
+				return;
+			FileChannel reader = FileChannel.open(file);
+			try {
+				ByteBuffer last = ByteBuffer.allocate(1);
+				reader.read(last, size - 1);
+				if (last.get(0) != '\n')
+					write("");
+			} finally {
+				reader.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read journal - " + file);
+		}
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Read
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the results of the completed suites in a journal.
+	 *
+	 * @param file
+	 *            the journal file
+	 * @return a map of suite names to results, in order of completion
+	 * @throws RuntimeException
+	 *             if the journal cannot be read
+	 */
+	public static Map<String, TestCaseResult> readCompleted(Path file)
+			throws RuntimeException {
+		Map<String, TestCaseResult> results = new LinkedHashMap<String, TestCaseResult>();
+		try {
+			BufferedReader in = Files.newBufferedReader(file,
+					StandardCharsets.UTF_8);
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					String[] fields = WorkProtocol.parse(line);
+					if (!fields[0].equals(WorkProtocol.RESULT))
+						continue;
+					try {
+						results.put(WorkProtocol.unescape(fields[1]),
+								WorkProtocol.toResult(fields));
+					} catch (RuntimeException e) {
+						// partial line from a crash
+					}
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read journal - " + file);
+		}
+		return results;
+	}
+}
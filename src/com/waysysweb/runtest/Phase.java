@@ -0,0 +1,204 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Phase.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class times a phase of a RunTest call. A phase is passed to the call
+ * in flight for the status display and the watchdog, and is a span when spans
+ * are recorded by the Tracer. When a flight recording has enabled the events
+ * of PhaseEvents, the phase is also recorded as an event. The Java Flight
+ * Recorder is not used, or even loaded, unless it is available and recording,
+ * so a phase costs little more than a time stamp when nothing is watching.
+ *
+ * A phase is used like this:
+ *
+ * Phase phase = Phase.start(Phase.PORT_CREATE);
+ * String outcome = Phase.ERROR;
+ * try { ... outcome = Phase.OK; } finally { phase.finish(suite, server,
+ * outcome); }
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class Phase {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the outcome of a phase that completed */
+	static final String OK = "ok";
+
+	/** the outcome of a phase that threw an exception */
+	static final String ERROR = "error";
+
+	/** the outcome of a call whose suite had failed tests */
+	static final String FAILED = "failed";
+
+	/** the outcome of a TLS handshake that resumed a session */
+	static final String RESUMED = "resumed";
+
+	/** reading the properties */
+	static final String PROPERTIES_LOAD = "PropertiesLoad";
+
+	/** reading the WSDL */
+	static final String WSDL_RESOLVE = "WsdlResolve";
+
+	/** creating a port */
+	static final String PORT_CREATE = "PortCreate";
+
+	/** writing the request of a streamed call */
+	static final String REQUEST_SERIALIZE = "RequestSerialize";
+
+	/** waiting for the server to run a suite */
+	static final String RUN_TEST_WAIT = "RunTestWait";
+
+	/** reading the response of a streamed call */
+	static final String RESPONSE_PARSE = "ResponseParse";
+
+	/** making a TLS handshake */
+	static final String TLS_HANDSHAKE = "TlsHandshake";
+
+	/** true if the Java Flight Recorder is in this Java runtime */
+	private static final boolean jfrAvailable = findRecorder();
+
+	/** the name of the phase */
+	private final String name;
+
+	/** the start of the phase */
+	private final long startNanos = System.nanoTime();
+
+	/** the flight recorder event, or null if it is not recorded */
+	private final Object event;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create a phase. The phase starts when it is created.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 */
+	private Phase(String name) {
+		this.name = name;
+		CallStats.phaseStarted(name, startNanos);
+		event = jfrAvailable ? PhaseEvents.begin(name) : null;
+	}
+
+	// -------------------------------------------------------------------------
+	// Phase
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Start a phase.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @return the phase
+	 */
+	static Phase start(String name) {
+		return new Phase(name);
+	}
+
+	/**
+	 * Finish the phase.
+	 *
+	 * @param suite
+	 *            the suite, or null
+	 * @param server
+	 *            the server, or null
+	 * @param outcome
+	 *            the outcome of the phase
+	 */
+	void finish(String suite, String server, String outcome) {
+		if (event != null)
+			((PhaseEvents.PhaseEvent) event).finish(suite, server, outcome);
+		Tracer.phase(name, startNanos, suite, server, outcome);
+		CallStats.phaseFinished(name, startNanos, outcome);
+		return;
+	}
+
+	/**
+	 * Return true if the phase is recorded as a flight recorder event.
+	 *
+	 * @return true if there is an event
+	 */
+	boolean isRecorded() {
+		return event != null;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the outcome of a call.
+	 *
+	 * @param result
+	 *            the test case result
+	 * @return ok, failed or the error message
+	 */
+	static String outcome(TestCaseResult result) {
+		if (result.getErrorNum() != 0)
+			return result.getErrorMessage() == null ? ERROR : result
+					.getErrorMessage();
+		if (result.getErrors() > 0 || result.getFailed() > 0)
+			return FAILED;
+		return OK;
+	}
+
+	/**
+	 * Return true if the Java Flight Recorder is in this Java runtime.
+	 *
+	 * @return true if the recorder can be used
+	 */
+	private static boolean findRecorder() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           PhaseEvents.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add the TLS handshake event
+//  Waysys    19-Oct-2026   Record phases as trace spans
+//  Waysys    19-Oct-2026   Pass phases to the call in flight
+//  Waysys    19-Oct-2026   Create events only for a recording
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class holds the Java Flight Recorder events for the phases of a
+ * RunTest call, so they can be correlated with garbage collection, thread and
+ * socket events in the same recording. Each event has the suite, the server
+ * and the outcome of the phase. The events are created by a Phase, and
+ * only when a recording has enabled them, so nothing here is used or loaded
+ * when the recorder is off.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class PhaseEvents {
+	// -------------------------------------------------------------------------
+	// Events
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The fields common to all phase events.
+	 */
+	@Category("RunTest")
+	abstract static class PhaseEvent extends Event {
+		@Label("Suite")
+		String suite;
+
+		@Label("Server")
+		String server;
+
+		@Label("Outcome")
+		String outcome;
+
+		/**
+		 * End the phase and record the event if the recorder wants it.
+		 *
+		 * @param suite
+		 *            the suite, or null
+		 * @param server
+		 *            the server, or null
+		 * @param outcome
+		 *            the outcome of the phase
+		 */
+		void finish(String suite, String server, String outcome) {
+			end();
+			if (shouldCommit()) {
+				this.suite = suite;
+				this.server = server;
+				this.outcome = outcome;
+				commit();
+			}
+			return;
+		}
+	}
+
+	/** reading the properties */
+	@Name("com.waysysweb.runtest.PropertiesLoad")
+	@Label("Properties Load")
+	@Description("Reading the properties file and the command line")
+	static final class PropertiesLoad extends PhaseEvent {
+	}
+
+	/** reading the WSDL */
+	@Name("com.waysysweb.runtest.WsdlResolve")
+	@Label("WSDL Resolve")
+	@Description("Reading the WSDL of the RunTest service")
+	static final class WsdlResolve extends PhaseEvent {
+	}
+
+	/** creating a port */
+	@Name("com.waysysweb.runtest.PortCreate")
+	@Label("Port Create")
+	@Description("Creating a port for a calling thread")
+	static final class PortCreate extends PhaseEvent {
+	}
+
+	/** writing a request */
+	@Name("com.waysysweb.runtest.RequestSerialize")
+	@Label("Request Serialize")
+	@Description("Writing the SOAP request of a streamed call")
+	static final class RequestSerialize extends PhaseEvent {
+	}
+
+	/** waiting for a call */
+	@Name("com.waysysweb.runtest.RunTestWait")
+	@Label("RunTest Wait")
+	@Description("Waiting for the server to run a suite; for a JAX-WS call "
+			+ "this includes writing the request and reading the response")
+	static final class RunTestWait extends PhaseEvent {
+	}
+
+	/** reading a response */
+	@Name("com.waysysweb.runtest.ResponseParse")
+	@Label("Response Parse")
+	@Description("Reading the response of a streamed call")
+	static final class ResponseParse extends PhaseEvent {
+	}
+
+	/** making a TLS handshake */
+	@Name("com.waysysweb.runtest.TlsHandshake")
+	@Label("TLS Handshake")
+	@Description("Making a TLS handshake with the server, from the creation "
+			+ "of the socket; the outcome is resumed if a session was reused")
+	static final class TlsHandshake extends PhaseEvent {
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * This class has only static members.
+	 */
+	private PhaseEvents() {
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Begin the event of a phase if a recording has enabled it.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @return the event, or null if it is not enabled
+	 * @throws RuntimeException
+	 *             if the phase is not known
+	 */
+	static PhaseEvent begin(String name) throws RuntimeException {
+		PhaseEvent event = create(name);
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Create the event of a phase.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @return the event
+	 * @throws RuntimeException
+	 *             if the phase is not known
+	 */
+	private static PhaseEvent create(String name) throws RuntimeException {
+		if (Phase.PROPERTIES_LOAD.equals(name))
+			return new PropertiesLoad();
+		if (Phase.WSDL_RESOLVE.equals(name))
+			return new WsdlResolve();
+		if (Phase.PORT_CREATE.equals(name))
+			return new PortCreate();
+		if (Phase.REQUEST_SERIALIZE.equals(name))
+			return new RequestSerialize();
+		if (Phase.RUN_TEST_WAIT.equals(name))
+			return new RunTestWait();
+		if (Phase.RESPONSE_PARSE.equals(name))
+			return new ResponseParse();
+		if (Phase.TLS_HANDSHAKE.equals(name))
+			return new TlsHandshake();
+		throw new RuntimeException("Unknown phase - " + name);
+	}
+
+	/**
+	 * Start a recording with the default settings that is written to a file
+	 * when it stops.
+	 *
+	 * @param file
+	 *            the file for the recording
+	 * @return the recording
+	 * @throws RuntimeException
+	 *             if the recording cannot be started
+	 */
+	static Recording startRecording(Path file) throws RuntimeException {
+		try {
+			Recording recording = new Recording(
+					Configuration.getConfiguration("default"));
+			recording.setName("RunTest");
+			recording.setToDisk(true);
+			recording.setDestination(file);
+			recording.start();
+			return recording;
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to start flight recording - "
+					+ e.getMessage());
+		} catch (ParseException e) {
+			throw new RuntimeException("Unable to start flight recording - "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Stop a recording, which writes it to its file.
+	 *
+	 * @param recording
+	 *            the recording
+	 */
+	static void stopRecording(Recording recording) {
+		recording.stop();
+		System.out.println("Flight recording written to "
+				+ recording.getDestination());
+		recording.close();
+		return;
+	}
+}
@@ -0,0 +1,161 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ProfileOutput.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class keeps the output of profiles that run at the same time apart.
+ * It is installed as the standard output while the profiles run. What a
+ * profile prints, from its own thread or from threads it starts, is held in
+ * a buffer of the profile and printed as one block when the profile ends.
+ * Output from other threads, such as the status server and the watchdog, is
+ * printed at once.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+class ProfileOutput extends OutputStream {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the standard output the blocks are printed to */
+	private final PrintStream console;
+
+	/** the buffer of the profile of the current thread, if any */
+	private final InheritableThreadLocal<ByteArrayOutputStream> buffer = new InheritableThreadLocal<ByteArrayOutputStream>();
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class.
+	 *
+	 * @param console
+	 *            the standard output the blocks are printed to
+	 */
+	ProfileOutput(PrintStream console) {
+		this.console = console;
+	}
+
+	// -------------------------------------------------------------------------
+	// Profiles
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Hold the output of the current thread, and of the threads it starts,
+	 * until the profile ends.
+	 */
+	void begin() {
+		buffer.set(new ByteArrayOutputStream());
+		return;
+	}
+
+	/**
+	 * Print the output held for the profile of the current thread as one
+	 * block headed by the name of the profile.
+	 *
+	 * @param profile
+	 *            the name of the profile
+	 */
+	void end(String profile) {
+		ByteArrayOutputStream held = buffer.get();
+		buffer.remove();
+		if (held == null)
+			return;
+		synchronized (console) {
+			console.println("---- Profile " + profile + " ----");
+			console.write(held.toByteArray(), 0, held.size());
+			console.flush();
+		}
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Output Stream
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Write a byte to the buffer of the current profile, or to the standard
+	 * output.
+	 *
+	 * @param b
+	 *            the byte
+	 */
+	public void write(int b) {
+		ByteArrayOutputStream held = buffer.get();
+		if (held != null)
+			held.write(b);
+		else
+			console.write(b);
+		return;
+	}
+
+	/**
+	 * Write bytes to the buffer of the current profile, or to the standard
+	 * output.
+	 *
+	 * @param b
+	 *            the bytes
+	 * @param off
+	 *            the first byte written
+	 * @param len
+	 *            the number of bytes written
+	 */
+	public void write(byte[] b, int off, int len) {
+		ByteArrayOutputStream held = buffer.get();
+		if (held != null)
+			held.write(b, off, len);
+		else
+			console.write(b, off, len);
+		return;
+	}
+
+	/**
+	 * Flush the standard output.
+	 */
+	public void flush() {
+		console.flush();
+		return;
+	}
+}
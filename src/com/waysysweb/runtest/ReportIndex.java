@@ -0,0 +1,828 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ReportIndex.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is an index of a test report file. The report has one record
+ * per line with tab-separated fields, the layout written by DetailWriter:
+ *
+ * class method status duration message
+ *
+ * Lines that do not have a numeric duration in the fourth field are skipped.
+ *
+ * The report is memory-mapped and parsed in parallel chunks. A chunk starts
+ * at the beginning of a line and ends after a newline, so no record is split
+ * between chunks. For each record the index keeps the hash of its test name
+ * (class.method), its offset and length in the report, its duration and
+ * whether it passed, in a fixed-width entry of 25 bytes. The entries are
+ * sorted by hash and written next to the report with the extension .idx,
+ * together with the size and time of the report. When the index file matches
+ * the report it is mapped and used without parsing the report again.
+ *
+ * Queries read the mapped index and only read from the report the records
+ * they return.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ReportIndex implements Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** marks an index file */
+	static final int MAGIC = 0x52544958;
+
+	/** the version of the index file layout */
+	static final int VERSION = 1;
+
+	/** the size of the index header */
+	static final int HEADER_SIZE = 28;
+
+	/** the size of an index entry */
+	static final int ENTRY_SIZE = 25;
+
+	/** the largest chunk parsed by one task */
+	static final long MAX_CHUNK = 256L * 1024 * 1024;
+
+	/** the smallest chunk parsed by one task */
+	static final long MIN_CHUNK = 1024L * 1024;
+
+	/** status of a record that passed */
+	static final byte PASSED = 0;
+
+	/** status of a record that did not pass */
+	static final byte NOT_PASSED = 1;
+
+	/** the status field of a record that passed */
+	private static final byte[] PASSED_BYTES = DetailWriter.PASSED
+			.getBytes(StandardCharsets.US_ASCII);
+
+	/** the report file */
+	private final FileChannel report;
+
+	/** the mapped index entries */
+	private final ByteBuffer entries;
+
+	/** the number of records */
+	private final int count;
+
+	// -------------------------------------------------------------------------
+	// Record
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A record of the report.
+	 */
+	public static final class Record {
+		/** the class of the test */
+		public final String className;
+
+		/** the method of the test */
+		public final String method;
+
+		/** the status of the test */
+		public final String status;
+
+		/** the duration of the test in milliseconds */
+		public final long duration;
+
+		/** the message of the test, or null */
+		public final String message;
+
+		/** the offset of the record in the report */
+		public final long offset;
+
+		Record(String[] fields, long offset) {
+			className = WorkProtocol.unescape(fields[0]);
+			method = WorkProtocol.unescape(fields[1]);
+			status = WorkProtocol.unescape(fields[2]);
+			duration = Long.parseLong(fields[3]);
+			message = fields.length > 4 ? WorkProtocol.unescape(fields[4])
+					: null;
+			this.offset = offset;
+		}
+
+		/**
+		 * Return the test name.
+		 *
+		 * @return the class and method separated by a period
+		 */
+		public String getName() {
+			return className + "." + method;
+		}
+	}
+
+	/**
+	 * The records parsed from one chunk of the report.
+	 */
+	private static final class Chunk {
+		int size = 0;
+		int[] hashes = new int[1024];
+		long[] offsets = new long[1024];
+		int[] lengths = new int[1024];
+		long[] durations = new long[1024];
+		byte[] statuses = new byte[1024];
+
+		void add(int hash, long offset, int length, long duration, byte status) {
+			if (size == hashes.length) {
+				int capacity = size * 2;
+				hashes = Arrays.copyOf(hashes, capacity);
+				offsets = Arrays.copyOf(offsets, capacity);
+				lengths = Arrays.copyOf(lengths, capacity);
+				durations = Arrays.copyOf(durations, capacity);
+				statuses = Arrays.copyOf(statuses, capacity);
+			}
+			hashes[size] = hash;
+			offsets[size] = offset;
+			lengths[size] = length;
+			durations[size] = duration;
+			statuses[size] = status;
+			size++;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param report
+	 *            the open report file
+	 * @param index
+	 *            the mapped index file
+	 */
+	private ReportIndex(FileChannel report, ByteBuffer index) {
+		this.report = report;
+		count = index.getInt(24);
+		index.position(HEADER_SIZE);
+		entries = index.slice().order(ByteOrder.BIG_ENDIAN);
+	}
+
+	// -------------------------------------------------------------------------
+	// Open
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Open the index of a report, building it if it is missing or does not
+	 * match the report.
+	 *
+	 * @param file
+	 *            the report file
+	 * @param threads
+	 *            the number of chunks parsed at the same time
+	 * @return the index
+	 * @throws RuntimeException
+	 *             if the report or the index cannot be read or written
+	 */
+	public static ReportIndex open(Path file, int threads)
+			throws RuntimeException {
+		return open(file, threads, 0);
+	}
+
+	/**
+	 * Open the index of a report, building it with chunks of a given size if
+	 * it is missing or does not match the report.
+	 *
+	 * @param file
+	 *            the report file
+	 * @param threads
+	 *            the number of chunks parsed at the same time
+	 * @param chunkSize
+	 *            the size of a chunk, or 0 to divide the report among the
+	 *            threads
+	 * @return the index
+	 * @throws RuntimeException
+	 *             if the report or the index cannot be read or written
+	 */
+	static ReportIndex open(Path file, int threads, long chunkSize)
+			throws RuntimeException {
+		Path indexFile = getIndexFile(file);
+		FileChannel report = null;
+		try {
+			report = FileChannel.open(file, StandardOpenOption.READ);
+			long size = report.size();
+			long modified = Files.getLastModifiedTime(file).toMillis();
+			ByteBuffer index = mapIndex(indexFile, size, modified);
+			if (index == null) {
+				writeIndex(indexFile, parse(report, threads, chunkSize), size,
+						modified);
+				index = mapIndex(indexFile, size, modified);
+				if (index == null)
+					throw new RuntimeException("Index file not readable - "
+							+ indexFile);
+			}
+			return new ReportIndex(report, index);
+		} catch (IOException e) {
+			close(report);
+			throw new RuntimeException("Unable to index report - " + file
+					+ " - " + e.getMessage());
+		} catch (RuntimeException e) {
+			close(report);
+			throw e;
+		}
+	}
+
+	/**
+	 * Return the index file of a report.
+	 *
+	 * @param file
+	 *            the report file
+	 * @return the index file beside it
+	 */
+	public static Path getIndexFile(Path file) {
+		return file.resolveSibling(file.getFileName() + ".idx");
+	}
+
+	/**
+	 * Close the report.
+	 */
+	public void close() {
+		close(report);
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Queries
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the number of records.
+	 *
+	 * @return the count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Return the number of records that did not pass.
+	 *
+	 * @return the count
+	 */
+	public int getNotPassedCount() {
+		int result = 0;
+		for (int i = 0; i < count; i++)
+			if (getStatus(i) != PASSED)
+				result++;
+		return result;
+	}
+
+	/**
+	 * Return the slowest records.
+	 *
+	 * @param n
+	 *            the number of records
+	 * @return the slowest records, slowest first
+	 * @throws RuntimeException
+	 *             if the report cannot be read
+	 */
+	public List<Record> slowest(int n) throws RuntimeException {
+		PriorityQueue<long[]> queue = new PriorityQueue<long[]>(n + 1,
+				new Comparator<long[]>() {
+					public int compare(long[] a, long[] b) {
+						return Long.compare(a[0], b[0]);
+					}
+				});
+		for (int i = 0; i < count && n > 0; i++) {
+			long duration = getDuration(i);
+			if (queue.size() < n || duration > queue.peek()[0]) {
+				queue.add(new long[] { duration, i });
+				if (queue.size() > n)
+					queue.poll();
+			}
+		}
+		List<Record> result = new ArrayList<Record>(queue.size());
+		while (!queue.isEmpty())
+			result.add(readRecord((int) queue.poll()[1]));
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * Return the number of records that did not pass for each class.
+	 *
+	 * @return the counts by class name
+	 * @throws RuntimeException
+	 *             if the report cannot be read
+	 */
+	public Map<String, Integer> notPassedByClass() throws RuntimeException {
+		Map<String, Integer> result = new HashMap<String, Integer>();
+		for (int i = 0; i < count; i++) {
+			if (getStatus(i) == PASSED)
+				continue;
+			String className = readRecord(i).className;
+			Integer total = result.get(className);
+			result.put(className,
+					Integer.valueOf(total == null ? 1 : total.intValue() + 1));
+		}
+		return result;
+	}
+
+	/**
+	 * Find the record of a test.
+	 *
+	 * @param name
+	 *            the test name, class and method separated by a period
+	 * @return the first record of the test, or null if there is none
+	 * @throws RuntimeException
+	 *             if the report cannot be read
+	 */
+	public Record find(String name) throws RuntimeException {
+		int hash = hash(name.getBytes(StandardCharsets.UTF_8));
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getHash(middle) < hash)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		Record found = null;
+		for (int i = low; i < count && getHash(i) == hash; i++) {
+			Record record = readRecord(i);
+			if (record.getName().equals(name)
+					&& (found == null || record.offset < found.offset))
+				found = record;
+		}
+		return found;
+	}
+
+	// -------------------------------------------------------------------------
+	// Index Entries
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the hash of the test name.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the hash
+	 */
+	private int getHash(int i) {
+		return entries.getInt(i * ENTRY_SIZE);
+	}
+
+	/**
+	 * Return the offset of the record in the report.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the offset
+	 */
+	private long getOffset(int i) {
+		return entries.getLong(i * ENTRY_SIZE + 4);
+	}
+
+	/**
+	 * Return the length of the record in bytes.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the length
+	 */
+	private int getLength(int i) {
+		return entries.getInt(i * ENTRY_SIZE + 12);
+	}
+
+	/**
+	 * Return the duration of the record in milliseconds.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the duration
+	 */
+	private long getDuration(int i) {
+		return entries.getLong(i * ENTRY_SIZE + 16);
+	}
+
+	/**
+	 * Return the status of the record, PASSED or NOT_PASSED.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the status
+	 */
+	private byte getStatus(int i) {
+		return entries.get(i * ENTRY_SIZE + 24);
+	}
+
+	/**
+	 * Read the record of an index entry from the report.
+	 *
+	 * @param i
+	 *            the entry
+	 * @return the record
+	 * @throws RuntimeException
+	 *             if the report cannot be read
+	 */
+	private Record readRecord(int i) throws RuntimeException {
+		long offset = getOffset(i);
+		ByteBuffer buffer = ByteBuffer.allocate(getLength(i));
+		try {
+			while (buffer.hasRemaining())
+				if (report.read(buffer, offset + buffer.position()) < 0)
+					throw new RuntimeException("Report is shorter than its index");
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read report - "
+					+ e.getMessage());
+		}
+		String line = new String(buffer.array(), StandardCharsets.UTF_8);
+		return new Record(line.split(WorkProtocol.SEPARATOR, -1), offset);
+	}
+
+	// -------------------------------------------------------------------------
+	// Build
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Parse a report in chunks that end on record boundaries.
+	 *
+	 * @param report
+	 *            the report file
+	 * @param threads
+	 *            the number of chunks parsed at the same time
+	 * @param chunkSize
+	 *            the size of a chunk, or 0 to divide the report among the
+	 *            threads
+	 * @return the records of each chunk in report order
+	 * @throws IOException
+	 *             if the report cannot be read
+	 */
+	private static List<Chunk> parse(final FileChannel report, int threads,
+			long chunkSize) throws IOException {
+		long size = report.size();
+		if (chunkSize <= 0)
+			chunkSize = Math.min(MAX_CHUNK,
+					Math.max(MIN_CHUNK, size / Math.max(1, threads) + 1));
+		List<Long> bounds = new ArrayList<Long>();
+		bounds.add(Long.valueOf(0));
+		long bound = 0;
+		while (bound < size) {
+			bound = nextLine(report, Math.min(size, bound + chunkSize));
+			bounds.add(Long.valueOf(bound));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1,
+				threads));
+		try {
+			List<Future<Chunk>> futures = new ArrayList<Future<Chunk>>();
+			for (int i = 0; i + 1 < bounds.size(); i++) {
+				final long start = bounds.get(i).longValue();
+				final long end = bounds.get(i + 1).longValue();
+				futures.add(executor.submit(new Callable<Chunk>() {
+					public Chunk call() throws IOException {
+						return parseChunk(report.map(
+								FileChannel.MapMode.READ_ONLY, start, end
+										- start), start);
+					}
+				}));
+			}
+			List<Chunk> chunks = new ArrayList<Chunk>(futures.size());
+			for (Future<Chunk> future : futures)
+				chunks.add(future.get());
+			return chunks;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Report indexing interrupted");
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause().getMessage());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Return the position after the next newline at or after a position.
+	 *
+	 * @param report
+	 *            the report file
+	 * @param position
+	 *            the position
+	 * @return the start of the next line, or the size of the report
+	 * @throws IOException
+	 *             if the report cannot be read
+	 */
+	private static long nextLine(FileChannel report, long position)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long size = report.size();
+		while (position < size) {
+			buffer.clear();
+			int read = report.read(buffer, position);
+			if (read <= 0)
+				break;
+			for (int i = 0; i < read; i++)
+				if (buffer.get(i) == '\n')
+					return position + i + 1;
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Parse the records of a chunk.
+	 *
+	 * @param buffer
+	 *            the mapped chunk
+	 * @param base
+	 *            the offset of the chunk in the report
+	 * @return the records of the chunk
+	 */
+	private static Chunk parseChunk(ByteBuffer buffer, long base) {
+		Chunk chunk = new Chunk();
+		int limit = buffer.limit();
+		int start = 0;
+		while (start < limit) {
+			int end = start;
+			while (end < limit && buffer.get(end) != '\n')
+				end++;
+			int next = end + 1;
+			if (end > start && buffer.get(end - 1) == '\r')
+				end--;
+			parseRecord(buffer, start, end, base, chunk);
+			start = next;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Parse one record and add it to a chunk if it is valid.
+	 *
+	 * @param buffer
+	 *            the mapped chunk
+	 * @param start
+	 *            the start of the line in the chunk
+	 * @param end
+	 *            the end of the line in the chunk
+	 * @param base
+	 *            the offset of the chunk in the report
+	 * @param chunk
+	 *            the records of the chunk
+	 */
+	private static void parseRecord(ByteBuffer buffer, int start, int end,
+			long base, Chunk chunk) {
+		int[] tabs = new int[4];
+		int found = 0;
+		for (int i = start; i < end && found < 4; i++)
+			if (buffer.get(i) == '\t')
+				tabs[found++] = i;
+		if (found < 3)
+			return;
+		int durationEnd = found == 4 ? tabs[3] : end;
+		if (durationEnd == tabs[2] + 1)
+			return;
+		long duration = 0;
+		for (int i = tabs[2] + 1; i < durationEnd; i++) {
+			byte b = buffer.get(i);
+			if (b < '0' || b > '9')
+				return;
+			duration = duration * 10 + (b - '0');
+		}
+		int hash = 0;
+		for (int i = start; i < tabs[1]; i++) {
+			byte b = buffer.get(i);
+			hash = 31 * hash + (i == tabs[0] ? '.' : b);
+		}
+		byte status = NOT_PASSED;
+		int statusLength = tabs[2] - tabs[1] - 1;
+		if (statusLength == PASSED_BYTES.length) {
+			status = PASSED;
+			for (int i = 0; i < statusLength; i++) {
+				byte b = buffer.get(tabs[1] + 1 + i);
+				if (b >= 'A' && b <= 'Z')
+					b += 'a' - 'A';
+				if (b != PASSED_BYTES[i]) {
+					status = NOT_PASSED;
+					break;
+				}
+			}
+		}
+		chunk.add(hash, base + start, end - start, duration, status);
+		return;
+	}
+
+	/**
+	 * Return the hash of a test name as it is computed while parsing.
+	 *
+	 * @param name
+	 *            the test name in UTF-8
+	 * @return the hash
+	 */
+	static int hash(byte[] name) {
+		int hash = 0;
+		for (byte b : name)
+			hash = 31 * hash + b;
+		return hash;
+	}
+
+	/**
+	 * Write the entries of the parsed chunks, sorted by hash, to an index
+	 * file. The file is written beside the index and moved into place.
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @param chunks
+	 *            the parsed chunks
+	 * @param size
+	 *            the size of the report
+	 * @param modified
+	 *            the time the report was modified
+	 * @throws IOException
+	 *             if the index cannot be written
+	 */
+	private static void writeIndex(Path indexFile, List<Chunk> chunks,
+			long size, long modified) throws IOException {
+		int total = 0;
+		for (Chunk chunk : chunks)
+			total += chunk.size;
+		long[] keys = new long[total];
+		int[] chunkStarts = new int[chunks.size()];
+		int k = 0;
+		for (int c = 0; c < chunks.size(); c++) {
+			chunkStarts[c] = k;
+			Chunk chunk = chunks.get(c);
+			for (int i = 0; i < chunk.size; i++, k++)
+				keys[k] = ((long) chunk.hashes[i] << 32) | k;
+		}
+		Arrays.sort(keys);
+		Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+		FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(64 * 1024 / ENTRY_SIZE
+					* ENTRY_SIZE);
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(size)
+					.putLong(modified).putInt(total);
+			for (long key : keys) {
+				int position = (int) key;
+				int c = chunkOf(chunkStarts, position);
+				Chunk chunk = chunks.get(c);
+				int i = position - chunkStarts[c];
+				if (buffer.remaining() < ENTRY_SIZE)
+					flush(out, buffer);
+				buffer.putInt(chunk.hashes[i]).putLong(chunk.offsets[i])
+						.putInt(chunk.lengths[i]).putLong(chunk.durations[i])
+						.put(chunk.statuses[i]);
+			}
+			flush(out, buffer);
+		} finally {
+			out.close();
+		}
+		Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		return;
+	}
+
+	/**
+	 * Return the chunk of a record position.
+	 *
+	 * @param chunkStarts
+	 *            the position of the first record of each chunk
+	 * @param position
+	 *            the record position
+	 * @return the chunk
+	 */
+	private static int chunkOf(int[] chunkStarts, int position) {
+		int c = Arrays.binarySearch(chunkStarts, position);
+		if (c < 0)
+			return -c - 2;
+		while (c + 1 < chunkStarts.length && chunkStarts[c + 1] == position)
+			c++;
+		return c;
+	}
+
+	/**
+	 * Write a buffer to a channel and clear it.
+	 *
+	 * @param out
+	 *            the channel
+	 * @param buffer
+	 *            the buffer
+	 * @throws IOException
+	 *             if the channel cannot be written
+	 */
+	private static void flush(FileChannel out, ByteBuffer buffer)
+			throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			out.write(buffer);
+		buffer.clear();
+		return;
+	}
+
+	/**
+	 * Map an index file if it exists and matches the report.
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @param size
+	 *            the size of the report
+	 * @param modified
+	 *            the time the report was modified
+	 * @return the mapped index, or null if it is missing or does not match
+	 * @throws IOException
+	 *             if the index cannot be read
+	 */
+	private static ByteBuffer mapIndex(Path indexFile, long size,
+			long modified) throws IOException {
+		if (!Files.isRegularFile(indexFile))
+			return null;
+		FileChannel in = FileChannel.open(indexFile, StandardOpenOption.READ);
+		try {
+			if (in.size() < HEADER_SIZE)
+				return null;
+			MappedByteBuffer index = in.map(FileChannel.MapMode.READ_ONLY, 0,
+					in.size());
+			if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION
+					|| index.getLong(8) != size
+					|| index.getLong(16) != modified
+					|| in.size() != HEADER_SIZE + (long) index.getInt(24)
+							* ENTRY_SIZE)
+				return null;
+			return index;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Close a channel, ignoring errors.
+	 *
+	 * @param channel
+	 *            the channel, or null
+	 */
+	private static void close(FileChannel channel) {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		return;
+	}
+}
@@ -0,0 +1,244 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ReportMerger.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Fail when no shard has a record; bound the duration
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class merges the shard reports of a batch into one report. The shard
+ * reports are read a line at a time and merged with a k-way merge on the
+ * test name, so only one record of each shard is in memory at a time. When
+ * each shard is in test name order the merged report is in test name order;
+ * otherwise the records of each shard keep their order. Records use the
+ * layout written by DetailWriter; other lines, such as headers, are not
+ * copied. A missing shard report is counted and skipped. A shard report with
+ * no records is listed in the summary, and if no shard has a record the
+ * merge fails rather than replace the output with an empty report.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ReportMerger {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the most digits of a duration, which always fit in a long */
+	static final int MAX_DIGITS = 18;
+
+	// -------------------------------------------------------------------------
+	// Summary
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The summary of a merge.
+	 */
+	public static final class Summary {
+		/** the number of shard reports merged */
+		public int shards;
+
+		/** the number of shard reports that were missing */
+		public int missing;
+
+		/** the positions of the shard reports that had no records */
+		public final List<Integer> empty = new ArrayList<Integer>();
+
+		/** the number of records written */
+		public long records;
+
+		/** the number of records that did not pass */
+		public long notPassed;
+
+		/** the total duration of the records in milliseconds */
+		public long duration;
+	}
+
+	/**
+	 * The current record of a shard.
+	 */
+	private static final class Head {
+		final int shard;
+		final BufferedReader reader;
+		String line;
+		String[] fields;
+
+		Head(int shard, BufferedReader reader) {
+			this.shard = shard;
+			this.reader = reader;
+		}
+
+		/**
+		 * Advance to the next record of the shard.
+		 *
+		 * @return true if there is a record
+		 * @throws IOException
+		 *             if the shard cannot be read
+		 */
+		boolean advance() throws IOException {
+			while ((line = reader.readLine()) != null) {
+				fields = parse(line);
+				if (fields != null)
+					return true;
+			}
+			return false;
+		}
+	}
+
+	/** orders heads by test name and then by shard */
+	private static final Comparator<Head> ORDER = new Comparator<Head>() {
+		public int compare(Head a, Head b) {
+			int result = a.fields[0].compareTo(b.fields[0]);
+			if (result == 0)
+				result = a.fields[1].compareTo(b.fields[1]);
+			if (result == 0)
+				result = Integer.compare(a.shard, b.shard);
+			return result;
+		}
+	};
+
+	// -------------------------------------------------------------------------
+	// Merge
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Merge shard reports into one report. The report is written beside the
+	 * output file and moved into place.
+	 *
+	 * @param shards
+	 *            the shard reports
+	 * @param output
+	 *            the merged report, which is replaced
+	 * @return the summary of the merge
+	 * @throws RuntimeException
+	 *             if a report cannot be read or written, or if no shard
+	 *             report has a record
+	 */
+	public static Summary merge(List<Path> shards, Path output)
+			throws RuntimeException {
+		Summary summary = new Summary();
+		PriorityQueue<Head> heads = new PriorityQueue<Head>(Math.max(1,
+				shards.size()), ORDER);
+		List<BufferedReader> readers = new ArrayList<BufferedReader>();
+		Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+		try {
+			for (int i = 0; i < shards.size(); i++) {
+				Path shard = shards.get(i);
+				if (!Files.isRegularFile(shard)) {
+					summary.missing++;
+					continue;
+				}
+				BufferedReader reader = Files.newBufferedReader(shard,
+						StandardCharsets.UTF_8);
+				readers.add(reader);
+				summary.shards++;
+				Head head = new Head(i, reader);
+				if (head.advance())
+					heads.add(head);
+				else
+					summary.empty.add(Integer.valueOf(i));
+			}
+			if (heads.isEmpty())
+				throw new RuntimeException("No test records to merge into "
+						+ output + " - " + summary.shards + " reports read, "
+						+ summary.missing + " missing");
+			BufferedWriter out = Files.newBufferedWriter(temp,
+					StandardCharsets.UTF_8);
+			try {
+				while (!heads.isEmpty()) {
+					Head head = heads.poll();
+					out.write(head.line);
+					out.newLine();
+					summary.records++;
+					summary.duration += Long.parseLong(head.fields[3]);
+					if (!DetailWriter.PASSED.equalsIgnoreCase(WorkProtocol
+							.unescape(head.fields[2])))
+						summary.notPassed++;
+					if (head.advance())
+						heads.add(head);
+				}
+			} finally {
+				out.close();
+			}
+			Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to merge reports into "
+					+ output + " - " + e.getMessage());
+		} finally {
+			for (BufferedReader reader : readers) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+		return summary;
+	}
+
+	/**
+	 * Split a report line into fields if it is a record. The duration must be
+	 * a number of at most MAX_DIGITS digits.
+	 *
+	 * @param line
+	 *            the line
+	 * @return the fields, or null if the line is not a record
+	 */
+	static String[] parse(String line) {
+		String[] fields = line.split(WorkProtocol.SEPARATOR, -1);
+		if (fields.length < 4 || fields[3].isEmpty()
+				|| fields[3].length() > MAX_DIGITS)
+			return null;
+		for (int i = 0; i < fields[3].length(); i++)
+			if (fields[3].charAt(i) < '0' || fields[3].charAt(i) > '9')
+				return null;
+		return fields;
+	}
+}
@@ -0,0 +1,258 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ReportName.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class forms the report file name of each call from a template, so
+ * that calls running at the same time write their own reports instead of
+ * overwriting one file. The template is the value of the reports property
+ * and may contain these placeholders:
+ *
+ * {suite} - the suite name, with characters other than letters, digits,
+ * period, hyphen and underscore replaced by underscores
+ *
+ * {shard} - the position of the suite in the batch, starting at 0, so a suite
+ * that is rerun writes the same report
+ *
+ * {server} - the host and port of the server that runs the suite
+ *
+ * {run} - an id that is different for each run of the program
+ *
+ * A placeholder whose value is not known where the name is formed is left in
+ * place, so it can be filled in later, for example by a worker that knows its
+ * server. A template without placeholders names the same file for every call.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ReportName {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the placeholder for the suite name */
+	public static final String SUITE = "{suite}";
+
+	/** the placeholder for the position of the suite in the batch */
+	public static final String SHARD = "{shard}";
+
+	/** the placeholder for the server */
+	public static final String SERVER = "{server}";
+
+	/** the placeholder for the run id */
+	public static final String RUN = "{run}";
+
+	/** the template */
+	private final String template;
+
+	/** the URL of the server, or null if not known */
+	private final String server;
+
+	/** the run id */
+	private final String runId;
+
+	/** the position of each suite in the batch */
+	private final Map<String, Integer> shards;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param template
+	 *            the template, or null
+	 * @param server
+	 *            the URL of the server, or null if not known
+	 * @param runId
+	 *            the run id
+	 * @param suites
+	 *            the suites of the batch in order, or null if not known
+	 */
+	public ReportName(String template, String server, String runId,
+			Collection<String> suites) {
+		this.template = template;
+		this.server = server;
+		this.runId = runId;
+		shards = new HashMap<String, Integer>();
+		if (suites != null)
+			for (String suite : suites)
+				if (!shards.containsKey(suite))
+					shards.put(suite, Integer.valueOf(shards.size()));
+	}
+
+	// -------------------------------------------------------------------------
+	// Expand
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the template.
+	 *
+	 * @return the template, or null
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Return true if the template has a placeholder, so that different calls
+	 * can write different reports.
+	 *
+	 * @return true if the template has a placeholder
+	 */
+	public boolean isTemplate() {
+		return isTemplate(template);
+	}
+
+	/**
+	 * Return the report name of a suite. The shard placeholder is left in
+	 * place if the suite is not in the batch.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @return the report name, or null if there is no template
+	 */
+	public String expand(String suite) {
+		Integer shard = shards.get(suite);
+		return expand(template, suite, shard == null ? -1 : shard.intValue(),
+				server, runId);
+	}
+
+	/**
+	 * Return true if a template has a placeholder.
+	 *
+	 * @param template
+	 *            the template, or null
+	 * @return true if the template has a placeholder
+	 */
+	public static boolean isTemplate(String template) {
+		return template != null
+				&& (template.contains(SUITE) || template.contains(SHARD)
+						|| template.contains(SERVER) || template
+							.contains(RUN));
+	}
+
+	/**
+	 * Fill in the placeholders of a template whose values are known.
+	 *
+	 * @param template
+	 *            the template, or null
+	 * @param suite
+	 *            the suite name, or null if not known
+	 * @param shard
+	 *            the position of the suite in the batch, or -1 if not known
+	 * @param server
+	 *            the URL of the server, or null if not known
+	 * @param runId
+	 *            the run id, or null if not known
+	 * @return the report name, or null if there is no template
+	 */
+	public static String expand(String template, String suite, int shard,
+			String server, String runId) {
+		if (template == null)
+			return null;
+		String result = template;
+		if (suite != null)
+			result = result.replace(SUITE, sanitize(suite));
+		if (shard >= 0)
+			result = result.replace(SHARD, Integer.toString(shard));
+		if (server != null)
+			result = result.replace(SERVER, sanitize(hostAndPort(server)));
+		if (runId != null)
+			result = result.replace(RUN, runId);
+		return result;
+	}
+
+	/**
+	 * Return a new run id, formed from the current time.
+	 *
+	 * @return the run id
+	 */
+	public static String newRunId() {
+		return Long.toString(System.currentTimeMillis(), 36);
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the host and port of a server URL.
+	 *
+	 * @param server
+	 *            the URL of the server
+	 * @return host-port, or the URL itself if it cannot be parsed
+	 */
+	static String hostAndPort(String server) {
+		try {
+			URL url = new URL(server);
+			int port = url.getPort() < 0 ? url.getDefaultPort() : url.getPort();
+			return url.getHost() + "-" + port;
+		} catch (MalformedURLException e) {
+			return server;
+		}
+	}
+
+	/**
+	 * Replace the characters of a value that are not safe in a file name.
+	 *
+	 * @param value
+	 *            the value
+	 * @return the value with unsafe characters replaced by underscores
+	 */
+	static String sanitize(String value) {
+		StringBuilder result = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (Character.isLetterOrDigit(c) || c == '.' || c == '-'
+					|| c == '_')
+				result.append(c);
+			else
+				result.append('_');
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,200 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Rerunner.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Form report names from a template
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class reruns the failed suites of a batch to separate flaky suites from
+ * real failures. Only the suites that failed are run again, so the cost of the
+ * reruns grows with the number of failures rather than with the size of the
+ * batch. A suite that passes on any rerun is flaky and is not run again; a
+ * suite that fails every rerun has failed. Reruns can be isolated, in which
+ * case the suites are run one at a time so they cannot interfere with each
+ * other.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Rerunner {
+	// -------------------------------------------------------------------------
+	// Verdict
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The classification of a suite after its reruns.
+	 */
+	public enum Verdict {
+		/** the suite passed the first time */
+		PASS,
+		/** the suite failed and then passed on a rerun */
+		FLAKY,
+		/** the suite failed the first time and on every rerun */
+		FAIL
+	}
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the client used to run suites */
+	private final RunTestClient client;
+
+	/** the report names */
+	private final ReportName reports;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param client
+	 *            the client used to run suites
+	 * @param reportName
+	 *            the file name for the reports
+	 */
+	public Rerunner(RunTestClient client, String reportName) {
+		this(client, new ReportName(reportName, client.getUrl(),
+				ReportName.newRunId(), null));
+	}
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param client
+	 *            the client used to run suites
+	 * @param reports
+	 *            the report names of the batch, so that a rerun suite writes
+	 *            the report of its first run
+	 */
+	public Rerunner(RunTestClient client, ReportName reports) {
+		this.client = client;
+		this.reports = reports;
+	}
+
+	// -------------------------------------------------------------------------
+	// Rerun
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Rerun the failed suites of a batch and classify every suite of the
+	 * batch.
+	 *
+	 * @param results
+	 *            the results of the batch
+	 * @param attempts
+	 *            the largest number of times a failed suite is rerun
+	 * @param isolated
+	 *            true if the reruns are run one at a time
+	 * @param concurrency
+	 *            the number of suites to rerun at the same time when the
+	 *            reruns are not isolated
+	 * @return the verdict of each recorded suite in batch order
+	 */
+	public Map<String, Verdict> rerun(ResultAggregator results, int attempts,
+			boolean isolated, int concurrency) {
+		Map<String, Verdict> verdicts = new LinkedHashMap<String, Verdict>();
+		List<String> failing = new ArrayList<String>();
+		for (int id = 0; id < results.getSuiteCount(); id++) {
+			TestCaseResult result = results.getSuiteResult(id);
+			if (result == null)
+				continue;
+			String suite = results.getSuiteName(id);
+			if (SuiteHistory.isFailure(result)) {
+				failing.add(suite);
+				verdicts.put(suite, Verdict.FAIL);
+			} else
+				verdicts.put(suite, Verdict.PASS);
+		}
+		for (int attempt = 1; attempt <= attempts && !failing.isEmpty(); attempt++) {
+			System.out.println("Rerun " + attempt + " of " + failing.size()
+					+ " failed suites");
+			ResultAggregator rerun = runOnce(failing, isolated, concurrency);
+			List<String> stillFailing = new ArrayList<String>();
+			for (String suite : failing) {
+				TestCaseResult result = rerun.getSuiteResult(rerun
+						.getSuiteId(suite));
+				if (result == null || SuiteHistory.isFailure(result))
+					stillFailing.add(suite);
+				else
+					verdicts.put(suite, Verdict.FLAKY);
+			}
+			failing = stillFailing;
+		}
+		return verdicts;
+	}
+
+	/**
+	 * Run suites once.
+	 *
+	 * @param suites
+	 *            the suites to run
+	 * @param isolated
+	 *            true if the suites are run one at a time
+	 * @param concurrency
+	 *            the number of suites to run at the same time when they are
+	 *            not isolated
+	 * @return the results of the suites
+	 */
+	private ResultAggregator runOnce(List<String> suites, boolean isolated,
+			int concurrency) {
+		if (!isolated) {
+			Map<String, TestCaseResult> none = Collections.emptyMap();
+			return new BatchRunner(client, reports, null).run(suites, none,
+					concurrency);
+		}
+		ResultAggregator results = new ResultAggregator(suites);
+		for (String suite : suites) {
+			long start = System.nanoTime();
+			TestCaseResult result = client.run(suite, reports.expand(suite));
+			results.record(suite, result,
+					(System.nanoTime() - start) / 1000000L);
+		}
+		return results;
+	}
+}
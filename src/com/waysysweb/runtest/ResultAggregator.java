@@ -0,0 +1,424 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ResultAggregator.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class aggregates the results of a batch of suites as they complete.
+ * Each suite has an id, its position in the batch, and its counts are kept in
+ * primitive arrays indexed by that id. Running totals are kept in striped
+ * adders, so many threads can record results without contending and a
+ * progress display can read a snapshot at any time without locking. Result
+ * objects are not retained; only the error message of a suite with an error is
+ * kept. The duration of each call is kept when it is known.
+ *
+ * A suite is recorded once. Later results for the same suite are ignored.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ResultAggregator {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** offset of the error number in the counts of a suite */
+	private static final int ERROR_NUM = 0;
+
+	/** offset of the error count in the counts of a suite */
+	private static final int ERRORS = 1;
+
+	/** offset of the failed count in the counts of a suite */
+	private static final int FAILED = 2;
+
+	/** offset of the succeeded count in the counts of a suite */
+	private static final int SUCCEEDED = 3;
+
+	/** number of counts for each suite */
+	private static final int STRIDE = 4;
+
+	/** state of a suite whose result is being written */
+	private static final int CLAIMED = 2;
+
+	/** state of a suite whose result has been written */
+	private static final int RECORDED = 1;
+
+	/** the suite names by id */
+	private final String[] names;
+
+	/** the suite ids by name */
+	private final Map<String, Integer> ids;
+
+	/** the state of each suite: 0, CLAIMED or RECORDED */
+	private final AtomicIntegerArray recorded;
+
+	/** the counts of each suite, STRIDE entries per suite */
+	private final AtomicIntegerArray counts;
+
+	/** the duration of each suite in milliseconds, -1 if unknown */
+	private final AtomicLongArray durations;
+
+	/** the error message of each suite with an error */
+	private final AtomicReferenceArray<String> messages;
+
+	/** number of suites recorded */
+	private final LongAdder completed;
+
+	/** total tests succeeded */
+	private final LongAdder succeeded;
+
+	/** total tests failed */
+	private final LongAdder failed;
+
+	/** total test errors */
+	private final LongAdder errors;
+
+	/** number of suites with a non-zero error number */
+	private final LongAdder errorSuites;
+
+	// -------------------------------------------------------------------------
+	// Snapshot
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A snapshot of the running totals. The totals are read without locking,
+	 * so a snapshot taken while results are recorded may include part of a
+	 * result.
+	 */
+	public static final class Snapshot {
+
+		/** number of suites recorded */
+		public final long completed;
+
+		/** number of suites in the batch */
+		public final long total;
+
+		/** total tests succeeded */
+		public final long succeeded;
+
+		/** total tests failed */
+		public final long failed;
+
+		/** total test errors */
+		public final long errors;
+
+		/** number of suites with a non-zero error number */
+		public final long errorSuites;
+
+		/**
+		 * Create an instance of this class
+		 */
+		Snapshot(long completed, long total, long succeeded, long failed,
+				long errors, long errorSuites) {
+			this.completed = completed;
+			this.total = total;
+			this.succeeded = succeeded;
+			this.failed = failed;
+			this.errors = errors;
+			this.errorSuites = errorSuites;
+		}
+
+		/**
+		 * Return a one line description of the snapshot.
+		 *
+		 * @return the description
+		 */
+		@Override
+		public String toString() {
+			return "Suites " + completed + "/" + total + ", succeeded "
+					+ succeeded + ", failed " + failed + ", errors " + errors
+					+ ", suites in error " + errorSuites;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param suites
+	 *            the suites of the batch in order
+	 */
+	public ResultAggregator(Collection<String> suites) {
+		names = suites.toArray(new String[suites.size()]);
+		ids = new HashMap<String, Integer>(names.length * 2);
+		for (int i = 0; i < names.length; i++)
+			ids.put(names[i], Integer.valueOf(i));
+		recorded = new AtomicIntegerArray(names.length);
+		counts = new AtomicIntegerArray(names.length * STRIDE);
+		messages = new AtomicReferenceArray<String>(names.length);
+		durations = new AtomicLongArray(names.length);
+		completed = new LongAdder();
+		succeeded = new LongAdder();
+		failed = new LongAdder();
+		errors = new LongAdder();
+		errorSuites = new LongAdder();
+	}
+
+	// -------------------------------------------------------------------------
+	// Suites
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the number of suites in the batch.
+	 *
+	 * @return the number of suites
+	 */
+	public int getSuiteCount() {
+		return names.length;
+	}
+
+	/**
+	 * Return the id of a suite.
+	 *
+	 * @param name
+	 *            the suite name
+	 * @return the suite id, or -1 if the suite is not in the batch
+	 */
+	public int getSuiteId(String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id.intValue();
+	}
+
+	/**
+	 * Return the name of a suite.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @return the suite name
+	 */
+	public String getSuiteName(int id) {
+		return names[id];
+	}
+
+	/**
+	 * Return true if a suite has been recorded.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @return true if recorded
+	 */
+	public boolean isRecorded(int id) {
+		return recorded.get(id) == RECORDED;
+	}
+
+	// -------------------------------------------------------------------------
+	// Record
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Record the result of a suite whose duration is not known.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @param result
+	 *            the test case result
+	 * @return true if this is the first result for the suite
+	 */
+	public boolean record(int id, TestCaseResult result) {
+		return record(id, result, -1);
+	}
+
+	/**
+	 * Record the result of a suite.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @param result
+	 *            the test case result
+	 * @param durationMillis
+	 *            the duration of the call in milliseconds, or -1 if unknown
+	 * @return true if this is the first result for the suite
+	 */
+	public boolean record(int id, TestCaseResult result, long durationMillis) {
+		if (!recorded.compareAndSet(id, 0, CLAIMED))
+			return false;
+		durations.set(id, durationMillis);
+		int base = id * STRIDE;
+		counts.set(base + ERROR_NUM, result.getErrorNum());
+		counts.set(base + ERRORS, result.getErrors());
+		counts.set(base + FAILED, result.getFailed());
+		counts.set(base + SUCCEEDED, result.getSucceeded());
+		if (result.getErrorNum() != 0) {
+			messages.set(id, result.getErrorMessage());
+			errorSuites.increment();
+		}
+		succeeded.add(result.getSucceeded());
+		failed.add(result.getFailed());
+		errors.add(result.getErrors());
+		recorded.set(id, RECORDED);
+		completed.increment();
+		return true;
+	}
+
+	/**
+	 * Record the result of a suite by name.
+	 *
+	 * @param name
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @return true if this is the first result for the suite
+	 */
+	public boolean record(String name, TestCaseResult result) {
+		return record(name, result, -1);
+	}
+
+	/**
+	 * Record the result and duration of a suite by name.
+	 *
+	 * @param name
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @param durationMillis
+	 *            the duration of the call in milliseconds, or -1 if unknown
+	 * @return true if this is the first result for the suite
+	 */
+	public boolean record(String name, TestCaseResult result,
+			long durationMillis) {
+		int id = getSuiteId(name);
+		return id >= 0 && record(id, result, durationMillis);
+	}
+
+	// -------------------------------------------------------------------------
+	// Read
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return a snapshot of the running totals.
+	 *
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(completed.sum(), names.length, succeeded.sum(),
+				failed.sum(), errors.sum(), errorSuites.sum());
+	}
+
+	/**
+	 * Return the result of a suite.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @return a new test case result, or null if the suite has not been
+	 *         recorded
+	 */
+	public TestCaseResult getSuiteResult(int id) {
+		if (!isRecorded(id))
+			return null;
+		int base = id * STRIDE;
+		TestCaseResult result = new TestCaseResult();
+		result.setErrorNum(counts.get(base + ERROR_NUM));
+		result.setErrors(counts.get(base + ERRORS));
+		result.setFailed(counts.get(base + FAILED));
+		result.setSucceeded(counts.get(base + SUCCEEDED));
+		result.setErrorMessage(messages.get(id));
+		return result;
+	}
+
+	/**
+	 * Return the duration of a suite.
+	 *
+	 * @param id
+	 *            the suite id
+	 * @return the duration in milliseconds, or -1 if unknown
+	 */
+	public long getDuration(int id) {
+		return isRecorded(id) ? durations.get(id) : -1;
+	}
+
+	/**
+	 * Return the summary of the recorded suites. The error number is that of
+	 * the first suite in batch order with an error, and the error messages are
+	 * joined in batch order.
+	 *
+	 * @return the summary
+	 */
+	public TestCaseResult getSummary() {
+		TestCaseResult summary = new TestCaseResult();
+		StringBuilder message = new StringBuilder();
+		long totalSucceeded = 0;
+		long totalFailed = 0;
+		long totalErrors = 0;
+		for (int id = 0; id < names.length; id++) {
+			if (!isRecorded(id))
+				continue;
+			int base = id * STRIDE;
+			totalSucceeded += counts.get(base + SUCCEEDED);
+			totalFailed += counts.get(base + FAILED);
+			totalErrors += counts.get(base + ERRORS);
+			int errorNum = counts.get(base + ERROR_NUM);
+			if (errorNum != 0) {
+				if (summary.getErrorNum() == 0)
+					summary.setErrorNum(errorNum);
+				if (message.length() > 0)
+					message.append("; ");
+				message.append(messages.get(id));
+			}
+		}
+		summary.setSucceeded(toInt(totalSucceeded));
+		summary.setFailed(toInt(totalFailed));
+		summary.setErrors(toInt(totalErrors));
+		if (message.length() > 0)
+			summary.setErrorMessage(message.toString());
+		return summary;
+	}
+
+	/**
+	 * Convert a total to an int, saturating at the largest int.
+	 *
+	 * @param value
+	 *            the total
+	 * @return the total as an int
+	 */
+	private static int toInt(long value) {
+		return value > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) value;
+	}
+}
@@ -0,0 +1,248 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ResultStreamReader.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class reads a runTest response with a streaming XML reader. The
+ * aggregate fields of the test case result are returned, and each per-test
+ * detail is passed to a sink as soon as it has been read and is then
+ * discarded, so a response with many thousands of tests is never held in
+ * memory at once. A SOAP fault is reported as an exception with the fault
+ * string as its message.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ResultStreamReader {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the namespace of the test case result */
+	static final String RESULT_NS = "http://example.com/unittestcase";
+
+	/** the factory for XML readers, with DTDs and external entities off */
+	private static final XMLInputFactory FACTORY = createFactory();
+
+	// -------------------------------------------------------------------------
+	// Read
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Read a runTest response.
+	 *
+	 * @param in
+	 *            the response body
+	 * @param sink
+	 *            the receiver of the per-test details
+	 * @return the test case result without its details
+	 * @throws RuntimeException
+	 *             if the response is a fault or cannot be read
+	 */
+	public static TestCaseResult read(InputStream in, DetailSink sink)
+			throws RuntimeException {
+		TestCaseResult result = null;
+		XMLStreamReader reader = null;
+		try {
+			reader = FACTORY.createXMLStreamReader(in);
+			while (reader.hasNext()) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT)
+					continue;
+				String name = reader.getLocalName();
+				if (name.equals("Fault"))
+					throw new RuntimeException(readFault(reader));
+				if (!RESULT_NS.equals(reader.getNamespaceURI()))
+					continue;
+				if (result == null)
+					result = new TestCaseResult();
+				if (name.equals("tests"))
+					sink.accept(readDetail(reader));
+				else if (name.equals("errorMessage"))
+					result.setErrorMessage(reader.getElementText());
+				else if (name.equals("errorNum"))
+					result.setErrorNum(toInt(reader.getElementText()));
+				else if (name.equals("errors"))
+					result.setErrors(toInt(reader.getElementText()));
+				else if (name.equals("failed"))
+					result.setFailed(toInt(reader.getElementText()));
+				else if (name.equals("succeeded"))
+					result.setSucceeded(toInt(reader.getElementText()));
+			}
+		} catch (XMLStreamException e) {
+			throw new RuntimeException("Bad runTest response - "
+					+ e.getMessage());
+		} finally {
+			close(reader);
+		}
+		if (result == null)
+			throw new RuntimeException("No result in runTest response");
+		return result;
+	}
+
+	/**
+	 * Read the detail of one test. The reader is positioned on the start of
+	 * the tests element and is left on its end.
+	 *
+	 * @param reader
+	 *            the XML reader
+	 * @return the detail
+	 * @throws XMLStreamException
+	 *             if the detail cannot be read
+	 */
+	private static TestDetail readDetail(XMLStreamReader reader)
+			throws XMLStreamException {
+		TestDetail detail = new TestDetail();
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+			String text = reader.getElementText();
+			if (name.equals("className"))
+				detail.setClassName(text);
+			else if (name.equals("method"))
+				detail.setMethod(text);
+			else if (name.equals("status"))
+				detail.setStatus(text);
+			else if (name.equals("duration"))
+				detail.setDuration(toLong(text));
+			else if (name.equals("message"))
+				detail.setMessage(text);
+		}
+		return detail;
+	}
+
+	/**
+	 * Read the fault string of a SOAP fault.
+	 *
+	 * @param reader
+	 *            the XML reader, positioned on the start of the fault
+	 * @return the fault string
+	 * @throws XMLStreamException
+	 *             if the fault cannot be read
+	 */
+	private static String readFault(XMLStreamReader reader)
+			throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT
+					&& (reader.getLocalName().equals("faultstring") || reader
+							.getLocalName().equals("Text")))
+				return reader.getElementText();
+		}
+		return "SOAP fault";
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create the factory for XML readers.
+	 *
+	 * @return the factory
+	 */
+	private static XMLInputFactory createFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+				Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * Convert the text of an int element.
+	 *
+	 * @param text
+	 *            the text
+	 * @return the value
+	 * @throws RuntimeException
+	 *             if the text is not a number
+	 */
+	private static int toInt(String text) throws RuntimeException {
+		try {
+			return Integer.parseInt(text.trim());
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Bad number in runTest response - "
+					+ text);
+		}
+	}
+
+	/**
+	 * Convert the text of a long element.
+	 *
+	 * @param text
+	 *            the text
+	 * @return the value
+	 * @throws RuntimeException
+	 *             if the text is not a number
+	 */
+	private static long toLong(String text) throws RuntimeException {
+		try {
+			return Long.parseLong(text.trim());
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Bad number in runTest response - "
+					+ text);
+		}
+	}
+
+	/**
+	 * Close an XML reader, ignoring errors.
+	 *
+	 * @param reader
+	 *            the reader, or null
+	 */
+	private static void close(XMLStreamReader reader) {
+		if (reader == null)
+			return;
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			// ignore
+		}
+		return;
+	}
+}
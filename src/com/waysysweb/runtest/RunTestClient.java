@@ -0,0 +1,1439 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           RunTestClient.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched runTests calls
+//  Waysys    19-Oct-2026   Add streamed per-test details
+//  Waysys    19-Oct-2026   Add flight recorder events
+//  Waysys    19-Oct-2026   Coalesce identical calls in flight
+//  Waysys    19-Oct-2026   Add a pool of service accounts
+//  Waysys    19-Oct-2026   Add TLS configuration
+//  Waysys    19-Oct-2026   Propagate trace context and record call spans
+//  Waysys    19-Oct-2026   Keep live call statistics
+//  Waysys    19-Oct-2026   Record recent exchanges for failed calls
+//  Waysys    19-Oct-2026   Send runTests through a port of its own
+//  Waysys    19-Oct-2026   Time phases with Phase
+//  Waysys    19-Oct-2026   Give each coalesced caller a copy of the result
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.Closeable;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import javax.xml.namespace.QName;
+import javax.xml.ws.BindingProvider;
+
+import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
+import com.waysysweb.RunTestPortType;
+import com.waysysweb.RunTest_Service;
+import com.waysysweb.RunTestsPortType;
+import com.waysysweb.TestRequest;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is an embeddable client for invoking unit test suites in
+ * Guidewire. The configuration of a client is fixed when it is built, and an
+ * instance can be shared by many threads. Each call returns its own test case
+ * result, so several suites can be run in one JVM without interfering with
+ * each other.
+ *
+ * A client is created with a builder:
+ *
+ * RunTestClient client = RunTestClient.builder().url("http://localhost:8080/cc")
+ * .username("su").password("gw").build();
+ *
+ * TestCaseResult result = client.run("unittestcase.SampleTestSuite",
+ * "/proj/coverage/report.txt");
+ *
+ * Ports are not shared between threads. Each thread that calls the client
+ * creates its own port on first use and reuses it afterwards.
+ *
+ * A client can have a pool of service accounts instead of one user name. Each
+ * call then holds an account of its own, with a port bound to that account,
+ * so suites in flight at the same time run under different users on the
+ * server.
+ *
+ * For an https URL, or when a trust store, key store, protocols or cipher
+ * suites are set, the ports and connections of a client share one TLS
+ * configuration and its session cache.
+ *
+ * Every call sends a W3C traceparent HTTP header naming the span of the
+ * call, and optionally a traceparent SOAP header. See Tracer.
+ *
+ * When an exchange directory is set, the recent requests and responses of
+ * the client are kept in a fixed-size buffer and written to that directory
+ * when a call fails. See ExchangeRecorder.
+ *
+ * When the batch size is greater than 1, suites submitted asynchronously are
+ * coalesced into batches and sent with the runTests operation, which carries
+ * many suites in one SOAP exchange. A batch is sent when it is full or when
+ * the linger time has passed since its first suite was queued. The runTests
+ * operation has a port of its own, which is only created when a batch is
+ * sent, so servers without the operation can be used without batches. The
+ * ports of another port factory must also implement RunTestsPortType to be
+ * sent batches.
+ *
+ * The per-test details of a suite can be passed to a sink as they are read.
+ * For a Guidewire server the response is then read with a streaming reader
+ * rather than unmarshalled whole.
+ *
+ * A client that is shared by many callers, for example in a long-lived
+ * process, can coalesce identical calls. A call for the same suite and
+ * report file, under the same build fingerprint, that arrives while an
+ * identical call is in flight waits for that call and receives a copy of its
+ * result, instead of running the suite again on the server.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public final class RunTestClient implements Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the qualified name of the RunTest service */
+	static final QName SERVICE_NAME = new QName("http://waysysweb.com",
+			"RunTest");
+
+	/** the qualified name of the RunTest port */
+	static final QName PORT_NAME = new QName("http://waysysweb.com",
+			"RunTestSoap11Port");
+
+	/** default user name */
+	static final String DEFAULT_USERNAME = "su";
+
+	/** default password */
+	static final String DEFAULT_PASSWORD = "gw";
+
+	/** default number of threads used for asynchronous calls */
+	static final int DEFAULT_CONCURRENCY = 4;
+
+	/** default time a suite waits for its batch to fill, in milliseconds */
+	static final long DEFAULT_LINGER = 50;
+
+	/** the URL of the Guidewire server */
+	private final String url;
+
+	/** the user name for HTTP basic authentication */
+	private final String username;
+
+	/** the password for HTTP basic authentication */
+	private final String password;
+
+	/** the number of threads used for asynchronous calls */
+	private final int concurrency;
+
+	/** the largest number of suites in one runTests call */
+	private final int batchSize;
+
+	/** the longest time a suite waits for its batch to fill */
+	private final long lingerMillis;
+
+	/** the build fingerprint that is part of the key of a call */
+	private final String fingerprint;
+
+	/** the pool of service accounts, or null to use the user name */
+	private final CredentialPool pool;
+
+	/** the TLS configuration, or null if TLS is not configured */
+	private final TlsConfig tls;
+
+	/** the live statistics of the calls */
+	private final CallStats stats;
+
+	/** the recorder of recent exchanges, or null */
+	private final ExchangeRecorder recorder;
+
+	/** the calls in flight, or null if calls are not coalesced */
+	private final SingleFlight<List<String>, TestCaseResult> inFlight;
+
+	/** the factory used to create ports */
+	private final PortFactory portFactory;
+
+	/** a port for each calling thread */
+	private final ThreadLocal<RunTestPortType> ports;
+
+	/** a runTests port for each calling thread */
+	private final ThreadLocal<RunTestsPortType> batchPorts;
+
+	/** executor for asynchronous calls, created on first use */
+	private ExecutorService executor;
+
+	/** batcher for asynchronous calls, created on first use */
+	private SuiteBatcher batcher;
+
+	/** true if the client has been closed */
+	private boolean closed;
+
+	// -------------------------------------------------------------------------
+	// Port Factory
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A source of ports for the RunTest web service. Each call must return a
+	 * port that is not used by any other thread.
+	 */
+	public interface PortFactory {
+
+		/**
+		 * Create a port for the RunTest web service.
+		 *
+		 * @return a new port
+		 */
+		RunTestPortType createPort();
+	}
+
+	/**
+	 * The port factory for a Guidewire server. The WSDL is read once, when
+	 * the first port is created.
+	 */
+	static final class ServicePortFactory implements PortFactory {
+
+		/** the location of the WSDL */
+		private final URL wsdlLocation;
+
+		/** the user name for HTTP basic authentication */
+		private final String username;
+
+		/** the password for HTTP basic authentication */
+		private final String password;
+
+		/** the TLS configuration, or null */
+		private final TlsConfig tls;
+
+		/** true if the traceparent is sent as a SOAP header */
+		private final boolean traceHeader;
+
+		/** the recorder of exchanges, or null */
+		private final ExchangeRecorder recorder;
+
+		/** the service, created on first use */
+		private RunTest_Service service;
+
+		/**
+		 * Create an instance of this class
+		 *
+		 * @param wsdlLocation
+		 *            the location of the WSDL
+		 * @param username
+		 *            the user name for authentication
+		 * @param password
+		 *            the password for authentication
+		 * @param tls
+		 *            the TLS configuration, or null
+		 * @param traceHeader
+		 *            true if the traceparent is sent as a SOAP header
+		 * @param recorder
+		 *            the recorder of exchanges, or null
+		 */
+		ServicePortFactory(URL wsdlLocation, String username,
+				String password, TlsConfig tls, boolean traceHeader,
+				ExchangeRecorder recorder) {
+			this.wsdlLocation = tls == null ? wsdlLocation : tls
+					.wrap(wsdlLocation);
+			this.username = username;
+			this.password = password;
+			this.tls = tls;
+			this.traceHeader = traceHeader;
+			this.recorder = recorder;
+		}
+
+		/**
+		 * Create a port with HTTP basic authentication set.
+		 *
+		 * @return a new port
+		 */
+		public RunTestPortType createPort() {
+			return createPort(username, password);
+		}
+
+		/**
+		 * Create a port with HTTP basic authentication set for an account.
+		 *
+		 * @param username
+		 *            the user name of the account
+		 * @param password
+		 *            the password of the account
+		 * @return a new port
+		 */
+		RunTestPortType createPort(String username, String password) {
+			RunTestPortType port = getService().getRunTestSoap11Port();
+			configure((BindingProvider) port, username, password);
+			return port;
+		}
+
+		/**
+		 * Create a port for the runTests operation with HTTP basic
+		 * authentication set.
+		 *
+		 * @param username
+		 *            the user name, or null for the user name of the factory
+		 * @param password
+		 *            the password, or null for the password of the factory
+		 * @return a new port
+		 */
+		RunTestsPortType createBatchPort(String username, String password) {
+			RunTestsPortType port = getService().getPort(PORT_NAME,
+					RunTestsPortType.class);
+			configure((BindingProvider) port, username == null ? this.username
+					: username, password == null ? this.password : password);
+			return port;
+		}
+
+		/**
+		 * Set the authentication, TLS and handlers of a port.
+		 *
+		 * @param bp
+		 *            the port
+		 * @param username
+		 *            the user name
+		 * @param password
+		 *            the password
+		 */
+		private void configure(BindingProvider bp, String username,
+				String password) {
+			Map<String, Object> requestContext = bp.getRequestContext();
+			requestContext.put(BindingProvider.USERNAME_PROPERTY, username);
+			requestContext.put(BindingProvider.PASSWORD_PROPERTY, password);
+			if (tls != null)
+				tls.configure(requestContext);
+			if (traceHeader)
+				Tracer.addHeaderHandler(bp);
+			if (recorder != null)
+				recorder.addHandler(bp);
+			return;
+		}
+
+		/**
+		 * Return the service, reading the WSDL if this is the first call.
+		 *
+		 * @return the RunTest service
+		 */
+		private synchronized RunTest_Service getService() {
+			if (service == null) {
+				Phase event = Phase.start(Phase.WSDL_RESOLVE);
+				String outcome = Phase.ERROR;
+				try {
+					service = new RunTest_Service(wsdlLocation, SERVICE_NAME);
+					outcome = Phase.OK;
+				} finally {
+					event.finish(null, wsdlLocation.toString(), outcome);
+				}
+			}
+			return service;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Builder
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A builder for RunTest clients. A builder is not thread safe, but the
+	 * clients it builds are.
+	 */
+	public static final class Builder {
+
+		/** the URL of the Guidewire server */
+		private String url;
+
+		/** the user name */
+		private String username = DEFAULT_USERNAME;
+
+		/** the password */
+		private String password = DEFAULT_PASSWORD;
+
+		/** the number of threads for asynchronous calls */
+		private int concurrency = DEFAULT_CONCURRENCY;
+
+		/** the largest number of suites in one runTests call */
+		private int batchSize = 1;
+
+		/** the longest time a suite waits for its batch to fill */
+		private long lingerMillis = DEFAULT_LINGER;
+
+		/** true if identical calls in flight are coalesced */
+		private boolean coalesce = false;
+
+		/** the build fingerprint */
+		private String fingerprint;
+
+		/** the service accounts, or null to use the user name */
+		private String accounts;
+
+		/** the trust store file, or null for the JDK trust store */
+		private String truststore;
+
+		/** the password of the trust store */
+		private String truststorePassword;
+
+		/** the key store file, or null for no client certificate */
+		private String keystore;
+
+		/** the password of the key store */
+		private String keystorePassword;
+
+		/** the enabled TLS protocols, or null for the default */
+		private String tlsProtocols;
+
+		/** the enabled cipher suites, or null for the default */
+		private String tlsCiphers;
+
+		/** true if the traceparent is also sent as a SOAP header */
+		private boolean traceHeader = false;
+
+		/** the directory of exchange dumps, or null to record nothing */
+		private String exchanges;
+
+		/** the size of the exchange buffer in bytes */
+		private int exchangeBuffer = ExchangeRecorder.DEFAULT_CAPACITY;
+
+		/** the port factory, or null for the Guidewire server */
+		private PortFactory portFactory;
+
+		/**
+		 * Create an instance of this class
+		 */
+		Builder() {
+			super();
+		}
+
+		/**
+		 * Set the URL of the Guidewire server. Do not end the URL with a /.
+		 *
+		 * @param value
+		 *            the server URL
+		 * @return this builder
+		 */
+		public Builder url(String value) {
+			url = value;
+			return this;
+		}
+
+		/**
+		 * Set the user name. A null value selects the default user name.
+		 *
+		 * @param value
+		 *            the user name
+		 * @return this builder
+		 */
+		public Builder username(String value) {
+			username = value == null ? DEFAULT_USERNAME : value;
+			return this;
+		}
+
+		/**
+		 * Set the password. A null value selects the default password.
+		 *
+		 * @param value
+		 *            the password
+		 * @return this builder
+		 */
+		public Builder password(String value) {
+			password = value == null ? DEFAULT_PASSWORD : value;
+			return this;
+		}
+
+		/**
+		 * Set the number of threads used for asynchronous calls.
+		 *
+		 * @param value
+		 *            the number of threads, at least 1
+		 * @return this builder
+		 */
+		public Builder concurrency(int value) {
+			if (value < 1)
+				throw new IllegalArgumentException(
+						"Concurrency must be at least 1 - " + value);
+			concurrency = value;
+			return this;
+		}
+
+		/**
+		 * Set the largest number of suites sent in one runTests call. A
+		 * value of 1 sends each suite with runTest.
+		 *
+		 * @param value
+		 *            the batch size, at least 1
+		 * @return this builder
+		 */
+		public Builder batchSize(int value) {
+			if (value < 1)
+				throw new IllegalArgumentException(
+						"Batch size must be at least 1 - " + value);
+			batchSize = value;
+			return this;
+		}
+
+		/**
+		 * Set the longest time a suite waits for its batch to fill.
+		 *
+		 * @param value
+		 *            the linger time in milliseconds
+		 * @return this builder
+		 */
+		public Builder lingerMillis(long value) {
+			if (value < 0)
+				throw new IllegalArgumentException(
+						"Linger time must not be negative - " + value);
+			lingerMillis = value;
+			return this;
+		}
+
+		/**
+		 * Set a pool of service accounts. Each call in flight uses a
+		 * different account, and the user name and password are not used.
+		 *
+		 * @param value
+		 *            user:password pairs separated by commas, or null for no
+		 *            pool
+		 * @return this builder
+		 */
+		public Builder accounts(String value) {
+			accounts = value;
+			return this;
+		}
+
+		/**
+		 * Set the trust store used to check the certificate of the server.
+		 *
+		 * @param file
+		 *            the trust store file, or null for the JDK trust store
+		 * @param storePassword
+		 *            the password of the trust store, or null
+		 * @return this builder
+		 */
+		public Builder truststore(String file, String storePassword) {
+			truststore = file;
+			truststorePassword = storePassword;
+			return this;
+		}
+
+		/**
+		 * Set the key store with the client certificate.
+		 *
+		 * @param file
+		 *            the key store file, or null for no client certificate
+		 * @param storePassword
+		 *            the password of the key store and its key, or null
+		 * @return this builder
+		 */
+		public Builder keystore(String file, String storePassword) {
+			keystore = file;
+			keystorePassword = storePassword;
+			return this;
+		}
+
+		/**
+		 * Set the enabled TLS protocols.
+		 *
+		 * @param value
+		 *            the protocols separated by commas, or null for the
+		 *            default
+		 * @return this builder
+		 */
+		public Builder tlsProtocols(String value) {
+			tlsProtocols = value;
+			return this;
+		}
+
+		/**
+		 * Set the enabled cipher suites.
+		 *
+		 * @param value
+		 *            the cipher suites in order of preference separated by
+		 *            commas, or null for the default
+		 * @return this builder
+		 */
+		public Builder tlsCiphers(String value) {
+			tlsCiphers = value;
+			return this;
+		}
+
+		/**
+		 * Set whether the traceparent of a call is also sent as a SOAP
+		 * header. It is always sent as an HTTP header.
+		 *
+		 * @param value
+		 *            true to send the SOAP header
+		 * @return this builder
+		 */
+		public Builder traceHeader(boolean value) {
+			traceHeader = value;
+			return this;
+		}
+
+		/**
+		 * Set the directory where the recent exchanges are written when a
+		 * call fails. Nothing is recorded unless this is set.
+		 *
+		 * @param value
+		 *            the directory, or null to record nothing
+		 * @return this builder
+		 */
+		public Builder exchanges(String value) {
+			exchanges = value;
+			return this;
+		}
+
+		/**
+		 * Set the size of the buffer of recent exchanges.
+		 *
+		 * @param value
+		 *            the size in bytes
+		 * @return this builder
+		 * @throws IllegalArgumentException
+		 *             if the size is less than 4096
+		 */
+		public Builder exchangeBuffer(int value)
+				throws IllegalArgumentException {
+			if (value < ExchangeRecorder.MIN_CAPACITY)
+				throw new IllegalArgumentException(
+						"Exchange buffer must be at least "
+								+ ExchangeRecorder.MIN_CAPACITY + " bytes");
+			exchangeBuffer = value;
+			return this;
+		}
+
+		/**
+		 * Set whether identical calls in flight are coalesced into one call.
+		 *
+		 * @param value
+		 *            true to coalesce calls
+		 * @return this builder
+		 */
+		public Builder coalesce(boolean value) {
+			coalesce = value;
+			return this;
+		}
+
+		/**
+		 * Set the build fingerprint, for example a commit id. Calls are only
+		 * coalesced when their fingerprints are the same.
+		 *
+		 * @param value
+		 *            the fingerprint, or null
+		 * @return this builder
+		 */
+		public Builder fingerprint(String value) {
+			fingerprint = value;
+			return this;
+		}
+
+		/**
+		 * Set the factory used to create ports. This replaces the Guidewire
+		 * server, for example with a local stand-in.
+		 *
+		 * @param value
+		 *            the port factory
+		 * @return this builder
+		 */
+		public Builder portFactory(PortFactory value) {
+			portFactory = value;
+			return this;
+		}
+
+		/**
+		 * Set the values of this builder from RunTest properties.
+		 *
+		 * @param properties
+		 *            a property set with url, username, password and
+		 *            optionally batchsize, linger, accounts, truststore, truststorepassword, keystore,
+		 *            keystorepassword, tlsprotocols, tlsciphers,
+		 *            traceheader, exchanges and exchangebuffer
+		 * @return this builder
+		 * @throws RuntimeException
+		 *             if batchsize, linger or exchangebuffer is not a number
+		 */
+		public Builder properties(Properties properties)
+				throws RuntimeException {
+			assert properties != null;
+			url(properties.getProperty("url"));
+			username(properties.getProperty("username"));
+			password(properties.getProperty("password"));
+			accounts(properties.getProperty("accounts"));
+			truststore(properties.getProperty("truststore"),
+					properties.getProperty("truststorepassword"));
+			keystore(properties.getProperty("keystore"),
+					properties.getProperty("keystorepassword"));
+			tlsProtocols(properties.getProperty("tlsprotocols"));
+			tlsCiphers(properties.getProperty("tlsciphers"));
+			traceHeader(Boolean.parseBoolean(properties
+					.getProperty("traceheader")));
+			exchanges(properties.getProperty("exchanges"));
+			try {
+				if (properties.getProperty("batchsize") != null)
+					batchSize(Integer.parseInt(properties.getProperty(
+							"batchsize").trim()));
+				if (properties.getProperty("linger") != null)
+					lingerMillis(Long.parseLong(properties.getProperty(
+							"linger").trim()));
+				if (properties.getProperty("exchangebuffer") != null)
+					exchangeBuffer(Integer.parseInt(properties.getProperty(
+							"exchangebuffer").trim()));
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("Bad batch property - "
+						+ e.getMessage());
+			}
+			return this;
+		}
+
+		/**
+		 * Build the client.
+		 *
+		 * @return a new client
+		 * @throws RuntimeException
+		 *             if URL is not provided or if it is malformed, if the
+		 *             service accounts are malformed, or if TLS cannot be
+		 *             configured
+		 */
+		public RunTestClient build() throws RuntimeException {
+			TlsConfig tls = null;
+			if (truststore != null || keystore != null || tlsProtocols != null
+					|| tlsCiphers != null
+					|| (url != null && url.toLowerCase().startsWith("https:")))
+				tls = new TlsConfig(truststore, truststorePassword, keystore,
+						keystorePassword, tlsProtocols, tlsCiphers);
+			ExchangeRecorder recorder = exchanges == null ? null
+					: new ExchangeRecorder(Paths.get(exchanges), exchangeBuffer);
+			PortFactory factory = portFactory;
+			if (factory == null)
+				factory = new ServicePortFactory(formURL(url), username,
+						password, tls, traceHeader, recorder);
+			return new RunTestClient(this, factory, tls, recorder);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param builder
+	 *            the builder with the configuration
+	 * @param factory
+	 *            the port factory
+	 * @param tls
+	 *            the TLS configuration, or null
+	 * @param recorder
+	 *            the recorder of exchanges, or null
+	 */
+	private RunTestClient(Builder builder, PortFactory factory,
+			TlsConfig tls, ExchangeRecorder recorder) {
+		url = builder.url;
+		username = builder.username;
+		password = builder.password;
+		concurrency = builder.concurrency;
+		batchSize = builder.batchSize;
+		lingerMillis = builder.lingerMillis;
+		fingerprint = builder.fingerprint;
+		pool = builder.accounts == null ? null : CredentialPool
+				.parse(builder.accounts);
+		this.tls = tls;
+		stats = new CallStats(url, concurrency);
+		this.recorder = recorder;
+		inFlight = builder.coalesce ? new SingleFlight<List<String>, TestCaseResult>(
+				new UnaryOperator<TestCaseResult>() {
+					public TestCaseResult apply(TestCaseResult result) {
+						return copyResult(result);
+					}
+				})
+				: null;
+		portFactory = factory;
+		ports = new ThreadLocal<RunTestPortType>();
+		batchPorts = new ThreadLocal<RunTestsPortType>();
+		executor = null;
+		batcher = null;
+		closed = false;
+	}
+
+	/**
+	 * Return a new builder.
+	 *
+	 * @return a builder with default values
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the URL of the Guidewire server.
+	 *
+	 * @return the server URL
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Return the user name.
+	 *
+	 * @return the user name
+	 */
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * Return the password.
+	 *
+	 * @return the password
+	 */
+	String getPassword() {
+		return password;
+	}
+
+	/**
+	 * Return the TLS configuration.
+	 *
+	 * @return the TLS configuration, or null if TLS is not configured
+	 */
+	public TlsConfig getTls() {
+		return tls;
+	}
+
+	/**
+	 * Return the live statistics of the calls.
+	 *
+	 * @return the statistics
+	 */
+	CallStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Return the number of threads used for asynchronous calls.
+	 *
+	 * @return the concurrency
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Return the number of calls that were coalesced with a call in flight.
+	 *
+	 * @return the count, or 0 if calls are not coalesced
+	 */
+	public long getCoalescedCount() {
+		return inFlight == null ? 0 : inFlight.getCoalesced();
+	}
+
+	/**
+	 * Return the largest number of suites sent in one runTests call.
+	 *
+	 * @return the batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	// -------------------------------------------------------------------------
+	// Execute Web Service
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run a test suite and wait for the result. Errors are reported in the
+	 * result rather than thrown.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return the test case result for this call
+	 */
+	public TestCaseResult run(final String testName, final String reportName) {
+		if (inFlight == null || testName == null || reportName == null)
+			return call(testName, reportName);
+		return inFlight.run(key(testName, reportName),
+				new Supplier<TestCaseResult>() {
+					public TestCaseResult get() {
+						return call(testName, reportName);
+					}
+				});
+	}
+
+	/**
+	 * Run a test suite without coalescing and wait for the result.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return the test case result for this call
+	 */
+	private TestCaseResult call(String testName, String reportName) {
+		TestCaseResult result;
+		if (testName == null)
+			result = errorResult("Test suite name is not set");
+		else if (reportName == null)
+			result = errorResult("Report file not set");
+		else {
+			Tracer.Span span = Tracer.startCall("runTest", testName, url);
+			CallStats.Call call = stats.started(testName);
+			int exchange = recorder == null ? 0 : recorder.begin(testName, url);
+			result = null;
+			try {
+				result = send(testName, reportName);
+			} finally {
+				if (recorder != null)
+					recorder.end(exchange, result);
+				stats.finished(call, result);
+				Tracer.endCall(span, result == null ? Phase.ERROR
+						: Phase.outcome(result));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Send a runTest request and wait for the result.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return the test case result for this call
+	 */
+	private TestCaseResult send(String testName, String reportName) {
+		TestCaseResult result;
+		CredentialPool.Account account;
+		RunTestPortType port;
+		try {
+			account = acquire();
+		} catch (RuntimeException e) {
+			return errorResult(e.getMessage());
+		}
+		try {
+			try {
+				port = getPort(account);
+			} catch (RuntimeException e) {
+				return errorResult(e.getMessage());
+			}
+			Tracer.propagate(port);
+			Phase event = Phase.start(Phase.RUN_TEST_WAIT);
+			try {
+				result = port.runTest(testName, reportName);
+				if (result == null)
+					result = errorResult("No result returned for test suite - "
+							+ testName);
+			} catch (RuntimeException e) {
+				result = errorResult(e.getMessage());
+			}
+			event.finish(testName, url, Phase.outcome(result));
+		} finally {
+			release(account);
+		}
+		return result;
+	}
+
+	/**
+	 * Run a test suite, pass the detail of each test to a sink as it is read,
+	 * and wait for the result. Errors are reported in the result rather than
+	 * thrown. The details are not kept in the result.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param sink
+	 *            the receiver of the per-test details
+	 * @return the test case result for this call
+	 */
+	public TestCaseResult run(String testName, String reportName,
+			DetailSink sink) {
+		TestCaseResult result;
+		if (testName == null)
+			result = errorResult("Test suite name is not set");
+		else if (reportName == null)
+			result = errorResult("Report file not set");
+		else {
+			CredentialPool.Account account = null;
+			Tracer.Span span = Tracer.startCall("runTest", testName, url);
+			CallStats.Call call = stats.started(testName);
+			int exchange = recorder == null ? 0 : recorder.begin(testName, url);
+			try {
+				account = acquire();
+				if (portFactory instanceof ServicePortFactory)
+					result = new StreamingCall(url, account == null ? username
+							: account.username, account == null ? password
+							: account.password, tls,
+							((ServicePortFactory) portFactory).traceHeader,
+							recorder)
+							.call(testName, reportName, sink);
+				else {
+					RunTestPortType port = getPort(account);
+					Tracer.propagate(port);
+					result = port.runTest(testName, reportName);
+					if (result == null)
+						result = errorResult("No result returned for test suite - "
+								+ testName);
+					for (TestDetail detail : result.getTests())
+						sink.accept(detail);
+					result.getTests().clear();
+				}
+			} catch (RuntimeException e) {
+				result = errorResult(e.getMessage());
+			} finally {
+				release(account);
+			}
+			if (recorder != null)
+				recorder.end(exchange, result);
+			stats.finished(call, result);
+			Tracer.endCall(span, Phase.outcome(result));
+		}
+		return result;
+	}
+
+	/**
+	 * Run several test suites in one runTests call and wait for the results.
+	 * Errors are reported in the results rather than thrown. A suite without
+	 * a name or report file is not sent.
+	 *
+	 * @param tests
+	 *            the suites to run
+	 * @return the test case results in the order of the suites
+	 */
+	public List<TestCaseResult> runAll(List<TestRequest> tests) {
+		TestCaseResult[] results = new TestCaseResult[tests.size()];
+		List<TestRequest> sent = new ArrayList<TestRequest>(tests.size());
+		List<Integer> positions = new ArrayList<Integer>(tests.size());
+		for (int i = 0; i < tests.size(); i++) {
+			TestRequest test = tests.get(i);
+			if (test.getTestName() == null)
+				results[i] = errorResult("Test suite name is not set");
+			else if (test.getReportName() == null)
+				results[i] = errorResult("Report file not set");
+			else {
+				sent.add(test);
+				positions.add(Integer.valueOf(i));
+			}
+		}
+		if (!sent.isEmpty()) {
+			List<TestCaseResult> received;
+			String failure = null;
+			Tracer.Span span = Tracer.startCall("runTests", null, url);
+			List<CallStats.Call> calls = new ArrayList<CallStats.Call>(
+					sent.size());
+			for (TestRequest test : sent)
+				calls.add(stats.started(test.getTestName()));
+			int exchange = recorder == null ? 0 : recorder.begin(sent.size()
+					+ " suites", url);
+			Phase event = Phase.start(Phase.RUN_TEST_WAIT);
+			CredentialPool.Account account = null;
+			try {
+				account = acquire();
+				RunTestsPortType port = getBatchPort(account);
+				Tracer.propagate(port);
+				received = port.runTests(sent);
+				if (received == null || received.size() != sent.size()) {
+					failure = "Expected " + sent.size()
+							+ " results from runTests, received "
+							+ (received == null ? 0 : received.size());
+				}
+			} catch (RuntimeException e) {
+				received = null;
+				failure = e.getMessage();
+			} finally {
+				release(account);
+			}
+			event.finish(sent.size() + " suites", url,
+					failure == null ? Phase.OK : failure);
+			Tracer.endCall(span, failure == null ? Phase.OK : failure);
+			TestCaseResult failed = null;
+			for (int j = 0; j < sent.size(); j++) {
+				int i = positions.get(j).intValue();
+				if (failure != null)
+					results[i] = errorResult(failure);
+				else if (received.get(j) == null)
+					results[i] = errorResult("No result returned for test suite - "
+							+ sent.get(j).getTestName());
+				else
+					results[i] = received.get(j);
+				stats.finished(calls.get(j), results[i]);
+				if (failed == null && results[i].getErrorNum() != 0)
+					failed = results[i];
+			}
+			if (recorder != null)
+				recorder.end(exchange, failed == null ? results[positions
+						.get(0).intValue()] : failed);
+		}
+		List<TestCaseResult> list = new ArrayList<TestCaseResult>(
+				results.length);
+		for (TestCaseResult result : results)
+			list.add(result);
+		return list;
+	}
+
+	/**
+	 * Run a test suite asynchronously. If the batch size is greater than 1,
+	 * the suite is sent in a batch with other suites.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return a future for the test case result
+	 * @throws IllegalStateException
+	 *             if the client has been closed
+	 */
+	public CompletableFuture<TestCaseResult> submit(final String testName,
+			final String reportName) throws IllegalStateException {
+		if (inFlight == null || testName == null || reportName == null)
+			return start(testName, reportName);
+		return inFlight.submit(key(testName, reportName),
+				new Supplier<CompletableFuture<TestCaseResult>>() {
+					public CompletableFuture<TestCaseResult> get() {
+						return start(testName, reportName);
+					}
+				});
+	}
+
+	/**
+	 * Start a call without coalescing.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return a future for the test case result
+	 * @throws IllegalStateException
+	 *             if the client has been closed
+	 */
+	private CompletableFuture<TestCaseResult> start(final String testName,
+			final String reportName) throws IllegalStateException {
+		stats.queued(1);
+		if (batchSize > 1)
+			return getBatcher().submit(testName, reportName);
+		return CompletableFuture.supplyAsync(new Supplier<TestCaseResult>() {
+			public TestCaseResult get() {
+				stats.queued(-1);
+				return call(testName, reportName);
+			}
+		}, getExecutor());
+	}
+
+	/**
+	 * Return the key of a call for coalescing.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return the server, suite, report file and fingerprint
+	 */
+	private List<String> key(String testName, String reportName) {
+		return Arrays.asList(url, testName, reportName, fingerprint);
+	}
+
+	/**
+	 * Return the port for the calling thread, creating it on first use.
+	 *
+	 * @return the port for this thread
+	 */
+	RunTestPortType getPort() {
+		RunTestPortType port = ports.get();
+		if (port == null) {
+			port = createPort(null);
+			ports.set(port);
+		}
+		return port;
+	}
+
+	/**
+	 * Return the port for a call, creating it on first use.
+	 *
+	 * @param account
+	 *            the account held by the call, or null if there is no pool
+	 * @return the port of the account, or the port for this thread
+	 */
+	private RunTestPortType getPort(CredentialPool.Account account) {
+		if (account == null)
+			return getPort();
+		if (account.port == null)
+			account.port = createPort(account);
+		return account.port;
+	}
+
+	/**
+	 * Return the runTests port for a call, creating it on first use.
+	 *
+	 * @param account
+	 *            the account held by the call, or null if there is no pool
+	 * @return the runTests port of the account, or the one for this thread
+	 * @throws RuntimeException
+	 *             if the ports of the port factory do not implement runTests
+	 */
+	private RunTestsPortType getBatchPort(CredentialPool.Account account)
+			throws RuntimeException {
+		if (!(portFactory instanceof ServicePortFactory)) {
+			RunTestPortType port = getPort(account);
+			if (!(port instanceof RunTestsPortType))
+				throw new RuntimeException(
+						"Port does not implement runTests - " + url);
+			return (RunTestsPortType) port;
+		}
+		RunTestsPortType port = account == null ? batchPorts.get()
+				: account.batchPort;
+		if (port == null) {
+			Phase event = Phase.start(Phase.PORT_CREATE);
+			String outcome = Phase.ERROR;
+			try {
+				port = ((ServicePortFactory) portFactory).createBatchPort(
+						account == null ? null : account.username,
+						account == null ? null : account.password);
+				outcome = Phase.OK;
+			} finally {
+				event.finish(null, url, outcome);
+			}
+			if (account == null)
+				batchPorts.set(port);
+			else
+				account.batchPort = port;
+		}
+		return port;
+	}
+
+	/**
+	 * Create a port.
+	 *
+	 * @param account
+	 *            the account the port is bound to, or null for the user name
+	 * @return a new port
+	 */
+	private RunTestPortType createPort(CredentialPool.Account account) {
+		Phase event = Phase.start(Phase.PORT_CREATE);
+		String outcome = Phase.ERROR;
+		try {
+			RunTestPortType port;
+			if (account != null && portFactory instanceof ServicePortFactory)
+				port = ((ServicePortFactory) portFactory).createPort(
+						account.username, account.password);
+			else
+				port = portFactory.createPort();
+			outcome = Phase.OK;
+			return port;
+		} finally {
+			event.finish(null, url, outcome);
+		}
+	}
+
+	/**
+	 * Take an account from the pool for a call.
+	 *
+	 * @return the account, or null if there is no pool
+	 * @throws RuntimeException
+	 *             if the thread is interrupted while waiting for an account
+	 */
+	private CredentialPool.Account acquire() throws RuntimeException {
+		if (pool == null)
+			return null;
+		try {
+			return pool.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(
+					"Interrupted while waiting for a service account");
+		}
+	}
+
+	/**
+	 * Return the account of a call to the pool.
+	 *
+	 * @param account
+	 *            the account, or null if there is no pool
+	 */
+	private void release(CredentialPool.Account account) {
+		if (account != null)
+			pool.release(account);
+		return;
+	}
+
+	/**
+	 * Release the threads used for asynchronous calls. Calls already
+	 * submitted, including a batch that has not filled, are completed.
+	 */
+	public synchronized void close() {
+		closed = true;
+		if (batcher != null)
+			batcher.close();
+		if (executor != null)
+			executor.shutdown();
+		return;
+	}
+
+	/**
+	 * Return the batcher, creating it on first use.
+	 *
+	 * @return the batcher for asynchronous calls
+	 * @throws IllegalStateException
+	 *             if the client has been closed
+	 */
+	private synchronized SuiteBatcher getBatcher() throws IllegalStateException {
+		ExecutorService batchExecutor = getExecutor();
+		if (batcher == null)
+			batcher = new SuiteBatcher(this, batchSize, lingerMillis,
+					batchExecutor);
+		return batcher;
+	}
+
+	/**
+	 * Return the executor, creating it on first use.
+	 *
+	 * @return the executor for asynchronous calls
+	 * @throws IllegalStateException
+	 *             if the client has been closed
+	 */
+	private synchronized ExecutorService getExecutor()
+			throws IllegalStateException {
+		if (closed)
+			throw new IllegalStateException("RunTest client is closed");
+		if (executor == null)
+			executor = Executors.newFixedThreadPool(concurrency,
+					new DaemonThreadFactory());
+		return executor;
+	}
+
+	/**
+	 * A thread factory for daemon threads, so that an embedding program is
+	 * not kept alive by an unclosed client.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+
+		/** count of threads created */
+		private final AtomicInteger count = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "runtest-"
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Form the URL of the WSDL location
+	 *
+	 * @param server
+	 *            the URL of the Guidewire server
+	 * @return the URL of the web service WSDL
+	 * @throws RuntimeException
+	 *             if URL is not provided or if it is malformed
+	 */
+	public static URL formURL(String server) throws RuntimeException {
+		String message;
+		String urlString;
+		URL location = null;
+		if (server != null) {
+			urlString = server + "/ws/unittestcase/RunTest?WSDL";
+			try {
+				location = new URL(urlString);
+			} catch (MalformedURLException e) {
+				message = "Bad server URL - " + server;
+				throw new RuntimeException(message);
+			}
+		} else {
+			message = "URL property is not set";
+			throw new RuntimeException(message);
+		}
+		return location;
+	}
+
+	/**
+	 * Return a test case result that reports an error.
+	 *
+	 * @param message
+	 *            the error message
+	 * @return a test case result with error number 1
+	 */
+	public static TestCaseResult errorResult(String message) {
+		TestCaseResult result = new TestCaseResult();
+		result.setErrorNum(1);
+		result.setErrors(1);
+		result.setErrorMessage(message);
+		return result;
+	}
+
+	/**
+	 * Return a copy of a result and its per-test details.
+	 *
+	 * @param result
+	 *            the test case result
+	 * @return the copy
+	 */
+	static TestCaseResult copyResult(TestCaseResult result) {
+		TestCaseResult copy = new TestCaseResult();
+		copy.setErrorNum(result.getErrorNum());
+		copy.setErrorMessage(result.getErrorMessage());
+		copy.setErrors(result.getErrors());
+		copy.setFailed(result.getFailed());
+		copy.setSucceeded(result.getSucceeded());
+		for (TestDetail test : result.getTests()) {
+			TestDetail detail = new TestDetail();
+			detail.setClassName(test.getClassName());
+			detail.setMethod(test.getMethod());
+			detail.setStatus(test.getStatus());
+			detail.setDuration(test.getDuration());
+			detail.setMessage(test.getMessage());
+			copy.getTests().add(detail);
+		}
+		return copy;
+	}
+}
@@ -27,6 +27,36 @@
 //  ------    -----------   ----------------------------------------------------
 //
 //  Shaffer   16-Dec-2010   File create
+//  Waysys    19-Oct-2026   Run suites through RunTestClient
+//  Waysys    19-Oct-2026   Add watch mode
+//  Waysys    19-Oct-2026   Add coordinator and worker modes
+//  Waysys    19-Oct-2026   Run suite lists as a journaled batch
+//  Waysys    19-Oct-2026   Add wait for server readiness
+//  Waysys    19-Oct-2026   Add server warm-up
+//  Waysys    19-Oct-2026   Add time-budgeted suite selection
+//  Waysys    19-Oct-2026   Add -batchsize and -linger
+//  Waysys    19-Oct-2026   Add -rerun-failed to separate flaky suites
+//  Waysys    19-Oct-2026   Add -details for per-test results
+//  Waysys    19-Oct-2026   Add -analyze-report
+//  Waysys    19-Oct-2026   Add report name templates and -merge-reports
+//  Waysys    19-Oct-2026   Add -jfr and flight recorder events
+//  Waysys    19-Oct-2026   Add -coalesce and -fingerprint
+//  Waysys    19-Oct-2026   Add -accounts
+//  Waysys    19-Oct-2026   Add -compare
+//  Waysys    19-Oct-2026   Add -repeat and the baseline gate
+//  Waysys    19-Oct-2026   Add TLS configuration
+//  Waysys    19-Oct-2026   Add -trace and -traceheader
+//  Waysys    19-Oct-2026   Add -status
+//  Waysys    19-Oct-2026   Add -exchanges and -exchangebuffer
+//  Waysys    19-Oct-2026   Add -watchdog
+//  Waysys    19-Oct-2026   Run several profiles concurrently
+//  Waysys    19-Oct-2026   Time phases with Phase
+//  Waysys    19-Oct-2026   Add -repeat-warmup; skip a warm-up of 0 runs
+//  Waysys    19-Oct-2026   Print the output of each profile as a block
+//  Waysys    19-Oct-2026   Remove -coalesce and -fingerprint
+//  Waysys    19-Oct-2026   Add -bind and -token; worker exit code
+//  Waysys    19-Oct-2026   Merge the per-test details of each suite
+//  Waysys    19-Oct-2026   With -repeat, -warmup discards runs of each suite
 //
 //------------------------------------------------------------------------------
 //      Package Declaration
@@ -36,19 +66,39 @@ package com.waysysweb.runtest;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
 import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
-import javax.xml.namespace.QName;
-import javax.xml.ws.BindingProvider;
+import jdk.jfr.Recording;
 
 import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
 import com.waysysweb.RunTestPortType;
-import com.waysysweb.RunTest_Service;
 
 //------------------------------------------------------------------------------
 //Public Class Declaration
@@ -72,6 +122,164 @@ import com.waysysweb.RunTest_Service;
  * 
  * prop - the name of the properties file to use
  * 
+ * -prop may name several properties files separated by commas, for example
+ * one for each product. Each file is a profile with its own url, credentials,
+ * testsuite, reports and client, and all profiles run at the same time in
+ * this process. The other command line arguments apply to every profile.
+ * -status and -watchdog serve and watch all profiles together. The output of
+ * each profile is printed as one block when the profile ends. When all
+ * profiles are done, a summary line is printed for each profile, and the
+ * result is the sum of their results, with the error number of the first
+ * profile that has one.
+ * 
+ * The following optional arguments select other modes:
+ * 
+ * -watch dirs - watch a comma separated list of source directories and run
+ * the affected suites again when they change. The testsuite property may name
+ * several suites separated by commas. -debounce sets the quiet time in
+ * milliseconds that ends a burst of changes.
+ * 
+ * -coordinator port - hold the suites of the testsuite property in a queue
+ * and hand them to workers that connect to the TCP port. The merged result of
+ * all suites is printed. No url is needed. The coordinator listens on the
+ * loopback address unless -bind names another address, for example 0.0.0.0
+ * for all addresses. A worker must send the -token of the coordinator; if
+ * none is set, a random token is made and printed. The token is best kept
+ * in the properties file rather than on the command line.
+ * 
+ * -worker host:port - pull suites from a coordinator and run them on the
+ * server in the url property. -token is the token of the coordinator.
+ * -threads sets the number of suites the worker runs at the same time. The
+ * merged result of the suites the worker ran is printed, and is the exit
+ * code.
+ * 
+ * When the testsuite property names several suites they are run as a batch,
+ * -threads at a time, and a summary of the batch is printed. -journal file
+ * records each dispatched and completed suite. -resume file skips the suites
+ * completed in the journal of an earlier run and adds to that journal.
+ * 
+ * -waitfor duration - probe the server until it answers, for up to the
+ * duration, before running any suite. The duration is a number of seconds or
+ * a number followed by ms, s, m or h.
+ * 
+ * -warmup n - run a warm-up suite n times before the real workload.
+ * -warmupsuite sets the suite, which defaults to the first suite in the
+ * testsuite property. -warmup 0 makes no warm-up. Warm-up results do not
+ * affect the exit code. The cold and warm latencies are printed with the
+ * summary. With -repeat, -warmup has the meaning given below instead.
+ * 
+ * -budget minutes - run only the suites that fit in the time budget, chosen
+ * and ordered by their recorded failure rate per minute of duration. The
+ * budget is multiplied by -threads. The deferred suites are listed. The
+ * history of each batch run is recorded in the file in the -history property,
+ * which defaults to runtest.history when a budget is set.
+ * 
+ * -batchsize n - send the suites of a batch run to the server n at a time in
+ * one runTests call, with up to -threads calls in flight. -linger ms is the
+ * longest time a suite waits for its call to fill, 50 ms by default. The
+ * server must implement the runTests operation.
+ * 
+ * -rerun-failed n - after a batch run, run the suites that failed again, up to
+ * n times, and classify each suite as passed, flaky or failed. Only failed
+ * suites are rerun. -rerun-isolated true runs the reruns one at a time;
+ * otherwise they run -threads at a time. The summary and exit code are those
+ * of the first run.
+ * 
+ * -details file - when a single suite is run, write the result of each test
+ * to the file, one tab-separated line per test, as the response is read. The
+ * number of tests that did not pass and the slowest tests are printed. The
+ * server must return per-test details for the file to have any lines.
+ * 
+ * -analyze-report file - index a report in the layout written by -details and
+ * print the slowest tests and the tests that did not pass by class. No server
+ * is called. The index is written beside the report with the extension .idx
+ * and reused while the report is unchanged. -threads sets the number of
+ * chunks parsed at the same time.
+ * 
+ * The reports property may contain the placeholders {suite}, {shard},
+ * {server} and {run}, so that suites running at the same time write their own
+ * reports; see ReportName. -merge-reports file writes the per-test details
+ * of each suite of a batch to its own file in the layout of -details and
+ * merges them into one file after the batch, reading them a line at a time,
+ * and prints a summary of the merged file. A suite with no tests in its
+ * details is named in a warning; if no suite has any, the batch fails and the
+ * file is not replaced. The server must return per-test details.
+ * 
+ * -jfr file - record the run with Java Flight Recorder, using the default
+ * settings, and write the recording to the file. It must be given on the
+ * command line. The phases of each call are recorded as events in the RunTest
+ * category: properties load, WSDL resolve, port create, request serialize,
+ * runTest wait and response parse, each with its suite, server and outcome.
+ * The events are also recorded by any recording started in another way, for
+ * example with -XX:StartFlightRecording.
+ * 
+ * -trace file - record client-side spans of the run, each call and each of
+ * its phases, and write them to the file in the OTLP-JSON format. It must be
+ * given on the command line. Every request carries a W3C traceparent HTTP
+ * header naming the span of its call, whether or not spans are recorded, so
+ * server-side traces can be joined to the run. -traceheader true also sends
+ * the traceparent as a SOAP header.
+ * 
+ * -status port - serve the live status of the run as JSON at
+ * http://host:port/status while it runs. The value is a port or host:port.
+ * For each server the status has the suites in flight with their elapsed
+ * time, the suites queued, the concurrency, the completed, failed and error
+ * counts, and the 50th, 90th and 99th percentile and longest latency of the
+ * completed calls.
+ * 
+ * -exchanges directory - keep the recent SOAP requests and responses, with
+ * their HTTP headers, in a fixed-size buffer, and write the buffer to a file
+ * in the directory when a call fails or returns an error. Passwords are
+ * redacted. -exchangebuffer sets the size of the buffer in bytes, by default
+ * 1048576.
+ * 
+ * -watchdog directory - watch the calls in flight, and when a call runs longer
+ * than -watchdog-multiple times (default 3) the duration of its suite in the
+ * suite history, write a diagnostics bundle to the directory while the call
+ * is still running. The bundle has a thread dump, the phases of the call, the
+ * calls and connections of the client and a probe of the server. A call is
+ * never slow before -watchdog-min seconds (default 60), which is also the
+ * limit for a suite without history. The history is read from the -history
+ * file, or runtest.history.
+ * 
+ * -accounts user1:pw1,user2:pw2 - a pool of service accounts, usually given in
+ * the properties file. Each call in flight runs under a different account, so
+ * concurrent suites do not share a user session on the server. A call waits
+ * when all accounts are in use. The -username and -password are not used.
+ * 
+ * -compare urlA,urlB - run the suites in -testsuite on two servers and compare
+ * them, for example before and after an upgrade. If only one URL is given,
+ * -url is the first server. Each suite is run -rounds times on each server
+ * (default 5), one suite at a time, alternating between the servers. For each
+ * suite the mean durations are printed with the difference and its 95%
+ * confidence interval, and suites that are significantly slower or faster on
+ * the second server, or whose outcomes differ, are listed. The exit code is
+ * the number of suites that are slower or whose outcomes differ.
+ * 
+ * -repeat n - benchmark each suite in -testsuite: run it -warmup k times
+ * (default 0) without measuring, then n measured times, one suite at a time.
+ * -repeat-warmup k is the same as -warmup k and takes precedence over it.
+ * No separate warm-up suite is run.
+ * The mean, standard deviation and 50th, 90th and 99th percentiles of the
+ * duration are printed. With -baseline file, the mean of each suite is
+ * compared with the mean in the file, and a suite whose mean exceeds it by
+ * more than -threshold percent (default 10) has regressed. Suites that are
+ * not in the baseline are added to it, and -update-baseline true replaces the
+ * baseline of every suite that did not regress. The exit code is the number
+ * of suites that regressed or had failed runs.
+ * 
+ * -truststore file and -truststorepassword - the trust store used to check
+ * the certificate of an https server, instead of the JDK trust store.
+ * -keystore file and -keystorepassword - a key store with a client
+ * certificate. -tlsprotocols and -tlsciphers - the enabled protocols and
+ * cipher suites, separated by commas, with the ciphers in order of
+ * preference. All connections to the server share one TLS configuration and
+ * session cache, and the number of TLS handshakes, how many resumed a
+ * session, and the time spent in them are printed at the end of the run.
+ * 
+ * The web service is invoked through a RunTestClient. Programs that run
+ * several suites in one JVM should use RunTestClient directly.
+ * 
  * @author W. Shaffer
  * @version 16-Dec-2011
  */
@@ -86,7 +294,20 @@ public class RunTestMain {
 	/** RunTest properties */
 	private Properties runtestProperties;
 
-	private final QName serviceName;
+	/** the result of the last execution */
+	private TestCaseResult testResult;
+
+	/** the warm-up of the last execution, or null */
+	private WarmUp warmUp;
+
+	/** the status endpoint, or null */
+	private StatusServer status;
+
+	/** the watchdog of slow calls, or null */
+	private Watchdog watchdog;
+
+	/** the result of the last run of the main program */
+	private static volatile TestCaseResult lastResult = new TestCaseResult();
 
 	/** default properties file */
 	static final String RUNTEST_PROPERTIES = "runtest.properties";
@@ -94,7 +315,11 @@ public class RunTestMain {
 	/** program version */
 	static final String VERSION = "1.00";
 
-	public static TestCaseResult testResult = new TestCaseResult();
+	/** default quiet time that ends a burst of changes, in milliseconds */
+	static final long DEFAULT_DEBOUNCE = 500;
+
+	/** number of slowest tests printed with the details */
+	static final int SLOWEST_TESTS = 10;
 
 	// -------------------------------------------------------------------------
 	// Constructor
@@ -112,13 +337,9 @@ public class RunTestMain {
 		//
 		runtestProperties = null;
 		//
-		// Set QName
-		//
-		serviceName = new QName("http://waysysweb.com", "RunTest");
-		//
 		// Load list of legal properties
 		//
-		allowedProps = new HashMap<String, String>(8);
+		allowedProps = new HashMap<String, String>(16);
 		allowedProps.put("-testsuite", "testsuite");
 		allowedProps.put("-reports", "reports");
 		allowedProps.put("-url", "url");
@@ -126,13 +347,54 @@ public class RunTestMain {
 		allowedProps.put("-prop", "prop");
 		allowedProps.put("-username", "username");
 		allowedProps.put("-password", "password");
+		allowedProps.put("-watch", "watch");
+		allowedProps.put("-debounce", "debounce");
+		allowedProps.put("-coordinator", "coordinator");
+		allowedProps.put("-worker", "worker");
+		allowedProps.put("-bind", "bind");
+		allowedProps.put("-token", "token");
+		allowedProps.put("-threads", "threads");
+		allowedProps.put("-journal", "journal");
+		allowedProps.put("-resume", "resume");
+		allowedProps.put("-waitfor", "waitfor");
+		allowedProps.put("-warmup", "warmup");
+		allowedProps.put("-warmupsuite", "warmupsuite");
+		allowedProps.put("-budget", "budget");
+		allowedProps.put("-history", "history");
+		allowedProps.put("-batchsize", "batchsize");
+		allowedProps.put("-linger", "linger");
+		allowedProps.put("-rerun-failed", "rerun-failed");
+		allowedProps.put("-rerun-isolated", "rerun-isolated");
+		allowedProps.put("-details", "details");
+		allowedProps.put("-analyze-report", "analyze-report");
+		allowedProps.put("-merge-reports", "merge-reports");
+		allowedProps.put("-jfr", "jfr");
+		allowedProps.put("-trace", "trace");
+		allowedProps.put("-traceheader", "traceheader");
+		allowedProps.put("-status", "status");
+		allowedProps.put("-exchanges", "exchanges");
+		allowedProps.put("-exchangebuffer", "exchangebuffer");
+		allowedProps.put("-watchdog", "watchdog");
+		allowedProps.put("-watchdog-multiple", "watchdog-multiple");
+		allowedProps.put("-watchdog-min", "watchdog-min");
+		allowedProps.put("-accounts", "accounts");
+		allowedProps.put("-compare", "compare");
+		allowedProps.put("-rounds", "rounds");
+		allowedProps.put("-repeat", "repeat");
+		allowedProps.put("-repeat-warmup", "repeat-warmup");
+		allowedProps.put("-baseline", "baseline");
+		allowedProps.put("-threshold", "threshold");
+		allowedProps.put("-update-baseline", "update-baseline");
+		allowedProps.put("-truststore", "truststore");
+		allowedProps.put("-truststorepassword", "truststorepassword");
+		allowedProps.put("-keystore", "keystore");
+		allowedProps.put("-keystorepassword", "keystorepassword");
+		allowedProps.put("-tlsprotocols", "tlsprotocols");
+		allowedProps.put("-tlsciphers", "tlsciphers");
 		//
 		// Initialize test result
 		//
-		testResult.setFailed(0);
-		testResult.setErrors(0);
-		testResult.setSucceeded(0);
-		testResult.setErrorNum(0);
+		testResult = new TestCaseResult();
 	}
 
 	// -------------------------------------------------------------------------
@@ -147,26 +409,74 @@ public class RunTestMain {
 	 *            command line arguments
 	 */
 	public static void main(String[] args) {
-		int errorNum = 0;
 		RunTestMain client = new RunTestMain();
+		TestCaseResult result = client.run(args);
+		lastResult = result;
+		System.exit(result.getErrorNum());
+	}
+
+	/**
+	 * Return the test result from the last run of the main program.
+	 * 
+	 * @return the test case result
+	 */
+	public static TestCaseResult getResults() {
+		return lastResult;
+	}
+
+	/**
+	 * Run the program without exiting. Errors are reported in the result
+	 * rather than thrown.
+	 * 
+	 * @param args
+	 *            command line arguments
+	 * @return the test case result
+	 */
+	public TestCaseResult run(String[] args) {
+		Recording recording = null;
+		boolean tracing = false;
 		try {
-			errorNum = client.execute(args);
+			String jfr = getArgument(args, "-jfr");
+			if (jfr != null)
+				recording = PhaseEvents.startRecording(Paths.get(jfr));
+			String trace = getArgument(args, "-trace");
+			if (trace != null) {
+				Tracer.start(Paths.get(trace));
+				tracing = true;
+			}
+			Set<String> profiles = split(getArgument(args, "-prop"));
+			if (profiles.size() > 1)
+				runProfiles(profiles, args);
+			else
+				execute(args);
 		} catch (Exception e) {
-			errorNum = 1;
 			testResult = new TestCaseResult();
-			testResult.setErrorNum(errorNum);
+			testResult.setErrorNum(1);
 			testResult.setErrorMessage(e.getMessage());
 			System.out.println(e.getMessage());
+		} finally {
+			if (status != null) {
+				status.stop();
+				status = null;
+			}
+			if (watchdog != null) {
+				watchdog.stop();
+				watchdog = null;
+			}
+			if (tracing)
+				Tracer.stop(Phase.outcome(testResult));
+			if (recording != null)
+				PhaseEvents.stopRecording(recording);
 		}
-		System.exit(errorNum);
+		return testResult;
 	}
 
 	/**
-	 * Return the test result from an execution.
+	 * Return the test result from the last execution of this instance.
 	 * 
 	 * @return the test case result
 	 */
-	public static TestCaseResult getResults() {
+	public TestCaseResult getResult() {
 		return testResult;
 	}
 
@@ -185,72 +495,1080 @@ public class RunTestMain {
 		System.out.println("Begin RunTest, Version " + VERSION);
 		processArgs(args);
 		//
-		// Get the port
+		// Serve the status if requested
 		//
-		RunTestPortType port = getPort();
+		if (status == null && getProperty("status") != null) {
+			status = new StatusServer(getProperty("status"));
+			System.out.println("Status at port " + status.getPort()
+					+ StatusServer.PATH);
+		}
 		//
-		// Set arguments of the operation
+		// Watch for slow calls if requested
 		//
-		String testCaseName = getProperty("testsuite");
-		String testReportName = getProperty("reports");
+		if (watchdog == null && getProperty("watchdog") != null)
+			watchdog = createWatchdog();
 		//
-		// Check test case name
+		// Coordinate workers if requested
 		//
-		if (testCaseName == null) {
-			testResult.setErrorMessage("Test suite name is not set");
-			testResult.setErrorNum(1);
-			testResult.setErrors(1);
+		if (getProperty("coordinator") != null)
+			return coordinate();
+		//
+		// Analyze a report if requested
+		//
+		if (getProperty("analyze-report") != null) {
+			analyzeReport();
+			return 0;
 		}
 		//
-		// Check reports file name
+		// Compare two servers if requested
 		//
-		else if (testReportName == null) {
-			testResult.setErrorMessage("Report file not set");
-			testResult.setErrorNum(1);
-			testResult.setErrors(1);
+		if (getProperty("compare") != null) {
+			compare();
+			return testResult.getErrorNum();
+		}
+		//
+		// Create the client
+		//
+		RunTestClient client = createClient();
+		//
+		// Wait for the server if requested
+		//
+		if (getProperty("waitfor") != null)
+			waitForServer(client);
+		//
+		// Warm up the server if requested
+		//
+		if (getProperty("repeat") == null
+				&& (getProperty("warmup") != null
+						|| getProperty("warmupsuite") != null))
+			warmUp(client);
+		//
+		// Benchmark the suites if requested
+		//
+		if (getProperty("repeat") != null) {
+			benchmark(client);
+			return testResult.getErrorNum();
 		}
 		//
+		// Work for a coordinator if requested
+		//
+		if (getProperty("worker") != null)
+			return work(client);
+		//
+		// Watch for changes if requested
+		//
+		if (getProperty("watch") != null) {
+			watch(client);
+			return 0;
+		}
+		//
+		// Set arguments of the operation
+		//
+		Set<String> suites = getTestSuites();
+		String testReportName = getProperty("reports");
+		//
 		// Run the operation
 		//
-		else {
-			testResult = port.runTest(testCaseName, testReportName);
+		if (suites.isEmpty() || testReportName == null)
+			testResult = client.run(getProperty("testsuite"), testReportName);
+		else if (suites.size() == 1 && getProperty("journal") == null
+				&& getProperty("resume") == null
+				&& getProperty("budget") == null
+				&& getProperty("rerun-failed") == null
+				&& getProperty("merge-reports") == null) {
+			long start = System.nanoTime();
+			String suite = suites.iterator().next();
+			testReportName = new ReportName(testReportName, client.getUrl(),
+					ReportName.newRunId(), suites).expand(suite);
+			if (getProperty("details") != null)
+				runWithDetails(client, suite, testReportName);
+			else {
+				testResult = client.run(suite, testReportName);
+				printResults(testResult);
+			}
+			printLatencies((System.nanoTime() - start) / 1000000L);
+		} else
+			runBatch(client, suites, testReportName);
+		printHandshakes(client);
+		return testResult.getErrorNum();
+	}
+
+	// -------------------------------------------------------------------------
+	// Profiles
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run several profiles at the same time, each with a runner of its own,
+	 * print a summary line for each profile, and set the result to the sum
+	 * of their results. The output of each profile is held until the profile
+	 * ends and printed as one block.
+	 * 
+	 * @param profiles
+	 *            the properties files of the profiles
+	 * @param args
+	 *            command line arguments
+	 * @throws RuntimeException
+	 *             if the status or watchdog cannot be started
+	 */
+	public void runProfiles(Set<String> profiles, String[] args)
+			throws RuntimeException {
+		System.out.println("Begin RunTest, Version " + VERSION + ", "
+				+ profiles.size() + " profiles");
+		//
+		// The status and watchdog are shared, so they are taken from the
+		// command line only
+		//
+		runtestProperties = new Properties();
+		processCommandArgs(args);
+		if (getProperty("status") != null) {
+			status = new StatusServer(getProperty("status"));
+			System.out.println("Status at port " + status.getPort()
+					+ StatusServer.PATH);
+		}
+		if (getProperty("watchdog") != null)
+			watchdog = createWatchdog();
+		ExecutorService executor = Executors.newFixedThreadPool(profiles
+				.size());
+		Map<String, Future<TestCaseResult>> futures = new LinkedHashMap<String, Future<TestCaseResult>>();
+		final Map<String, Long> durations = Collections
+				.synchronizedMap(new HashMap<String, Long>());
+		final Map<String, String> urls = Collections
+				.synchronizedMap(new HashMap<String, String>());
+		PrintStream console = System.out;
+		final ProfileOutput output = new ProfileOutput(console);
+		System.setOut(new PrintStream(output, true));
+		try {
+			for (final String profile : profiles) {
+				final RunTestMain runner = createProfileRunner();
+				runner.status = status;
+				runner.watchdog = watchdog;
+				final String[] profileArgs = args.clone();
+				for (int i = 0; i < profileArgs.length - 1; i++)
+					if (profileArgs[i].equals("-prop"))
+						profileArgs[i + 1] = profile;
+				futures.put(profile,
+						executor.submit(new Callable<TestCaseResult>() {
+							public TestCaseResult call() {
+								long start = System.nanoTime();
+								output.begin();
+								try {
+									runner.execute(profileArgs);
+								} catch (RuntimeException e) {
+									runner.testResult = new TestCaseResult();
+									runner.testResult.setErrorNum(1);
+									runner.testResult.setErrorMessage(e
+											.getMessage());
+									System.out.println(e.getMessage());
+								} finally {
+									output.end(profile);
+								}
+								durations.put(profile, (System.nanoTime() - start)
+										/ 1000000L);
+								if (runner.runtestProperties != null)
+									urls.put(profile, runner.getProperty("url"));
+								return runner.testResult;
+							}
+						}));
+			}
+			Map<String, TestCaseResult> results = new LinkedHashMap<String, TestCaseResult>();
+			for (Map.Entry<String, Future<TestCaseResult>> future : futures
+					.entrySet()) {
+				TestCaseResult result;
+				try {
+					result = future.getValue().get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Interrupted waiting for profile "
+							+ future.getKey());
+				} catch (ExecutionException e) {
+					result = new TestCaseResult();
+					result.setErrorNum(1);
+					result.setErrorMessage(String.valueOf(e.getCause()));
+				}
+				results.put(future.getKey(), result);
+			}
+			System.setOut(console);
+			System.out.println("Profiles:");
+			for (Map.Entry<String, TestCaseResult> entry : results.entrySet()) {
+				TestCaseResult result = entry.getValue();
+				System.out.println("    " + entry.getKey() + " "
+						+ urls.get(entry.getKey()) + " succeeded "
+						+ result.getSucceeded() + ", failed "
+						+ result.getFailed() + ", errors "
+						+ result.getErrors() + ", result "
+						+ result.getErrorNum() + ", "
+						+ durations.get(entry.getKey()) + " ms");
+			}
+			testResult = WorkQueue.merge(results.values());
 			printResults(testResult);
+		} finally {
+			System.setOut(console);
+			executor.shutdownNow();
+		}
+		return;
+	}
+
+	/**
+	 * Create the runner of one profile.
+	 * 
+	 * @return a new runner
+	 */
+	protected RunTestMain createProfileRunner() {
+		return new RunTestMain();
+	}
+
+	/**
+	 * Run several suites as a batch, journaling them if requested, and print
+	 * the result of each suite and the summary of the batch.
+	 * 
+	 * @param client
+	 *            the client used to run suites
+	 * @param suites
+	 *            the suites of the batch
+	 * @param reportName
+	 *            the file name for the reports
+	 * @throws RuntimeException
+	 *             if the journal cannot be used
+	 */
+	public void runBatch(RunTestClient client, Set<String> suites,
+			String reportName) throws RuntimeException {
+		Map<String, TestCaseResult> completed = new HashMap<String, TestCaseResult>();
+		Journal journal = null;
+		String resume = getProperty("resume");
+		if (resume != null) {
+			completed = Journal.readCompleted(Paths.get(resume));
+			journal = new Journal(Paths.get(resume), true);
+		} else if (getProperty("journal") != null)
+			journal = new Journal(Paths.get(getProperty("journal")), false);
+		int threads = getIntProperty("threads", 1);
+		SuiteHistory history = null;
+		String historyFile = getProperty("history");
+		if (historyFile == null && getProperty("budget") != null)
+			historyFile = SuiteHistory.DEFAULT_FILE;
+		if (historyFile != null)
+			history = SuiteHistory.load(Paths.get(historyFile));
+		Collection<String> batch = suites;
+		if (getProperty("budget") != null)
+			batch = planBudget(history, suites, threads);
+		int reruns = getIntProperty("rerun-failed", 0);
+		ReportName reports = new ReportName(reportName, client.getUrl(),
+				ReportName.newRunId(), suites);
+		ResultAggregator results;
+		Map<String, Rerunner.Verdict> verdicts = null;
+		Path details = null;
+		if (getProperty("merge-reports") != null)
+			details = createDetails();
+		try {
+			try {
+				BatchRunner runner = new BatchRunner(client, reports, journal);
+				runner.setDetails(details);
+				results = runner.run(batch, completed, threads);
+			} finally {
+				if (journal != null)
+					journal.close();
+			}
+			if (reruns > 0)
+				verdicts = new Rerunner(client, reports).rerun(results,
+						reruns, Boolean.parseBoolean(getProperty(
+								"rerun-isolated")), threads);
+		} finally {
+			client.close();
+		}
+		if (history != null) {
+			history.record(results);
+			history.save(Paths.get(historyFile));
+		}
+		for (int id = 0; id < results.getSuiteCount(); id++) {
+			System.out.println("Suite          : " + results.getSuiteName(id));
+			printResults(results.getSuiteResult(id));
+		}
+		testResult = results.getSummary();
+		System.out.println("Summary of " + results.getSuiteCount()
+				+ " suites");
+		printResults(testResult);
+		long total = 0;
+		int timed = 0;
+		for (int id = 0; id < results.getSuiteCount(); id++) {
+			if (results.getDuration(id) >= 0) {
+				total += results.getDuration(id);
+				timed++;
+			}
+		}
+		printLatencies(timed == 0 ? -1 : total / timed);
+		if (verdicts != null)
+			printVerdicts(verdicts);
+		if (details != null)
+			mergeReports(details, results);
+		return;
+	}
+
+	/**
+	 * Create a directory for the details of the suites of a batch.
+	 * 
+	 * @return the directory
+	 * @throws RuntimeException
+	 *             if the directory cannot be created
+	 */
+	private static Path createDetails() throws RuntimeException {
+		try {
+			return Files.createTempDirectory("runtest-details");
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to create details directory - "
+					+ e.getMessage());
 		}
+	}
+
+	/**
+	 * Merge the details of the suites of a batch into the file in the
+	 * merge-reports property, print a summary of the merged file and a
+	 * warning for each suite without tests, and delete the details.
+	 * 
+	 * @param details
+	 *            the directory of the details of each suite
+	 * @param results
+	 *            the results of the batch
+	 * @throws RuntimeException
+	 *             if the details cannot be merged or have no tests
+	 */
+	public void mergeReports(Path details, ResultAggregator results)
+			throws RuntimeException {
+		List<Path> shards = new ArrayList<Path>();
+		for (int id = 0; id < results.getSuiteCount(); id++)
+			shards.add(BatchRunner.detailFile(details, id));
+		Path output = Paths.get(getProperty("merge-reports"));
+		ReportMerger.Summary summary;
+		try {
+			summary = ReportMerger.merge(shards, output);
+		} finally {
+			try {
+				for (Path shard : shards)
+					Files.deleteIfExists(shard);
+				Files.deleteIfExists(details);
+			} catch (IOException e) {
+				System.out.println("Unable to delete details - "
+						+ e.getMessage());
+			}
+		}
+		for (Integer shard : summary.empty)
+			System.out.println("Warning: no tests in the details of suite "
+					+ results.getSuiteName(shard.intValue()));
+		System.out.println("Merged report  : " + output);
+		System.out.println("Reports merged : " + summary.shards + " ("
+				+ summary.missing + " missing, " + summary.empty.size()
+				+ " empty)");
+		System.out.println("Tests merged   : " + summary.records + " ("
+				+ summary.notPassed + " not passed, " + summary.duration
+				+ " ms)");
+		return;
+	}
+
+	/**
+	 * Run a suite, writing the result of each test to the file in the details
+	 * property, and print the result, the number of tests that did not pass
+	 * and the slowest tests.
+	 * 
+	 * @param client
+	 *            the client used to run the suite
+	 * @param suite
+	 *            the suite name
+	 * @param reportName
+	 *            the file name for the reports
+	 * @throws RuntimeException
+	 *             if the details file cannot be written
+	 */
+	public void runWithDetails(RunTestClient client, String suite,
+			String reportName) throws RuntimeException {
+		DetailWriter details = new DetailWriter(Paths.get(getProperty("details")),
+				SLOWEST_TESTS);
+		try {
+			testResult = client.run(suite, reportName, details);
+		} finally {
+			try {
+				details.close();
+			} catch (IOException e) {
+				throw new RuntimeException("Cannot write detail file - "
+						+ e.getMessage());
+			}
+		}
+		printResults(testResult);
+		System.out.println("Test details   : " + details.getCount()
+				+ " written, " + details.getNotPassed() + " not passed");
+		System.out.println("Slowest tests  :");
+		for (TestDetail detail : details.getSlowest())
+			System.out.println("    " + detail.getDuration() + " ms "
+					+ detail.getClassName() + "." + detail.getMethod() + " "
+					+ detail.getStatus());
+		return;
+	}
+
+	/**
+	 * Index the report in the analyze-report property and print the slowest
+	 * tests and the tests that did not pass by class.
+	 * 
+	 * @throws RuntimeException
+	 *             if the report cannot be indexed
+	 */
+	public void analyzeReport() throws RuntimeException {
+		Path file = Paths.get(getProperty("analyze-report"));
+		long start = System.nanoTime();
+		ReportIndex index = ReportIndex.open(file, getIntProperty("threads",
+				Runtime.getRuntime().availableProcessors()));
+		try {
+			System.out.println("Report         : " + file + " indexed in "
+					+ (System.nanoTime() - start) / 1000000L + " ms");
+			start = System.nanoTime();
+			System.out.println("Tests          : " + index.getCount());
+			System.out.println("Not passed     : " + index.getNotPassedCount());
+			System.out.println("Slowest tests  :");
+			for (ReportIndex.Record record : index.slowest(SLOWEST_TESTS))
+				System.out.println("    " + record.duration + " ms "
+						+ record.getName() + " " + record.status);
+			final Map<String, Integer> byClass = index.notPassedByClass();
+			List<String> classes = new ArrayList<String>(byClass.keySet());
+			Collections.sort(classes, new Comparator<String>() {
+				public int compare(String a, String b) {
+					int result = byClass.get(b).compareTo(byClass.get(a));
+					return result != 0 ? result : a.compareTo(b);
+				}
+			});
+			System.out.println("Not passed by class :");
+			for (String className : classes)
+				System.out.println("    " + byClass.get(className) + " "
+						+ className);
+			System.out.println("Queries        : "
+					+ (System.nanoTime() - start) / 1000000L + " ms");
+		} finally {
+			index.close();
+		}
+		return;
+	}
+
+	/**
+	 * Run the suites on two servers and print their comparison. The result
+	 * has error number 1 if a suite is slower on the second server or its
+	 * outcome differs.
+	 * 
+	 * @return the number of suites that are slower on the second server or
+	 *         whose outcomes differ
+	 * @throws RuntimeException
+	 *             if the servers, suites or report file are not set
+	 */
+	public int compare() throws RuntimeException {
+		List<String> urls = new ArrayList<String>(split(getProperty("compare")));
+		if (urls.size() == 1 && getProperty("url") != null)
+			urls.add(0, getProperty("url"));
+		if (urls.size() != 2)
+			throw new RuntimeException("Bad value for compare - "
+					+ getProperty("compare"));
+		List<String> suites = new ArrayList<String>(getTestSuites());
+		if (suites.isEmpty())
+			throw new RuntimeException("Test suite name is not set");
+		String reportName = getProperty("reports");
+		if (reportName == null)
+			throw new RuntimeException("Report file not set");
+		int rounds = getIntProperty("rounds", 5);
+		RunTestClient clientA = createClient(urls.get(0));
+		RunTestClient clientB = createClient(urls.get(1));
+		List<Comparison.Result> results;
+		try {
+			results = new Comparison(clientA, clientB, reportName, suites)
+					.compare(suites, rounds);
+		} finally {
+			clientA.close();
+			clientB.close();
+		}
+		printHandshakes(clientA);
+		printHandshakes(clientB);
+		System.out.println("Server A       : " + urls.get(0));
+		System.out.println("Server B       : " + urls.get(1));
+		System.out.println("Rounds         : " + rounds);
+		List<String> slower = new ArrayList<String>();
+		List<String> faster = new ArrayList<String>();
+		List<String> different = new ArrayList<String>();
+		for (Comparison.Result result : results) {
+			System.out.println("    " + result.getSuite() + " A "
+					+ Math.round(result.getMeanA()) + " ms, B "
+					+ Math.round(result.getMeanB()) + " ms, B-A "
+					+ Math.round(result.getDifference()) + " +/- "
+					+ Math.round(result.getMargin()) + " ms, failed A "
+					+ result.getFailuresA() + " B " + result.getFailuresB());
+			if (result.isSlower())
+				slower.add(result.getSuite());
+			else if (result.isFaster())
+				faster.add(result.getSuite());
+			if (result.isOutcomeDifferent())
+				different.add(result.getSuite());
+		}
+		System.out.println("Slower on B    : " + slower);
+		System.out.println("Faster on B    : " + faster);
+		System.out.println("Outcome differs: " + different);
+		Set<String> flagged = new LinkedHashSet<String>(slower);
+		flagged.addAll(different);
+		testResult = new TestCaseResult();
+		if (!flagged.isEmpty()) {
+			testResult.setErrorNum(1);
+			testResult.setErrorMessage("Suites slower or different on B - "
+					+ flagged);
+			System.out.println("Error: " + testResult.getErrorMessage());
+		}
+		return flagged.size();
+	}
+
+	/**
+	 * Benchmark the suites in the testsuite property and compare them with
+	 * the baseline, if one is set. The result has error number 1 if a suite
+	 * regressed or had failed runs.
+	 * 
+	 * @param client
+	 *            the client used to run suites
+	 * @return the number of suites that regressed or had failed runs
+	 * @throws RuntimeException
+	 *             if the suites or report file are not set, or if the
+	 *             baseline cannot be read or written
+	 */
+	public int benchmark(RunTestClient client) throws RuntimeException {
+		Set<String> suites = getTestSuites();
+		if (suites.isEmpty())
+			throw new RuntimeException("Test suite name is not set");
+		String reportName = getProperty("reports");
+		if (reportName == null)
+			throw new RuntimeException("Report file not set");
+		int repeat = getIntProperty("repeat", 1);
+		int warmup = getIntProperty("repeat-warmup",
+				getIntProperty("warmup", 0));
+		double threshold = getIntProperty("threshold", 10) / 100.0;
+		Path baselineFile = getProperty("baseline") == null ? null : Paths
+				.get(getProperty("baseline"));
+		Map<String, Double> baseline = baselineFile == null ? new HashMap<String, Double>()
+				: Benchmark.loadBaseline(baselineFile);
+		boolean update = Boolean.parseBoolean(getProperty("update-baseline"));
+		ReportName reports = new ReportName(reportName, client.getUrl(),
+				ReportName.newRunId(), suites);
+		List<Benchmark> save = new ArrayList<Benchmark>();
+		List<String> flagged = new ArrayList<String>();
+		for (String suite : suites) {
+			System.out.println("Benchmarking " + suite + " with " + warmup
+					+ " warm-up and " + repeat + " measured runs");
+			Benchmark benchmark = Benchmark.run(client, suite,
+					reports.expand(suite), warmup, repeat);
+			System.out.println("    mean " + Math.round(benchmark.getMean())
+					+ " ms, stddev " + Math.round(benchmark.getStdDev())
+					+ " ms, p50 " + benchmark.getPercentile(50) + " ms, p90 "
+					+ benchmark.getPercentile(90) + " ms, p99 "
+					+ benchmark.getPercentile(99) + " ms, failed "
+					+ benchmark.getFailures());
+			Double mean = baseline.get(suite);
+			boolean regressed = mean != null
+					&& benchmark.isRegression(mean.doubleValue(), threshold);
+			if (mean != null)
+				System.out.println("    baseline " + Math.round(mean)
+						+ " ms" + (regressed ? ", REGRESSED" : ""));
+			if (regressed || benchmark.getFailures() > 0)
+				flagged.add(suite);
+			else if (mean == null || update)
+				save.add(benchmark);
+		}
+		if (baselineFile != null && !save.isEmpty())
+			Benchmark.saveBaseline(baselineFile, save);
+		printHandshakes(client);
+		testResult = new TestCaseResult();
+		if (!flagged.isEmpty()) {
+			testResult.setErrorNum(1);
+			testResult.setErrorMessage("Suites regressed or had failed runs - "
+					+ flagged);
+			System.out.println("Error: " + testResult.getErrorMessage());
+		}
+		return flagged.size();
+	}
+
+	/**
+	 * Print the TLS handshakes of a client, if it uses TLS.
+	 * 
+	 * @param client
+	 *            the client
+	 */
+	protected void printHandshakes(RunTestClient client) {
+		TlsConfig tls = client.getTls();
+		if (tls == null)
+			return;
+		System.out.println("TLS handshakes : " + tls.getHandshakes() + " ("
+				+ tls.getResumedHandshakes() + " resumed) to "
+				+ client.getUrl() + " in " + tls.getHandshakeMillis() + " ms");
+		return;
+	}
+
+	/**
+	 * Print the suites that passed, were flaky and failed after reruns.
+	 * 
+	 * @param verdicts
+	 *            the verdict of each suite
+	 */
+	protected void printVerdicts(Map<String, Rerunner.Verdict> verdicts) {
+		List<String> flaky = new ArrayList<String>();
+		List<String> failed = new ArrayList<String>();
+		for (Map.Entry<String, Rerunner.Verdict> entry : verdicts.entrySet()) {
+			if (entry.getValue() == Rerunner.Verdict.FLAKY)
+				flaky.add(entry.getKey());
+			else if (entry.getValue() == Rerunner.Verdict.FAIL)
+				failed.add(entry.getKey());
+		}
+		System.out.println("Passed suites  : "
+				+ (verdicts.size() - flaky.size() - failed.size()));
+		System.out.println("Flaky suites   : " + flaky.size());
+		for (String suite : flaky)
+			System.out.println("    " + suite);
+		System.out.println("Failed suites  : " + failed.size());
+		for (String suite : failed)
+			System.out.println("    " + suite);
+		return;
+	}
+
+	/**
+	 * Create a client from the properties. When the threads property is set,
+	 * it is also the number of calls the client has in flight at once.
+	 * 
+	 * @return a RunTest client for the server in the url property
+	 * @throws RuntimeException
+	 *             if URL is not provided or if it is malformed
+	 */
+	public RunTestClient createClient() throws RuntimeException {
+		RunTestClient.Builder builder = RunTestClient.builder().properties(
+				runtestProperties);
+		if (getProperty("threads") != null)
+			builder.concurrency(getIntProperty("threads", 1));
+		return register(builder.build());
+	}
+
+	/**
+	 * Create a client from the properties for another server.
+	 * 
+	 * @param url
+	 *            the URL of the server
+	 * @return a RunTest client for the server
+	 * @throws RuntimeException
+	 *             if the URL is malformed
+	 */
+	public RunTestClient createClient(String url) throws RuntimeException {
+		Properties properties = new Properties();
+		properties.putAll(runtestProperties);
+		properties.setProperty("url", url);
+		return register(RunTestClient.builder().properties(properties).build());
+	}
+
+	/**
+	 * Create the watchdog of slow calls from the watchdog properties.
+	 * 
+	 * @return the watchdog
+	 * @throws RuntimeException
+	 *             if the multiple is not a number
+	 */
+	private Watchdog createWatchdog() throws RuntimeException {
+		double multiple = Watchdog.DEFAULT_MULTIPLE;
+		if (getProperty("watchdog-multiple") != null) {
+			try {
+				multiple = Double.parseDouble(getProperty("watchdog-multiple"));
+			} catch (NumberFormatException e) {
+				throw new RuntimeException("Bad value for watchdog-multiple - "
+						+ getProperty("watchdog-multiple"));
+			}
+		}
+		long minMillis = getIntProperty("watchdog-min",
+				(int) (Watchdog.DEFAULT_MIN / 1000)) * 1000L;
+		String historyFile = getProperty("history");
+		SuiteHistory history = SuiteHistory.load(Paths
+				.get(historyFile == null ? SuiteHistory.DEFAULT_FILE
+						: historyFile));
+		return new Watchdog(Paths.get(getProperty("watchdog")), multiple,
+				minMillis, history);
+	}
+
+	/**
+	 * Add a client to the status endpoint and the watchdog, if they are
+	 * used.
+	 * 
+	 * @param client
+	 *            the client
+	 * @return the client
+	 */
+	protected RunTestClient register(RunTestClient client) {
+		if (status != null)
+			status.register(client);
+		if (watchdog != null)
+			watchdog.register(client);
+		return client;
+	}
+
+	/**
+	 * Run the suites in the testsuite property again each time the sources in
+	 * the watch directories change. This function returns only when the
+	 * thread is interrupted.
+	 * 
+	 * @param client
+	 *            the client used to run suites
+	 * @throws RuntimeException
+	 *             if the properties are not set or a directory cannot be
+	 *             watched
+	 */
+	public void watch(RunTestClient client) throws RuntimeException {
+		Set<String> suites = getTestSuites();
+		String reportName = getProperty("reports");
+		if (suites.isEmpty())
+			throw new RuntimeException("Test suite name is not set");
+		if (reportName == null)
+			throw new RuntimeException("Report file not set");
+		List<Path> roots = new ArrayList<Path>();
+		for (String dir : split(getProperty("watch")))
+			roots.add(Paths.get(dir));
+		long debounce = DEFAULT_DEBOUNCE;
+		if (getProperty("debounce") != null) {
+			try {
+				debounce = Long.parseLong(getProperty("debounce"));
+			} catch (NumberFormatException e) {
+				throw new RuntimeException("Bad debounce time - "
+						+ getProperty("debounce"));
+			}
+		}
+		SourceWatcher watcher = new SourceWatcher(roots, debounce);
+		try {
+			new WatchRunner(this, client, watcher, new SuiteMapper(roots,
+					suites), suites, reportName).run();
+		} finally {
+			watcher.close();
+			client.close();
+		}
+		return;
+	}
+
+	/**
+	 * Choose the suites that fit in the budget property and print the plan.
+	 * 
+	 * @param history
+	 *            the suite history
+	 * @param suites
+	 *            the candidate suites
+	 * @param threads
+	 *            the number of suites run at the same time
+	 * @return the suites to run, in order
+	 * @throws RuntimeException
+	 *             if the budget is malformed
+	 */
+	public List<String> planBudget(SuiteHistory history, Set<String> suites,
+			int threads) throws RuntimeException {
+		String budget = getProperty("budget").trim();
+		long budgetMillis;
+		try {
+			budgetMillis = Long.parseLong(budget) * 60000;
+		} catch (NumberFormatException e) {
+			budgetMillis = parseDuration(budget);
+		}
+		BudgetPlanner.Plan plan = new BudgetPlanner(history).plan(suites,
+				budgetMillis * Math.max(threads, 1));
+		System.out.println("Budget         : " + budget + " ("
+				+ plan.selected.size() + " suites selected, estimated "
+				+ plan.estimatedMillis / 1000 + " s)");
+		if (!plan.deferred.isEmpty()) {
+			System.out.println("Deferred suites: " + plan.deferred.size());
+			for (String suite : plan.deferred)
+				System.out.println("  " + suite);
+		}
+		return plan.selected;
+	}
+
+	/**
+	 * Warm up the server of a client with the suite in the warmupsuite
+	 * property, or the first suite of the run. A count of 0 makes no warm-up.
+	 * 
+	 * @param client
+	 *            the client whose server is warmed up
+	 * @throws RuntimeException
+	 *             if no warm-up suite or report file is set
+	 */
+	public void warmUp(RunTestClient client) throws RuntimeException {
+		String suite = getProperty("warmupsuite");
+		if (suite == null && !getTestSuites().isEmpty())
+			suite = getTestSuites().iterator().next();
+		if (suite == null)
+			throw new RuntimeException("Warm-up suite is not set");
+		String reportName = getProperty("reports");
+		if (reportName == null)
+			throw new RuntimeException("Report file not set");
+		int count = getIntProperty("warmup", 1);
+		if (count <= 0)
+			return;
+		System.out.println("Warming up with " + count + " runs of " + suite);
+		warmUp = WarmUp.run(client, suite, ReportName.expand(reportName,
+				suite, 0, client.getUrl(), ReportName.newRunId()), count);
+		if (warmUp.getFailures() > 0)
+			System.out.println("Warning: " + warmUp.getFailures()
+					+ " warm-up runs did not succeed");
+		return;
+	}
+
+	/**
+	 * Print the latency of the run, and the cold and warm latency if the
+	 * server was warmed up.
+	 * 
+	 * @param runLatency
+	 *            the mean latency of the suites of the run in milliseconds,
+	 *            or -1 if unknown
+	 */
+	protected void printLatencies(long runLatency) {
+		if (warmUp == null)
+			return;
+		System.out.println("Cold latency   : " + warmUp.getColdLatency()
+				+ " ms");
+		if (warmUp.getWarmLatency() >= 0)
+			System.out.println("Warm latency   : " + warmUp.getWarmLatency()
+					+ " ms (" + (warmUp.getCount() - 1) + " runs)");
+		if (runLatency >= 0)
+			System.out.println("Run latency    : " + runLatency + " ms");
+		return;
+	}
+
+	/**
+	 * Probe the server of a client until it is ready, for up to the duration
+	 * in the waitfor property. The time spent waiting and the latency of the
+	 * probes are printed.
+	 * 
+	 * @param client
+	 *            the client whose server is probed
+	 * @throws RuntimeException
+	 *             if the server is not ready in time
+	 */
+	public void waitForServer(RunTestClient client) throws RuntimeException {
+		long limit = parseDuration(getProperty("waitfor"));
+		ServerProbe probe = new ServerProbe(
+				RunTestClient.formURL(client.getUrl()), client.getUsername(),
+				client.getPassword(), client.getTls());
+		System.out.println("Waiting for server " + client.getUrl());
+		ServerProbe.WaitResult result;
+		try {
+			result = probe.awaitReady(limit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Wait for server interrupted");
+		}
+		long min = Long.MAX_VALUE;
+		long max = 0;
+		for (Long latency : result.latencies) {
+			min = Math.min(min, latency.longValue());
+			max = Math.max(max, latency.longValue());
+		}
+		System.out.println("Time waited    : " + result.waitedMillis + " ms");
+		System.out.println("Probes         : " + result.latencies.size()
+				+ " (latency " + min + " - " + max + " ms, last "
+				+ result.latencies.get(result.latencies.size() - 1) + " ms)");
+		if (!result.ready)
+			throw new RuntimeException("Server not ready after "
+					+ getProperty("waitfor") + " - " + result.lastFailure);
+		return;
+	}
+
+	/**
+	 * Return the number of milliseconds in a duration. A duration is a
+	 * number of seconds, or a number followed by ms, s, m or h.
+	 * 
+	 * @param value
+	 *            the duration
+	 * @return the duration in milliseconds
+	 * @throws RuntimeException
+	 *             if the duration is malformed
+	 */
+	public static long parseDuration(String value) throws RuntimeException {
+		String text = value.trim().toLowerCase();
+		long unit = 1000;
+		if (text.endsWith("ms")) {
+			unit = 1;
+			text = text.substring(0, text.length() - 2);
+		} else if (text.endsWith("s")) {
+			text = text.substring(0, text.length() - 1);
+		} else if (text.endsWith("m")) {
+			unit = 60000;
+			text = text.substring(0, text.length() - 1);
+		} else if (text.endsWith("h")) {
+			unit = 3600000;
+			text = text.substring(0, text.length() - 1);
+		}
+		try {
+			long amount = Long.parseLong(text.trim());
+			if (amount < 0)
+				throw new NumberFormatException();
+			return amount * unit;
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Bad duration - " + value);
+		}
+	}
+
+	/**
+	 * Hand the suites in the testsuite property to workers and print the
+	 * merged result.
+	 * 
+	 * @return the error number of the merged result
+	 * @throws RuntimeException
+	 *             if the properties are not set, the bind address is not
+	 *             known or the port cannot be opened
+	 */
+	public int coordinate() throws RuntimeException {
+		Set<String> suites = getTestSuites();
+		String reportName = getProperty("reports");
+		if (suites.isEmpty())
+			throw new RuntimeException("Test suite name is not set");
+		if (reportName == null)
+			throw new RuntimeException("Report file not set");
+		int port = getIntProperty("coordinator", 0);
+		String bind = getProperty("bind");
+		InetAddress address;
+		try {
+			address = bind == null ? InetAddress.getLoopbackAddress()
+					: InetAddress.getByName(bind);
+		} catch (UnknownHostException e) {
+			throw new RuntimeException("Unknown bind address - " + bind);
+		}
+		String token = getProperty("token");
+		if (token == null) {
+			token = WorkProtocol.newToken();
+			System.out.println("Worker token   : " + token);
+		}
+		WorkQueue queue = new WorkQueue(suites);
+		Coordinator coordinator = new Coordinator(address, port, queue,
+				reportName, WorkProtocol.LEASE_TIMEOUT, token);
+		System.out.println("Coordinating " + suites.size() + " suites on "
+				+ address.getHostAddress() + " port " + coordinator.getPort());
+		try {
+			testResult = WorkQueue.merge(coordinator.run().values());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Coordinator interrupted");
+		}
+		printResults(testResult);
 		return testResult.getErrorNum();
 	}
 
+	/**
+	 * Pull suites from the coordinator in the worker property until there
+	 * are none left, and print the merged result of the suites run.
+	 * 
+	 * @param client
+	 *            the client for the nearby server
+	 * @return the error number of the merged result
+	 * @throws RuntimeException
+	 *             if the token is not set, or if the coordinator cannot be
+	 *             reached or refuses the token
+	 */
+	public int work(final RunTestClient client) throws RuntimeException {
+		String address = getProperty("worker");
+		int colon = address.lastIndexOf(':');
+		if (colon < 0)
+			throw new RuntimeException("Bad coordinator address - " + address);
+		final String host = address.substring(0, colon);
+		final int port;
+		try {
+			port = Integer.parseInt(address.substring(colon + 1));
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Bad coordinator address - " + address);
+		}
+		final String token = getProperty("token");
+		if (token == null)
+			throw new RuntimeException("Worker token is not set");
+		int threads = getIntProperty("threads", 1);
+		final AtomicInteger count = new AtomicInteger();
+		final List<TestCaseResult> results = Collections
+				.synchronizedList(new ArrayList<TestCaseResult>());
+		final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			Thread thread = new Thread(new Runnable() {
+				public void run() {
+					Worker worker = new Worker(host, port, client,
+							WorkProtocol.HEARTBEAT_INTERVAL, token);
+					try {
+						count.addAndGet(worker.run());
+					} catch (RuntimeException e) {
+						failure.compareAndSet(null, e);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					results.add(worker.getResult());
+				}
+			});
+			thread.start();
+			workers.add(thread);
+		}
+		try {
+			for (Thread thread : workers)
+				thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			client.close();
+		}
+		if (failure.get() != null && count.get() == 0)
+			throw failure.get();
+		System.out.println("Suites run     : " + count.get());
+		testResult = WorkQueue.merge(results);
+		printResults(testResult);
+		return testResult.getErrorNum();
+	}
+
+	/**
+	 * Return the value of an integer property.
+	 * 
+	 * @param name
+	 *            the name of the property
+	 * @param defaultValue
+	 *            the value if the property is not set
+	 * @return the value of the property
+	 * @throws RuntimeException
+	 *             if the value is not an integer
+	 */
+	public int getIntProperty(String name, int defaultValue)
+			throws RuntimeException {
+		String value = getProperty(name);
+		if (value == null)
+			return defaultValue;
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Bad value for " + name + " - " + value);
+		}
+	}
+
+	/**
+	 * Return the suites named in the testsuite property. Several suites may
+	 * be named by separating them with commas.
+	 * 
+	 * @return the suite names in order
+	 */
+	public Set<String> getTestSuites() {
+		return split(getProperty("testsuite"));
+	}
+
+	/**
+	 * Split a comma separated list, dropping empty entries.
+	 * 
+	 * @param value
+	 *            the list, or null
+	 * @return the entries in order
+	 */
+	public static Set<String> split(String value) {
+		Set<String> result = new LinkedHashSet<String>();
+		if (value != null) {
+			for (String item : value.split(",")) {
+				item = item.trim();
+				if (item.length() > 0)
+					result.add(item);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Set up port
 	 * 
 	 * @return the Run Test Port Type for this service
 	 */
 	public RunTestPortType getPort() {
-		//
-		// Get the URL of the server
-		//
-		URL wsdlLocation = formURL();
-		//
-		// Get the port
-		//
-		RunTest_Service service = new RunTest_Service(wsdlLocation, serviceName);
-		RunTestPortType port = service.getRunTestSoap11Port();
-		//
-		// Get user name and password
-		//
-		String username = getProperty("username");
-		if (username == null)
-			username = "su";
-		String password = getProperty("password");
-		if (password == null)
-			password = "gw";
-		//
-		// Set HTTP basic authentication
-		//
-		BindingProvider bp = (BindingProvider) port;
-		Map<String, Object> requestContext = bp.getRequestContext();
-		requestContext.put(BindingProvider.USERNAME_PROPERTY, username);
-		requestContext.put(BindingProvider.PASSWORD_PROPERTY, password);
-		return port;
+		return createClient().getPort();
 	}
 
 	/**
@@ -261,23 +1579,7 @@ public class RunTestMain {
 	 *             if URL is not provided or if it is malformed
 	 */
 	public URL formURL() throws RuntimeException {
-		String message;
-		String urlString;
-		URL location = null;
-		String server = getProperty("url");
-		if (server != null) {
-			urlString = server + "/ws/unittestcase/RunTest?WSDL";
-			try {
-				location = new URL(urlString);
-			} catch (MalformedURLException e) {
-				message = "Bad server URL - " + server;
-				throw new RuntimeException(message);
-			}
-		} else {
-			message = "URL property is not set";
-			throw new RuntimeException(message);
-		}
-		return location;
+		return RunTestClient.formURL(getProperty("url"));
 	}
 
 	/**
@@ -323,10 +1625,21 @@ public class RunTestMain {
 		//
 		// precondition: args != null
 		//
-		String runtestPropertiesFile = getPropertyFile(args);
-		runtestProperties = getProperties(runtestPropertiesFile);
-		checkProperties(runtestProperties);
-		processCommandArgs(args);
+		Phase event = Phase.start(Phase.PROPERTIES_LOAD);
+		String outcome = Phase.ERROR;
+		try {
+			String runtestPropertiesFile = getPropertyFile(args);
+			runtestProperties = getProperties(runtestPropertiesFile);
+			checkProperties(runtestProperties);
+			processCommandArgs(args);
+			outcome = Phase.OK;
+		} finally {
+			if (runtestProperties == null)
+				event.finish(null, null, outcome);
+			else
+				event.finish(getProperty("testsuite"), getProperty("url"),
+						outcome);
+		}
 		//
 		// postcondition: runtestPropertiesFile != null and
 		// properties file has been read and
@@ -344,26 +1657,38 @@ public class RunTestMain {
 	 * @return the name of the GFIT properties file
 	 */
 	public String getPropertyFile(String[] args) {
-		String result = RUNTEST_PROPERTIES;
+		String result = getArgument(args, "-prop");
+		if (result == null)
+			result = RUNTEST_PROPERTIES;
 		//
-		// Search for "-prop" property
+		// Postcondition: result != null
 		//
+		return result;
+	}
+
+	/**
+	 * Return the value that follows an argument on the command line.
+	 * 
+	 * @param args
+	 *            an array of strings with arguments
+	 * @param name
+	 *            the argument, for example -prop
+	 * @return the value, or null if the argument or its value is missing
+	 */
+	public String getArgument(String[] args, String name) {
 		int count = args.length;
 		for (int i = 0; i < count; i++) {
-			if (args[i].equals("-prop")) {
+			if (args[i].equals(name)) {
 				//
 				// Is there a following string in the array?
 				//
 				i++;
 				if (i < count)
-					result = args[i];
+					return args[i];
 				break;
 			}
 		}
-		//
-		// Postcondition: result != null
-		//
-		return result;
+		return null;
 	}
 
 	/**
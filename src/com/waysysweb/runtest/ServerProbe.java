@@ -0,0 +1,264 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ServerProbe.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add TLS configuration
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class checks whether a Guidewire server is ready to run suites. A
+ * probe first opens a TCP connection to the server, which is cheap and fails
+ * fast while the server is starting, and then requests the WSDL of the
+ * RunTest web service. The server is ready when the WSDL is returned.
+ *
+ * The server can be polled until it is ready. The time between probes starts
+ * small and doubles after each failed probe, up to a limit, so a server that
+ * comes up quickly is found quickly without flooding a slow one.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ServerProbe {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the first delay between probes, in milliseconds */
+	static final long INITIAL_DELAY = 250;
+
+	/** the largest delay between probes, in milliseconds */
+	static final long MAX_DELAY = 10000;
+
+	/** the timeout of one probe, in milliseconds */
+	static final int PROBE_TIMEOUT = 5000;
+
+	/** the URL of the WSDL */
+	private final URL wsdlLocation;
+
+	/** the value of the HTTP authorization header */
+	private final String authorization;
+
+	/** the TLS configuration, or null */
+	private final TlsConfig tls;
+
+	// -------------------------------------------------------------------------
+	// Probe Result
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The result of waiting for a server.
+	 */
+	public static final class WaitResult {
+
+		/** true if the server became ready */
+		public final boolean ready;
+
+		/** the time spent waiting, in milliseconds */
+		public final long waitedMillis;
+
+		/** the latency of each probe, in milliseconds */
+		public final List<Long> latencies;
+
+		/** the reason the last probe failed, or null */
+		public final String lastFailure;
+
+		/**
+		 * Create an instance of this class
+		 */
+		WaitResult(boolean ready, long waitedMillis, List<Long> latencies,
+				String lastFailure) {
+			this.ready = ready;
+			this.waitedMillis = waitedMillis;
+			this.latencies = latencies;
+			this.lastFailure = lastFailure;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param wsdlLocation
+	 *            the URL of the WSDL
+	 * @param username
+	 *            the user name for HTTP basic authentication
+	 * @param password
+	 *            the password for HTTP basic authentication
+	 */
+	public ServerProbe(URL wsdlLocation, String username, String password) {
+		this(wsdlLocation, username, password, null);
+	}
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param wsdlLocation
+	 *            the URL of the WSDL
+	 * @param username
+	 *            the user name for HTTP basic authentication
+	 * @param password
+	 *            the password for HTTP basic authentication
+	 * @param tls
+	 *            the TLS configuration, or null
+	 */
+	public ServerProbe(URL wsdlLocation, String username, String password,
+			TlsConfig tls) {
+		this.wsdlLocation = wsdlLocation;
+		this.tls = tls;
+		authorization = "Basic "
+				+ Base64.getEncoder().encodeToString(
+						(username + ":" + password)
+								.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// -------------------------------------------------------------------------
+	// Probe
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Probe the server once.
+	 *
+	 * @return null if the server is ready, otherwise the reason it is not
+	 */
+	public String probe() {
+		String failure = probeTcp();
+		if (failure == null)
+			failure = probeWsdl();
+		return failure;
+	}
+
+	/**
+	 * Open and close a TCP connection to the server.
+	 *
+	 * @return null if the connection was made, otherwise the reason
+	 */
+	String probeTcp() {
+		int port = wsdlLocation.getPort();
+		if (port < 0)
+			port = wsdlLocation.getDefaultPort();
+		Socket socket = new Socket();
+		try {
+			socket.connect(new InetSocketAddress(wsdlLocation.getHost(), port),
+					PROBE_TIMEOUT);
+			return null;
+		} catch (IOException e) {
+			return "connect failed - " + e.getMessage();
+		} finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Request the WSDL.
+	 *
+	 * @return null if the WSDL was returned, otherwise the reason
+	 */
+	String probeWsdl() {
+		HttpURLConnection connection = null;
+		try {
+			connection = (HttpURLConnection) wsdlLocation.openConnection();
+			if (tls != null)
+				tls.configure(connection);
+			connection.setConnectTimeout(PROBE_TIMEOUT);
+			connection.setReadTimeout(PROBE_TIMEOUT);
+			connection.setRequestProperty("Authorization", authorization);
+			int status = connection.getResponseCode();
+			if (status != HttpURLConnection.HTTP_OK)
+				return "WSDL status " + status;
+			InputStream in = connection.getInputStream();
+			byte[] buffer = new byte[4096];
+			while (in.read(buffer) >= 0)
+				continue;
+			in.close();
+			return null;
+		} catch (IOException e) {
+			return "WSDL request failed - " + e.getMessage();
+		} finally {
+			if (connection != null)
+				connection.disconnect();
+		}
+	}
+
+	/**
+	 * Probe the server until it is ready or the time limit passes.
+	 *
+	 * @param limitMillis
+	 *            the longest time to wait, in milliseconds
+	 * @return the result of waiting
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public WaitResult awaitReady(long limitMillis) throws InterruptedException {
+		long start = System.nanoTime();
+		long deadline = start + limitMillis * 1000000L;
+		long delay = INITIAL_DELAY;
+		List<Long> latencies = new ArrayList<Long>();
+		String failure;
+		while (true) {
+			long probeStart = System.nanoTime();
+			failure = probe();
+			long now = System.nanoTime();
+			latencies.add(Long.valueOf((now - probeStart) / 1000000L));
+			if (failure == null || now >= deadline)
+				break;
+			long sleep = Math.min(delay, (deadline - now) / 1000000L);
+			if (sleep > 0)
+				Thread.sleep(sleep);
+			delay = Math.min(delay * 2, MAX_DELAY);
+		}
+		return new WaitResult(failure == null,
+				(System.nanoTime() - start) / 1000000L, latencies, failure);
+	}
+}
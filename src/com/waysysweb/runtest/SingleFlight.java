@@ -0,0 +1,223 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SingleFlight.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Give each caller a copy of the result
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class coalesces identical calls that are in flight at the same time.
+ * The first caller for a key makes the call; callers that arrive with the
+ * same key before it completes wait for that call and receive its result. A
+ * key is forgotten as soon as its call completes, so a later caller makes a
+ * new call. Each caller of submit receives its own future, so cancelling one
+ * does not cancel the call for the others. Each caller, including the one
+ * that made the call, receives its own copy of the result, so a caller that
+ * changes its result does not change the result of the others.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the results
+ */
+final class SingleFlight<K, V> {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the calls in flight by key */
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight;
+
+	/** the number of callers that joined a call in flight */
+	private final LongAdder coalesced;
+
+	/** copies a result for each caller */
+	private final UnaryOperator<V> copier;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param copier
+	 *            copies a result for each caller
+	 */
+	SingleFlight(UnaryOperator<V> copier) {
+		inFlight = new ConcurrentHashMap<K, CompletableFuture<V>>();
+		coalesced = new LongAdder();
+		this.copier = copier;
+	}
+
+	// -------------------------------------------------------------------------
+	// Calls
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Make a call on this thread, or wait for an identical call in flight.
+	 *
+	 * @param key
+	 *            the key of the call
+	 * @param call
+	 *            the call
+	 * @return the result of the call
+	 * @throws RuntimeException
+	 *             if the call threw an exception
+	 */
+	V run(K key, Supplier<V> call) throws RuntimeException {
+		CompletableFuture<V> mine = new CompletableFuture<V>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+		if (existing != null) {
+			coalesced.increment();
+			try {
+				return copier.apply(existing.join());
+			} catch (CompletionException e) {
+				throw unwrap(e.getCause());
+			}
+		}
+		try {
+			V result = call.get();
+			mine.complete(result);
+			return copier.apply(result);
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	/**
+	 * Start a call, or attach to an identical call in flight.
+	 *
+	 * @param key
+	 *            the key of the call
+	 * @param start
+	 *            starts the call and returns its future
+	 * @return a future for the result of the call
+	 */
+	CompletableFuture<V> submit(final K key,
+			Supplier<CompletableFuture<V>> start) {
+		final CompletableFuture<V> mine = new CompletableFuture<V>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+		if (existing != null) {
+			coalesced.increment();
+			return copy(existing);
+		}
+		CompletableFuture<V> call;
+		try {
+			call = start.get();
+		} catch (RuntimeException e) {
+			inFlight.remove(key, mine);
+			mine.completeExceptionally(e);
+			throw e;
+		}
+		call.whenComplete(new BiConsumer<V, Throwable>() {
+			public void accept(V result, Throwable error) {
+				inFlight.remove(key, mine);
+				if (error != null)
+					mine.completeExceptionally(error);
+				else
+					mine.complete(result);
+			}
+		});
+		return copy(mine);
+	}
+
+	/**
+	 * Return the number of callers that joined a call in flight.
+	 *
+	 * @return the count
+	 */
+	long getCoalesced() {
+		return coalesced.sum();
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return a future that completes with a copy of the result of another
+	 * future.
+	 *
+	 * @param future
+	 *            the other future
+	 * @return a new future
+	 */
+	private CompletableFuture<V> copy(CompletableFuture<V> future) {
+		final CompletableFuture<V> copy = new CompletableFuture<V>();
+		future.whenComplete(new BiConsumer<V, Throwable>() {
+			public void accept(V result, Throwable error) {
+				if (error != null)
+					copy.completeExceptionally(error);
+				else
+					copy.complete(copier.apply(result));
+			}
+		});
+		return copy;
+	}
+
+	/**
+	 * Return the runtime exception that a call threw.
+	 *
+	 * @param cause
+	 *            the cause of the failure
+	 * @return the exception to throw
+	 */
+	private static RuntimeException unwrap(Throwable cause) {
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		if (cause instanceof ExecutionException && cause.getCause() != null)
+			return unwrap(cause.getCause());
+		return new RuntimeException(cause);
+	}
+}
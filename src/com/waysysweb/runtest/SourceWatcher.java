@@ -0,0 +1,229 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SourceWatcher.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Report the files of a new directory
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class watches source directories for changes. All subdirectories are
+ * watched, including directories created after the watch starts. Files that
+ * are already in a new directory when it is registered, such as those of a
+ * package copied in, are reported as changed. Bursts of
+ * changes, such as a save of many files by an IDE, are returned as one set of
+ * changed files.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class SourceWatcher implements Closeable {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the watch service */
+	private final WatchService watchService;
+
+	/** the directory of each watch key */
+	private final Map<WatchKey, Path> directories;
+
+	/** the time without changes that ends a burst, in milliseconds */
+	private final long debounceMillis;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param roots
+	 *            the directories to watch
+	 * @param debounceMillis
+	 *            the time without changes that ends a burst, in milliseconds
+	 * @throws RuntimeException
+	 *             if a directory cannot be watched
+	 */
+	public SourceWatcher(List<Path> roots, long debounceMillis)
+			throws RuntimeException {
+		this.debounceMillis = debounceMillis;
+		directories = new HashMap<WatchKey, Path>();
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			for (Path root : roots) {
+				if (!Files.isDirectory(root))
+					throw new RuntimeException(
+							"Watch directory does not exist - " + root);
+				registerAll(root, null);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to watch directories - "
+					+ e.getMessage());
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Watch
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Wait for a burst of changes. The burst ends when there has been no
+	 * change for the debounce time.
+	 *
+	 * @param timeoutMillis
+	 *            the time to wait for the first change in milliseconds, or a
+	 *            negative number to wait without limit
+	 * @return the changed files, empty if there was no change before the
+	 *         timeout
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public Set<Path> poll(long timeoutMillis) throws InterruptedException {
+		Set<Path> changed = new LinkedHashSet<Path>();
+		WatchKey key;
+		if (timeoutMillis < 0)
+			key = watchService.take();
+		else
+			key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			collect(key, changed);
+			key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+		}
+		return changed;
+	}
+
+	/**
+	 * Stop watching.
+	 */
+	public void close() {
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			System.out.println("Unable to close watch service - "
+					+ e.getMessage());
+		}
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add the files of the events of a key to a set of changed files. New
+	 * directories are registered, and their files are added.
+	 *
+	 * @param key
+	 *            a signalled watch key
+	 * @param changed
+	 *            the set of changed files
+	 */
+	private void collect(WatchKey key, Set<Path> changed) {
+		Path dir = directories.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null)
+				continue;
+			Path file = dir.resolve((Path) event.context());
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+					&& Files.isDirectory(file)) {
+				try {
+					registerAll(file, changed);
+				} catch (IOException e) {
+					System.out.println("Unable to watch directory - " + file);
+				}
+			} else
+				changed.add(file);
+		}
+		if (!key.reset())
+			directories.remove(key);
+		return;
+	}
+
+	/**
+	 * Register a directory and all of its subdirectories.
+	 *
+	 * @param root
+	 *            the directory
+	 * @param files
+	 *            the set the files found are added to, or null
+	 * @throws IOException
+	 *             if a directory cannot be registered
+	 */
+	private void registerAll(Path root, final Set<Path> files)
+			throws IOException {
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir,
+					BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY,
+						StandardWatchEventKinds.ENTRY_DELETE);
+				directories.put(key, dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file,
+					BasicFileAttributes attrs) {
+				if (files != null)
+					files.add(file);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return;
+	}
+}
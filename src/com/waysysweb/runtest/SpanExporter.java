@@ -0,0 +1,280 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SpanExporter.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Take outcomes from Phase
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class writes spans to a local file in the OTLP-JSON format, so no
+ * collector is needed while RunTest runs. The file has one JSON object per
+ * line, each a complete export request with a batch of spans, as written by
+ * the OpenTelemetry file exporter. The file can be loaded into a collector or
+ * a trace viewer afterwards.
+ *
+ * Spans are buffered and written in batches. A span whose outcome is not ok
+ * or resumed has an error status with the outcome as its message.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class SpanExporter {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** the number of spans written in one line */
+	static final int BATCH_SPANS = 256;
+
+	/** the status code of a span that succeeded */
+	private static final int STATUS_OK = 1;
+
+	/** the status code of a span that failed */
+	private static final int STATUS_ERROR = 2;
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the file */
+	private final Path file;
+
+	/** the writer of the file */
+	private final BufferedWriter out;
+
+	/** the spans not yet written */
+	private final List<Tracer.Span> buffer = new ArrayList<Tracer.Span>();
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param file
+	 *            the OTLP-JSON file, which is replaced
+	 * @throws RuntimeException
+	 *             if the file cannot be opened
+	 */
+	SpanExporter(Path file) throws RuntimeException {
+		this.file = file;
+		try {
+			out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to write spans - " + file);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Operations
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Export a span that has ended.
+	 *
+	 * @param span
+	 *            the span
+	 */
+	synchronized void export(Tracer.Span span) {
+		buffer.add(span);
+		if (buffer.size() >= BATCH_SPANS)
+			flush();
+		return;
+	}
+
+	/**
+	 * Write the buffered spans and close the file.
+	 */
+	synchronized void close() {
+		flush();
+		try {
+			out.close();
+		} catch (IOException e) {
+			System.out.println("Unable to write spans - " + file);
+		}
+		return;
+	}
+
+	/**
+	 * Write the buffered spans as one line. A failure to write is reported
+	 * and the spans are dropped, so tracing never fails a run.
+	 */
+	private void flush() {
+		if (buffer.isEmpty())
+			return;
+		try {
+			out.write(toJson(buffer));
+			out.newLine();
+			out.flush();
+		} catch (IOException e) {
+			System.out.println("Unable to write spans - " + file);
+		}
+		buffer.clear();
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// JSON
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return an OTLP-JSON export request with spans.
+	 *
+	 * @param spans
+	 *            the spans
+	 * @return the request on one line
+	 */
+	static String toJson(List<Tracer.Span> spans) {
+		StringBuilder json = new StringBuilder(256 * spans.size());
+		json.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+		appendAttribute(json, "service.name", "runtest");
+		json.append("]},\"scopeSpans\":[{\"scope\":{\"name\":");
+		appendString(json, "com.waysysweb.runtest");
+		json.append("},\"spans\":[");
+		for (int i = 0; i < spans.size(); i++) {
+			if (i > 0)
+				json.append(',');
+			appendSpan(json, spans.get(i));
+		}
+		json.append("]}]}]}");
+		return json.toString();
+	}
+
+	/**
+	 * Append a span.
+	 *
+	 * @param json
+	 *            the JSON text
+	 * @param span
+	 *            the span
+	 */
+	private static void appendSpan(StringBuilder json, Tracer.Span span) {
+		json.append("{\"traceId\":\"").append(span.getTraceId())
+				.append("\",\"spanId\":\"").append(span.spanId).append('"');
+		if (span.parentId != null)
+			json.append(",\"parentSpanId\":\"").append(span.parentId)
+					.append('"');
+		json.append(",\"name\":");
+		appendString(json, span.name);
+		json.append(",\"kind\":").append(span.kind)
+				.append(",\"startTimeUnixNano\":\"")
+				.append(span.getStartEpochNanos())
+				.append("\",\"endTimeUnixNano\":\"")
+				.append(span.getEndEpochNanos())
+				.append("\",\"attributes\":[");
+		boolean first = true;
+		String[][] attributes = { { "runtest.suite", span.suite },
+				{ "runtest.server", span.server },
+				{ "runtest.outcome", span.outcome } };
+		for (String[] attribute : attributes) {
+			if (attribute[1] == null)
+				continue;
+			if (!first)
+				json.append(',');
+			appendAttribute(json, attribute[0], attribute[1]);
+			first = false;
+		}
+		json.append("],\"status\":{");
+		if (Phase.OK.equals(span.outcome)
+				|| Phase.RESUMED.equals(span.outcome))
+			json.append("\"code\":").append(STATUS_OK);
+		else {
+			json.append("\"code\":").append(STATUS_ERROR)
+					.append(",\"message\":");
+			appendString(json, span.outcome == null ? Phase.ERROR
+					: span.outcome);
+		}
+		json.append("}}");
+		return;
+	}
+
+	/**
+	 * Append a string attribute.
+	 *
+	 * @param json
+	 *            the JSON text
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 */
+	private static void appendAttribute(StringBuilder json, String key,
+			String value) {
+		json.append("{\"key\":");
+		appendString(json, key);
+		json.append(",\"value\":{\"stringValue\":");
+		appendString(json, value);
+		json.append("}}");
+		return;
+	}
+
+	/**
+	 * Append a quoted JSON string.
+	 *
+	 * @param json
+	 *            the JSON text
+	 * @param value
+	 *            the string
+	 */
+	static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				json.append('\\').append(c);
+			else if (c < 0x20) {
+				String hex = Integer.toHexString(c);
+				json.append("\\u");
+				for (int pad = hex.length(); pad < 4; pad++)
+					json.append('0');
+				json.append(hex);
+			} else
+				json.append(c);
+		}
+		json.append('"');
+		return;
+	}
+}
@@ -0,0 +1,213 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           StatusServer.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class serves the live status of a run over HTTP, so a long batch can
+ * be watched while it runs. A GET of /status returns a JSON object with the
+ * time since the run started and, for each server, the calls in flight with
+ * their elapsed time, the suites queued, the concurrency, the completed
+ * counts and the latency percentiles of the completed calls.
+ *
+ * Requests are served by one daemon thread of their own, and the statistics
+ * are read without locking, so watching a run does not slow it down.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class StatusServer {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the path of the status */
+	static final String PATH = "/status";
+
+	/** the HTTP server */
+	private final HttpServer server;
+
+	/** the thread serving requests */
+	private final ExecutorService executor;
+
+	/** the statistics of each client */
+	private final List<CallStats> clients = new CopyOnWriteArrayList<CallStats>();
+
+	/** the start of the run on the nanosecond timer */
+	private final long startNanos = System.nanoTime();
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class and start serving.
+	 *
+	 * @param address
+	 *            a port, or a host and port separated by a colon; port 0
+	 *            selects a free port
+	 * @throws RuntimeException
+	 *             if the address is malformed or the port cannot be bound
+	 */
+	public StatusServer(String address) throws RuntimeException {
+		int colon = address.lastIndexOf(':');
+		InetSocketAddress socket;
+		try {
+			int port = Integer.parseInt(address.substring(colon + 1).trim());
+			socket = colon < 0 ? new InetSocketAddress(port)
+					: new InetSocketAddress(address.substring(0, colon), port);
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Bad status address - " + address);
+		}
+		try {
+			server = HttpServer.create(socket, 0);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to serve status on " + address
+					+ " - " + e.getMessage());
+		}
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "RunTest status");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		server.setExecutor(executor);
+		server.createContext(PATH, new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				respond(exchange);
+			}
+		});
+		server.start();
+	}
+
+	// -------------------------------------------------------------------------
+	// Operations
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add a client to the status.
+	 *
+	 * @param client
+	 *            the client
+	 */
+	public void register(RunTestClient client) {
+		clients.add(client.getStats());
+		return;
+	}
+
+	/**
+	 * Return the port the status is served on.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stop serving.
+	 */
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+		return;
+	}
+
+	/**
+	 * Return the status as JSON.
+	 *
+	 * @return the status
+	 */
+	String toJson() {
+		StringBuilder json = new StringBuilder(1024);
+		json.append("{\"elapsedMillis\":")
+				.append((System.nanoTime() - startNanos) / 1000000L)
+				.append(",\"servers\":[");
+		boolean first = true;
+		for (CallStats stats : clients) {
+			if (!first)
+				json.append(',');
+			stats.appendJson(json);
+			first = false;
+		}
+		json.append("]}");
+		return json.toString();
+	}
+
+	/**
+	 * Answer a request.
+	 *
+	 * @param exchange
+	 *            the request and response
+	 * @throws IOException
+	 *             if the response cannot be written
+	 */
+	private void respond(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			byte[] body = toJson().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type",
+					"application/json; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(body);
+			out.close();
+		} finally {
+			exchange.close();
+		}
+		return;
+	}
+}
@@ -0,0 +1,334 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           StreamingCall.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add flight recorder events
+//  Waysys    19-Oct-2026   Add TLS configuration
+//  Waysys    19-Oct-2026   Send the traceparent of the call
+//  Waysys    19-Oct-2026   Record the exchange of the call
+//  Waysys    19-Oct-2026   Time phases with Phase
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class calls the runTest operation of a Guidewire server with a plain
+ * HTTP request and reads the response as it arrives, instead of letting
+ * JAX-WS unmarshal the whole response. It is used when the per-test details
+ * of a suite are wanted.
+ *
+ * When a recorder is given, the request and response of the call are
+ * recorded as they are written and read.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+class StreamingCall {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the SOAP 1.1 envelope namespace */
+	static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+	/** the namespace of the RunTest service */
+	static final String SERVICE_NS = "http://waysysweb.com";
+
+	/** the URL of the Guidewire server */
+	private final String server;
+
+	/** the endpoint of the RunTest service */
+	private final URL endpoint;
+
+	/** the value of the Authorization header */
+	private final String authorization;
+
+	/** the TLS configuration, or null */
+	private final TlsConfig tls;
+
+	/** true if the traceparent is also sent as a SOAP header */
+	private final boolean traceHeader;
+
+	/** the recorder of the exchange, or null */
+	private final ExchangeRecorder recorder;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param server
+	 *            the URL of the Guidewire server
+	 * @param username
+	 *            the user name for HTTP basic authentication
+	 * @param password
+	 *            the password for HTTP basic authentication
+	 * @param tls
+	 *            the TLS configuration, or null
+	 * @param traceHeader
+	 *            true if the traceparent is also sent as a SOAP header
+	 * @param recorder
+	 *            the recorder of the exchange, or null
+	 * @throws RuntimeException
+	 *             if the URL is malformed
+	 */
+	StreamingCall(String server, String username, String password,
+			TlsConfig tls, boolean traceHeader, ExchangeRecorder recorder)
+			throws RuntimeException {
+		this.server = server;
+		this.tls = tls;
+		this.traceHeader = traceHeader;
+		this.recorder = recorder;
+		try {
+			endpoint = new URL(server + "/ws/unittestcase/RunTest");
+		} catch (MalformedURLException e) {
+			throw new RuntimeException("Bad server URL - " + server);
+		}
+		authorization = "Basic "
+				+ Base64.getEncoder().encodeToString(
+						(username + ":" + password)
+								.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// -------------------------------------------------------------------------
+	// Call
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run a test suite and pass its per-test details to a sink.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param sink
+	 *            the receiver of the per-test details
+	 * @return the test case result without its details
+	 * @throws RuntimeException
+	 *             if the call fails
+	 */
+	TestCaseResult call(String testName, String reportName, DetailSink sink)
+			throws RuntimeException {
+		Phase serialize = Phase.start(Phase.REQUEST_SERIALIZE);
+		String outcome = Phase.ERROR;
+		String traceparent = Tracer.traceparent();
+		byte[] body;
+		try {
+			body = createRequest(testName, reportName,
+					traceHeader ? traceparent : null);
+			outcome = Phase.OK;
+		} finally {
+			serialize.finish(testName, server, outcome);
+		}
+		HttpURLConnection connection = null;
+		Phase wait = Phase.start(Phase.RUN_TEST_WAIT);
+		boolean waiting = true;
+		boolean reusable = false;
+		try {
+			connection = (HttpURLConnection) endpoint.openConnection();
+			if (tls != null)
+				tls.configure(connection);
+			connection.setDoOutput(true);
+			connection.setRequestMethod("POST");
+			connection.setRequestProperty("Content-Type",
+					"text/xml; charset=utf-8");
+			connection.setRequestProperty("SOAPAction", "\"\"");
+			connection.setRequestProperty("Authorization", authorization);
+			connection.setRequestProperty(Tracer.HEADER, traceparent);
+			connection.setFixedLengthStreamingMode(body.length);
+			if (recorder != null)
+				recordRequest(connection, body);
+			OutputStream out = connection.getOutputStream();
+			out.write(body);
+			out.close();
+			int status = connection.getResponseCode();
+			if (recorder != null)
+				recordResponse(connection, status);
+			outcome = status < HttpURLConnection.HTTP_BAD_REQUEST ? Phase.OK
+					: "HTTP " + status;
+			wait.finish(testName, server, outcome);
+			waiting = false;
+			InputStream in = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection
+					.getInputStream() : connection.getErrorStream();
+			if (in == null)
+				throw new RuntimeException("runTest status " + status);
+			if (recorder != null)
+				in = recorder.tee(in, ExchangeRecorder.RESPONSE);
+			Phase parse = Phase.start(Phase.RESPONSE_PARSE);
+			outcome = Phase.ERROR;
+			try {
+				TestCaseResult result = ResultStreamReader.read(in, sink);
+				outcome = Phase.outcome(result);
+				reusable = true;
+				return result;
+			} finally {
+				parse.finish(testName, server, outcome);
+				in.close();
+			}
+		} catch (IOException e) {
+			if (waiting)
+				wait.finish(testName, server, Phase.ERROR);
+			throw new RuntimeException("runTest request failed - "
+					+ e.getMessage());
+		} finally {
+			//
+			// A connection whose response was read is kept alive for the
+			// next call, so it does not pay for a new TLS handshake
+			//
+			if (connection != null && !reusable)
+				connection.disconnect();
+		}
+	}
+
+	/**
+	 * Record the headers and body of the request.
+	 *
+	 * @param connection
+	 *            the connection, before the request is sent
+	 * @param body
+	 *            the body of the request
+	 */
+	private void recordRequest(HttpURLConnection connection, byte[] body) {
+		int id = recorder.current();
+		for (Map.Entry<String, List<String>> header : connection
+				.getRequestProperties().entrySet())
+			for (String value : header.getValue())
+				recorder.writeLine(id, ExchangeRecorder.REQUEST_HEADER,
+						header.getKey(), value);
+		//
+		// The connection does not return the Authorization header, so it is
+		// recorded here
+		//
+		recorder.writeLine(id, ExchangeRecorder.REQUEST_HEADER,
+				"Authorization", authorization);
+		OutputStream out = recorder.stream(ExchangeRecorder.REQUEST);
+		try {
+			out.write(body);
+			out.close();
+		} catch (IOException e) {
+			// the recorder does not throw
+		}
+		return;
+	}
+
+	/**
+	 * Record the status and headers of the response.
+	 *
+	 * @param connection
+	 *            the connection, after the response status is read
+	 * @param status
+	 *            the response status
+	 */
+	private void recordResponse(HttpURLConnection connection, int status) {
+		int id = recorder.current();
+		recorder.writeLine(id, ExchangeRecorder.RESPONSE_HEADER, "Status",
+				Integer.toString(status));
+		for (Map.Entry<String, List<String>> header : connection
+				.getHeaderFields().entrySet())
+			if (header.getKey() != null)
+				for (String value : header.getValue())
+					recorder.writeLine(id, ExchangeRecorder.RESPONSE_HEADER,
+							header.getKey(), value);
+		return;
+	}
+
+	/**
+	 * Create the SOAP envelope of a runTest request.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param traceparent
+	 *            the traceparent sent as a SOAP header, or null for no header
+	 * @return the envelope in UTF-8
+	 * @throws RuntimeException
+	 *             if the envelope cannot be written
+	 */
+	static byte[] createRequest(String testName, String reportName,
+			String traceparent) throws RuntimeException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try {
+			XMLStreamWriter writer = XMLOutputFactory.newInstance()
+					.createXMLStreamWriter(buffer, "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+			writer.writeStartElement("soapenv", "Envelope", SOAP_NS);
+			writer.writeNamespace("soapenv", SOAP_NS);
+			if (traceparent != null) {
+				writer.writeStartElement("soapenv", "Header", SOAP_NS);
+				writer.writeStartElement("tc", Tracer.HEADER, Tracer.SOAP_NS);
+				writer.writeNamespace("tc", Tracer.SOAP_NS);
+				writer.writeCharacters(traceparent);
+				writer.writeEndElement();
+				writer.writeEndElement();
+			}
+			writer.writeStartElement("soapenv", "Body", SOAP_NS);
+			writer.writeStartElement("", "runTest", SERVICE_NS);
+			writer.writeDefaultNamespace(SERVICE_NS);
+			writer.writeStartElement(SERVICE_NS, "testName");
+			writer.writeCharacters(testName);
+			writer.writeEndElement();
+			writer.writeStartElement(SERVICE_NS, "reportName");
+			writer.writeCharacters(reportName);
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.close();
+		} catch (XMLStreamException e) {
+			throw new RuntimeException("Cannot write runTest request - "
+					+ e.getMessage());
+		}
+		return buffer.toByteArray();
+	}
+}
@@ -0,0 +1,227 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SuiteBatcher.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Count queued suites for the status endpoint
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.example.unittestcase.TestCaseResult;
+import com.waysysweb.TestRequest;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class coalesces suites submitted to a client into batches that are
+ * sent in one runTests exchange. A batch is sent when it reaches the batch
+ * size, or when the linger time has passed since its first suite was queued,
+ * whichever comes first. Batches are sent on the threads of the client, so
+ * several batches can be in flight at once.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+class SuiteBatcher {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the client that sends batches */
+	private final RunTestClient client;
+
+	/** the largest number of suites in a batch */
+	private final int batchSize;
+
+	/** the longest time a suite waits for its batch to fill, in milliseconds */
+	private final long lingerMillis;
+
+	/** the executor that sends batches */
+	private final Executor executor;
+
+	/** the timer that sends batches that did not fill */
+	private final ScheduledExecutorService timer;
+
+	/** the suites of the batch being filled */
+	private List<Queued> pending;
+
+	/** the number of batches sent, used to ignore stale timers */
+	private long generation;
+
+	// -------------------------------------------------------------------------
+	// Queued Suite
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A suite waiting in a batch.
+	 */
+	private static final class Queued {
+		final TestRequest request;
+		final CompletableFuture<TestCaseResult> future;
+
+		Queued(TestRequest request) {
+			this.request = request;
+			future = new CompletableFuture<TestCaseResult>();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param client
+	 *            the client that sends batches
+	 * @param batchSize
+	 *            the largest number of suites in a batch
+	 * @param lingerMillis
+	 *            the longest time a suite waits for its batch to fill
+	 * @param executor
+	 *            the executor that sends batches
+	 */
+	SuiteBatcher(RunTestClient client, int batchSize, long lingerMillis,
+			Executor executor) {
+		this.client = client;
+		this.batchSize = batchSize;
+		this.lingerMillis = lingerMillis;
+		this.executor = executor;
+		timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "runtest-linger");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		pending = new ArrayList<Queued>();
+		generation = 0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Batching
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Queue a suite.
+	 *
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return a future for the test case result
+	 */
+	synchronized CompletableFuture<TestCaseResult> submit(String testName,
+			String reportName) {
+		TestRequest request = new TestRequest();
+		request.setTestName(testName);
+		request.setReportName(reportName);
+		Queued queued = new Queued(request);
+		pending.add(queued);
+		if (pending.size() >= batchSize)
+			send();
+		else if (pending.size() == 1) {
+			final long batch = generation;
+			timer.schedule(new Runnable() {
+				public void run() {
+					linger(batch);
+				}
+			}, lingerMillis, TimeUnit.MILLISECONDS);
+		}
+		return queued.future;
+	}
+
+	/**
+	 * Send the pending batch and stop the timer.
+	 */
+	synchronized void close() {
+		if (!pending.isEmpty())
+			send();
+		timer.shutdown();
+		return;
+	}
+
+	/**
+	 * Send a batch whose linger time has passed, unless it has already been
+	 * sent.
+	 *
+	 * @param batch
+	 *            the generation of the batch
+	 */
+	private synchronized void linger(long batch) {
+		if (batch == generation && !pending.isEmpty())
+			send();
+		return;
+	}
+
+	/**
+	 * Send the pending batch on the executor and start a new one.
+	 */
+	private void send() {
+		final List<Queued> batch = pending;
+		pending = new ArrayList<Queued>();
+		generation++;
+		executor.execute(new Runnable() {
+			public void run() {
+				sendBatch(batch);
+			}
+		});
+		return;
+	}
+
+	/**
+	 * Send a batch and complete the futures of its suites.
+	 *
+	 * @param batch
+	 *            the suites of the batch
+	 */
+	private void sendBatch(List<Queued> batch) {
+		List<TestRequest> requests = new ArrayList<TestRequest>(batch.size());
+		for (Queued queued : batch)
+			requests.add(queued.request);
+		client.getStats().queued(-batch.size());
+		List<TestCaseResult> results = client.runAll(requests);
+		for (int i = 0; i < batch.size(); i++)
+			batch.get(i).future.complete(results.get(i));
+		return;
+	}
+}
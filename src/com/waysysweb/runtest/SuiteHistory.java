@@ -0,0 +1,291 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SuiteHistory.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class holds the recorded history of each suite: the number of runs,
+ * the number of runs that did not succeed, and the typical duration. The
+ * duration is an exponentially weighted mean, so it follows suites that get
+ * slower or faster. The history is kept in a text file with one line per
+ * suite:
+ *
+ * suite runs failures durationMillis
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class SuiteHistory {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** default history file */
+	public static final String DEFAULT_FILE = "runtest.history";
+
+	/** weight of a new duration in the mean */
+	static final double WEIGHT = 0.3;
+
+	/** the history of each suite */
+	private final Map<String, Entry> entries;
+
+	// -------------------------------------------------------------------------
+	// Entry
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The history of one suite.
+	 */
+	public static final class Entry {
+
+		/** number of recorded runs */
+		int runs;
+
+		/** number of runs that did not succeed */
+		int failures;
+
+		/** the weighted mean duration in milliseconds */
+		long durationMillis;
+
+		/**
+		 * Return the number of recorded runs.
+		 *
+		 * @return the number of runs
+		 */
+		public int getRuns() {
+			return runs;
+		}
+
+		/**
+		 * Return the number of runs that did not succeed.
+		 *
+		 * @return the number of failures
+		 */
+		public int getFailures() {
+			return failures;
+		}
+
+		/**
+		 * Return the weighted mean duration.
+		 *
+		 * @return the duration in milliseconds
+		 */
+		public long getDurationMillis() {
+			return durationMillis;
+		}
+
+		/**
+		 * Return the estimated probability that the next run fails. One
+		 * success and one failure are assumed in addition to the recorded
+		 * runs, so a suite with little history is neither ignored nor
+		 * trusted.
+		 *
+		 * @return the failure rate
+		 */
+		public double getFailureRate() {
+			return (failures + 1.0) / (runs + 2.0);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an empty history
+	 */
+	public SuiteHistory() {
+		entries = new TreeMap<String, Entry>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Access
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the history of a suite.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @return the history, or null if the suite has not been recorded
+	 */
+	public Entry get(String suite) {
+		return entries.get(suite);
+	}
+
+	/**
+	 * Record a run of a suite.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @param durationMillis
+	 *            the duration of the run in milliseconds
+	 */
+	public void record(String suite, TestCaseResult result,
+			long durationMillis) {
+		Entry entry = entries.get(suite);
+		if (entry == null) {
+			entry = new Entry();
+			entry.durationMillis = durationMillis;
+			entries.put(suite, entry);
+		} else
+			entry.durationMillis = Math.round(WEIGHT * durationMillis
+					+ (1 - WEIGHT) * entry.durationMillis);
+		entry.runs++;
+		if (isFailure(result))
+			entry.failures++;
+		return;
+	}
+
+	/**
+	 * Record the suites of a batch whose durations are known.
+	 *
+	 * @param results
+	 *            the aggregated results of a batch
+	 */
+	public void record(ResultAggregator results) {
+		for (int id = 0; id < results.getSuiteCount(); id++) {
+			if (results.getDuration(id) >= 0)
+				record(results.getSuiteName(id), results.getSuiteResult(id),
+						results.getDuration(id));
+		}
+		return;
+	}
+
+	/**
+	 * Return true if a result did not succeed.
+	 *
+	 * @param result
+	 *            the test case result
+	 * @return true if there was an error or a failed test
+	 */
+	public static boolean isFailure(TestCaseResult result) {
+		return result.getErrorNum() != 0 || result.getErrors() > 0
+				|| result.getFailed() > 0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Load and Save
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Load a history file. A missing file is an empty history.
+	 *
+	 * @param file
+	 *            the history file
+	 * @return the history
+	 * @throws RuntimeException
+	 *             if the file cannot be read
+	 */
+	public static SuiteHistory load(Path file) throws RuntimeException {
+		SuiteHistory history = new SuiteHistory();
+		if (!Files.exists(file))
+			return history;
+		try {
+			BufferedReader in = Files.newBufferedReader(file,
+					StandardCharsets.UTF_8);
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					String[] fields = line.split("\t");
+					if (fields.length != 4)
+						continue;
+					Entry entry = new Entry();
+					try {
+						entry.runs = Integer.parseInt(fields[1]);
+						entry.failures = Integer.parseInt(fields[2]);
+						entry.durationMillis = Long.parseLong(fields[3]);
+					} catch (NumberFormatException e) {
+						continue;
+					}
+					history.entries.put(fields[0], entry);
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read history - " + file);
+		}
+		return history;
+	}
+
+	/**
+	 * Save the history, replacing the file in one step.
+	 *
+	 * @param file
+	 *            the history file
+	 * @throws RuntimeException
+	 *             if the file cannot be written
+	 */
+	public void save(Path file) throws RuntimeException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			BufferedWriter out = Files.newBufferedWriter(temp,
+					StandardCharsets.UTF_8);
+			try {
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					out.write(entry.getKey() + "\t" + entry.getValue().runs
+							+ "\t" + entry.getValue().failures + "\t"
+							+ entry.getValue().durationMillis);
+					out.newLine();
+				}
+			} finally {
+				out.close();
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to write history - " + file);
+		}
+		return;
+	}
+}
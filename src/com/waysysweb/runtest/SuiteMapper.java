@@ -0,0 +1,203 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SuiteMapper.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class maps changed source files to the test suites that must be run
+ * again. A Gosu file is mapped to the suite with the same name, or to the
+ * suites in the same package or an enclosing package. Any other file, such as
+ * a configuration file, can affect every suite, so it is mapped to all of
+ * them. Editor backup and hidden files are ignored.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class SuiteMapper {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the source roots */
+	private final List<Path> roots;
+
+	/** the configured suites */
+	private final Set<String> suites;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param roots
+	 *            the source roots
+	 * @param suites
+	 *            the names of the configured suites
+	 */
+	public SuiteMapper(List<Path> roots, Collection<String> suites) {
+		this.roots = roots;
+		this.suites = new LinkedHashSet<String>(suites);
+	}
+
+	// -------------------------------------------------------------------------
+	// Map Files
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the suites affected by a set of changed files.
+	 *
+	 * @param changed
+	 *            the changed files
+	 * @return the affected suites in configuration order
+	 */
+	public Set<String> map(Collection<Path> changed) {
+		Set<String> result = new LinkedHashSet<String>();
+		for (Path file : changed) {
+			result.addAll(map(file));
+			if (result.size() == suites.size())
+				break;
+		}
+		return result;
+	}
+
+	/**
+	 * Return the suites affected by a changed file.
+	 *
+	 * @param file
+	 *            the changed file
+	 * @return the affected suites
+	 */
+	public Set<String> map(Path file) {
+		Set<String> result = new LinkedHashSet<String>();
+		String fileName = file.getFileName().toString();
+		if (fileName.startsWith(".") || fileName.endsWith("~")
+				|| fileName.endsWith(".tmp"))
+			return result;
+		String className = gosuClassName(file);
+		if (className == null) {
+			result.addAll(suites);
+			return result;
+		}
+		if (suites.contains(className)) {
+			result.add(className);
+			return result;
+		}
+		String filePackage = packageOf(className);
+		for (String suite : suites) {
+			String suitePackage = packageOf(suite);
+			if (isWithin(filePackage, suitePackage)
+					|| isWithin(suitePackage, filePackage))
+				result.add(suite);
+		}
+		if (result.isEmpty())
+			result.addAll(suites);
+		return result;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the class name of a Gosu file relative to its source root.
+	 *
+	 * @param file
+	 *            a file
+	 * @return the class name, or null if the file is not a Gosu file under a
+	 *         source root
+	 */
+	String gosuClassName(Path file) {
+		String fileName = file.getFileName().toString();
+		int dot = fileName.lastIndexOf('.');
+		if (dot < 0)
+			return null;
+		String extension = fileName.substring(dot + 1);
+		if (!extension.equals("gs") && !extension.equals("gsx"))
+			return null;
+		Path absolute = file.toAbsolutePath().normalize();
+		for (Path root : roots) {
+			Path base = root.toAbsolutePath().normalize();
+			if (absolute.startsWith(base)) {
+				Path relative = base.relativize(absolute);
+				StringBuilder name = new StringBuilder();
+				for (Path part : relative) {
+					if (name.length() > 0)
+						name.append('.');
+					name.append(part.toString());
+				}
+				return name.substring(0, name.length() - extension.length()
+						- 1);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the package of a class name.
+	 *
+	 * @param className
+	 *            the fully qualified class name
+	 * @return the package, empty for the default package
+	 */
+	static String packageOf(String className) {
+		int dot = className.lastIndexOf('.');
+		return dot < 0 ? "" : className.substring(0, dot);
+	}
+
+	/**
+	 * Return true if a package is equal to or nested within another package.
+	 *
+	 * @param inner
+	 *            the inner package
+	 * @param outer
+	 *            the outer package
+	 * @return true if inner is within outer
+	 */
+	static boolean isWithin(String inner, String outer) {
+		return outer.length() > 0
+				&& (inner.equals(outer) || inner.startsWith(outer + "."));
+	}
+}
@@ -0,0 +1,453 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           TlsConfig.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Time phases with Phase
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.HandshakeCompletedEvent;
+import javax.net.ssl.HandshakeCompletedListener;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class holds the TLS configuration of a client: the trust store, the
+ * key store for client certificates, and the enabled protocols and cipher
+ * suites. One SSL context and one socket factory are shared by all ports and
+ * connections of the client, so they share the session cache and a new
+ * connection to the same server can resume a session instead of making a full
+ * handshake. Sharing the socket factory also lets the JDK reuse kept-alive
+ * connections between calls.
+ *
+ * The handshakes made through the socket factory are counted and timed. A
+ * handshake is counted as resumed when its session was seen before. Each
+ * handshake is also recorded as a flight recorder event.
+ *
+ * Stores ending in .p12 or .pfx are read as PKCS12, other stores as the
+ * default key store type.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class TlsConfig {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** the request context properties for the socket factory of a port */
+	private static final String[] SOCKET_FACTORY_PROPERTIES = {
+			"com.sun.xml.ws.transport.https.client.SSLSocketFactory",
+			"com.sun.xml.internal.ws.transport.https.client.SSLSocketFactory" };
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the SSL context */
+	private final SSLContext context;
+
+	/** the enabled protocols, or null for the default */
+	private final String[] protocols;
+
+	/** the enabled cipher suites in order of preference, or null */
+	private final String[] ciphers;
+
+	/** the socket factory shared by all connections */
+	private final SSLSocketFactory factory;
+
+	/** the number of handshakes */
+	private final AtomicLong handshakes = new AtomicLong();
+
+	/** the number of handshakes that resumed a session */
+	private final AtomicLong resumed = new AtomicLong();
+
+	/** the time spent in handshakes in nanoseconds */
+	private final AtomicLong handshakeNanos = new AtomicLong();
+
+	/** the ids of the sessions seen */
+	private final Set<String> sessions = Collections
+			.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param truststore
+	 *            the trust store file, or null for the JDK trust store
+	 * @param truststorePassword
+	 *            the password of the trust store, or null
+	 * @param keystore
+	 *            the key store file with the client certificate, or null
+	 * @param keystorePassword
+	 *            the password of the key store and its key, or null
+	 * @param protocols
+	 *            the enabled protocols separated by commas, or null
+	 * @param ciphers
+	 *            the enabled cipher suites in order of preference separated
+	 *            by commas, or null
+	 * @throws RuntimeException
+	 *             if a store cannot be read, or if a protocol or cipher
+	 *             suite is not supported
+	 */
+	public TlsConfig(String truststore, String truststorePassword,
+			String keystore, String keystorePassword, String protocols,
+			String ciphers) throws RuntimeException {
+		try {
+			TrustManagerFactory trust = TrustManagerFactory
+					.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trust.init(truststore == null ? null : loadStore(truststore,
+					truststorePassword));
+			KeyManagerFactory keys = null;
+			if (keystore != null) {
+				keys = KeyManagerFactory.getInstance(KeyManagerFactory
+						.getDefaultAlgorithm());
+				keys.init(loadStore(keystore, keystorePassword),
+						toChars(keystorePassword));
+			}
+			context = SSLContext.getInstance("TLS");
+			context.init(keys == null ? null : keys.getKeyManagers(),
+					trust.getTrustManagers(), null);
+		} catch (GeneralSecurityException e) {
+			throw new RuntimeException("Unable to configure TLS - "
+					+ e.getMessage());
+		}
+		SSLParameters supported = context.getSupportedSSLParameters();
+		this.protocols = select(protocols, supported.getProtocols(), "protocol");
+		this.ciphers = select(ciphers, supported.getCipherSuites(),
+				"cipher suite");
+		factory = new CountingSocketFactory(context.getSocketFactory());
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the socket factory shared by all connections.
+	 *
+	 * @return the socket factory
+	 */
+	public SSLSocketFactory getSocketFactory() {
+		return factory;
+	}
+
+	/**
+	 * Return the number of handshakes.
+	 *
+	 * @return the count
+	 */
+	public long getHandshakes() {
+		return handshakes.get();
+	}
+
+	/**
+	 * Return the number of handshakes that resumed a session.
+	 *
+	 * @return the count
+	 */
+	public long getResumedHandshakes() {
+		return resumed.get();
+	}
+
+	/**
+	 * Return the time spent in handshakes.
+	 *
+	 * @return the total time in milliseconds
+	 */
+	public long getHandshakeMillis() {
+		return handshakeNanos.get() / 1000000L;
+	}
+
+	// -------------------------------------------------------------------------
+	// Configuration
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Use the shared socket factory for a connection if it is an HTTPS
+	 * connection.
+	 *
+	 * @param connection
+	 *            the connection, not yet connected
+	 */
+	public void configure(URLConnection connection) {
+		if (connection instanceof HttpsURLConnection)
+			((HttpsURLConnection) connection).setSSLSocketFactory(factory);
+		return;
+	}
+
+	/**
+	 * Use the shared socket factory for a JAX-WS port.
+	 *
+	 * @param requestContext
+	 *            the request context of the port
+	 */
+	void configure(Map<String, Object> requestContext) {
+		for (String property : SOCKET_FACTORY_PROPERTIES)
+			requestContext.put(property, factory);
+		return;
+	}
+
+	/**
+	 * Return a URL whose connections use the shared socket factory, so that
+	 * the WSDL and the documents it imports are read over the same TLS
+	 * configuration.
+	 *
+	 * @param url
+	 *            the URL
+	 * @return the URL with a configuring handler
+	 * @throws RuntimeException
+	 *             if the URL cannot be copied
+	 */
+	URL wrap(URL url) throws RuntimeException {
+		try {
+			return new URL(null, url.toExternalForm(), new URLStreamHandler() {
+				protected URLConnection openConnection(URL u)
+						throws IOException {
+					URLConnection connection = new URL(u.toExternalForm())
+							.openConnection();
+					configure(connection);
+					return connection;
+				}
+			});
+		} catch (MalformedURLException e) {
+			throw new RuntimeException("Bad URL - " + url);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Socket Factory
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A socket factory that applies the enabled protocols and cipher suites
+	 * to each socket and counts its handshakes.
+	 */
+	private final class CountingSocketFactory extends SSLSocketFactory {
+		/** the factory of the SSL context */
+		private final SSLSocketFactory delegate;
+
+		CountingSocketFactory(SSLSocketFactory delegate) {
+			this.delegate = delegate;
+		}
+
+		public String[] getDefaultCipherSuites() {
+			return ciphers == null ? delegate.getDefaultCipherSuites()
+					: ciphers.clone();
+		}
+
+		public String[] getSupportedCipherSuites() {
+			return delegate.getSupportedCipherSuites();
+		}
+
+		public Socket createSocket() throws IOException {
+			return prepare(delegate.createSocket());
+		}
+
+		public Socket createSocket(Socket socket, String host, int port,
+				boolean autoClose) throws IOException {
+			return prepare(delegate.createSocket(socket, host, port, autoClose));
+		}
+
+		public Socket createSocket(String host, int port) throws IOException {
+			return prepare(delegate.createSocket(host, port));
+		}
+
+		public Socket createSocket(String host, int port,
+				InetAddress localHost, int localPort) throws IOException {
+			return prepare(delegate.createSocket(host, port, localHost,
+					localPort));
+		}
+
+		public Socket createSocket(InetAddress host, int port)
+				throws IOException {
+			return prepare(delegate.createSocket(host, port));
+		}
+
+		public Socket createSocket(InetAddress address, int port,
+				InetAddress localAddress, int localPort) throws IOException {
+			return prepare(delegate.createSocket(address, port, localAddress,
+					localPort));
+		}
+	}
+
+	/**
+	 * Apply the enabled protocols and cipher suites to a socket and count its
+	 * handshake. The handshake is timed from the creation of the socket.
+	 *
+	 * @param socket
+	 *            a socket from the SSL context
+	 * @return the socket
+	 */
+	private Socket prepare(Socket socket) {
+		SSLSocket ssl = (SSLSocket) socket;
+		if (protocols != null)
+			ssl.setEnabledProtocols(protocols);
+		if (ciphers != null)
+			ssl.setEnabledCipherSuites(ciphers);
+		final long start = System.nanoTime();
+		final Phase event = Phase.start(Phase.TLS_HANDSHAKE);
+		ssl.addHandshakeCompletedListener(new HandshakeCompletedListener() {
+			public void handshakeCompleted(HandshakeCompletedEvent e) {
+				handshakeNanos.addAndGet(System.nanoTime() - start);
+				handshakes.incrementAndGet();
+				byte[] id = e.getSession().getId();
+				boolean again = id.length > 0 && !sessions.add(toHex(id));
+				if (again)
+					resumed.incrementAndGet();
+				event.finish(null, e.getSession().getPeerHost(),
+						again ? Phase.RESUMED : Phase.OK);
+			}
+		});
+		return socket;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Read a key store.
+	 *
+	 * @param file
+	 *            the store file
+	 * @param password
+	 *            the password, or null
+	 * @return the store
+	 * @throws RuntimeException
+	 *             if the store cannot be read
+	 */
+	private static KeyStore loadStore(String file, String password)
+			throws RuntimeException {
+		String lower = file.toLowerCase();
+		String type = lower.endsWith(".p12") || lower.endsWith(".pfx") ? "PKCS12"
+				: KeyStore.getDefaultType();
+		try {
+			KeyStore store = KeyStore.getInstance(type);
+			InputStream in = Files.newInputStream(Paths.get(file));
+			try {
+				store.load(in, toChars(password));
+			} finally {
+				in.close();
+			}
+			return store;
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to read key store - " + file);
+		} catch (GeneralSecurityException e) {
+			throw new RuntimeException("Unable to read key store - " + file);
+		}
+	}
+
+	/**
+	 * Select names from a list, checking that each is supported.
+	 *
+	 * @param value
+	 *            the names separated by commas, or null
+	 * @param supported
+	 *            the supported names
+	 * @param kind
+	 *            the kind of name, for the error message
+	 * @return the names in order, or null if the value is null
+	 * @throws RuntimeException
+	 *             if a name is not supported
+	 */
+	private static String[] select(String value, String[] supported,
+			String kind) throws RuntimeException {
+		if (value == null)
+			return null;
+		List<String> known = Arrays.asList(supported);
+		Set<String> names = RunTestMain.split(value);
+		for (String name : names)
+			if (!known.contains(name))
+				throw new RuntimeException("Unsupported TLS " + kind + " - "
+						+ name);
+		return names.toArray(new String[names.size()]);
+	}
+
+	/**
+	 * Return a password as characters.
+	 *
+	 * @param password
+	 *            the password, or null
+	 * @return the characters, or null
+	 */
+	private static char[] toChars(String password) {
+		return password == null ? null : password.toCharArray();
+	}
+
+	/**
+	 * Return bytes as hexadecimal.
+	 *
+	 * @param bytes
+	 *            the bytes
+	 * @return the hexadecimal string
+	 */
+	private static String toHex(byte[] bytes) {
+		StringBuilder text = new StringBuilder();
+		for (byte b : bytes)
+			text.append(Character.forDigit((b >> 4) & 0xf, 16)).append(
+					Character.forDigit(b & 0xf, 16));
+		return text.toString();
+	}
+}
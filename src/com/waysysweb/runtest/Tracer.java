@@ -0,0 +1,434 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Tracer.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPEnvelope;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPHeader;
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.handler.Handler;
+import javax.xml.ws.handler.MessageContext;
+import javax.xml.ws.handler.soap.SOAPHandler;
+import javax.xml.ws.handler.soap.SOAPMessageContext;
+
+//------------------------------------------------------------------------------
+//Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class propagates W3C trace context to the Guidewire server and records
+ * client-side spans. Every request carries a traceparent HTTP header, and
+ * optionally a traceparent SOAP header next to the Guidewire authentication
+ * header, so that the server-side trace of a suite can be joined to the
+ * client-side spans of the same call.
+ *
+ * All calls of this process belong to one trace. Each call to the server is a
+ * span, and its traceparent names that span as the parent. The phases of a
+ * call, such as creating the port, waiting for the server and reading the
+ * response, are child spans of the call, and calls are children of the root
+ * span of the run. Spans are only recorded after start is called; they are
+ * written to a local file in the OTLP-JSON format by a SpanExporter.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+final class Tracer {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** the name of the trace context header */
+	static final String HEADER = "traceparent";
+
+	/** the namespace of the traceparent SOAP header */
+	static final String SOAP_NS = "http://www.w3.org/TR/trace-context/";
+
+	/** the request context property with the traceparent of a call */
+	static final String TRACEPARENT_PROPERTY = "com.waysysweb.runtest.traceparent";
+
+	/** the span kind of an internal operation */
+	static final int INTERNAL = 1;
+
+	/** the span kind of a call to the server */
+	static final int CLIENT = 3;
+
+	/** the trace id of this process */
+	private static final String TRACE_ID = newId(16);
+
+	/** the wall clock time of BASE_NANOS in nanoseconds since the epoch */
+	private static final long EPOCH_NANOS = System.currentTimeMillis() * 1000000L;
+
+	/** the time of EPOCH_NANOS on the nanosecond timer */
+	private static final long BASE_NANOS = System.nanoTime();
+
+	// -------------------------------------------------------------------------
+	// Span
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A span of the trace.
+	 */
+	static final class Span {
+		/** the name of the operation */
+		final String name;
+
+		/** the span id */
+		final String spanId;
+
+		/** the id of the parent span, or null for a root span */
+		final String parentId;
+
+		/** the span kind */
+		final int kind;
+
+		/** the start on the nanosecond timer */
+		final long startNanos;
+
+		/** the suite, or null */
+		final String suite;
+
+		/** the server, or null */
+		final String server;
+
+		/** the end on the nanosecond timer */
+		long endNanos;
+
+		/** the outcome */
+		String outcome;
+
+		/** the current span of the thread before this span started */
+		private Span previous;
+
+		/**
+		 * Create an instance of this class
+		 */
+		Span(String name, Span parent, int kind, long startNanos,
+				String suite, String server) {
+			this.name = name;
+			spanId = newId(8);
+			parentId = parent == null ? null : parent.spanId;
+			this.kind = kind;
+			this.startNanos = startNanos;
+			this.suite = suite;
+			this.server = server;
+		}
+
+		/**
+		 * Return the trace id.
+		 *
+		 * @return the trace id in hexadecimal
+		 */
+		String getTraceId() {
+			return TRACE_ID;
+		}
+
+		/**
+		 * Return the start time.
+		 *
+		 * @return the start in nanoseconds since the epoch
+		 */
+		long getStartEpochNanos() {
+			return EPOCH_NANOS + (startNanos - BASE_NANOS);
+		}
+
+		/**
+		 * Return the end time.
+		 *
+		 * @return the end in nanoseconds since the epoch
+		 */
+		long getEndEpochNanos() {
+			return EPOCH_NANOS + (endNanos - BASE_NANOS);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the exporter, or null if spans are not recorded */
+	private static volatile SpanExporter exporter;
+
+	/** the root span of the run, or null */
+	private static volatile Span root;
+
+	/** the current call span of each thread */
+	private static final ThreadLocal<Span> current = new ThreadLocal<Span>();
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * This class has only static members.
+	 */
+	private Tracer() {
+	}
+
+	// -------------------------------------------------------------------------
+	// Recording
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Start recording spans to a file, with a root span for the run.
+	 *
+	 * @param file
+	 *            the OTLP-JSON file
+	 * @throws RuntimeException
+	 *             if the file cannot be opened
+	 */
+	static synchronized void start(Path file) throws RuntimeException {
+		exporter = new SpanExporter(file);
+		root = new Span("RunTest", null, INTERNAL, System.nanoTime(), null,
+				null);
+		return;
+	}
+
+	/**
+	 * End the root span and stop recording spans.
+	 *
+	 * @param outcome
+	 *            the outcome of the run
+	 */
+	static synchronized void stop(String outcome) {
+		if (exporter == null)
+			return;
+		SpanExporter stopped = exporter;
+		root.endNanos = System.nanoTime();
+		root.outcome = outcome;
+		stopped.export(root);
+		exporter = null;
+		root = null;
+		stopped.close();
+		return;
+	}
+
+	/**
+	 * Start a call span and make it the current span of the thread. The
+	 * span is created even if spans are not recorded, so that the call has a
+	 * traceparent.
+	 *
+	 * @param name
+	 *            the name of the call
+	 * @param suite
+	 *            the suite, or null
+	 * @param server
+	 *            the server
+	 * @return the span
+	 */
+	static Span startCall(String name, String suite, String server) {
+		Span parent = current.get();
+		Span span = new Span(name, parent == null ? root : parent, CLIENT,
+				System.nanoTime(), suite, server);
+		span.previous = parent;
+		current.set(span);
+		return span;
+	}
+
+	/**
+	 * End a call span and restore the span that was current before it.
+	 *
+	 * @param span
+	 *            the span
+	 * @param outcome
+	 *            the outcome of the call
+	 */
+	static void endCall(Span span, String outcome) {
+		span.endNanos = System.nanoTime();
+		span.outcome = outcome;
+		if (span.previous == null)
+			current.remove();
+		else
+			current.set(span.previous);
+		SpanExporter recorder = exporter;
+		if (recorder != null)
+			recorder.export(span);
+		return;
+	}
+
+	/**
+	 * Record a phase that has ended as a child of the current span.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @param startNanos
+	 *            the start of the phase on the nanosecond timer
+	 * @param suite
+	 *            the suite, or null
+	 * @param server
+	 *            the server, or null
+	 * @param outcome
+	 *            the outcome of the phase
+	 */
+	static void phase(String name, long startNanos, String suite,
+			String server, String outcome) {
+		SpanExporter recorder = exporter;
+		if (recorder == null)
+			return;
+		Span parent = current.get();
+		Span span = new Span(name, parent == null ? root : parent, INTERNAL,
+				startNanos, suite, server);
+		span.endNanos = System.nanoTime();
+		span.outcome = outcome;
+		recorder.export(span);
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Propagation
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the traceparent of the current span of the thread.
+	 *
+	 * @return the traceparent header value
+	 */
+	static String traceparent() {
+		Span span = current.get();
+		if (span == null)
+			span = root;
+		return "00-" + TRACE_ID + "-" + (span == null ? newId(8) : span.spanId)
+				+ (exporter == null ? "-00" : "-01");
+	}
+
+	/**
+	 * Set the traceparent of the current span on a port for its next call.
+	 * Ports that are not JAX-WS ports, such as stand-ins, are left alone.
+	 *
+	 * @param port
+	 *            the port, which is used by this thread only
+	 */
+	static void propagate(Object port) {
+		if (!(port instanceof BindingProvider))
+			return;
+		String traceparent = traceparent();
+		Map<String, Object> context = ((BindingProvider) port)
+				.getRequestContext();
+		context.put(MessageContext.HTTP_REQUEST_HEADERS, Collections
+				.singletonMap(HEADER, Collections.singletonList(traceparent)));
+		context.put(TRACEPARENT_PROPERTY, traceparent);
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// SOAP Header
+	// -------------------------------------------------------------------------
+
+	/**
+	 * A handler that adds the traceparent of a call as a SOAP header.
+	 */
+	static final class HeaderHandler implements SOAPHandler<SOAPMessageContext> {
+
+		public Set<QName> getHeaders() {
+			return Collections.emptySet();
+		}
+
+		public boolean handleMessage(SOAPMessageContext context) {
+			Object traceparent = context.get(TRACEPARENT_PROPERTY);
+			if (!Boolean.TRUE.equals(context
+					.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY))
+					|| traceparent == null)
+				return true;
+			try {
+				SOAPEnvelope envelope = context.getMessage().getSOAPPart()
+						.getEnvelope();
+				SOAPHeader header = envelope.getHeader();
+				if (header == null)
+					header = envelope.addHeader();
+				header.addHeaderElement(new QName(SOAP_NS, HEADER, "tc"))
+						.addTextNode(traceparent.toString());
+			} catch (SOAPException e) {
+				throw new RuntimeException("Cannot add traceparent header - "
+						+ e.getMessage());
+			}
+			return true;
+		}
+
+		public boolean handleFault(SOAPMessageContext context) {
+			return true;
+		}
+
+		public void close(MessageContext context) {
+			return;
+		}
+	}
+
+	/**
+	 * Add the SOAP header handler to a port.
+	 *
+	 * @param port
+	 *            a JAX-WS port
+	 */
+	@SuppressWarnings("rawtypes")
+	static void addHeaderHandler(BindingProvider port) {
+		List<Handler> chain = port.getBinding().getHandlerChain();
+		chain.add(new HeaderHandler());
+		port.getBinding().setHandlerChain(chain);
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return a random id that is not all zeros.
+	 *
+	 * @param bytes
+	 *            the length of the id in bytes
+	 * @return the id in lowercase hexadecimal
+	 */
+	static String newId(int bytes) {
+		StringBuilder id = new StringBuilder(bytes * 2);
+		boolean zero = true;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < bytes; i++) {
+			int b = random.nextInt(256);
+			if (i == bytes - 1 && zero && b == 0)
+				b = 1;
+			zero &= b == 0;
+			id.append(Character.forDigit(b >> 4, 16)).append(
+					Character.forDigit(b & 0xf, 16));
+		}
+		return id.toString();
+	}
+}
@@ -0,0 +1,171 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           WarmUp.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Make no calls for a count of 0
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class warms up a Guidewire server before the real workload. The first
+ * call to a freshly started server compiles Gosu classes and loads caches, so
+ * it is much slower than later calls. A warm-up runs a lightweight suite a
+ * number of times, which may be 0, and keeps the latency of each call. The
+ * first call is the cold latency and the mean of the others is the warm
+ * latency. Warm-up results never count toward the result of the run.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class WarmUp {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the suite used for the warm-up */
+	private final String suite;
+
+	/** the latency of each warm-up call, in milliseconds */
+	private final long[] latencies;
+
+	/** the number of warm-up calls that reported an error or failure */
+	private int failures;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param suite
+	 *            the suite used for the warm-up
+	 * @param count
+	 *            the number of warm-up calls
+	 */
+	private WarmUp(String suite, int count) {
+		this.suite = suite;
+		latencies = new long[count];
+		failures = 0;
+	}
+
+	/**
+	 * Warm up the server of a client.
+	 *
+	 * @param client
+	 *            the client
+	 * @param suite
+	 *            the suite used for the warm-up
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param count
+	 *            the number of warm-up calls; none are made if it is 0 or
+	 *            less
+	 * @return the latencies of the warm-up
+	 */
+	public static WarmUp run(RunTestClient client, String suite,
+			String reportName, int count) {
+		WarmUp warmUp = new WarmUp(suite, Math.max(count, 0));
+		for (int i = 0; i < warmUp.latencies.length; i++) {
+			long start = System.nanoTime();
+			TestCaseResult result = client.run(suite, reportName);
+			warmUp.latencies[i] = (System.nanoTime() - start) / 1000000L;
+			if (result.getErrorNum() != 0 || result.getErrors() > 0
+					|| result.getFailed() > 0)
+				warmUp.failures++;
+		}
+		return warmUp;
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the suite used for the warm-up.
+	 *
+	 * @return the suite name
+	 */
+	public String getSuite() {
+		return suite;
+	}
+
+	/**
+	 * Return the number of warm-up calls.
+	 *
+	 * @return the count
+	 */
+	public int getCount() {
+		return latencies.length;
+	}
+
+	/**
+	 * Return the number of warm-up calls that reported an error or failure.
+	 *
+	 * @return the count of failures
+	 */
+	public int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Return the latency of the first, cold, call.
+	 *
+	 * @return the latency in milliseconds, or -1 if there were no calls
+	 */
+	public long getColdLatency() {
+		if (latencies.length == 0)
+			return -1;
+		return latencies[0];
+	}
+
+	/**
+	 * Return the mean latency of the calls after the first.
+	 *
+	 * @return the latency in milliseconds, or -1 if there were fewer than two
+	 *         calls
+	 */
+	public long getWarmLatency() {
+		if (latencies.length < 2)
+			return -1;
+		long total = 0;
+		for (int i = 1; i < latencies.length; i++)
+			total += latencies[i];
+		return total / (latencies.length - 1);
+	}
+}
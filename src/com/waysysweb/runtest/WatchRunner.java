@@ -0,0 +1,390 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           WatchRunner.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Form report names from a template
+//  Waysys    19-Oct-2026   Hold one call per suite; wait for superseded calls
+//  Waysys    19-Oct-2026   Print completed runs before superseding a run
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class runs test suites again whenever their sources change. All
+ * suites are run once when the watch starts. After that, each burst of
+ * changes runs only the affected suites. Calls go through one client, on the
+ * threads of this runner, so the ports stay warm between runs.
+ *
+ * If a change arrives while suites are still running, their runs are
+ * superseded and the suites are included in the new run. A superseded suite
+ * that has not started is never called. A call that has started cannot be
+ * stopped, since a web service call does not end when its thread is
+ * interrupted, so the new run of its suite waits until that call returns,
+ * and the result of the call is discarded. A suite therefore never holds
+ * more than one thread, however often its sources change.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class WatchRunner {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** time between checks for completed suites, in milliseconds */
+	static final long CHECK_INTERVAL = 200;
+
+	/** the program used to print results */
+	private final RunTestMain program;
+
+	/** the client used to run suites */
+	private final RunTestClient client;
+
+	/** the watcher for source changes */
+	private final SourceWatcher watcher;
+
+	/** maps changed files to suites */
+	private final SuiteMapper mapper;
+
+	/** all configured suites */
+	private final Set<String> suites;
+
+	/** the report names of the suites */
+	private final ReportName reports;
+
+	/** the threads that call the server */
+	private final ExecutorService executor;
+
+	/** the suites of the current run */
+	private final Map<String, SuiteRun> running;
+
+	/** the superseded calls that are still in flight */
+	private final Map<String, SuiteRun> superseded;
+
+	/** the suites waiting for their superseded call to return */
+	private final Set<String> waiting;
+
+	// -------------------------------------------------------------------------
+	// Suite Run
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The run of one suite. A run that is superseded before it starts does
+	 * not call the server.
+	 */
+	private final class SuiteRun implements Callable<TestCaseResult> {
+		/** the suite name */
+		private final String suite;
+
+		/** the future of the run */
+		private Future<TestCaseResult> future;
+
+		/** true if the call has started */
+		private boolean started = false;
+
+		/** true if the run has been superseded */
+		private boolean obsolete = false;
+
+		/** true if the call has returned */
+		private volatile boolean finished = false;
+
+		/**
+		 * Create a run of a suite.
+		 *
+		 * @param suite
+		 *            the suite name
+		 */
+		SuiteRun(String suite) {
+			this.suite = suite;
+		}
+
+		/**
+		 * Call the server unless the run has been superseded.
+		 *
+		 * @return the test case result, or null if the run was superseded
+		 */
+		public TestCaseResult call() {
+			synchronized (this) {
+				if (obsolete)
+					return null;
+				started = true;
+			}
+			try {
+				return client.run(suite, reports.expand(suite));
+			} finally {
+				finished = true;
+			}
+		}
+
+		/**
+		 * Supersede the run.
+		 *
+		 * @return true if the call has started and not yet returned
+		 */
+		synchronized boolean supersede() {
+			obsolete = true;
+			future.cancel(false);
+			return started && !finished;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param program
+	 *            the program used to print results
+	 * @param client
+	 *            the client used to run suites, whose concurrency is the
+	 *            number of suites run at the same time
+	 * @param watcher
+	 *            the watcher for source changes
+	 * @param mapper
+	 *            maps changed files to suites
+	 * @param suites
+	 *            all configured suites
+	 * @param reportName
+	 *            the file name for the reports, which may be a template
+	 */
+	public WatchRunner(RunTestMain program, RunTestClient client,
+			SourceWatcher watcher, SuiteMapper mapper, Set<String> suites,
+			String reportName) {
+		this.program = program;
+		this.client = client;
+		this.watcher = watcher;
+		this.mapper = mapper;
+		this.suites = suites;
+		reports = new ReportName(reportName, client.getUrl(),
+				ReportName.newRunId(), suites);
+		executor = Executors.newFixedThreadPool(Math.max(
+				client.getConcurrency(), 1));
+		running = new LinkedHashMap<String, SuiteRun>();
+		superseded = new LinkedHashMap<String, SuiteRun>();
+		waiting = new LinkedHashSet<String>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Watch Loop
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run the suites and watch for changes until the thread is interrupted.
+	 */
+	public void run() {
+		System.out.println("Watching for changes. Press Ctrl-C to stop.");
+		start(suites);
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				long timeout = isIdle() ? -1 : CHECK_INTERVAL;
+				Set<Path> changed = watcher.poll(timeout);
+				if (!changed.isEmpty()) {
+					Set<String> affected = mapper.map(changed);
+					System.out.println("Changed files: " + changed.size()
+							+ ", affected suites: " + affected.size());
+					if (!affected.isEmpty())
+						restart(affected);
+				}
+				collect();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		close();
+		return;
+	}
+
+	/**
+	 * Supersede the current run and start a run of the affected suites and
+	 * the suites of the current run that had not completed. The results of
+	 * the suites that had completed are printed first.
+	 *
+	 * @param affected
+	 *            the affected suites
+	 */
+	void restart(Set<String> affected) {
+		collect();
+		Set<String> next = new LinkedHashSet<String>(cancel());
+		next.addAll(affected);
+		start(next);
+		return;
+	}
+
+	/**
+	 * Submit a run of suites. A suite whose superseded call is still in
+	 * flight waits for that call to return.
+	 *
+	 * @param names
+	 *            the suites to run
+	 */
+	void start(Set<String> names) {
+		for (String name : names) {
+			if (superseded.containsKey(name)) {
+				if (waiting.add(name))
+					System.out.println("Waiting for the obsolete call of "
+							+ name);
+			} else
+				submit(name);
+		}
+		return;
+	}
+
+	/**
+	 * Supersede the runs that have not completed. Runs that have not started
+	 * are cancelled; calls in flight are kept until they return. The results
+	 * of the runs that have completed are printed.
+	 *
+	 * @return the suites whose runs were superseded
+	 */
+	Set<String> cancel() {
+		Set<String> cancelled = new LinkedHashSet<String>();
+		for (SuiteRun run : running.values()) {
+			if (run.future.isDone()) {
+				print(run);
+				continue;
+			}
+			cancelled.add(run.suite);
+			if (run.supersede())
+				superseded.put(run.suite, run);
+		}
+		if (!cancelled.isEmpty())
+			System.out.println("Cancelled obsolete run of "
+					+ cancelled.size() + " suites");
+		running.clear();
+		return cancelled;
+	}
+
+	/**
+	 * Print the results of the completed calls, and start the suites whose
+	 * superseded call has returned.
+	 */
+	void collect() {
+		Iterator<SuiteRun> stale = superseded.values().iterator();
+		while (stale.hasNext()) {
+			SuiteRun run = stale.next();
+			if (!run.finished)
+				continue;
+			stale.remove();
+			if (waiting.remove(run.suite))
+				submit(run.suite);
+		}
+		Iterator<SuiteRun> it = running.values().iterator();
+		while (it.hasNext()) {
+			SuiteRun run = it.next();
+			if (!run.future.isDone())
+				continue;
+			it.remove();
+			print(run);
+		}
+		return;
+	}
+
+	/**
+	 * Return true if no suite is running or waiting.
+	 *
+	 * @return true if there is nothing to collect
+	 */
+	boolean isIdle() {
+		return running.isEmpty() && superseded.isEmpty();
+	}
+
+	/**
+	 * Supersede the current run and stop the threads of this runner.
+	 */
+	void close() {
+		cancel();
+		waiting.clear();
+		executor.shutdown();
+		return;
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Print the result of a completed run. A cancelled run has no result.
+	 *
+	 * @param run
+	 *            the completed run
+	 */
+	private void print(SuiteRun run) {
+		TestCaseResult result;
+		try {
+			result = run.future.get();
+		} catch (ExecutionException e) {
+			result = RunTestClient.errorResult(e.getCause().getMessage());
+		} catch (CancellationException e) {
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		System.out.println("Suite          : " + run.suite);
+		program.printResults(result);
+		return;
+	}
+
+	/**
+	 * Submit a run of a suite.
+	 *
+	 * @param name
+	 *            the suite name
+	 */
+	private void submit(String name) {
+		System.out.println("Running " + name);
+		SuiteRun run = new SuiteRun(name);
+		run.future = executor.submit(run);
+		running.put(name, run);
+		return;
+	}
+}
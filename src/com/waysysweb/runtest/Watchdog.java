@@ -0,0 +1,463 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Watchdog.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class watches the calls in flight of its clients and captures
+ * diagnostics for a call that runs much longer than expected, while the call
+ * is still hung. The expected duration of a suite is its duration in the
+ * suite history. A call is slow when it has run longer than a multiple of
+ * its expected duration, and never before the minimum time, which is also
+ * the limit for a suite without history.
+ *
+ * For each slow call a zip bundle is written with:
+ *
+ * summary.txt - the suite, its times and the phases of the call
+ *
+ * threads.txt - a dump of the threads of the client, with their locks
+ *
+ * connections.txt - the calls in flight and queued of the client, its TLS
+ * handshakes and the HTTP connection settings
+ *
+ * server.txt - whether the server answers a TCP connection and a WSDL
+ * request, and how long it took
+ *
+ * The calls are checked every second by one daemon thread. A call is
+ * captured once, and at most MAX_BUNDLES bundles are written.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Watchdog {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the default multiple of the expected duration */
+	public static final double DEFAULT_MULTIPLE = 3.0;
+
+	/** the default minimum time before a call is slow, in milliseconds */
+	public static final long DEFAULT_MIN = 60000;
+
+	/** the time between checks, in milliseconds */
+	static final long INTERVAL = 1000;
+
+	/** the largest number of bundles */
+	static final int MAX_BUNDLES = 5;
+
+	/** the HTTP connection settings reported */
+	private static final String[] CONNECTION_PROPERTIES = { "http.keepAlive",
+			"http.maxConnections", "sun.net.client.defaultConnectTimeout",
+			"sun.net.client.defaultReadTimeout",
+			"com.sun.xml.ws.connect.timeout",
+			"com.sun.xml.ws.request.timeout", "https.protocols" };
+
+	/** the directory of the bundles */
+	private final Path directory;
+
+	/** the multiple of the expected duration */
+	private final double multiple;
+
+	/** the minimum time before a call is slow, in milliseconds */
+	private final long minMillis;
+
+	/** the suite history, or null */
+	private final SuiteHistory history;
+
+	/** the clients watched */
+	private final List<RunTestClient> clients = new CopyOnWriteArrayList<RunTestClient>();
+
+	/** the calls captured that are still in flight */
+	private final Set<CallStats.Call> captured = Collections
+			.newSetFromMap(new ConcurrentHashMap<CallStats.Call, Boolean>());
+
+	/** the number of bundles written */
+	private int bundles = 0;
+
+	/** the thread checking the calls */
+	private final ScheduledExecutorService timer;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class and start watching.
+	 *
+	 * @param directory
+	 *            the directory of the bundles
+	 * @param multiple
+	 *            the multiple of the expected duration
+	 * @param minMillis
+	 *            the minimum time before a call is slow, in milliseconds
+	 * @param history
+	 *            the suite history, or null
+	 * @throws RuntimeException
+	 *             if the multiple or minimum is not positive
+	 */
+	public Watchdog(Path directory, double multiple, long minMillis,
+			SuiteHistory history) throws RuntimeException {
+		if (!(multiple > 0) || minMillis <= 0)
+			throw new RuntimeException(
+					"Watchdog multiple and minimum must be positive");
+		this.directory = directory;
+		this.multiple = multiple;
+		this.minMillis = minMillis;
+		this.history = history;
+		timer = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "RunTest watchdog");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		timer.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				try {
+					check();
+				} catch (RuntimeException e) {
+					System.out.println("Watchdog check failed - "
+							+ e.getMessage());
+				}
+			}
+		}, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	// -------------------------------------------------------------------------
+	// Operations
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add a client to be watched.
+	 *
+	 * @param client
+	 *            the client
+	 */
+	public void register(RunTestClient client) {
+		clients.add(client);
+		return;
+	}
+
+	/**
+	 * Stop watching.
+	 */
+	public void stop() {
+		timer.shutdownNow();
+		return;
+	}
+
+	/**
+	 * Return the time after which a call of a suite is slow.
+	 *
+	 * @param suite
+	 *            the suite
+	 * @return the time in milliseconds
+	 */
+	long getLimit(String suite) {
+		SuiteHistory.Entry entry = history == null ? null : history
+				.get(suite);
+		if (entry == null || entry.getRuns() == 0)
+			return minMillis;
+		return Math.max(minMillis,
+				(long) (multiple * entry.getDurationMillis()));
+	}
+
+	/**
+	 * Capture the diagnostics of the slow calls that have not been captured.
+	 *
+	 * @return the bundles written
+	 */
+	synchronized List<Path> check() {
+		List<Path> written = new ArrayList<Path>();
+		List<CallStats.Call> inFlight = new ArrayList<CallStats.Call>();
+		for (RunTestClient client : clients) {
+			long now = System.nanoTime();
+			for (CallStats.Call call : client.getStats().getCalls()) {
+				inFlight.add(call);
+				long elapsed = (now - call.startNanos) / 1000000L;
+				long limit = getLimit(call.suite);
+				if (elapsed <= limit || !captured.add(call))
+					continue;
+				if (bundles >= MAX_BUNDLES) {
+					if (bundles++ == MAX_BUNDLES)
+						System.out.println("No more watchdog bundles after "
+								+ MAX_BUNDLES);
+					continue;
+				}
+				bundles++;
+				Path bundle = capture(client, call, elapsed, limit);
+				if (bundle != null)
+					written.add(bundle);
+			}
+		}
+		captured.retainAll(inFlight);
+		return written;
+	}
+
+	// -------------------------------------------------------------------------
+	// Capture
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Write the diagnostics bundle of a slow call.
+	 *
+	 * @param client
+	 *            the client of the call
+	 * @param call
+	 *            the call
+	 * @param elapsed
+	 *            the time the call has run, in milliseconds
+	 * @param limit
+	 *            the time after which the call is slow, in milliseconds
+	 * @return the bundle, or null if it could not be written
+	 */
+	private Path capture(RunTestClient client, CallStats.Call call,
+			long elapsed, long limit) {
+		System.out.println("Suite " + call.suite + " has run " + elapsed
+				+ " ms, over its limit of " + limit + " ms");
+		String name = "watchdog-"
+				+ new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())
+				+ "-" + call.suite.replaceAll("[^A-Za-z0-9._-]", "_")
+				+ ".zip";
+		Path file = directory.resolve(name);
+		try {
+			Files.createDirectories(directory);
+			ZipOutputStream zip = new ZipOutputStream(
+					Files.newOutputStream(file));
+			try {
+				write(zip, "summary.txt", summary(client, call, elapsed, limit));
+				write(zip, "threads.txt", threadDump());
+				write(zip, "connections.txt", connections(client));
+				write(zip, "server.txt", probe(client));
+			} finally {
+				zip.close();
+			}
+		} catch (IOException e) {
+			System.out.println("Unable to write watchdog bundle - " + file);
+			return null;
+		}
+		System.out.println("Watchdog bundle written to " + file);
+		return file;
+	}
+
+	/**
+	 * Write an entry of a bundle.
+	 *
+	 * @param zip
+	 *            the bundle
+	 * @param name
+	 *            the name of the entry
+	 * @param text
+	 *            the text of the entry
+	 * @throws IOException
+	 *             if the entry cannot be written
+	 */
+	private static void write(ZipOutputStream zip, String name, String text)
+			throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(text.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+		return;
+	}
+
+	/**
+	 * Describe a slow call.
+	 *
+	 * @param client
+	 *            the client of the call
+	 * @param call
+	 *            the call
+	 * @param elapsed
+	 *            the time the call has run, in milliseconds
+	 * @param limit
+	 *            the time after which the call is slow, in milliseconds
+	 * @return the summary
+	 */
+	private String summary(RunTestClient client, CallStats.Call call,
+			long elapsed, long limit) {
+		StringBuilder text = new StringBuilder();
+		SuiteHistory.Entry entry = history == null ? null : history
+				.get(call.suite);
+		text.append("Suite: ").append(call.suite).append('\n');
+		text.append("Server: ").append(client.getUrl()).append('\n');
+		text.append("Captured: ").append(new Date()).append('\n');
+		text.append("Elapsed: ").append(elapsed).append(" ms\n");
+		text.append("Expected: ")
+				.append(entry == null || entry.getRuns() == 0 ? "no history"
+						: entry.getDurationMillis() + " ms").append('\n');
+		text.append("Limit: ").append(limit).append(" ms\n");
+		text.append("Thread: ").append(call.thread.getName()).append(' ')
+				.append(call.thread.getState()).append('\n');
+		String phase = call.phase;
+		long phaseNanos = call.phaseNanos;
+		text.append("Phase in progress: ");
+		if (phase == null)
+			text.append("none\n");
+		else
+			text.append(phase).append(" for ")
+					.append((System.nanoTime() - phaseNanos) / 1000000L)
+					.append(" ms\n");
+		text.append("\nPhases finished (name, start, duration, outcome):\n");
+		text.append(call.phases);
+		return text.toString();
+	}
+
+	/**
+	 * Describe the connections and calls of a client.
+	 *
+	 * @param client
+	 *            the client
+	 * @return the description
+	 */
+	private static String connections(RunTestClient client) {
+		StringBuilder text = new StringBuilder();
+		CallStats stats = client.getStats();
+		long now = System.nanoTime();
+		text.append("Server: ").append(stats.getServer()).append('\n');
+		text.append("Queued: ").append(stats.getQueued()).append('\n');
+		text.append("Completed: ").append(stats.getCompleted()).append('\n');
+		text.append("In flight:\n");
+		for (CallStats.Call call : stats.getCalls())
+			text.append("    ").append(call.suite).append(' ')
+					.append((now - call.startNanos) / 1000000L)
+					.append(" ms on ").append(call.thread.getName())
+					.append(' ').append(call.thread.getState())
+					.append(call.phase == null ? "" : " in " + call.phase)
+					.append('\n');
+		TlsConfig tls = client.getTls();
+		if (tls == null)
+			text.append("TLS: not configured\n");
+		else
+			text.append("TLS: ").append(tls.getHandshakes())
+					.append(" handshakes, ")
+					.append(tls.getResumedHandshakes())
+					.append(" resumed, ").append(tls.getHandshakeMillis())
+					.append(" ms\n");
+		for (String property : CONNECTION_PROPERTIES)
+			text.append(property).append(": ")
+					.append(System.getProperty(property, "(default)"))
+					.append('\n');
+		return text.toString();
+	}
+
+	/**
+	 * Probe the server of a client.
+	 *
+	 * @param client
+	 *            the client
+	 * @return the result of the probe
+	 */
+	private static String probe(RunTestClient client) {
+		long start = System.nanoTime();
+		String failure;
+		try {
+			ServerProbe probe = new ServerProbe(
+					RunTestClient.formURL(client.getUrl()),
+					client.getUsername(), client.getPassword(),
+					client.getTls());
+			failure = probe.probe();
+		} catch (RuntimeException e) {
+			failure = e.getMessage();
+		}
+		return "Server: " + client.getUrl() + "\nProbe: "
+				+ (failure == null ? "WSDL returned" : failure) + "\nTime: "
+				+ (System.nanoTime() - start) / 1000000L + " ms\n";
+	}
+
+	/**
+	 * Return a dump of all threads with their stacks and locks.
+	 *
+	 * @return the thread dump
+	 */
+	static String threadDump() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		StringBuilder text = new StringBuilder(16384);
+		for (ThreadInfo info : threads.dumpAllThreads(
+				threads.isObjectMonitorUsageSupported(),
+				threads.isSynchronizerUsageSupported())) {
+			text.append('"').append(info.getThreadName()).append("\" #")
+					.append(info.getThreadId()).append(' ')
+					.append(info.getThreadState());
+			if (info.getLockName() != null)
+				text.append(" on ").append(info.getLockName());
+			if (info.getLockOwnerName() != null)
+				text.append(" owned by \"").append(info.getLockOwnerName())
+						.append('"');
+			text.append('\n');
+			StackTraceElement[] stack = info.getStackTrace();
+			for (int i = 0; i < stack.length; i++) {
+				text.append("\tat ").append(stack[i]).append('\n');
+				for (MonitorInfo monitor : info.getLockedMonitors())
+					if (monitor.getLockedStackDepth() == i)
+						text.append("\t- locked ").append(monitor)
+								.append('\n');
+			}
+			LockInfo[] synchronizers = info.getLockedSynchronizers();
+			for (LockInfo synchronizer : synchronizers)
+				text.append("\t- holds ").append(synchronizer).append('\n');
+			text.append('\n');
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,302 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           WorkProtocol.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add the HELLO handshake with a shared token
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class defines the line protocol between a coordinator and its
+ * workers. Each message is one line of UTF-8 text with fields separated by
+ * tabs.
+ *
+ * Worker to coordinator:
+ *
+ * HELLO token - the first message of a worker, with the token shared with
+ * the coordinator
+ *
+ * NEXT - request a suite
+ *
+ * HEARTBEAT - the worker is still running its suite
+ *
+ * RESULT suite errorNum errors failed succeeded message - the result of a
+ * suite
+ *
+ * Coordinator to worker:
+ *
+ * DENIED - the token is wrong; the coordinator closes the connection
+ *
+ * SUITE suite reportName - run a suite
+ *
+ * WAIT - no suite is available now, but suites are still running elsewhere
+ * and may be requeued; ask again later
+ *
+ * DONE - all suites are complete
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public final class WorkProtocol {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** first message of a worker */
+	public static final String HELLO = "HELLO";
+
+	/** token refused */
+	public static final String DENIED = "DENIED";
+
+	/** request for a suite */
+	public static final String NEXT = "NEXT";
+
+	/** worker is alive */
+	public static final String HEARTBEAT = "HEARTBEAT";
+
+	/** result of a suite */
+	public static final String RESULT = "RESULT";
+
+	/** suite assignment */
+	public static final String SUITE = "SUITE";
+
+	/** no suite available yet */
+	public static final String WAIT = "WAIT";
+
+	/** all suites complete */
+	public static final String DONE = "DONE";
+
+	/** field separator */
+	static final String SEPARATOR = "\t";
+
+	/** time between heartbeats, in milliseconds */
+	public static final int HEARTBEAT_INTERVAL = 10000;
+
+	/** time without a message after which a worker is dead, in milliseconds */
+	public static final int LEASE_TIMEOUT = 3 * HEARTBEAT_INTERVAL;
+
+	/** time a worker waits after a WAIT reply, in milliseconds */
+	public static final int WAIT_INTERVAL = 1000;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * This class has only static members.
+	 */
+	private WorkProtocol() {
+		super();
+	}
+
+	// -------------------------------------------------------------------------
+	// Messages
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the fields of a message.
+	 *
+	 * @param line
+	 *            a message line
+	 * @return the fields, the first being the message type
+	 */
+	public static String[] parse(String line) {
+		return line.split(SEPARATOR, -1);
+	}
+
+	/**
+	 * Return the first message of a worker.
+	 *
+	 * @param token
+	 *            the token shared with the coordinator
+	 * @return the message line
+	 */
+	public static String hello(String token) {
+		return HELLO + SEPARATOR + escape(token);
+	}
+
+	/**
+	 * Return true if a token sent by a worker is the token of the
+	 * coordinator. The comparison takes the same time wherever the tokens
+	 * differ.
+	 *
+	 * @param expected
+	 *            the token of the coordinator
+	 * @param actual
+	 *            the token sent by the worker, or null
+	 * @return true if the tokens are the same
+	 */
+	public static boolean isToken(String expected, String actual) {
+		if (actual == null)
+			return false;
+		return MessageDigest.isEqual(
+				expected.getBytes(StandardCharsets.UTF_8),
+				actual.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Return a new random token.
+	 *
+	 * @return 32 hexadecimal digits
+	 */
+	public static String newToken() {
+		byte[] bytes = new byte[16];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder token = new StringBuilder();
+		for (byte b : bytes)
+			token.append(String.format("%02x", b & 0xff));
+		return token.toString();
+	}
+
+	/**
+	 * Return a suite assignment message.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param reportName
+	 *            the file name for the reports
+	 * @return the message line
+	 */
+	public static String suite(String suite, String reportName) {
+		return SUITE + SEPARATOR + escape(suite) + SEPARATOR
+				+ escape(reportName);
+	}
+
+	/**
+	 * Return a result message.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param result
+	 *            the test case result
+	 * @return the message line
+	 */
+	public static String result(String suite, TestCaseResult result) {
+		return RESULT + SEPARATOR + escape(suite) + SEPARATOR
+				+ result.getErrorNum() + SEPARATOR + result.getErrors()
+				+ SEPARATOR + result.getFailed() + SEPARATOR
+				+ result.getSucceeded() + SEPARATOR
+				+ escape(result.getErrorMessage());
+	}
+
+	/**
+	 * Return the test case result from the fields of a result message.
+	 *
+	 * @param fields
+	 *            the fields of a result message
+	 * @return the test case result
+	 * @throws RuntimeException
+	 *             if the message is malformed
+	 */
+	public static TestCaseResult toResult(String[] fields)
+			throws RuntimeException {
+		if (fields.length != 7)
+			throw new RuntimeException("Malformed result message");
+		TestCaseResult result = new TestCaseResult();
+		try {
+			result.setErrorNum(Integer.parseInt(fields[2]));
+			result.setErrors(Integer.parseInt(fields[3]));
+			result.setFailed(Integer.parseInt(fields[4]));
+			result.setSucceeded(Integer.parseInt(fields[5]));
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Malformed result message");
+		}
+		result.setErrorMessage(unescape(fields[6]));
+		return result;
+	}
+
+	/**
+	 * Escape a field. A null value is written as an empty field preceded by
+	 * a backslash.
+	 *
+	 * @param value
+	 *            the field value, or null
+	 * @return the escaped value
+	 */
+	static String escape(String value) {
+		if (value == null)
+			return "\\0";
+		StringBuilder result = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\')
+				result.append("\\\\");
+			else if (c == '\t')
+				result.append("\\t");
+			else if (c == '\n')
+				result.append("\\n");
+			else if (c == '\r')
+				result.append("\\r");
+			else
+				result.append(c);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Reverse the escaping of a field.
+	 *
+	 * @param value
+	 *            the escaped value
+	 * @return the field value, or null
+	 */
+	public static String unescape(String value) {
+		if (value.equals("\\0"))
+			return null;
+		StringBuilder result = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				i++;
+				c = value.charAt(i);
+				if (c == 't')
+					c = '\t';
+				else if (c == 'n')
+					c = '\n';
+				else if (c == 'r')
+					c = '\r';
+			}
+			result.append(c);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,230 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           WorkQueue.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add the position of a suite
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is the queue of suites held by a coordinator. Workers take
+ * suites when they are idle, so faster workers run more suites. The suites
+ * assigned to a worker that dies are put back at the head of the queue. A
+ * suite is complete when the first result for it arrives; a late result from
+ * a worker that was thought dead is ignored.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class WorkQueue {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the suites in the order they were queued */
+	private final List<String> suites;
+
+	/** the suites waiting for a worker */
+	private final Deque<String> pending;
+
+	/** the owner of each assigned suite */
+	private final Map<String, Object> assigned;
+
+	/** the results of the completed suites */
+	private final Map<String, TestCaseResult> results;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param suites
+	 *            the suites to run
+	 */
+	public WorkQueue(Collection<String> suites) {
+		this.suites = new ArrayList<String>(suites);
+		pending = new ArrayDeque<String>(suites);
+		assigned = new HashMap<String, Object>();
+		results = new HashMap<String, TestCaseResult>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Queue Operations
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the position of a suite in the queue as it was created.
+	 *
+	 * @param suite
+	 *            the suite
+	 * @return the position, or -1 if the suite is not in the queue
+	 */
+	public int indexOf(String suite) {
+		return suites.indexOf(suite);
+	}
+
+	/**
+	 * Assign the next suite to a worker.
+	 *
+	 * @param owner
+	 *            the worker
+	 * @return the suite, or null if no suite is waiting
+	 */
+	public synchronized String take(Object owner) {
+		String suite = pending.poll();
+		if (suite != null)
+			assigned.put(suite, owner);
+		return suite;
+	}
+
+	/**
+	 * Record the result of a suite.
+	 *
+	 * @param suite
+	 *            the suite
+	 * @param result
+	 *            the test case result
+	 * @return true if this is the first result for the suite
+	 */
+	public synchronized boolean complete(String suite, TestCaseResult result) {
+		if (results.containsKey(suite) || !suites.contains(suite))
+			return false;
+		results.put(suite, result);
+		assigned.remove(suite);
+		pending.remove(suite);
+		if (isComplete())
+			notifyAll();
+		return true;
+	}
+
+	/**
+	 * Put the suites assigned to a dead worker back at the head of the
+	 * queue.
+	 *
+	 * @param owner
+	 *            the worker
+	 * @return the suites that were requeued
+	 */
+	public synchronized List<String> release(Object owner) {
+		List<String> requeued = new ArrayList<String>();
+		for (Map.Entry<String, Object> entry : assigned.entrySet()) {
+			if (entry.getValue() == owner)
+				requeued.add(entry.getKey());
+		}
+		for (int i = requeued.size() - 1; i >= 0; i--) {
+			assigned.remove(requeued.get(i));
+			pending.addFirst(requeued.get(i));
+		}
+		return requeued;
+	}
+
+	/**
+	 * Return true if every suite has a result.
+	 *
+	 * @return true if complete
+	 */
+	public synchronized boolean isComplete() {
+		return results.size() == suites.size();
+	}
+
+	/**
+	 * Wait until every suite has a result.
+	 *
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public synchronized void awaitCompletion() throws InterruptedException {
+		while (!isComplete())
+			wait();
+		return;
+	}
+
+	/**
+	 * Return the results of the completed suites in queue order.
+	 *
+	 * @return a map of suite names to results
+	 */
+	public synchronized Map<String, TestCaseResult> getResults() {
+		Map<String, TestCaseResult> ordered = new LinkedHashMap<String, TestCaseResult>();
+		for (String suite : suites) {
+			if (results.containsKey(suite))
+				ordered.put(suite, results.get(suite));
+		}
+		return ordered;
+	}
+
+	/**
+	 * Return a result that is the sum of several results. The error number
+	 * is that of the first result with an error, and the error messages are
+	 * joined.
+	 *
+	 * @param results
+	 *            the results to merge
+	 * @return the merged result
+	 */
+	public static TestCaseResult merge(Collection<TestCaseResult> results) {
+		TestCaseResult merged = new TestCaseResult();
+		StringBuilder message = new StringBuilder();
+		for (TestCaseResult result : results) {
+			merged.setSucceeded(merged.getSucceeded() + result.getSucceeded());
+			merged.setFailed(merged.getFailed() + result.getFailed());
+			merged.setErrors(merged.getErrors() + result.getErrors());
+			if (result.getErrorNum() != 0) {
+				if (merged.getErrorNum() == 0)
+					merged.setErrorNum(result.getErrorNum());
+				if (message.length() > 0)
+					message.append("; ");
+				message.append(result.getErrorMessage());
+			}
+		}
+		if (message.length() > 0)
+			merged.setErrorMessage(message.toString());
+		return merged;
+	}
+}
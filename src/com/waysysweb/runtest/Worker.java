@@ -0,0 +1,222 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           Worker.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Fill in the server of a report name template
+//  Waysys    19-Oct-2026   Send a token and keep the results of the suites
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class pulls suites from a coordinator and runs them on a nearby
+ * Guidewire server. The worker first sends the token shared with the
+ * coordinator. While a suite runs, the worker sends heartbeats so the
+ * coordinator knows it is alive. The worker stops when the coordinator
+ * reports that all suites are done or closes the connection.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class Worker {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the host of the coordinator */
+	private final String host;
+
+	/** the TCP port of the coordinator */
+	private final int port;
+
+	/** the client for the nearby server */
+	private final RunTestClient client;
+
+	/** the time between heartbeats, in milliseconds */
+	private final long heartbeatMillis;
+
+	/** the token shared with the coordinator */
+	private final String token;
+
+	/** the results of the suites run */
+	private final List<TestCaseResult> results;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param host
+	 *            the host of the coordinator
+	 * @param port
+	 *            the TCP port of the coordinator
+	 * @param client
+	 *            the client for the nearby server
+	 * @param heartbeatMillis
+	 *            the time between heartbeats, in milliseconds
+	 * @param token
+	 *            the token shared with the coordinator
+	 */
+	public Worker(String host, int port, RunTestClient client,
+			long heartbeatMillis, String token) {
+		this.host = host;
+		this.port = port;
+		this.client = client;
+		this.heartbeatMillis = heartbeatMillis;
+		this.token = token;
+		results = new ArrayList<TestCaseResult>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Work
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run suites until the coordinator has no more work.
+	 *
+	 * @return the number of suites run
+	 * @throws RuntimeException
+	 *             if the coordinator cannot be reached or refuses the token
+	 * @throws InterruptedException
+	 *             if the thread is interrupted
+	 */
+	public int run() throws RuntimeException, InterruptedException {
+		int count = 0;
+		Socket socket;
+		try {
+			socket = new Socket(host, port);
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to connect to coordinator - "
+					+ host + ":" + port);
+		}
+		try {
+			BufferedReader in = new BufferedReader(new InputStreamReader(
+					socket.getInputStream(), StandardCharsets.UTF_8));
+			PrintWriter out = new PrintWriter(new OutputStreamWriter(
+					socket.getOutputStream(), StandardCharsets.UTF_8), true);
+			out.println(WorkProtocol.hello(token));
+			boolean done = false;
+			while (!done) {
+				out.println(WorkProtocol.NEXT);
+				String line = in.readLine();
+				if (line == null)
+					break;
+				String[] fields = WorkProtocol.parse(line);
+				if (fields[0].equals(WorkProtocol.SUITE)) {
+					String suite = WorkProtocol.unescape(fields[1]);
+					String reportName = ReportName.expand(
+							WorkProtocol.unescape(fields[2]), null, -1,
+							client.getUrl(), null);
+					System.out.println("Running " + suite);
+					TestCaseResult result = runSuite(suite, reportName, out);
+					out.println(WorkProtocol.result(suite, result));
+					results.add(result);
+					count++;
+				} else if (fields[0].equals(WorkProtocol.WAIT))
+					Thread.sleep(WorkProtocol.WAIT_INTERVAL);
+				else if (fields[0].equals(WorkProtocol.DENIED))
+					throw new RuntimeException(
+							"Coordinator refused the token - " + host + ":"
+									+ port);
+				else
+					done = true;
+			}
+		} catch (IOException e) {
+			System.out.println("Connection to coordinator lost - "
+					+ e.getMessage());
+		} finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return the merged result of the suites run.
+	 *
+	 * @return the merged result
+	 */
+	public TestCaseResult getResult() {
+		return WorkQueue.merge(results);
+	}
+
+	/**
+	 * Run a suite, sending heartbeats until it completes.
+	 *
+	 * @param suite
+	 *            the suite name
+	 * @param reportName
+	 *            the file name for the reports
+	 * @param out
+	 *            the writer to the coordinator
+	 * @return the test case result
+	 * @throws InterruptedException
+	 *             if the thread is interrupted
+	 */
+	private TestCaseResult runSuite(String suite, String reportName,
+			PrintWriter out) throws InterruptedException {
+		Future<TestCaseResult> future = client.submit(suite, reportName);
+		while (true) {
+			try {
+				return future.get(heartbeatMillis, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				out.println(WorkProtocol.HEARTBEAT);
+			} catch (ExecutionException e) {
+				return RunTestClient.errorResult(e.getCause().getMessage());
+			}
+		}
+	}
+}
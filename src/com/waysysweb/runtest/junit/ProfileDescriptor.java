@@ -0,0 +1,146 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           ProfileDescriptor.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest.junit
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest.junit;
+
+import java.io.File;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.engine.support.hierarchical.Node;
+
+import com.waysysweb.runtest.RunTestClient;
+import com.waysysweb.runtest.RunTestMain;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class describes one RunTest properties file. It is a container for the
+ * suites named in the testsuite property of the file. A single client is
+ * created for the profile and shared by its suites.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class ProfileDescriptor extends AbstractTestDescriptor implements
+		Node<RunTestEngineContext> {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the segment type of a profile in a unique id */
+	static final String SEGMENT_TYPE = "profile";
+
+	/** the program that holds the properties of the profile */
+	private final RunTestMain program;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param parentId
+	 *            the unique id of the engine
+	 * @param fileName
+	 *            the name of the properties file
+	 * @param program
+	 *            a program that has processed the properties file
+	 */
+	public ProfileDescriptor(UniqueId parentId, String fileName,
+			RunTestMain program) {
+		super(parentId.append(SEGMENT_TYPE, fileName), fileName, FileSource
+				.from(new File(fileName)));
+		this.program = program;
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the type of this descriptor.
+	 *
+	 * @return CONTAINER
+	 */
+	public TestDescriptor.Type getType() {
+		return TestDescriptor.Type.CONTAINER;
+	}
+
+	/**
+	 * Return the value of a property of the profile.
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @return the value of the property
+	 */
+	public String getProperty(String name) {
+		return program.getProperty(name);
+	}
+
+	// -------------------------------------------------------------------------
+	// Execution
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create the client for the profile.
+	 *
+	 * @param context
+	 *            the engine context
+	 * @return a context with the client for this profile
+	 */
+	@Override
+	public RunTestEngineContext before(RunTestEngineContext context) {
+		return context.withClient(program.createClient());
+	}
+
+	/**
+	 * Release the client for the profile.
+	 *
+	 * @param context
+	 *            the context returned by before
+	 */
+	@Override
+	public void after(RunTestEngineContext context) {
+		RunTestClient client = context.getClient();
+		if (client != null)
+			client.close();
+		return;
+	}
+}
@@ -0,0 +1,270 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           RunTestEngine.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest.junit
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Share split and create programs in one place
+//  Waysys    19-Oct-2026   Expand the report name of each suite
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest.junit;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.FileSelector;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.support.config.PrefixedConfigurationParameters;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTestExecutorService;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService;
+import org.junit.platform.engine.support.hierarchical.SameThreadHierarchicalTestExecutorService;
+
+import com.waysysweb.runtest.ReportName;
+import com.waysysweb.runtest.RunTestMain;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is a JUnit Platform test engine that runs Guidewire test suites.
+ * Each RunTest properties file is a container, and each suite named in its
+ * testsuite property is a test. Several suites can be named in one file by
+ * separating them with commas.
+ *
+ * The properties files are found from:
+ *
+ * runtest.profiles - a configuration parameter with a comma separated list of
+ * properties files
+ *
+ * file selectors - properties files selected in the IDE or build tool
+ *
+ * unique id selectors - a profile or suite selected for a rerun
+ *
+ * Suites are run in parallel when the configuration parameter
+ * runtest.execution.parallel.enabled is true. The parallel execution is
+ * configured with the parameters that start with
+ * runtest.execution.parallel.config., in the same way as JUnit Jupiter. The
+ * reports property of a profile may be a template, as for a batch run, so that
+ * suites running at the same time write their own reports; see ReportName.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class RunTestEngine extends
+		HierarchicalTestEngine<RunTestEngineContext> {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the id of this engine */
+	public static final String ENGINE_ID = "runtest";
+
+	/** parameter with the list of properties files */
+	public static final String PROFILES_PARAMETER = "runtest.profiles";
+
+	/** parameter that enables parallel execution */
+	public static final String PARALLEL_PARAMETER = "runtest.execution.parallel.enabled";
+
+	/** prefix of the parallel execution configuration parameters */
+	public static final String PARALLEL_CONFIG_PREFIX = "runtest.execution.parallel.config.";
+
+	// -------------------------------------------------------------------------
+	// Test Engine
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the id of this engine.
+	 *
+	 * @return the engine id
+	 */
+	public String getId() {
+		return ENGINE_ID;
+	}
+
+	/**
+	 * Discover the profiles and suites selected by the request.
+	 *
+	 * @param request
+	 *            the discovery request
+	 * @param uniqueId
+	 *            the unique id of this engine
+	 * @return the engine descriptor
+	 * @throws RuntimeException
+	 *             if a properties file cannot be loaded
+	 */
+	public TestDescriptor discover(EngineDiscoveryRequest request,
+			UniqueId uniqueId) throws RuntimeException {
+		EngineDescriptor engine = new EngineDescriptor(uniqueId, "RunTest");
+		Map<String, Set<String>> profiles = selectProfiles(request, uniqueId);
+		for (Map.Entry<String, Set<String>> entry : profiles.entrySet()) {
+			String fileName = entry.getKey();
+			RunTestMain program = createProgram();
+			program.processArgs(new String[] { "-prop", fileName });
+			ProfileDescriptor profile = new ProfileDescriptor(uniqueId,
+					fileName, program);
+			Set<String> suites = program.getTestSuites();
+			ReportName reports = new ReportName(profile
+					.getProperty("reports"), profile.getProperty("url"),
+					ReportName.newRunId(), suites);
+			for (String testName : suites) {
+				if (entry.getValue() == null
+						|| entry.getValue().contains(testName))
+					profile.addChild(new SuiteDescriptor(profile
+							.getUniqueId(), testName, reports
+							.expand(testName)));
+			}
+			engine.addChild(profile);
+		}
+		return engine;
+	}
+
+	/**
+	 * Create the executor service. Parallel execution is used only when it
+	 * has been enabled.
+	 *
+	 * @param request
+	 *            the execution request
+	 * @return the executor service
+	 */
+	@Override
+	protected HierarchicalTestExecutorService createExecutorService(
+			ExecutionRequest request) {
+		ConfigurationParameters parameters = request
+				.getConfigurationParameters();
+		HierarchicalTestExecutorService service;
+		if (parameters.getBoolean(PARALLEL_PARAMETER).orElse(Boolean.FALSE)
+				.booleanValue())
+			service = new ForkJoinPoolHierarchicalTestExecutorService(
+					new PrefixedConfigurationParameters(parameters,
+							PARALLEL_CONFIG_PREFIX));
+		else
+			service = new SameThreadHierarchicalTestExecutorService();
+		return service;
+	}
+
+	/**
+	 * Create the root execution context.
+	 *
+	 * @param request
+	 *            the execution request
+	 * @return a context without a client
+	 */
+	@Override
+	protected RunTestEngineContext createExecutionContext(
+			ExecutionRequest request) {
+		return new RunTestEngineContext(request.getEngineExecutionListener(),
+				null);
+	}
+
+	// -------------------------------------------------------------------------
+	// Support Functions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the selected properties files. The value for each file is the
+	 * set of selected suites, or null if all suites are selected.
+	 *
+	 * @param request
+	 *            the discovery request
+	 * @param engineId
+	 *            the unique id of this engine
+	 * @return a map of properties file names to selected suites
+	 */
+	Map<String, Set<String>> selectProfiles(EngineDiscoveryRequest request,
+			UniqueId engineId) {
+		Map<String, Set<String>> profiles = new LinkedHashMap<String, Set<String>>();
+		String configured = request.getConfigurationParameters()
+				.get(PROFILES_PARAMETER).orElse(null);
+		for (String fileName : RunTestMain.split(configured))
+			profiles.put(fileName, null);
+		for (FileSelector selector : request
+				.getSelectorsByType(FileSelector.class)) {
+			if (selector.getRawPath().endsWith(".properties"))
+				profiles.put(selector.getRawPath(), null);
+		}
+		for (UniqueIdSelector selector : request
+				.getSelectorsByType(UniqueIdSelector.class)) {
+			addSelected(profiles, engineId, selector.getUniqueId());
+		}
+		return profiles;
+	}
+
+	/**
+	 * Add a profile or suite selected by unique id.
+	 *
+	 * @param profiles
+	 *            the map of selected profiles
+	 * @param engineId
+	 *            the unique id of this engine
+	 * @param selected
+	 *            the selected unique id
+	 */
+	private void addSelected(Map<String, Set<String>> profiles,
+			UniqueId engineId, UniqueId selected) {
+		if (!selected.hasPrefix(engineId))
+			return;
+		List<UniqueId.Segment> segments = selected.getSegments();
+		if (segments.size() < 2)
+			return;
+		String fileName = segments.get(1).getValue();
+		if (segments.size() < 3) {
+			profiles.put(fileName, null);
+		} else if (!profiles.containsKey(fileName)
+				|| profiles.get(fileName) != null) {
+			Set<String> suites = profiles.get(fileName);
+			if (suites == null)
+				suites = new LinkedHashSet<String>();
+			suites.add(segments.get(2).getValue());
+			profiles.put(fileName, suites);
+		}
+		return;
+	}
+
+	/**
+	 * Create the program that reads the properties file of a profile and
+	 * creates its client.
+	 *
+	 * @return a new program
+	 */
+	protected RunTestMain createProgram() {
+		return new RunTestMain();
+	}
+}
@@ -0,0 +1,116 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           RunTestEngineContext.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest.junit
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest.junit;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.support.hierarchical.EngineExecutionContext;
+
+import com.waysysweb.runtest.RunTestClient;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class is the execution context passed down the tree of RunTest test
+ * descriptors. The engine context carries only the listener. Each profile
+ * adds the client for its server, which is shared by the suites of the
+ * profile.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class RunTestEngineContext implements EngineExecutionContext {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the listener for reporting entries */
+	private final EngineExecutionListener listener;
+
+	/** the client for the profile, or null above the profile level */
+	private final RunTestClient client;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param listener
+	 *            the engine execution listener
+	 * @param client
+	 *            the RunTest client, or null
+	 */
+	public RunTestEngineContext(EngineExecutionListener listener,
+			RunTestClient client) {
+		this.listener = listener;
+		this.client = client;
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the engine execution listener.
+	 *
+	 * @return the listener
+	 */
+	public EngineExecutionListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Return the RunTest client for the profile.
+	 *
+	 * @return the client
+	 */
+	public RunTestClient getClient() {
+		return client;
+	}
+
+	/**
+	 * Return a copy of this context with a client.
+	 *
+	 * @param value
+	 *            the client for a profile
+	 * @return a new context
+	 */
+	public RunTestEngineContext withClient(RunTestClient value) {
+		return new RunTestEngineContext(listener, value);
+	}
+}
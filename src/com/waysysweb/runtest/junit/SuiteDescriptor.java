@@ -0,0 +1,161 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Name:           SuiteDescriptor.java
+//  Author:         Waysys
+//  Package:        com.waysysweb.runtest.junit
+//
+//  Copyright (c) 2011, 2026 Waysys, LLC. All Rights Reserved.
+//
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Take the expanded report name of the suite
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest.junit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.hierarchical.Node;
+import org.opentest4j.AssertionFailedError;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class describes one Guidewire test suite. Executing the descriptor
+ * runs the suite through the client of its profile. The counts from the test
+ * case result are published as a report entry. The test fails if any test in
+ * the suite failed or had an error, and aborts with an error if the suite
+ * could not be run.
+ *
+ * @author Waysys
+ * @version 19-Oct-2026
+ */
+public class SuiteDescriptor extends AbstractTestDescriptor implements
+		Node<RunTestEngineContext> {
+	// -------------------------------------------------------------------------
+	// Fields
+	// -------------------------------------------------------------------------
+
+	/** the segment type of a suite in a unique id */
+	static final String SEGMENT_TYPE = "suite";
+
+	/** the name of the test suite */
+	private final String testName;
+
+	/** the file name for the reports of this suite */
+	private final String reportName;
+
+	// -------------------------------------------------------------------------
+	// Constructor
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create an instance of this class
+	 *
+	 * @param parentId
+	 *            the unique id of the profile
+	 * @param testName
+	 *            the name of the test suite
+	 * @param reportName
+	 *            the file name for the reports of this suite, with any
+	 *            template expanded
+	 */
+	public SuiteDescriptor(UniqueId parentId, String testName,
+			String reportName) {
+		super(parentId.append(SEGMENT_TYPE, testName), testName);
+		this.testName = testName;
+		this.reportName = reportName;
+	}
+
+	// -------------------------------------------------------------------------
+	// Properties
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Return the type of this descriptor.
+	 *
+	 * @return TEST
+	 */
+	public TestDescriptor.Type getType() {
+		return TestDescriptor.Type.TEST;
+	}
+
+	/**
+	 * Suites of a profile may run concurrently when parallel execution is
+	 * enabled.
+	 *
+	 * @return CONCURRENT
+	 */
+	@Override
+	public ExecutionMode getExecutionMode() {
+		return ExecutionMode.CONCURRENT;
+	}
+
+	// -------------------------------------------------------------------------
+	// Execution
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Run the test suite.
+	 *
+	 * @param context
+	 *            the context with the client of the profile
+	 * @param dynamicTestExecutor
+	 *            not used
+	 * @return the context
+	 * @throws Exception
+	 *             if the suite could not be run or had failures
+	 */
+	@Override
+	public RunTestEngineContext execute(RunTestEngineContext context,
+			DynamicTestExecutor dynamicTestExecutor) throws Exception {
+		TestCaseResult result = context.getClient().run(testName, reportName);
+		Map<String, String> entry = new HashMap<String, String>(4);
+		entry.put("succeeded", Integer.toString(result.getSucceeded()));
+		entry.put("failed", Integer.toString(result.getFailed()));
+		entry.put("errors", Integer.toString(result.getErrors()));
+		entry.put("errorNum", Integer.toString(result.getErrorNum()));
+		context.getListener().reportingEntryPublished(this,
+				ReportEntry.from(entry));
+		if (result.getErrorNum() != 0)
+			throw new IllegalStateException("Error: "
+					+ result.getErrorMessage());
+		if (result.getFailed() > 0 || result.getErrors() > 0)
+			throw new AssertionFailedError("Tests failed: "
+					+ result.getFailed() + ", test errors: "
+					+ result.getErrors() + ", tests succeeded: "
+					+ result.getSucceeded());
+		return context;
+	}
+}
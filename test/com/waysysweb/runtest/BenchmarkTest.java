@@ -0,0 +1,204 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Test -repeat-warmup
+//  Waysys    19-Oct-2026   With -repeat, -warmup discards runs of each suite
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the benchmark of a suite and its baseline.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class BenchmarkTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Run the program in benchmark mode with a stand-in server.
+	 *
+	 * @param suite
+	 *            the suites to benchmark, separated by commas
+	 * @param factory
+	 *            the stand-in server
+	 * @param args
+	 *            the arguments after -repeat 2
+	 * @return the result of the program
+	 */
+	private TestCaseResult runMain(String suite,
+			final RunTestClient.PortFactory factory, String... args)
+			throws Exception {
+		Path file = Files.createTempFile("benchmark", ".properties");
+		Files.write(file, Arrays.asList("url=http://localhost:8080/cc",
+				"testsuite=" + suite, "reports=report.txt"),
+				StandardCharsets.UTF_8);
+		try {
+			RunTestMain main = new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.portFactory(factory).build();
+				}
+			};
+			List<String> list = new ArrayList<String>(Arrays.asList("-prop",
+					file.toString(), "-repeat", "2"));
+			list.addAll(Arrays.asList(args));
+			return main.run(list.toArray(new String[list.size()]));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test the statistics of the durations
+	 */
+	@Test
+	public void testStatistics() {
+		Benchmark benchmark = new Benchmark("s", new long[] { 50, 10, 40, 20,
+				30 }, 1);
+		assertEquals(5, benchmark.getCount());
+		assertEquals(30.0, benchmark.getMean(), 1e-9);
+		assertEquals(Math.sqrt(250), benchmark.getStdDev(), 1e-9);
+		assertEquals(10, benchmark.getPercentile(0));
+		assertEquals(30, benchmark.getPercentile(50));
+		assertEquals(50, benchmark.getPercentile(90));
+		assertEquals(40, benchmark.getPercentile(80));
+		assertTrue(benchmark.isRegression(27.0, 0.1));
+		assertFalse(benchmark.isRegression(28.0, 0.1));
+		return;
+	}
+
+	/**
+	 * Test that the warm-up runs are made and not measured
+	 */
+	@Test
+	public void testRun() {
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port).build();
+		Benchmark benchmark = Benchmark.run(client, "flaky", "report.txt", 2,
+				3);
+		assertEquals(5, port.calls.get("flaky").intValue());
+		assertEquals(3, benchmark.getCount());
+		assertEquals(0, benchmark.getFailures());
+		client.close();
+		return;
+	}
+
+	/**
+	 * Test that the program reports an error when a benchmarked run fails
+	 */
+	@Test
+	public void testMainResult() throws Exception {
+		assertEquals(0, runMain("abc", new RunTestClientTest.StandInFactory())
+				.getErrorNum());
+		TestCaseResult result = runMain("/bad",
+				new RunTestClientTest.StandInFactory());
+		assertEquals(1, result.getErrorNum());
+		assertTrue(result.getErrorMessage().contains("/bad"));
+		return;
+	}
+
+	/**
+	 * Test that a baseline is saved and loaded, keeping other suites
+	 */
+	@Test
+	public void testBaseline() throws Exception {
+		Path dir = Files.createTempDirectory("baseline");
+		Path file = dir.resolve("runtest.baseline");
+		assertTrue(Benchmark.loadBaseline(file).isEmpty());
+		Benchmark.saveBaseline(file, Arrays.asList(new Benchmark("a",
+				new long[] { 10, 20 }, 0), new Benchmark("b", new long[] { 7 },
+				0)));
+		Benchmark.saveBaseline(file, Arrays.asList(new Benchmark("a",
+				new long[] { 40 }, 0)));
+		Map<String, Double> baseline = Benchmark.loadBaseline(file);
+		assertEquals(2, baseline.size());
+		assertEquals(40.0, baseline.get("a").doubleValue(), 1e-9);
+		assertEquals(7.0, baseline.get("b").doubleValue(), 1e-9);
+		Files.delete(file);
+		Files.delete(dir);
+		return;
+	}
+
+	/**
+	 * Test that -warmup and -repeat-warmup run each suite without measuring
+	 * it
+	 */
+	@Test
+	public void testWarmUpProperties() throws Exception {
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		assertEquals(1, runMain("flaky", port).getErrorNum());
+		port = new RerunnerTest.FlakyPort();
+		assertEquals(0, runMain("flaky", port, "-repeat-warmup", "1")
+				.getErrorNum());
+		assertEquals(3, port.calls("flaky"));
+		port = new RerunnerTest.FlakyPort();
+		assertEquals(0, runMain("flaky,flaky2", port, "-warmup", "1")
+				.getErrorNum());
+		assertEquals(3, port.calls("flaky"));
+		assertEquals(3, port.calls("flaky2"));
+		port = new RerunnerTest.FlakyPort();
+		assertEquals(1, runMain("flaky", port, "-warmup", "1",
+				"-repeat-warmup", "0").getErrorNum());
+		assertEquals(2, port.calls("flaky"));
+		port = new RerunnerTest.FlakyPort();
+		assertEquals(1, runMain("flaky", port, "-warmup", "0").getErrorNum());
+		assertEquals(2, port.calls("flaky"));
+		return;
+	}
+}
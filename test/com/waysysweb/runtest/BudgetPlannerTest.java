@@ -0,0 +1,117 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the suite history and the time-budgeted suite selection.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class BudgetPlannerTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Record runs of a suite.
+	 */
+	private void record(SuiteHistory history, String suite, int runs,
+			int failures, long duration) {
+		for (int i = 0; i < runs; i++) {
+			TestCaseResult result = new TestCaseResult();
+			result.setFailed(i < failures ? 1 : 0);
+			history.record(suite, result, duration);
+		}
+		return;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that suites are chosen by failure rate per unit of time
+	 */
+	@Test
+	public void testPlan() {
+		SuiteHistory history = new SuiteHistory();
+		record(history, "slowFlaky", 8, 4, 600000);
+		record(history, "fastFlaky", 8, 4, 60000);
+		record(history, "fastStable", 8, 0, 60000);
+		BudgetPlanner.Plan plan = new BudgetPlanner(history).plan(
+				Arrays.asList("slowFlaky", "fastStable", "fastFlaky", "new"),
+				300000);
+		assertEquals(Arrays.asList("fastFlaky", "new", "fastStable"),
+				plan.selected);
+		assertEquals(Arrays.asList("slowFlaky"), plan.deferred);
+		assertEquals(180000, plan.estimatedMillis);
+		return;
+	}
+
+	/**
+	 * Test the weighted mean duration and the saving of the history
+	 */
+	@Test
+	public void testHistoryFile() throws Exception {
+		SuiteHistory history = new SuiteHistory();
+		record(history, "a", 1, 1, 1000);
+		record(history, "a", 1, 0, 2000);
+		assertEquals(1300, history.get("a").getDurationMillis());
+		assertEquals(0.5, history.get("a").getFailureRate(), 0.001);
+		Path file = File.createTempFile("runtest", ".history").toPath();
+		try {
+			history.save(file);
+			SuiteHistory loaded = SuiteHistory.load(file);
+			assertEquals(2, loaded.get("a").getRuns());
+			assertEquals(1, loaded.get("a").getFailures());
+		} finally {
+			file.toFile().delete();
+		}
+		return;
+	}
+}
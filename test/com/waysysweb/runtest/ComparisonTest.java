@@ -0,0 +1,178 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+import com.waysysweb.RunTestPortType;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the comparison of two servers.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ComparisonTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * A factory of ports for a server that is down.
+	 */
+	static class DownFactory implements RunTestClient.PortFactory {
+		public RunTestPortType createPort() {
+			return new RunTestClientTest.StandInPort(new AtomicInteger()) {
+				public TestCaseResult runTest(String testName,
+						String reportName) {
+					throw new RuntimeException("Server is down");
+				}
+			};
+		}
+	}
+
+	/**
+	 * Run the program in compare mode with stand-in servers.
+	 *
+	 * @param urlB
+	 *            the second server, which is down if it is on port 8081
+	 * @return the result of the program
+	 */
+	private TestCaseResult runMain(String urlB) throws Exception {
+		Path file = Files.createTempFile("compare", ".properties");
+		Files.write(file, Arrays.asList("url=http://localhost:8080/cc",
+				"testsuite=abc", "reports=report.txt"),
+				StandardCharsets.UTF_8);
+		try {
+			RunTestMain main = new RunTestMain() {
+				public RunTestClient createClient(String url) {
+					return RunTestClient
+							.builder()
+							.url(url)
+							.portFactory(
+									url.contains(":8081") ? new DownFactory()
+											: new RunTestClientTest.StandInFactory())
+							.build();
+				}
+			};
+			return main.run(new String[] { "-prop", file.toString(),
+					"-compare", urlB, "-rounds", "2" });
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test the confidence interval of the difference of the means
+	 */
+	@Test
+	public void testInterval() {
+		long[] a = { 100, 102, 98, 101, 99 };
+		long[] b = { 120, 118, 122, 121, 119 };
+		Comparison.Result result = new Comparison.Result("s", a, b, 0, 0);
+		assertEquals(100.0, result.getMeanA(), 1e-9);
+		assertEquals(120.0, result.getMeanB(), 1e-9);
+		assertEquals(20.0, result.getDifference(), 1e-9);
+		// both variances are 2.5, so se is 1 and df is 8
+		assertEquals(2.306, result.getMargin(), 1e-9);
+		assertTrue(result.isSlower());
+		assertFalse(result.isFaster());
+		assertFalse(result.isOutcomeDifferent());
+		result = new Comparison.Result("s", a, new long[] { 95, 110, 90, 105,
+				100 }, 0, 1);
+		assertFalse(result.isSlower());
+		assertFalse(result.isFaster());
+		assertTrue(result.isOutcomeDifferent());
+		result = new Comparison.Result("s", new long[] { 5 }, b, 0, 0);
+		assertFalse(result.isSlower());
+		assertEquals(1.960, Comparison.quantile(200), 1e-9);
+		return;
+	}
+
+	/**
+	 * Test that the program reports an error when the outcomes differ
+	 */
+	@Test
+	public void testMainResult() throws Exception {
+		TestCaseResult result = runMain("http://localhost:8081/cc");
+		assertEquals(1, result.getErrorNum());
+		assertTrue(result.getErrorMessage().contains("abc"));
+		return;
+	}
+
+	/**
+	 * Test that each suite is run every round on both servers and that
+	 * outcome differences are found
+	 */
+	@Test
+	public void testCompare() {
+		RerunnerTest.FlakyPort portA = new RerunnerTest.FlakyPort();
+		RerunnerTest.FlakyPort portB = new RerunnerTest.FlakyPort();
+		RunTestClient clientA = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(portA).build();
+		RunTestClient clientB = RunTestClient.builder()
+				.url("http://localhost:8081/cc").portFactory(portB).build();
+		List<String> suites = Arrays.asList("good", "flaky");
+		List<Comparison.Result> results = new Comparison(clientA, clientB,
+				"report-{server}.txt", suites).compare(suites, 3);
+		assertEquals(2, results.size());
+		assertEquals(3, portA.calls.get("good").intValue());
+		assertEquals(3, portB.calls.get("flaky").intValue());
+		assertFalse(results.get(0).isOutcomeDifferent());
+		assertEquals(1, results.get(1).getFailuresA());
+		assertEquals(1, results.get(1).getFailuresB());
+		clientA.close();
+		clientB.close();
+		return;
+	}
+}
@@ -0,0 +1,266 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Test the token and the worker result
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the coordinator, its queue and its workers over the
+ * loopback interface with a stand-in for the Guidewire server.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class CoordinatorTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	/** the token of the coordinators */
+	private static final String TOKEN = "t0ken";
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Create a client using a stand-in server.
+	 *
+	 * @return a new client
+	 */
+	private RunTestClient createClient() {
+		return RunTestClient.builder().url("http://localhost:8080/cc")
+				.portFactory(new RunTestClientTest.StandInFactory()).build();
+	}
+
+	/**
+	 * Start a coordinator on the loopback address on its own thread.
+	 *
+	 * @param queue
+	 *            the queue of suites
+	 * @param leaseMillis
+	 *            the lease time of a worker
+	 * @return the coordinator
+	 */
+	private Coordinator startCoordinator(WorkQueue queue, int leaseMillis) {
+		final Coordinator coordinator = new Coordinator(
+				InetAddress.getLoopbackAddress(), 0, queue, "r.txt",
+				leaseMillis, TOKEN);
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					coordinator.run();
+				} catch (InterruptedException e) {
+					// end of test
+				}
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return coordinator;
+	}
+
+	/**
+	 * Run the program as a worker of a coordinator with a stand-in server.
+	 *
+	 * @param coordinator
+	 *            the coordinator
+	 * @param token
+	 *            the token sent by the worker
+	 * @return the result of the program
+	 */
+	private TestCaseResult runWorker(Coordinator coordinator, String token)
+			throws Exception {
+		Path file = Files.createTempFile("worker", ".properties");
+		Files.write(file, Arrays.asList("url=http://localhost:8080/cc",
+				"token=" + token), StandardCharsets.UTF_8);
+		try {
+			RunTestMain main = new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.portFactory(new RunTestClientTest.StandInFactory())
+							.build();
+				}
+			};
+			return main.run(new String[] { "-prop", file.toString(),
+					"-worker", "127.0.0.1:" + coordinator.getPort() });
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that released suites are requeued and late results ignored
+	 */
+	@Test
+	public void testQueueRelease() {
+		WorkQueue queue = new WorkQueue(Arrays.asList("a", "bb", "ccc"));
+		Object first = new Object();
+		Object second = new Object();
+		assertEquals("a", queue.take(first));
+		assertEquals("bb", queue.take(second));
+		assertEquals(Arrays.asList("a"), queue.release(first));
+		assertEquals("a", queue.take(second));
+		assertTrue(queue.complete("a", new TestCaseResult()));
+		assertFalse(queue.complete("a", new TestCaseResult()));
+		assertFalse(queue.isComplete());
+		return;
+	}
+
+	/**
+	 * Test the merging of results
+	 */
+	@Test
+	public void testMerge() {
+		TestCaseResult a = new TestCaseResult();
+		a.setSucceeded(4);
+		a.setFailed(2);
+		TestCaseResult b = RunTestClient.errorResult("Bad suite");
+		TestCaseResult m = WorkQueue.merge(Arrays.asList(a, b));
+		assertEquals(4, m.getSucceeded());
+		assertEquals(2, m.getFailed());
+		assertEquals(1, m.getErrors());
+		assertEquals(1, m.getErrorNum());
+		assertEquals("Bad suite", m.getErrorMessage());
+		return;
+	}
+
+	/**
+	 * Test that the protocol carries messages with special characters
+	 */
+	@Test
+	public void testProtocol() {
+		TestCaseResult r = RunTestClient.errorResult("line 1\n\tline 2\\");
+		String[] fields = WorkProtocol.parse(WorkProtocol.result("s", r));
+		assertEquals(r.getErrorMessage(), WorkProtocol.toResult(fields)
+				.getErrorMessage());
+		r.setErrorMessage(null);
+		fields = WorkProtocol.parse(WorkProtocol.result("s", r));
+		assertEquals(null, WorkProtocol.toResult(fields).getErrorMessage());
+		return;
+	}
+
+	/**
+	 * Test that a dead worker's suite is run by another worker
+	 */
+	@Test
+	public void testDeadWorker() throws Exception {
+		WorkQueue queue = new WorkQueue(Arrays.asList("a", "bb", "ccc"));
+		Coordinator coordinator = startCoordinator(queue, 5000);
+		//
+		// Take a suite and die
+		//
+		Socket socket = new Socket("localhost", coordinator.getPort());
+		PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				socket.getInputStream()));
+		out.println(WorkProtocol.hello(TOKEN));
+		out.println(WorkProtocol.NEXT);
+		assertTrue(in.readLine().startsWith(WorkProtocol.SUITE));
+		socket.close();
+		//
+		// A live worker runs everything
+		//
+		RunTestClient client = createClient();
+		int count = new Worker("localhost", coordinator.getPort(), client,
+				100, TOKEN).run();
+		client.close();
+		assertEquals(3, count);
+		Map<String, TestCaseResult> results = queue.getResults();
+		assertEquals(3, results.size());
+		assertEquals(6, WorkQueue.merge(results.values()).getSucceeded());
+		return;
+	}
+
+	/**
+	 * Test that a worker with the wrong token is refused and given no suite
+	 */
+	@Test
+	public void testToken() throws Exception {
+		WorkQueue queue = new WorkQueue(Arrays.asList("a"));
+		Coordinator coordinator = startCoordinator(queue, 5000);
+		Socket socket = new Socket("localhost", coordinator.getPort());
+		PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				socket.getInputStream()));
+		out.println(WorkProtocol.NEXT);
+		assertEquals(WorkProtocol.DENIED, in.readLine());
+		assertEquals(null, in.readLine());
+		socket.close();
+		TestCaseResult result = runWorker(coordinator, "wrong");
+		assertEquals(1, result.getErrorNum());
+		assertTrue(result.getErrorMessage().contains("refused"));
+		assertEquals("a", queue.take(this));
+		coordinator.close();
+		return;
+	}
+
+	/**
+	 * Test that the result of a worker is the merged result of its suites
+	 */
+	@Test
+	public void testWorkerResult() throws Exception {
+		WorkQueue queue = new WorkQueue(Arrays.asList("a", "/bad", "ccc"));
+		Coordinator coordinator = startCoordinator(queue, 5000);
+		TestCaseResult result = runWorker(coordinator, TOKEN);
+		assertEquals(1, result.getErrorNum());
+		assertEquals(4, result.getSucceeded());
+		assertTrue(result.getErrorMessage().contains("/bad"));
+		return;
+	}
+}
@@ -0,0 +1,173 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the recorder of recent exchanges.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ExchangeRecorderTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Read a dump file and delete it.
+	 *
+	 * @param file
+	 *            the dump file
+	 * @return the text of the file
+	 */
+	private String read(Path file) throws Exception {
+		assertNotNull(file);
+		String text = new String(Files.readAllBytes(file),
+				StandardCharsets.UTF_8);
+		Files.delete(file);
+		return text;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the oldest calls are evicted when the buffer wraps
+	 */
+	@Test
+	public void testWrap() throws Exception {
+		Path directory = Files.createTempDirectory("exchanges");
+		ExchangeRecorder recorder = new ExchangeRecorder(directory, 4096);
+		byte[] body = new byte[300];
+		for (int call = 0; call < 40; call++) {
+			int id = recorder.begin("suite" + call, "http://localhost");
+			body[0] = (byte) ('a' + call % 26);
+			recorder.write(id, ExchangeRecorder.REQUEST, body, 0,
+					body.length);
+			recorder.end(id, new TestCaseResult());
+		}
+		String text = read(recorder.dump(40, "test"));
+		assertTrue(text.contains("suite39: http://localhost"));
+		assertFalse(text.contains("suite0:"));
+		assertTrue(text.contains("=== call 40 FAILED"));
+		directory.toFile().delete();
+		return;
+	}
+
+	/**
+	 * Test that passwords are redacted
+	 */
+	@Test
+	public void testRedaction() throws Exception {
+		Path directory = Files.createTempDirectory("exchanges");
+		ExchangeRecorder recorder = new ExchangeRecorder(directory, 8192);
+		int id = recorder.begin("suite", "http://localhost");
+		recorder.writeLine(id, ExchangeRecorder.REQUEST_HEADER,
+				"Authorization", "Basic c3U6Z3c=");
+		OutputStream out = recorder.stream(ExchangeRecorder.REQUEST);
+		out.write("<a><ns:password>secret</ns:password><b>keep</b></a>"
+				.getBytes(StandardCharsets.UTF_8));
+		out.close();
+		String text = read(recorder.dump(id, "test"));
+		assertFalse(text.contains("c3U6Z3c="));
+		assertTrue(text.contains("Authorization: (redacted)"));
+		assertFalse(text.contains("secret"));
+		assertTrue(text.contains("<ns:password>******</ns:password>"));
+		assertTrue(text.contains("<b>keep</b>"));
+		directory.toFile().delete();
+		return;
+	}
+
+	/**
+	 * Test that a failed call writes a dump and a successful call does not
+	 */
+	@Test
+	public void testDumpOnFailure() throws Exception {
+		Path directory = Files.createTempDirectory("exchanges");
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc")
+				.portFactory(new RunTestClientTest.StandInFactory())
+				.exchanges(directory.toString()).exchangeBuffer(4096).build();
+		try {
+			assertEquals(0, client.run("abc", "report.txt").getErrorNum());
+			assertEquals(0, directory.toFile().list().length);
+			assertTrue(client.run("/bad", "report.txt").getErrorNum() != 0);
+			File[] files = directory.toFile().listFiles();
+			assertEquals(1, files.length);
+			String text = read(files[0].toPath());
+			assertTrue(text.contains("Unknown test suite - /bad"));
+			assertTrue(text.contains("abc: http://localhost:8080/cc"));
+			assertTrue(text.contains("/bad: http://localhost:8080/cc"));
+		} finally {
+			client.close();
+		}
+		directory.toFile().delete();
+		return;
+	}
+
+	/**
+	 * Test that nothing is written after the largest number of dumps
+	 */
+	@Test
+	public void testDumpLimit() throws Exception {
+		Path directory = Files.createTempDirectory("exchanges");
+		ExchangeRecorder recorder = new ExchangeRecorder(directory, 4096);
+		int id = recorder.begin("suite", "http://localhost");
+		for (int i = 0; i < ExchangeRecorder.MAX_DUMPS; i++)
+			read(recorder.dump(id, "test"));
+		assertNull(recorder.dump(id, "test"));
+		directory.toFile().delete();
+		return;
+	}
+}
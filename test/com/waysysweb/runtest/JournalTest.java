@@ -0,0 +1,209 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Test a journal that cannot be written
+//  Waysys    19-Oct-2026   Test a dispatch that cannot be journaled
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the journal and the resumption of a batch run with a
+ * stand-in for the Guidewire server.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class JournalTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	private static final List<String> SUITES = Arrays.asList("a", "bb", "ccc",
+			"dddd");
+
+	private Path file;
+
+	private RunTestClientTest.StandInFactory factory;
+
+	private RunTestClient client;
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Create the journal file and the client
+	 */
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("runtest", ".journal").toPath();
+		factory = new RunTestClientTest.StandInFactory();
+		client = RunTestClient.builder().url("http://localhost:8080/cc")
+				.portFactory(factory).build();
+		return;
+	}
+
+	/**
+	 * Delete the journal file
+	 */
+	@After
+	public void tearDown() {
+		file.toFile().delete();
+		client.close();
+		return;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that a journal records the results of a run
+	 */
+	@Test
+	public void testJournal() {
+		Journal journal = new Journal(file, false);
+		new BatchRunner(client, "r.txt", journal).run(SUITES,
+				new HashMap<String, TestCaseResult>(), 2);
+		journal.close();
+		Map<String, TestCaseResult> completed = Journal.readCompleted(file);
+		assertEquals(4, completed.size());
+		assertEquals(4, completed.get("dddd").getSucceeded());
+		return;
+	}
+
+	/**
+	 * Test that a resumed run skips completed suites, ignores a partial
+	 * line and produces the same summary as an uninterrupted run
+	 */
+	@Test
+	public void testResume() throws Exception {
+		Journal journal = new Journal(file, false);
+		TestCaseResult a = new TestCaseResult();
+		a.setSucceeded(1);
+		journal.dispatched("a");
+		journal.completed("a", a);
+		journal.dispatched("bb");
+		journal.close();
+		FileOutputStream out = new FileOutputStream(file.toFile(), true);
+		out.write("RESULT\tbb\t0\t0".getBytes("UTF-8"));
+		out.close();
+		//
+		// Resume
+		//
+		Map<String, TestCaseResult> completed = Journal.readCompleted(file);
+		assertEquals(1, completed.size());
+		journal = new Journal(file, true);
+		ResultAggregator results = new BatchRunner(client, "r.txt", journal)
+				.run(SUITES, completed, 1);
+		journal.close();
+		assertEquals(4, results.getSuiteCount());
+		assertEquals("ccc", results.getSuiteName(2));
+		assertEquals(10, results.getSummary().getSucceeded());
+		assertEquals(4, Journal.readCompleted(file).size());
+		return;
+	}
+
+	/**
+	 * Test that a suite whose result cannot be journaled is recorded as an
+	 * error in a concurrent run, and is not journaled as completed
+	 */
+	@Test
+	public void testJournalFailure() {
+		Journal journal = new Journal(file, false) {
+			public void completed(String suite, TestCaseResult result) {
+				if (suite.equals("bb"))
+					throw new RuntimeException("Unable to write journal");
+				super.completed(suite, result);
+				return;
+			}
+		};
+		ResultAggregator results = new BatchRunner(client, "r.txt", journal)
+				.run(SUITES, new HashMap<String, TestCaseResult>(), 2);
+		journal.close();
+		TestCaseResult summary = results.getSummary();
+		assertTrue(summary.getErrorNum() != 0);
+		assertEquals(8, summary.getSucceeded());
+		TestCaseResult bb = results.getSuiteResult(results.getSuiteId("bb"));
+		assertTrue(bb.getErrorMessage().contains("Unable to write journal"));
+		assertEquals(3, Journal.readCompleted(file).size());
+		return;
+	}
+
+	/**
+	 * Test that a suite whose dispatch cannot be journaled is recorded as an
+	 * error in a batched run, and that the other suites still run
+	 */
+	@Test
+	public void testDispatchFailure() {
+		Journal journal = new Journal(file, false) {
+			public void dispatched(String suite) {
+				if (suite.equals("bb"))
+					throw new RuntimeException("Unable to write journal");
+				super.dispatched(suite);
+				return;
+			}
+		};
+		RunTestClient batched = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(factory)
+				.batchSize(2).lingerMillis(10).build();
+		ResultAggregator results = new BatchRunner(batched, "r.txt", journal)
+				.run(SUITES, new HashMap<String, TestCaseResult>(), 1);
+		journal.close();
+		batched.close();
+		TestCaseResult summary = results.getSummary();
+		assertTrue(summary.getErrorNum() != 0);
+		assertEquals(8, summary.getSucceeded());
+		TestCaseResult bb = results.getSuiteResult(results.getSuiteId("bb"));
+		assertTrue(bb.getErrorMessage().contains("Unable to write journal"));
+		return;
+	}
+}
@@ -0,0 +1,125 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Test a phase with no recording
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the flight recorder events of a call.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class PhaseEventsTest {
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that port creation and the runTest wait are recorded with their
+	 * suite, server and outcome
+	 */
+	@Test
+	public void testEvents() throws Exception {
+		Path file = Files.createTempFile("runtest", ".jfr");
+		Recording recording = new Recording();
+		recording.enable(PhaseEvents.PortCreate.class);
+		recording.enable(PhaseEvents.RunTestWait.class);
+		recording.start();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc")
+				.portFactory(new RunTestClientTest.StandInFactory()).build();
+		client.run("abc", "report.txt");
+		client.run("/xx", "report.txt");
+		recording.stop();
+		recording.dump(file);
+		recording.close();
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+		Map<String, RecordedEvent> waits = new HashMap<String, RecordedEvent>();
+		int ports = 0;
+		for (RecordedEvent event : events) {
+			String name = event.getEventType().getName();
+			if (name.equals("com.waysysweb.runtest.PortCreate"))
+				ports++;
+			else if (name.equals("com.waysysweb.runtest.RunTestWait"))
+				waits.put(event.getString("suite"), event);
+		}
+		assertEquals(1, ports);
+		assertEquals(2, waits.size());
+		assertEquals(Phase.OK, waits.get("abc").getString("outcome"));
+		assertEquals("http://localhost:8080/cc",
+				waits.get("abc").getString("server"));
+		assertTrue(waits.get("/xx").getString("outcome").contains("/xx"));
+		return;
+	}
+
+	/**
+	 * Test that a phase creates no event when nothing is recording, and that
+	 * an enabled event is created
+	 */
+	@Test
+	public void testDisabled() throws Exception {
+		Phase phase = Phase.start(Phase.PORT_CREATE);
+		assertFalse(phase.isRecorded());
+		phase.finish("abc", "http://localhost:8080/cc", Phase.OK);
+		Recording recording = new Recording();
+		recording.enable(PhaseEvents.PortCreate.class);
+		recording.start();
+		phase = Phase.start(Phase.PORT_CREATE);
+		assertTrue(phase.isRecorded());
+		phase.finish("abc", "http://localhost:8080/cc", Phase.OK);
+		recording.stop();
+		recording.close();
+		return;
+	}
+}
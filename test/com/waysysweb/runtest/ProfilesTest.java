@@ -0,0 +1,170 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Test the output of each profile
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests running several profiles at the same time.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ProfilesTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * A runner whose profiles use stand-in servers.
+	 */
+	static class StandInMain extends RunTestMain {
+		protected RunTestMain createProfileRunner() {
+			return new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.portFactory(new RunTestClientTest.StandInFactory())
+							.build();
+				}
+			};
+		}
+	}
+
+	/**
+	 * Write a properties file of a profile.
+	 *
+	 * @param url
+	 *            the url of the profile
+	 * @param suite
+	 *            the suite of the profile
+	 * @return the file
+	 */
+	private Path writeProfile(String url, String suite) throws Exception {
+		Path file = Files.createTempFile("profile", ".properties");
+		Files.write(file, Arrays.asList("url=" + url, "testsuite=" + suite,
+				"reports=report.txt"), StandardCharsets.UTF_8);
+		return file;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the results of the profiles are summed
+	 */
+	@Test
+	public void testProfiles() throws Exception {
+		Path cc = writeProfile("http://localhost:8080/cc", "abc");
+		Path pc = writeProfile("http://localhost:8180/pc", "de");
+		try {
+			TestCaseResult result = new StandInMain().run(new String[] {
+					"-prop", cc + "," + pc });
+			assertEquals(0, result.getErrorNum());
+			assertEquals(5, result.getSucceeded());
+		} finally {
+			Files.delete(cc);
+			Files.delete(pc);
+		}
+		return;
+	}
+
+	/**
+	 * Test that an error in one profile is the result of all
+	 */
+	@Test
+	public void testProfileError() throws Exception {
+		Path cc = writeProfile("http://localhost:8080/cc", "abc");
+		Path bc = writeProfile("http://localhost:8580/bc", "/bad");
+		try {
+			TestCaseResult result = new StandInMain().run(new String[] {
+					"-prop", cc + "," + bc });
+			assertTrue(result.getErrorNum() != 0);
+			assertEquals(3, result.getSucceeded());
+			assertTrue(result.getErrorMessage().contains("/bad"));
+		} finally {
+			Files.delete(cc);
+			Files.delete(bc);
+		}
+		return;
+	}
+
+	/**
+	 * Test that the output of each profile is printed as one block
+	 */
+	@Test
+	public void testOutput() throws Exception {
+		Path cc = writeProfile("http://localhost:8080/cc", "abc");
+		Path pc = writeProfile("http://localhost:8180/pc", "de");
+		PrintStream console = System.out;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out, true, "UTF-8"));
+		try {
+			new StandInMain().run(new String[] { "-prop", cc + "," + pc });
+		} finally {
+			System.setOut(console);
+			Files.delete(cc);
+			Files.delete(pc);
+		}
+		String[] blocks = out.toString("UTF-8").split("---- Profile ");
+		assertEquals(3, blocks.length);
+		for (int i = 1; i < blocks.length; i++) {
+			String block = blocks[i];
+			assertTrue(block.startsWith(cc.toString())
+					|| block.startsWith(pc.toString()));
+			assertEquals(block.indexOf("Begin RunTest"),
+					block.lastIndexOf("Begin RunTest"));
+			assertTrue(block.indexOf("Result is") > block
+					.indexOf("Begin RunTest"));
+		}
+		assertTrue(blocks[2].contains("Profiles:"));
+		return;
+	}
+}
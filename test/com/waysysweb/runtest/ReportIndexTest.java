@@ -0,0 +1,153 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the index of report files.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ReportIndexTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Write a report of tests in seven classes. Every fifth test fails, the
+	 * duration of test i is i, and some lines are not records.
+	 */
+	private Path writeReport(int count) throws Exception {
+		Path file = Files.createTempFile("report", ".txt");
+		BufferedWriter out = Files.newBufferedWriter(file,
+				StandardCharsets.UTF_8);
+		out.write("GUnit report header\n");
+		for (int i = 0; i < count; i++) {
+			out.write("gw.Test" + (i % 7) + "\ttest" + i + "\t"
+					+ (i % 5 == 0 ? "failed" : "passed") + "\t" + i
+					+ "\tmessage " + i + (i % 2 == 0 ? "\r\n" : "\n"));
+			if (i % 100 == 0)
+				out.write("\n");
+		}
+		out.close();
+		return file;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test the queries on a report parsed in many small chunks
+	 */
+	@Test
+	public void testQueries() throws Exception {
+		Path file = writeReport(5000);
+		ReportIndex index = ReportIndex.open(file, 4, 4096);
+		try {
+			assertEquals(5000, index.getCount());
+			assertEquals(1000, index.getNotPassedCount());
+			List<ReportIndex.Record> slowest = index.slowest(3);
+			assertEquals(3, slowest.size());
+			assertEquals("gw.Test1.test4999", slowest.get(0).getName());
+			assertEquals(4998, slowest.get(1).duration);
+			assertEquals("message 4997", slowest.get(2).message);
+			Map<String, Integer> byClass = index.notPassedByClass();
+			int total = 0;
+			for (Integer n : byClass.values())
+				total += n.intValue();
+			assertEquals(1000, total);
+			assertEquals(7, byClass.size());
+			ReportIndex.Record record = index.find("gw.Test2.test1234");
+			assertEquals(1234, record.duration);
+			assertEquals("passed", record.status);
+			assertNull(index.find("gw.Test3.test99999"));
+		} finally {
+			index.close();
+			Files.delete(file);
+			Files.deleteIfExists(ReportIndex.getIndexFile(file));
+		}
+		return;
+	}
+
+	/**
+	 * Test that the index is reused while the report is unchanged and rebuilt
+	 * when it changes
+	 */
+	@Test
+	public void testReuse() throws Exception {
+		Path file = writeReport(100);
+		Path indexFile = ReportIndex.getIndexFile(file);
+		try {
+			ReportIndex.open(file, 2).close();
+			assertTrue(Files.isRegularFile(indexFile));
+			long written = Files.getLastModifiedTime(indexFile).toMillis();
+			Files.setLastModifiedTime(indexFile,
+					FileTime.fromMillis(written - 10000));
+			ReportIndex index = ReportIndex.open(file, 2);
+			assertEquals(100, index.getCount());
+			index.close();
+			assertEquals(written - 10000, Files.getLastModifiedTime(indexFile)
+					.toMillis());
+			Files.write(file, "gw.New\ttestNew\tfailed\t7\t\n"
+					.getBytes(StandardCharsets.UTF_8));
+			index = ReportIndex.open(file, 2);
+			assertEquals(1, index.getCount());
+			assertEquals("gw.New.testNew", index.find("gw.New.testNew")
+					.getName());
+			index.close();
+		} finally {
+			Files.delete(file);
+			Files.deleteIfExists(indexFile);
+		}
+		return;
+	}
+}
@@ -0,0 +1,216 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Merge the per-test details of each suite
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.unittestcase.TestCaseResult;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests report name templates and the merge of shard reports.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ReportMergerTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Run a batch with a stand-in server and merge the details of its suites.
+	 *
+	 * @param suites
+	 *            the suites of the batch
+	 * @param batchSize
+	 *            the number of suites sent to the server at a time
+	 * @param output
+	 *            the merged report
+	 * @return the result of the program
+	 */
+	private TestCaseResult runMerge(String suites, final int batchSize,
+			Path output) throws Exception {
+		Path file = Files.createTempFile("merge", ".properties");
+		Files.write(file, Arrays.asList("url=http://localhost:8080/cc",
+				"testsuite=" + suites, "reports={shard}.txt"),
+				StandardCharsets.UTF_8);
+		try {
+			RunTestMain main = new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.batchSize(batchSize).lingerMillis(10)
+							.portFactory(new RunTestClientTest.StandInFactory())
+							.build();
+				}
+			};
+			return main.run(new String[] { "-prop", file.toString(),
+					"-merge-reports", output.toString() });
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that a template is expanded for each suite of a batch
+	 */
+	@Test
+	public void testReportName() {
+		ReportName names = new ReportName(
+				"/proj/{run}/{server}/{shard}-{suite}.txt",
+				"http://gw01:8080/cc", "r1", Arrays.asList("a.Suite", "b/c"));
+		assertTrue(names.isTemplate());
+		assertEquals("/proj/r1/gw01-8080/0-a.Suite.txt",
+				names.expand("a.Suite"));
+		assertEquals("/proj/r1/gw01-8080/1-b_c.txt", names.expand("b/c"));
+		assertEquals("/proj/r1/gw01-8080/{shard}-x.txt", names.expand("x"));
+		assertEquals("/proj/{server}/3.txt", ReportName.expand(
+				"/proj/{server}/{shard}.txt", "a", 3, null, null));
+		assertFalse(ReportName.isTemplate("/proj/report.txt"));
+		return;
+	}
+
+	/**
+	 * Test a k-way merge of shard reports in test name order
+	 */
+	@Test
+	public void testMerge() throws Exception {
+		Path dir = Files.createTempDirectory("shards");
+		List<Path> shards = new ArrayList<Path>();
+		String[][] records = {
+				{ "header", "gw.A\ta\tpassed\t5\t", "gw.C\tc\tfailed\t1\tx" },
+				{ "gw.A\tb\tpassed\t2\t", "gw.B\ta\tpassed\t3\t" },
+				{ "gw.A\ta\terror\t4\ty", "", "gw.D\td\tpassed\t9\t" } };
+		for (int i = 0; i < records.length; i++) {
+			Path shard = dir.resolve("shard" + i + ".txt");
+			Files.write(shard, Arrays.asList(records[i]),
+					StandardCharsets.UTF_8);
+			shards.add(shard);
+		}
+		shards.add(dir.resolve("missing.txt"));
+		Path empty = dir.resolve("empty.txt");
+		Files.write(empty, Arrays.asList("header",
+				"gw.E	e	passed	1234567890123456789	"),
+				StandardCharsets.UTF_8);
+		shards.add(empty);
+		Path output = dir.resolve("merged.txt");
+		ReportMerger.Summary summary = ReportMerger.merge(shards, output);
+		List<String> merged = Files.readAllLines(output,
+				StandardCharsets.UTF_8);
+		assertEquals(Arrays.asList("gw.A\ta\tpassed\t5\t",
+				"gw.A\ta\terror\t4\ty", "gw.A\tb\tpassed\t2\t",
+				"gw.B\ta\tpassed\t3\t", "gw.C\tc\tfailed\t1\tx",
+				"gw.D\td\tpassed\t9\t"), merged);
+		assertEquals(4, summary.shards);
+		assertEquals(1, summary.missing);
+		assertEquals(Arrays.asList(Integer.valueOf(4)), summary.empty);
+		assertEquals(6, summary.records);
+		assertEquals(2, summary.notPassed);
+		assertEquals(24, summary.duration);
+		for (Path shard : shards)
+			Files.deleteIfExists(shard);
+		Files.delete(output);
+		Files.delete(dir);
+		return;
+	}
+
+	/**
+	 * Test that a merge with no records fails and keeps the output
+	 */
+	@Test
+	public void testMergeNoRecords() throws Exception {
+		Path dir = Files.createTempDirectory("shards");
+		Path shard = dir.resolve("shard.txt");
+		Files.write(shard, Arrays.asList("header"), StandardCharsets.UTF_8);
+		Path output = dir.resolve("merged.txt");
+		Files.write(output, Arrays.asList("old"), StandardCharsets.UTF_8);
+		try {
+			ReportMerger.merge(Arrays.asList(shard), output);
+			fail("Merge with no records succeeded");
+		} catch (RuntimeException e) {
+			assertTrue(e.getMessage().startsWith("No test records"));
+		}
+		assertEquals(Arrays.asList("old"), Files.readAllLines(output,
+				StandardCharsets.UTF_8));
+		assertFalse(Files.exists(dir.resolve("merged.txt.tmp")));
+		Files.delete(shard);
+		Files.delete(output);
+		Files.delete(dir);
+		return;
+	}
+
+	/**
+	 * Test that the details of each suite of a batch are merged, whether the
+	 * suites are run one at a time or sent in batches
+	 */
+	@Test
+	public void testMergeBatch() throws Exception {
+		for (int batchSize = 1; batchSize <= 2; batchSize++) {
+			Path output = Files.createTempFile("merged", ".txt");
+			TestCaseResult result = runMerge("cd,a,/bad", batchSize, output);
+			assertEquals(1, result.getErrorNum());
+			List<String> merged = Files.readAllLines(output,
+					StandardCharsets.UTF_8);
+			assertEquals(Arrays.asList("a\ttest0\tpassed\t0\t\\0",
+					"cd\ttest0\tpassed\t0\t\\0", "cd\ttest1\tpassed\t1\t\\0"),
+					merged);
+			Files.write(output, Arrays.asList("old"), StandardCharsets.UTF_8);
+			result = runMerge("/bad", batchSize, output);
+			assertTrue(result.getErrorMessage().startsWith("No test records"));
+			assertEquals(Arrays.asList("old"), Files.readAllLines(output,
+					StandardCharsets.UTF_8));
+			Files.delete(output);
+		}
+		return;
+	}
+}
@@ -0,0 +1,161 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+import com.waysysweb.RunTestPortType;
+import com.waysysweb.RunTestsPortType;
+import com.waysysweb.TestRequest;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the rerun of failed suites.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class RerunnerTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * A stand-in port whose suites named "good" always pass, "broken" always
+	 * fail and "flaky" fail on their first call only. Calls are counted by
+	 * suite name.
+	 */
+	static class FlakyPort implements RunTestPortType, RunTestsPortType,
+		RunTestClient.PortFactory {
+		final Map<String, Integer> calls = new HashMap<String, Integer>();
+
+		public synchronized TestCaseResult runTest(String testName,
+				String reportName) {
+			Integer count = calls.get(testName);
+			int call = count == null ? 1 : count.intValue() + 1;
+			calls.put(testName, Integer.valueOf(call));
+			TestCaseResult result = new TestCaseResult();
+			result.setSucceeded(1);
+			if (testName.startsWith("broken")
+					|| (testName.startsWith("flaky") && call == 1))
+				result.setFailed(1);
+			return result;
+		}
+
+		public List<TestCaseResult> runTests(List<TestRequest> tests) {
+			List<TestCaseResult> results = new ArrayList<TestCaseResult>();
+			for (TestRequest test : tests)
+				results.add(runTest(test.getTestName(), test.getReportName()));
+			return results;
+		}
+
+		public RunTestPortType createPort() {
+			return this;
+		}
+
+		synchronized int calls(String testName) {
+			Integer count = calls.get(testName);
+			return count == null ? 0 : count.intValue();
+		}
+	}
+
+	/**
+	 * Run a batch of suites, rerun its failures and return the verdicts.
+	 */
+	private Map<String, Rerunner.Verdict> rerun(FlakyPort port,
+			List<String> suites, int attempts, boolean isolated) {
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port).build();
+		Map<String, TestCaseResult> none = new HashMap<String, TestCaseResult>();
+		ResultAggregator results = new BatchRunner(client, "report.txt", null)
+				.run(suites, none, 2);
+		Map<String, Rerunner.Verdict> verdicts = new Rerunner(client,
+				"report.txt").rerun(results, attempts, isolated, 2);
+		client.close();
+		return verdicts;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that suites are classified and only failed suites are rerun
+	 */
+	@Test
+	public void testClassify() {
+		FlakyPort port = new FlakyPort();
+		List<String> suites = Arrays.asList("good1", "flaky1", "broken1",
+				"good2");
+		Map<String, Rerunner.Verdict> verdicts = rerun(port, suites, 3, false);
+		assertEquals(Rerunner.Verdict.PASS, verdicts.get("good1"));
+		assertEquals(Rerunner.Verdict.FLAKY, verdicts.get("flaky1"));
+		assertEquals(Rerunner.Verdict.FAIL, verdicts.get("broken1"));
+		assertEquals(Rerunner.Verdict.PASS, verdicts.get("good2"));
+		assertEquals(suites, new ArrayList<String>(verdicts.keySet()));
+		assertEquals(1, port.calls("good1"));
+		assertEquals(2, port.calls("flaky1"));
+		assertEquals(4, port.calls("broken1"));
+		return;
+	}
+
+	/**
+	 * Test isolated reruns and that no reruns are made when nothing failed
+	 */
+	@Test
+	public void testIsolated() {
+		FlakyPort port = new FlakyPort();
+		Map<String, Rerunner.Verdict> verdicts = rerun(port,
+				Arrays.asList("flaky1", "broken1"), 1, true);
+		assertEquals(Rerunner.Verdict.FLAKY, verdicts.get("flaky1"));
+		assertEquals(Rerunner.Verdict.FAIL, verdicts.get("broken1"));
+		assertEquals(2, port.calls("broken1"));
+		port = new FlakyPort();
+		verdicts = rerun(port, Arrays.asList("good1"), 5, true);
+		assertEquals(Rerunner.Verdict.PASS, verdicts.get("good1"));
+		assertEquals(1, port.calls("good1"));
+		return;
+	}
+}
@@ -0,0 +1,148 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the aggregation of suite results.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ResultAggregatorTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Return a list of suite names.
+	 *
+	 * @param count
+	 *            the number of suites
+	 * @return the names suite0, suite1, ...
+	 */
+	private List<String> suites(int count) {
+		List<String> names = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++)
+			names.add("suite" + i);
+		return names;
+	}
+
+	/**
+	 * Return a result.
+	 */
+	private TestCaseResult result(int succeeded, int failed) {
+		TestCaseResult result = new TestCaseResult();
+		result.setSucceeded(succeeded);
+		result.setFailed(failed);
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test per-suite results and the summary
+	 */
+	@Test
+	public void testSummary() {
+		ResultAggregator a = new ResultAggregator(suites(3));
+		a.record(2, RunTestClient.errorResult("second"));
+		a.record("suite0", RunTestClient.errorResult("first"));
+		a.record(1, result(5, 1));
+		assertFalse(a.record(1, result(9, 9)));
+		assertEquals(5, a.getSuiteResult(1).getSucceeded());
+		TestCaseResult s = a.getSummary();
+		assertEquals(5, s.getSucceeded());
+		assertEquals(1, s.getFailed());
+		assertEquals(2, s.getErrors());
+		assertEquals(1, s.getErrorNum());
+		assertEquals("first; second", s.getErrorMessage());
+		assertEquals(2, a.snapshot().errorSuites);
+		return;
+	}
+
+	/**
+	 * Test that an unrecorded suite has no result
+	 */
+	@Test
+	public void testUnrecorded() {
+		ResultAggregator a = new ResultAggregator(suites(2));
+		assertNull(a.getSuiteResult(0));
+		assertEquals(-1, a.getSuiteId("missing"));
+		assertEquals(0, a.getSummary().getErrorNum());
+		return;
+	}
+
+	/**
+	 * Test recording from many threads
+	 */
+	@Test
+	public void testConcurrentRecording() throws Exception {
+		final int count = 10000;
+		final ResultAggregator a = new ResultAggregator(suites(count));
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			final int start = t;
+			threads[t] = new Thread(new Runnable() {
+				public void run() {
+					for (int id = start; id < count; id += 4)
+						a.record(id, result(2, 1));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		ResultAggregator.Snapshot snapshot = a.snapshot();
+		assertEquals(count, snapshot.completed);
+		assertEquals(2L * count, snapshot.succeeded);
+		assertEquals(count, a.getSummary().getFailed());
+		return;
+	}
+}
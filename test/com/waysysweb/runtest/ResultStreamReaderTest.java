@@ -0,0 +1,197 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the streaming reader of runTest responses.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ResultStreamReaderTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/** the start of a response */
+	private static final String HEAD = "<?xml version=\"1.0\"?>"
+			+ "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+			+ "<soapenv:Body><runTestResponse xmlns=\"http://waysysweb.com\">"
+			+ "<return xmlns:u=\"http://example.com/unittestcase\">"
+			+ "<u:errorNum>0</u:errorNum><u:errors>0</u:errors>"
+			+ "<u:failed>1</u:failed><u:succeeded>2</u:succeeded>";
+
+	/** the end of a response */
+	private static final String TAIL = "</return></runTestResponse>"
+			+ "</soapenv:Body></soapenv:Envelope>";
+
+	/**
+	 * Return the XML of one per-test detail.
+	 */
+	private static String detail(int i) {
+		return "<u:tests><u:className>gw.Test" + (i % 7)
+				+ "</u:className><u:method>test" + i + "</u:method>"
+				+ "<u:status>" + (i % 3 == 0 ? "failed" : "passed")
+				+ "</u:status><u:duration>" + i + "</u:duration>"
+				+ "<u:message>m &amp; " + i + "</u:message></u:tests>";
+	}
+
+	/**
+	 * Return a stream of text.
+	 */
+	private static InputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * A sink that keeps the details it receives.
+	 */
+	static class ListSink implements DetailSink {
+		final List<TestDetail> details = new ArrayList<TestDetail>();
+
+		public void accept(TestDetail detail) {
+			details.add(detail);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the totals and the details of a response are read
+	 */
+	@Test
+	public void testRead() {
+		ListSink sink = new ListSink();
+		TestCaseResult result = ResultStreamReader.read(
+				stream(HEAD + detail(1) + detail(3) + detail(5) + TAIL), sink);
+		assertEquals(2, result.getSucceeded());
+		assertEquals(1, result.getFailed());
+		assertEquals(0, result.getTests().size());
+		assertEquals(3, sink.details.size());
+		TestDetail second = sink.details.get(1);
+		assertEquals("gw.Test3", second.getClassName());
+		assertEquals("test3", second.getMethod());
+		assertEquals("failed", second.getStatus());
+		assertEquals(3, second.getDuration());
+		assertEquals("m & 3", second.getMessage());
+		return;
+	}
+
+	/**
+	 * Test that a response from a server without details is read
+	 */
+	@Test
+	public void testNoDetails() {
+		ListSink sink = new ListSink();
+		TestCaseResult result = ResultStreamReader.read(stream(HEAD + TAIL),
+				sink);
+		assertEquals(2, result.getSucceeded());
+		assertEquals(0, sink.details.size());
+		return;
+	}
+
+	/**
+	 * Test that a large response is passed to the sink one detail at a time
+	 */
+	@Test
+	public void testLargeResponse() {
+		final int count = 100000;
+		Enumeration<InputStream> parts = new Enumeration<InputStream>() {
+			int next = -1;
+
+			public boolean hasMoreElements() {
+				return next <= count;
+			}
+
+			public InputStream nextElement() {
+				next++;
+				if (next == 0)
+					return stream(HEAD);
+				if (next > count)
+					return stream(TAIL);
+				return stream(detail(next));
+			}
+		};
+		final long[] total = new long[2];
+		ResultStreamReader.read(new SequenceInputStream(parts),
+				new DetailSink() {
+					public void accept(TestDetail detail) {
+						total[0]++;
+						total[1] += detail.getDuration();
+					}
+				});
+		assertEquals(count, total[0]);
+		assertEquals((long) count * (count + 1) / 2, total[1]);
+		return;
+	}
+
+	/**
+	 * Test that a SOAP fault is reported
+	 */
+	@Test
+	public void testFault() {
+		String fault = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+				+ "<soapenv:Body><soapenv:Fault><faultcode>soapenv:Server</faultcode>"
+				+ "<faultstring>Unknown suite</faultstring></soapenv:Fault>"
+				+ "</soapenv:Body></soapenv:Envelope>";
+		try {
+			ResultStreamReader.read(stream(fault), new ListSink());
+			fail("Fault not reported");
+		} catch (RuntimeException e) {
+			assertEquals("Unknown suite", e.getMessage());
+		}
+		return;
+	}
+}
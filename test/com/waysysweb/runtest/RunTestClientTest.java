@@ -0,0 +1,437 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Test a copy of the result for each caller
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+import com.example.unittestcase.TestDetail;
+import com.waysysweb.RunTestPortType;
+import com.waysysweb.RunTestsPortType;
+import com.waysysweb.TestRequest;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the RunTest client against a local stand-in for the
+ * Guidewire server. No server is needed to run these tests.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class RunTestClientTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * A stand-in port that reports the length of the test name as the number
+	 * of tests that succeeded, with a detail for each test. Batches are
+	 * counted in the given counter.
+	 */
+	static class StandInPort implements RunTestPortType, RunTestsPortType {
+		private final AtomicInteger batches;
+
+		StandInPort(AtomicInteger batches) {
+			this.batches = batches;
+		}
+
+		public TestCaseResult runTest(String testName, String reportName) {
+			if (testName.startsWith("/"))
+				throw new RuntimeException("Unknown test suite - " + testName);
+			TestCaseResult result = new TestCaseResult();
+			result.setSucceeded(testName.length());
+			for (int i = 0; i < testName.length(); i++) {
+				TestDetail detail = new TestDetail();
+				detail.setClassName(testName);
+				detail.setMethod("test" + i);
+				detail.setStatus(DetailWriter.PASSED);
+				detail.setDuration(i);
+				result.getTests().add(detail);
+			}
+			return result;
+		}
+
+		public List<TestCaseResult> runTests(List<TestRequest> tests) {
+			batches.incrementAndGet();
+			List<TestCaseResult> results = new ArrayList<TestCaseResult>();
+			for (TestRequest test : tests)
+				results.add(runTest(test.getTestName(), test.getReportName()));
+			return results;
+		}
+	}
+
+	/**
+	 * A factory for stand-in ports that counts the ports created and the
+	 * batches they receive.
+	 */
+	static class StandInFactory implements RunTestClient.PortFactory {
+		int count = 0;
+		final AtomicInteger batches = new AtomicInteger();
+
+		public synchronized RunTestPortType createPort() {
+			count++;
+			return new StandInPort(batches);
+		}
+	}
+
+	/**
+	 * A stand-in port and factory whose calls wait until they are released,
+	 * and which counts the calls it receives.
+	 */
+	static class BlockingPort extends StandInPort implements
+			RunTestClient.PortFactory {
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger calls = new AtomicInteger();
+
+		BlockingPort() {
+			super(new AtomicInteger());
+		}
+
+		public TestCaseResult runTest(String testName, String reportName) {
+			calls.incrementAndGet();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return super.runTest(testName, reportName);
+		}
+
+		public RunTestPortType createPort() {
+			return this;
+		}
+	}
+
+	/**
+	 * Create a client using a stand-in port factory.
+	 *
+	 * @param factory
+	 *            the port factory
+	 * @return a new client
+	 */
+	private RunTestClient createClient(StandInFactory factory) {
+		return RunTestClient.builder().url("http://localhost:8080/cc")
+				.portFactory(factory).concurrency(3).build();
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test a synchronous call
+	 */
+	@Test
+	public void testRun() {
+		RunTestClient client = createClient(new StandInFactory());
+		TestCaseResult r = client.run("abc", "report.txt");
+		assertEquals(3, r.getSucceeded());
+		assertEquals(0, r.getErrorNum());
+		return;
+	}
+
+	/**
+	 * Test that the details of a stand-in result are passed to a sink
+	 */
+	@Test
+	public void testDetails() {
+		RunTestClient client = createClient(new StandInFactory());
+		final List<TestDetail> details = new ArrayList<TestDetail>();
+		TestCaseResult r = client.run("abcd", "report.txt", new DetailSink() {
+			public void accept(TestDetail detail) {
+				details.add(detail);
+			}
+		});
+		assertEquals(4, r.getSucceeded());
+		assertEquals(0, r.getTests().size());
+		assertEquals(4, details.size());
+		assertEquals("test3", details.get(3).getMethod());
+		return;
+	}
+
+	/**
+	 * Test that missing arguments are reported in the result
+	 */
+	@Test
+	public void testMissingArguments() {
+		RunTestClient client = createClient(new StandInFactory());
+		TestCaseResult r = client.run(null, "report.txt");
+		assertEquals(1, r.getErrorNum());
+		assertEquals("Test suite name is not set", r.getErrorMessage());
+		r = client.run("abc", null);
+		assertEquals(1, r.getErrorNum());
+		assertEquals("Report file not set", r.getErrorMessage());
+		return;
+	}
+
+	/**
+	 * Test that a failing call is reported in the result
+	 */
+	@Test
+	public void testFailedCall() {
+		RunTestClient client = createClient(new StandInFactory());
+		TestCaseResult r = client.run("/xx", "report.txt");
+		assertEquals(1, r.getErrorNum());
+		assertTrue(r.getErrorMessage().length() > 0);
+		return;
+	}
+
+	/**
+	 * Test that concurrent calls each receive their own result
+	 */
+	@Test
+	public void testConcurrentCalls() throws Exception {
+		StandInFactory factory = new StandInFactory();
+		RunTestClient client = createClient(factory);
+		List<Future<TestCaseResult>> futures = new ArrayList<Future<TestCaseResult>>();
+		String name = "";
+		for (int i = 0; i < 20; i++) {
+			name = name + "x";
+			futures.add(client.submit(name, "report.txt"));
+		}
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i + 1, futures.get(i).get().getSucceeded());
+		}
+		client.close();
+		assertTrue(factory.count <= 3);
+		return;
+	}
+
+	/**
+	 * Test that submitted suites are sent in batches and that each suite
+	 * receives its own result
+	 */
+	@Test
+	public void testBatchedCalls() throws Exception {
+		StandInFactory factory = new StandInFactory();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(factory)
+				.concurrency(2).batchSize(4).lingerMillis(20).build();
+		List<Future<TestCaseResult>> futures = new ArrayList<Future<TestCaseResult>>();
+		String name = "";
+		for (int i = 0; i < 10; i++) {
+			name = name + "x";
+			futures.add(client.submit(name, "report.txt"));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i + 1, futures.get(i).get().getSucceeded());
+		}
+		client.close();
+		assertEquals(3, factory.batches.get());
+		return;
+	}
+
+	/**
+	 * Test that a failed batch is reported in the result of every suite,
+	 * and that a suite without a report file is not sent
+	 */
+	@Test
+	public void testFailedBatch() {
+		RunTestClient client = createClient(new StandInFactory());
+		List<TestRequest> tests = new ArrayList<TestRequest>();
+		String[] names = { "abc", "/xx", "de" };
+		for (String name : names) {
+			TestRequest test = new TestRequest();
+			test.setTestName(name);
+			test.setReportName(name.equals("de") ? null : "report.txt");
+			tests.add(test);
+		}
+		List<TestCaseResult> results = client.runAll(tests);
+		assertEquals(3, results.size());
+		assertEquals(1, results.get(0).getErrorNum());
+		assertEquals("Unknown test suite - /xx", results.get(1).getErrorMessage());
+		assertEquals("Report file not set", results.get(2).getErrorMessage());
+		return;
+	}
+
+	/**
+	 * Test that a port without runTests fails batches but still runs suites
+	 * one at a time
+	 */
+	@Test
+	public void testBatchNotSupported() {
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc")
+				.portFactory(new RunTestClient.PortFactory() {
+					public RunTestPortType createPort() {
+						return new RunTestPortType() {
+							public TestCaseResult runTest(String testName,
+									String reportName) {
+								return new TestCaseResult();
+							}
+						};
+					}
+				}).build();
+		assertEquals(0, client.run("abc", "report.txt").getErrorNum());
+		TestRequest test = new TestRequest();
+		test.setTestName("abc");
+		test.setReportName("report.txt");
+		List<TestCaseResult> results = client.runAll(Arrays.asList(test));
+		assertTrue(results.get(0).getErrorMessage().startsWith(
+				"Port does not implement runTests"));
+		client.close();
+		return;
+	}
+
+	/**
+	 * Test that identical calls in flight are made once and each receive a
+	 * copy of the result, and that calls with another fingerprint are not
+	 * coalesced
+	 */
+	@Test
+	public void testCoalesce() throws Exception {
+		BlockingPort port = new BlockingPort();
+		final RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port)
+				.concurrency(3).coalesce(true).fingerprint("b1").build();
+		RunTestClient other = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port)
+				.coalesce(true).fingerprint("b2").build();
+		Future<TestCaseResult> first = client.submit("abc", "report.txt");
+		Future<TestCaseResult> second = client.submit("abc", "report.txt");
+		final TestCaseResult[] direct = new TestCaseResult[1];
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				direct[0] = client.run("abc", "report.txt");
+			}
+		});
+		thread.start();
+		Future<TestCaseResult> third = other.submit("abc", "report.txt");
+		while (client.getCoalescedCount() < 2)
+			Thread.sleep(10);
+		second.cancel(true);
+		port.release.countDown();
+		thread.join();
+		assertEquals(3, first.get().getSucceeded());
+		assertNotSame(first.get(), direct[0]);
+		assertEquals(3, direct[0].getSucceeded());
+		assertEquals(3, direct[0].getTests().size());
+		assertNotSame(first.get().getTests().get(0), direct[0].getTests()
+				.get(0));
+		first.get().setSucceeded(0);
+		assertEquals(3, direct[0].getSucceeded());
+		assertEquals(3, third.get().getSucceeded());
+		assertEquals(2, port.calls.get());
+		client.close();
+		other.close();
+		return;
+	}
+
+	/**
+	 * Test that calls in flight hold distinct accounts, that each account
+	 * has one port, and that calls wait for an idle account
+	 */
+	@Test
+	public void testAccounts() throws Exception {
+		StandInFactory factory = new StandInFactory();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(factory)
+				.concurrency(4).accounts("a:1, b:x:y").build();
+		List<Future<TestCaseResult>> futures = new ArrayList<Future<TestCaseResult>>();
+		String name = "";
+		for (int i = 0; i < 12; i++) {
+			name = name + "x";
+			futures.add(client.submit(name, "report.txt"));
+		}
+		for (int i = 0; i < 12; i++) {
+			assertEquals(i + 1, futures.get(i).get().getSucceeded());
+		}
+		client.close();
+		assertTrue(factory.count <= 2);
+		CredentialPool pool = CredentialPool.parse("a:1, b:x:y");
+		assertEquals("x:y", pool.getAccounts().get(1).password);
+		CredentialPool.Account first = pool.acquire();
+		CredentialPool.Account second = pool.acquire();
+		assertTrue(first != second);
+		pool.release(first);
+		assertSame(first, pool.acquire());
+		try {
+			CredentialPool.parse("a");
+			fail("Account without password accepted");
+		} catch (RuntimeException e) {
+			assertEquals("Bad service account - a", e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * Test that a closed client rejects calls
+	 */
+	@Test
+	public void testClosed() {
+		RunTestClient client = createClient(new StandInFactory());
+		client.close();
+		try {
+			client.submit("abc", "report.txt");
+			fail("Closed client accepted a call");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		return;
+	}
+
+	/**
+	 * Test that a missing URL is reported when the client is built
+	 */
+	@Test
+	public void testUrlNotSet() {
+		try {
+			RunTestClient.builder().build();
+			fail("Client built without URL");
+		} catch (RuntimeException e) {
+			assertEquals("URL property is not set", e.getMessage());
+		}
+		return;
+	}
+}
@@ -0,0 +1,182 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the server readiness probe against a local HTTP server.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class ServerProbeTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Return a free local port.
+	 */
+	private int freePort() throws IOException {
+		ServerSocket socket = new ServerSocket(0);
+		int port = socket.getLocalPort();
+		socket.close();
+		return port;
+	}
+
+	/**
+	 * Start a server that answers the WSDL request.
+	 */
+	private HttpServer startServer(int port) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(
+				"localhost", port), 0);
+		server.createContext("/cc/ws/unittestcase/RunTest",
+				new HttpHandler() {
+					public void handle(HttpExchange exchange)
+							throws IOException {
+						byte[] body = "<definitions/>".getBytes("UTF-8");
+						exchange.sendResponseHeaders(200, body.length);
+						OutputStream out = exchange.getResponseBody();
+						out.write(body);
+						out.close();
+					}
+				});
+		server.start();
+		return server;
+	}
+
+	/**
+	 * Create a probe for a local port.
+	 */
+	private ServerProbe probe(int port) {
+		URL url = RunTestClient.formURL("http://localhost:" + port + "/cc");
+		return new ServerProbe(url, "su", "gw");
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test a probe of a server that is up
+	 */
+	@Test
+	public void testReady() throws Exception {
+		int port = freePort();
+		HttpServer server = startServer(port);
+		try {
+			assertNull(probe(port).probe());
+		} finally {
+			server.stop(0);
+		}
+		return;
+	}
+
+	/**
+	 * Test waiting for a server that starts late
+	 */
+	@Test
+	public void testWaitForLateServer() throws Exception {
+		final int port = freePort();
+		final HttpServer[] server = new HttpServer[1];
+		Thread starter = new Thread(new Runnable() {
+			public void run() {
+				try {
+					Thread.sleep(600);
+					server[0] = startServer(port);
+				} catch (Exception e) {
+					// test fails on timeout
+				}
+			}
+		});
+		starter.start();
+		ServerProbe.WaitResult result = probe(port).awaitReady(10000);
+		starter.join();
+		server[0].stop(0);
+		assertTrue(result.ready);
+		assertTrue(result.latencies.size() > 1);
+		assertTrue(result.waitedMillis >= 600);
+		return;
+	}
+
+	/**
+	 * Test giving up on a server that never starts
+	 */
+	@Test
+	public void testNotReady() throws Exception {
+		ServerProbe.WaitResult result = probe(freePort()).awaitReady(300);
+		assertFalse(result.ready);
+		assertTrue(result.lastFailure.startsWith("connect failed"));
+		return;
+	}
+
+	/**
+	 * Test parsing of durations
+	 */
+	@Test
+	public void testParseDuration() {
+		assertEquals(300000, RunTestMain.parseDuration("300"));
+		assertEquals(250, RunTestMain.parseDuration("250ms"));
+		assertEquals(5000, RunTestMain.parseDuration("5s"));
+		assertEquals(120000, RunTestMain.parseDuration("2m"));
+		assertEquals(3600000, RunTestMain.parseDuration("1h"));
+		try {
+			RunTestMain.parseDuration("soon");
+			fail("Bad duration accepted");
+		} catch (RuntimeException e) {
+			assertEquals("Bad duration - soon", e.getMessage());
+		}
+		return;
+	}
+}
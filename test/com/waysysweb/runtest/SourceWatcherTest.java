@@ -0,0 +1,172 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Test a copy of the result for each caller
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the watcher of source directories.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class SourceWatcherTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	private Path root;
+
+	private SourceWatcher watcher;
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Create the watched directory and the watcher
+	 */
+	@Before
+	public void setUp() throws Exception {
+		root = Files.createTempDirectory("watch");
+		watcher = new SourceWatcher(Collections.singletonList(root), 300);
+		return;
+	}
+
+	/**
+	 * Close the watcher and delete the watched directory
+	 */
+	@After
+	public void tearDown() throws Exception {
+		watcher.close();
+		delete(root);
+		return;
+	}
+
+	/**
+	 * Delete a file, or a directory and its contents.
+	 *
+	 * @param path
+	 *            the file or directory
+	 */
+	static void delete(Path path) throws IOException {
+		if (Files.isDirectory(path)) {
+			DirectoryStream<Path> entries = Files.newDirectoryStream(path);
+			try {
+				for (Path entry : entries)
+					delete(entry);
+			} finally {
+				entries.close();
+			}
+		}
+		Files.delete(path);
+		return;
+	}
+
+	/**
+	 * Write a file.
+	 *
+	 * @param file
+	 *            the file
+	 */
+	private static void write(Path file) throws IOException {
+		Files.write(file, Arrays.asList("uses gw.api"), StandardCharsets.UTF_8);
+		return;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that changes within the debounce time are one burst, and that a
+	 * poll without changes ends at its timeout
+	 */
+	@Test
+	public void testDebounce() throws Exception {
+		Thread writer = new Thread(new Runnable() {
+			public void run() {
+				try {
+					write(root.resolve("A.gs"));
+					Thread.sleep(100);
+					write(root.resolve("B.gs"));
+				} catch (Exception e) {
+					throw new RuntimeException(e.getMessage());
+				}
+			}
+		});
+		writer.start();
+		Set<Path> changed = watcher.poll(5000);
+		writer.join();
+		assertTrue(changed.contains(root.resolve("A.gs")));
+		assertTrue(changed.contains(root.resolve("B.gs")));
+		long start = System.currentTimeMillis();
+		assertTrue(watcher.poll(200).isEmpty());
+		assertTrue(System.currentTimeMillis() - start < 2000);
+		return;
+	}
+
+	/**
+	 * Test that the files of a new directory are reported, including those
+	 * written before the directory was registered, and that later changes in
+	 * the directory are seen
+	 */
+	@Test
+	public void testNewDirectory() throws Exception {
+		Path dir = Files.createDirectories(root.resolve("claim/ui"));
+		write(dir.resolve("X.gs"));
+		Set<Path> changed = watcher.poll(5000);
+		assertTrue(changed.contains(dir.resolve("X.gs")));
+		write(dir.resolve("Y.gs"));
+		changed = watcher.poll(5000);
+		assertEquals(Collections.singleton(dir.resolve("Y.gs")), changed);
+		return;
+	}
+}
@@ -0,0 +1,143 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the live status endpoint and its statistics.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class StatusServerTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Read the status.
+	 *
+	 * @param server
+	 *            the status server
+	 * @return the JSON text
+	 */
+	private String getStatus(StatusServer server) throws Exception {
+		URL url = new URL("http://localhost:" + server.getPort()
+				+ StatusServer.PATH);
+		HttpURLConnection connection = (HttpURLConnection) url
+				.openConnection();
+		assertEquals(200, connection.getResponseCode());
+		InputStream in = connection.getInputStream();
+		ByteArrayOutputStream text = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int count;
+		while ((count = in.read(buffer)) >= 0)
+			text.write(buffer, 0, count);
+		in.close();
+		return new String(text.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test the latency buckets and percentiles
+	 */
+	@Test
+	public void testPercentiles() {
+		assertEquals(15, CallStats.bucket(15));
+		assertEquals(16, CallStats.bucket(17));
+		assertEquals(17, CallStats.bucket(18));
+		assertEquals(17, CallStats.upperBound(16));
+		assertEquals(31, CallStats.upperBound(CallStats.bucket(30)));
+		for (long millis = 1000; millis < 1200; millis++)
+			assertTrue(CallStats.upperBound(CallStats.bucket(millis)) >= millis);
+		CallStats stats = new CallStats("http://localhost:8080/cc", 1);
+		assertEquals(0, stats.getPercentile(50));
+		TestCaseResult result = new TestCaseResult();
+		for (int i = 0; i < 10; i++)
+			stats.finished(stats.started("s"), result);
+		assertEquals(10, stats.getCompleted());
+		assertEquals(0, stats.getInFlight());
+		assertTrue(stats.getPercentile(99) < 16);
+		return;
+	}
+
+	/**
+	 * Test that a call in flight and a completed call are served
+	 */
+	@Test
+	public void testStatus() throws Exception {
+		StatusServer server = new StatusServer("0");
+		RunTestClientTest.BlockingPort port = new RunTestClientTest.BlockingPort();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port)
+				.concurrency(2).build();
+		server.register(client);
+		try {
+			Future<TestCaseResult> future = client.submit("abc", "report.txt");
+			while (port.calls.get() == 0)
+				Thread.sleep(10);
+			String json = getStatus(server);
+			assertTrue(json.contains("\"server\":\"http://localhost:8080/cc\""));
+			assertTrue(json.contains("\"concurrency\":2,\"inFlight\":1"));
+			assertTrue(json.contains("\"calls\":[{\"suite\":\"abc\""));
+			port.release.countDown();
+			future.get();
+			json = getStatus(server);
+			assertTrue(json.contains("\"inFlight\":0,\"queued\":0,\"completed\":1"));
+		} finally {
+			client.close();
+			server.stop();
+		}
+		return;
+	}
+}
@@ -0,0 +1,115 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//
+//------------------------------------------------------------------------------
+//      Package Declaration
+//------------------------------------------------------------------------------
+
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the mapping of changed files to test suites.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class SuiteMapperTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	private static final Path ROOT = Paths.get("gtest");
+
+	private final SuiteMapper mapper = new SuiteMapper(
+			Collections.singletonList(ROOT), Arrays.asList(
+					"unittestcase.SampleTestSuite",
+					"unittestcase.claim.ClaimTestSuite", "other.OtherSuite"));
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that a changed suite maps to itself
+	 */
+	@Test
+	public void testSuiteFile() {
+		Set<String> r = mapper.map(ROOT.resolve("other/OtherSuite.gs"));
+		assertEquals(Collections.singleton("other.OtherSuite"), r);
+		return;
+	}
+
+	/**
+	 * Test that a Gosu file maps to suites in the same or enclosing packages
+	 */
+	@Test
+	public void testPackage() {
+		Set<String> r = mapper.map(ROOT
+				.resolve("unittestcase/claim/ClaimTest.gs"));
+		assertEquals(2, r.size());
+		assertTrue(r.contains("unittestcase.SampleTestSuite"));
+		assertTrue(r.contains("unittestcase.claim.ClaimTestSuite"));
+		return;
+	}
+
+	/**
+	 * Test that a configuration file maps to all suites
+	 */
+	@Test
+	public void testConfigFile() {
+		Set<String> r = mapper.map(ROOT.resolve("config/Entity.xml"));
+		assertEquals(3, r.size());
+		return;
+	}
+
+	/**
+	 * Test that editor files are ignored
+	 */
+	@Test
+	public void testIgnoredFiles() {
+		List<Path> files = Arrays.asList(ROOT.resolve("other/.OtherSuite.gs"),
+				ROOT.resolve("other/OtherSuite.gs~"));
+		assertTrue(mapper.map(files).isEmpty());
+		return;
+	}
+}
@@ -0,0 +1,121 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocket;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the TLS configuration of a client.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class TlsConfigTest {
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the enabled protocols are applied to each socket
+	 */
+	@Test
+	public void testProtocols() throws Exception {
+		TlsConfig tls = new TlsConfig(null, null, null, null, "TLSv1.2", null);
+		SSLSocket socket = (SSLSocket) tls.getSocketFactory().createSocket();
+		assertEquals(Arrays.asList("TLSv1.2"),
+				Arrays.asList(socket.getEnabledProtocols()));
+		socket.close();
+		assertEquals(0, tls.getHandshakes());
+		return;
+	}
+
+	/**
+	 * Test that an unsupported protocol is reported
+	 */
+	@Test
+	public void testUnsupported() {
+		try {
+			new TlsConfig(null, null, null, null, "TLSv9", null);
+			fail("Unsupported protocol accepted");
+		} catch (RuntimeException e) {
+			assertEquals("Unsupported TLS protocol - TLSv9", e.getMessage());
+		}
+		try {
+			new TlsConfig("/nonexistent/trust.jks", "x", null, null, null,
+					null);
+			fail("Missing trust store accepted");
+		} catch (RuntimeException e) {
+			assertEquals("Unable to read key store - /nonexistent/trust.jks",
+					e.getMessage());
+		}
+		return;
+	}
+
+	/**
+	 * Test that ports, connections and the WSDL share one socket factory
+	 */
+	@Test
+	public void testShared() throws Exception {
+		TlsConfig tls = new TlsConfig(null, null, null, null, null, null);
+		Map<String, Object> context = new HashMap<String, Object>();
+		tls.configure(context);
+		assertSame(tls.getSocketFactory(), context.values().iterator().next());
+		URL wsdl = tls.wrap(new URL("https://localhost:8443/cc/ws/x?WSDL"));
+		assertEquals("https://localhost:8443/cc/ws/x?WSDL", wsdl.toString());
+		HttpsURLConnection connection = (HttpsURLConnection) wsdl
+				.openConnection();
+		assertSame(tls.getSocketFactory(), connection.getSSLSocketFactory());
+		RunTestClient client = RunTestClient.builder()
+				.url("https://localhost:8443/cc")
+				.portFactory(new RunTestClientTest.StandInFactory()).build();
+		assertEquals(0, client.getTls().getHandshakes());
+		client.close();
+		return;
+	}
+}
@@ -0,0 +1,112 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Take outcomes from Phase
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the propagation of trace context and the export of spans.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class TracerTest {
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the traceparent names the current call span and that a call
+	 * restores the span before it
+	 */
+	@Test
+	public void testTraceparent() {
+		Tracer.Span outer = Tracer.startCall("outer", null, null);
+		Tracer.Span inner = Tracer.startCall("inner", "s", null);
+		String traceparent = Tracer.traceparent();
+		assertTrue(traceparent.matches("00-[0-9a-f]{32}-[0-9a-f]{16}-0[01]"));
+		assertEquals(inner.spanId, traceparent.substring(36, 52));
+		assertEquals(outer.spanId, inner.parentId);
+		Tracer.endCall(inner, Phase.OK);
+		assertEquals(outer.spanId, Tracer.traceparent().substring(36, 52));
+		Tracer.endCall(outer, Phase.OK);
+		String request = new String(StreamingCall.createRequest("s", "r",
+				traceparent), StandardCharsets.UTF_8);
+		assertTrue(request.contains(">" + traceparent + "</tc:traceparent>"));
+		return;
+	}
+
+	/**
+	 * Test that a call and its phases are exported as children of the root
+	 * span of the run
+	 */
+	@Test
+	public void testExport() throws Exception {
+		Path file = Files.createTempFile("runtest", ".otlp.json");
+		Tracer.start(file);
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc")
+				.portFactory(new RunTestClientTest.StandInFactory()).build();
+		client.run("a\"b", "report.txt");
+		client.close();
+		Tracer.stop(Phase.OK);
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		Files.delete(file);
+		assertEquals(1, lines.size());
+		String json = lines.get(0);
+		assertTrue(json.startsWith("{\"resourceSpans\":[{\"resource\":"));
+		assertTrue(json.contains("\"name\":\"PortCreate\""));
+		assertTrue(json.contains("\"name\":\"RunTestWait\""));
+		assertTrue(json.contains("\"name\":\"runTest\",\"kind\":3"));
+		assertTrue(json.contains("{\"stringValue\":\"a\\\"b\"}"));
+		int root = json.indexOf("\"name\":\"RunTest\"");
+		int id = json.lastIndexOf("\"spanId\":\"", root) + 10;
+		String rootId = json.substring(id, id + 16);
+		assertTrue(json.contains("\"parentSpanId\":\"" + rootId
+				+ "\",\"name\":\"runTest\""));
+		return;
+	}
+}
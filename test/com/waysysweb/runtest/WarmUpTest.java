@@ -0,0 +1,193 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the warm-up of a server.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class WarmUpTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Run a warm-up with a stand-in server.
+	 *
+	 * @param port
+	 *            the stand-in server
+	 * @param suite
+	 *            the warm-up suite
+	 * @param count
+	 *            the number of warm-up calls
+	 * @return the warm-up
+	 */
+	private WarmUp warmUp(RerunnerTest.FlakyPort port, String suite, int count) {
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port).build();
+		try {
+			return WarmUp.run(client, suite, "report.txt", count);
+		} finally {
+			client.close();
+		}
+	}
+
+	/**
+	 * Run the program with a stand-in server.
+	 *
+	 * @param port
+	 *            the stand-in server
+	 * @param suite
+	 *            the suites of the run
+	 * @param args
+	 *            the arguments after the properties file
+	 * @return the result of the program
+	 */
+	private TestCaseResult runMain(final RerunnerTest.FlakyPort port,
+			String suite, String... args) throws Exception {
+		Path file = Files.createTempFile("warmup", ".properties");
+		Files.write(file, Arrays.asList("url=http://localhost:8080/cc",
+				"testsuite=" + suite, "reports=report.txt"),
+				StandardCharsets.UTF_8);
+		try {
+			RunTestMain main = new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.portFactory(port).build();
+				}
+			};
+			List<String> list = new ArrayList<String>();
+			list.add("-prop");
+			list.add(file.toString());
+			list.addAll(Arrays.asList(args));
+			return main.run(list.toArray(new String[list.size()]));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the warm-up makes the number of calls asked for
+	 */
+	@Test
+	public void testCount() {
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		WarmUp warmUp = warmUp(port, "abc", 3);
+		assertEquals(3, port.calls("abc"));
+		assertEquals(3, warmUp.getCount());
+		assertEquals("abc", warmUp.getSuite());
+		assertEquals(0, warmUp.getFailures());
+		assertTrue(warmUp.getColdLatency() >= 0);
+		assertTrue(warmUp.getWarmLatency() >= 0);
+		return;
+	}
+
+	/**
+	 * Test that a count of 0 makes no calls, in the class and in the program
+	 */
+	@Test
+	public void testZero() throws Exception {
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		WarmUp warmUp = warmUp(port, "abc", 0);
+		assertEquals(0, port.calls("abc"));
+		assertEquals(0, warmUp.getCount());
+		assertEquals(-1, warmUp.getColdLatency());
+		assertEquals(-1, warmUp.getWarmLatency());
+		port = new RerunnerTest.FlakyPort();
+		runMain(port, "abc", "-warmup", "0");
+		assertEquals(1, port.calls("abc"));
+		port = new RerunnerTest.FlakyPort();
+		runMain(port, "abc", "-warmup", "2");
+		assertEquals(3, port.calls("abc"));
+		return;
+	}
+
+	/**
+	 * Test that the warm-up suite is the warmupsuite property, or else the
+	 * first suite of the run
+	 */
+	@Test
+	public void testSuite() throws Exception {
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		runMain(port, "abc", "-warmupsuite", "warm");
+		assertEquals(1, port.calls("warm"));
+		assertEquals(1, port.calls("abc"));
+		port = new RerunnerTest.FlakyPort();
+		runMain(port, "abc", "-warmup", "1");
+		assertEquals(0, port.calls("warm"));
+		assertEquals(2, port.calls("abc"));
+		return;
+	}
+
+	/**
+	 * Test that failed warm-up calls are counted and do not affect the result
+	 * of the run
+	 */
+	@Test
+	public void testFailures() throws Exception {
+		assertEquals(1, warmUp(new RerunnerTest.FlakyPort(), "flaky", 3)
+				.getFailures());
+		assertEquals(2, warmUp(new RerunnerTest.FlakyPort(), "broken", 2)
+				.getFailures());
+		RerunnerTest.FlakyPort port = new RerunnerTest.FlakyPort();
+		TestCaseResult result = runMain(port, "flaky", "-warmup", "1");
+		assertEquals(2, port.calls("flaky"));
+		assertEquals(0, result.getErrorNum());
+		assertEquals(0, result.getFailed());
+		return;
+	}
+}
@@ -0,0 +1,232 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Test a copy of the result for each caller
+//  Waysys    19-Oct-2026   Test a run that completes before a change
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the runs of the watch mode when suites are superseded by
+ * new changes.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class WatchRunnerTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	private Path root;
+
+	private SourceWatcher watcher;
+
+	private RunTestClientTest.BlockingPort port;
+
+	private final List<TestCaseResult> results = new ArrayList<TestCaseResult>();
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Create the watched directory, the watcher and the stand-in server
+	 */
+	@Before
+	public void setUp() throws Exception {
+		root = Files.createTempDirectory("watch");
+		watcher = new SourceWatcher(Collections.singletonList(root), 100);
+		port = new RunTestClientTest.BlockingPort();
+		return;
+	}
+
+	/**
+	 * Release the stand-in server, close the watcher and delete the watched
+	 * directory
+	 */
+	@After
+	public void tearDown() throws Exception {
+		port.release.countDown();
+		watcher.close();
+		SourceWatcherTest.delete(root);
+		return;
+	}
+
+	/**
+	 * Create a runner whose results are kept rather than printed.
+	 *
+	 * @param concurrency
+	 *            the number of suites run at the same time
+	 * @return the runner
+	 */
+	private WatchRunner createRunner(int concurrency) {
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:8080/cc").portFactory(port)
+				.concurrency(concurrency).build();
+		Set<String> suites = set("abc", "de", "x");
+		RunTestMain program = new RunTestMain() {
+			protected void printResults(TestCaseResult result) {
+				results.add(result);
+				return;
+			}
+		};
+		return new WatchRunner(program, client, watcher, new SuiteMapper(
+				Collections.singletonList(root), suites), suites, "r.txt");
+	}
+
+	/**
+	 * Return a set of suites.
+	 *
+	 * @param names
+	 *            the suite names
+	 * @return the set in the order given
+	 */
+	private static Set<String> set(String... names) {
+		return new LinkedHashSet<String>(Arrays.asList(names));
+	}
+
+	/**
+	 * Wait until a number of calls have reached the server.
+	 *
+	 * @param calls
+	 *            the number of calls
+	 */
+	private void awaitCalls(int calls) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (port.calls.get() < calls && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+		assertEquals(calls, port.calls.get());
+		return;
+	}
+
+	/**
+	 * Collect results until no suite is running or waiting.
+	 *
+	 * @param runner
+	 *            the runner
+	 */
+	private void finish(WatchRunner runner) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (!runner.isIdle() && System.currentTimeMillis() < end) {
+			runner.collect();
+			Thread.sleep(10);
+		}
+		assertTrue(runner.isIdle());
+		return;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that a superseded call in flight is not called again until it
+	 * returns, and that its result is discarded
+	 */
+	@Test
+	public void testSupersededCall() throws Exception {
+		WatchRunner runner = createRunner(2);
+		runner.start(set("abc"));
+		awaitCalls(1);
+		runner.restart(set("abc"));
+		runner.restart(set("abc"));
+		Thread.sleep(200);
+		runner.collect();
+		assertEquals(1, port.calls.get());
+		port.release.countDown();
+		finish(runner);
+		assertEquals(2, port.calls.get());
+		assertEquals(1, results.size());
+		assertEquals(3, results.get(0).getSucceeded());
+		runner.close();
+		return;
+	}
+
+	/**
+	 * Test that a superseded suite that has not started is not called, and
+	 * that the runs of the new change are made
+	 */
+	@Test
+	public void testSupersededQueue() throws Exception {
+		WatchRunner runner = createRunner(1);
+		runner.start(set("abc", "de"));
+		awaitCalls(1);
+		runner.restart(set("x"));
+		port.release.countDown();
+		finish(runner);
+		assertEquals(4, port.calls.get());
+		assertEquals(3, results.size());
+		runner.close();
+		return;
+	}
+
+	/**
+	 * Test that the result of a run that completed before a change is
+	 * printed rather than dropped
+	 */
+	@Test
+	public void testCompletedRun() throws Exception {
+		WatchRunner runner = createRunner(2);
+		port.release.countDown();
+		runner.start(set("abc"));
+		awaitCalls(1);
+		Thread.sleep(200);
+		runner.restart(set("de"));
+		assertEquals(1, results.size());
+		assertEquals(3, results.get(0).getSucceeded());
+		finish(runner);
+		assertEquals(2, results.size());
+		assertEquals(2, results.get(1).getSucceeded());
+		runner.close();
+		return;
+	}
+}
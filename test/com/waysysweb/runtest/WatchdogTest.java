@@ -0,0 +1,156 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//
+
+package com.waysysweb.runtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+
+import com.example.unittestcase.TestCaseResult;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the watchdog of slow calls.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class WatchdogTest {
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Read the entries of a bundle and delete it.
+	 *
+	 * @param file
+	 *            the bundle
+	 * @return the text of each entry
+	 */
+	private Map<String, String> read(Path file) throws Exception {
+		Map<String, String> entries = new HashMap<String, String>();
+		ZipInputStream zip = new ZipInputStream(Files.newInputStream(file));
+		try {
+			ZipEntry entry;
+			byte[] buffer = new byte[4096];
+			while ((entry = zip.getNextEntry()) != null) {
+				ByteArrayOutputStream text = new ByteArrayOutputStream();
+				int count;
+				while ((count = zip.read(buffer)) >= 0)
+					text.write(buffer, 0, count);
+				entries.put(entry.getName(), new String(text.toByteArray(),
+						StandardCharsets.UTF_8));
+			}
+		} finally {
+			zip.close();
+		}
+		Files.delete(file);
+		return entries;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test the limit of a suite with and without history
+	 */
+	@Test
+	public void testLimit() {
+		SuiteHistory history = new SuiteHistory();
+		history.record("slow", new TestCaseResult(), 100000);
+		history.record("fast", new TestCaseResult(), 10);
+		Watchdog watchdog = new Watchdog(Paths.get("."), 3, 1000, history);
+		try {
+			assertEquals(300000, watchdog.getLimit("slow"));
+			assertEquals(1000, watchdog.getLimit("fast"));
+			assertEquals(1000, watchdog.getLimit("unknown"));
+		} finally {
+			watchdog.stop();
+		}
+		return;
+	}
+
+	/**
+	 * Test that a hung call is captured once while it is in flight
+	 */
+	@Test
+	public void testCapture() throws Exception {
+		Path directory = Files.createTempDirectory("watchdog");
+		Watchdog watchdog = new Watchdog(directory, 3, 50, null);
+		RunTestClientTest.BlockingPort port = new RunTestClientTest.BlockingPort();
+		RunTestClient client = RunTestClient.builder()
+				.url("http://localhost:1/cc").portFactory(port).build();
+		watchdog.register(client);
+		try {
+			Future<TestCaseResult> future = client.submit("abc", "report.txt");
+			while (port.calls.get() == 0)
+				Thread.sleep(10);
+			Thread.sleep(100);
+			List<Path> bundles = watchdog.check();
+			assertEquals(1, bundles.size());
+			assertEquals(0, watchdog.check().size());
+			Map<String, String> entries = read(bundles.get(0));
+			assertTrue(entries.get("summary.txt").contains("Suite: abc"));
+			assertTrue(entries.get("summary.txt").contains(
+					"Phase in progress: RunTestWait"));
+			assertTrue(entries.get("summary.txt").contains("Limit: 50 ms"));
+			assertTrue(entries.get("threads.txt").contains("BlockingPort"));
+			assertTrue(entries.get("connections.txt").contains("abc"));
+			assertTrue(entries.get("server.txt").contains("Probe: "));
+			port.release.countDown();
+			future.get();
+		} finally {
+			watchdog.stop();
+			client.close();
+		}
+		directory.toFile().delete();
+		return;
+	}
+}
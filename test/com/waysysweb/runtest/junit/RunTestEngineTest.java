@@ -0,0 +1,335 @@
+//------------------------------------------------------------------------------
+//      Compilation Unit Header
+//------------------------------------------------------------------------------
+//
+//  Copyright (c) 2011, 2026 Waysys LLC All Rights Reserved.
+//
+//  Waysys MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+//  THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+//  TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+//  PARTICULAR PURPOSE, OR NON-INFRINGEMENT. Waysys SHALL NOT BE LIABLE FOR
+//  ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+//  DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+//
+//  For further information, contact Waysys LLC at wshaffer@waysysweb.com
+//  or 800-622-5315 (USA).
+//
+//------------------------------------------------------------------------------
+//      Maintenance History
+//------------------------------------------------------------------------------
+//
+//  Person    Date          Change
+//  ------    -----------   ----------------------------------------------------
+//
+//  Waysys    19-Oct-2026   File create
+//  Waysys    19-Oct-2026   Add batched calls
+//  Waysys    19-Oct-2026   Add per-test details
+//  Waysys    19-Oct-2026   Add coalesced calls
+//  Waysys    19-Oct-2026   Add service account pool
+//  Waysys    19-Oct-2026   Expand the report name of each suite
+//
+
+package com.waysysweb.runtest.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.opentest4j.AssertionFailedError;
+
+import com.example.unittestcase.TestCaseResult;
+import com.waysysweb.RunTestPortType;
+import com.waysysweb.runtest.RunTestClient;
+import com.waysysweb.runtest.RunTestMain;
+
+//------------------------------------------------------------------------------
+//      Public Class Declaration
+//------------------------------------------------------------------------------
+
+/**
+ * This class tests the JUnit Platform engine with stand-in servers.
+ *
+ * @author Waysys
+ * @version 1.00 19-Oct-2026
+ *
+ */
+public class RunTestEngineTest {
+	// ------------------------------------------------------------------------------
+	// Fields
+	// ------------------------------------------------------------------------------
+
+	/** the first profile, with suites abc, fail and /bad */
+	private Path cc;
+
+	/** the second profile, with suite de */
+	private Path pc;
+
+	/** a latch that the suites wait on, or null */
+	private static volatile CountDownLatch together;
+
+	/** the report name of each suite run */
+	private static final Map<String, String> reports = new ConcurrentHashMap<String, String>();
+
+	// ------------------------------------------------------------------------------
+	// Test Support Functions
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * A stand-in port. Suite fail has two failed tests, a suite starting with
+	 * a / cannot be run, and any other suite succeeds.
+	 */
+	static class StandInPort implements RunTestPortType {
+		public TestCaseResult runTest(String testName, String reportName) {
+			reports.put(testName, reportName);
+			CountDownLatch latch = together;
+			if (latch != null) {
+				latch.countDown();
+				try {
+					if (!latch.await(5, TimeUnit.SECONDS))
+						throw new RuntimeException("Suites did not run together");
+				} catch (InterruptedException e) {
+					throw new RuntimeException("Interrupted");
+				}
+			}
+			if (testName.startsWith("/"))
+				throw new RuntimeException("Unknown test suite - " + testName);
+			TestCaseResult result = new TestCaseResult();
+			result.setSucceeded(3);
+			if (testName.equals("fail"))
+				result.setFailed(2);
+			return result;
+		}
+	}
+
+	/**
+	 * An engine whose profiles use stand-in servers.
+	 */
+	static class StandInEngine extends RunTestEngine {
+		@Override
+		protected RunTestMain createProgram() {
+			return new RunTestMain() {
+				public RunTestClient createClient() {
+					return RunTestClient.builder().url(getProperty("url"))
+							.portFactory(new RunTestClient.PortFactory() {
+								public RunTestPortType createPort() {
+									return new StandInPort();
+								}
+							}).build();
+				}
+			};
+		}
+	}
+
+	/**
+	 * A listener that keeps the result and report entry of each test.
+	 */
+	static class Results implements TestExecutionListener {
+		final Map<String, TestExecutionResult> results = new ConcurrentHashMap<String, TestExecutionResult>();
+		final Map<String, ReportEntry> entries = new ConcurrentHashMap<String, ReportEntry>();
+		int containers = 0;
+
+		public void testPlanExecutionStarted(TestPlan plan) {
+			for (TestIdentifier root : plan.getRoots())
+				containers = plan.getChildren(root).size();
+		}
+
+		public void executionFinished(TestIdentifier test,
+				TestExecutionResult result) {
+			if (test.isTest())
+				results.put(test.getDisplayName(), result);
+		}
+
+		public void reportingEntryPublished(TestIdentifier test,
+				ReportEntry entry) {
+			entries.put(test.getDisplayName(), entry);
+		}
+	}
+
+	/**
+	 * Write a properties file of a profile.
+	 *
+	 * @param url
+	 *            the url of the profile
+	 * @param suites
+	 *            the suites of the profile
+	 * @return the file
+	 */
+	private Path writeProfile(String url, String suites) throws Exception {
+		Path file = Files.createTempFile("profile", ".properties");
+		Files.write(file, Arrays.asList("url=" + url, "testsuite=" + suites,
+				"reports={server}-{shard}-{suite}.txt"), StandardCharsets.UTF_8);
+		return file;
+	}
+
+	/**
+	 * Discover and run tests with the stand-in engine.
+	 *
+	 * @param parameters
+	 *            configuration parameter names and values
+	 * @param selectors
+	 *            the selectors
+	 * @return the results
+	 */
+	private Results execute(Map<String, String> parameters,
+			DiscoverySelector... selectors) {
+		Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+				.enableTestEngineAutoRegistration(false)
+				.addTestEngines(new StandInEngine()).build());
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder
+				.request().selectors(selectors)
+				.configurationParameters(parameters).build();
+		Results results = new Results();
+		launcher.execute(request, results);
+		return results;
+	}
+
+	/**
+	 * Return a map of configuration parameters.
+	 *
+	 * @param pairs
+	 *            names and values
+	 * @return the parameters
+	 */
+	private Map<String, String> parameters(String... pairs) {
+		Map<String, String> parameters = new ConcurrentHashMap<String, String>();
+		for (int i = 0; i < pairs.length; i += 2)
+			parameters.put(pairs[i], pairs[i + 1]);
+		return parameters;
+	}
+
+	/**
+	 * Create the profiles
+	 */
+	@Before
+	public void setUp() throws Exception {
+		cc = writeProfile("http://localhost:8080/cc", "abc,fail,/bad");
+		pc = writeProfile("http://localhost:8180/pc", "de");
+		together = null;
+		reports.clear();
+		return;
+	}
+
+	/**
+	 * Delete the profiles
+	 */
+	@After
+	public void tearDown() throws Exception {
+		Files.delete(cc);
+		Files.delete(pc);
+		together = null;
+		return;
+	}
+
+	// ------------------------------------------------------------------------------
+	// Tests
+	// ------------------------------------------------------------------------------
+
+	/**
+	 * Test that the profiles in the configuration parameter are discovered
+	 * and that results are mapped to test outcomes
+	 */
+	@Test
+	public void testProfiles() {
+		Results results = execute(parameters(RunTestEngine.PROFILES_PARAMETER,
+				cc + "," + pc));
+		assertEquals(2, results.containers);
+		assertEquals(4, results.results.size());
+		assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.results
+				.get("abc").getStatus());
+		assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.results
+				.get("de").getStatus());
+		TestExecutionResult fail = results.results.get("fail");
+		assertEquals(TestExecutionResult.Status.FAILED, fail.getStatus());
+		assertTrue(fail.getThrowable().get() instanceof AssertionFailedError);
+		TestExecutionResult bad = results.results.get("/bad");
+		assertEquals(TestExecutionResult.Status.FAILED, bad.getStatus());
+		assertTrue(bad.getThrowable().get() instanceof IllegalStateException);
+		assertTrue(bad.getThrowable().get().getMessage()
+				.contains("Unknown test suite - /bad"));
+		assertEquals("2", results.entries.get("fail").getKeyValuePairs()
+				.get("failed"));
+		assertEquals("1", results.entries.get("/bad").getKeyValuePairs()
+				.get("errorNum"));
+		return;
+	}
+
+	/**
+	 * Test that a suite and a profile can be selected by unique id, and a
+	 * profile by file
+	 */
+	@Test
+	public void testSelection() {
+		UniqueId engine = UniqueId.forEngine(RunTestEngine.ENGINE_ID);
+		Results results = execute(parameters(), DiscoverySelectors
+				.selectUniqueId(engine.append("profile", cc.toString())
+						.append("suite", "fail")), DiscoverySelectors
+				.selectUniqueId(engine.append("profile", pc.toString())));
+		assertEquals(2, results.results.size());
+		assertTrue(results.results.containsKey("fail"));
+		assertTrue(results.results.containsKey("de"));
+		results = execute(parameters(),
+				DiscoverySelectors.selectFile(pc.toString()));
+		assertEquals(1, results.containers);
+		assertEquals(1, results.results.size());
+		assertTrue(results.results.containsKey("de"));
+		return;
+	}
+
+	/**
+	 * Test that suites run together when parallel execution is enabled
+	 */
+	@Test
+	public void testParallel() {
+		together = new CountDownLatch(2);
+		UniqueId engine = UniqueId.forEngine(RunTestEngine.ENGINE_ID);
+		Results results = execute(parameters(RunTestEngine.PARALLEL_PARAMETER,
+				"true", RunTestEngine.PARALLEL_CONFIG_PREFIX + "strategy",
+				"fixed", RunTestEngine.PARALLEL_CONFIG_PREFIX
+						+ "fixed.parallelism", "2"), DiscoverySelectors
+				.selectUniqueId(engine.append("profile", cc.toString())
+						.append("suite", "abc")), DiscoverySelectors
+				.selectUniqueId(engine.append("profile", pc.toString())));
+		assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.results
+				.get("abc").getStatus());
+		assertEquals(TestExecutionResult.Status.SUCCESSFUL, results.results
+				.get("de").getStatus());
+		return;
+	}
+
+	/**
+	 * Test that the report name of each suite is expanded from the template
+	 * of its profile
+	 */
+	@Test
+	public void testReportNames() {
+		execute(parameters(RunTestEngine.PROFILES_PARAMETER, cc + "," + pc));
+		assertEquals("localhost-8080-0-abc.txt", reports.get("abc"));
+		assertEquals("localhost-8080-1-fail.txt", reports.get("fail"));
+		assertEquals("localhost-8180-0-de.txt", reports.get("de"));
+		return;
+	}
+}